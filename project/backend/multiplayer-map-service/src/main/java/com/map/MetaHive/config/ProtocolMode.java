@@ -0,0 +1,21 @@
+package com.map.MetaHive.config;
+
+/**
+ * Which player broadcasts the map service emits, configured by {@code app.map.protocol.mode}.
+ */
+public enum ProtocolMode {
+    /** Only the full {@code Player} map on {@code /topic/rooms/{roomId}/players}. */
+    LEGACY,
+    /** Only the profile table and the slot-based state stream. */
+    SPLIT,
+    /** Both, while old clients are migrated. */
+    BOTH;
+
+    public boolean emitsLegacy() {
+        return this != SPLIT;
+    }
+
+    public boolean emitsSplit() {
+        return this != LEGACY;
+    }
+}
@@ -0,0 +1,37 @@
+package com.map.MetaHive.controller;
+
+import com.map.MetaHive.dto.ChatBatch;
+import com.map.MetaHive.dto.ChatRequest;
+import com.map.MetaHive.service.ChatService;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class ChatController {
+
+    private final ChatService chatService;
+
+    public ChatController(ChatService chatService) {
+        this.chatService = chatService;
+    }
+
+    /**
+     * Accepts a chat message; it is fanned out on {@code /topic/rooms/{roomId}/chat} with the next tick.
+     */
+    @MessageMapping("/chat")
+    public void postMessage(@Payload ChatRequest request) {
+        chatService.post(request.getRoomId(), request.getPlayerId(), request.getText());
+    }
+
+    /**
+     * Replies with the recent history of a room when a client subscribes to
+     * {@code /app/rooms/{roomId}/chat}.
+     */
+    @SubscribeMapping("/rooms/{roomId}/chat")
+    public ChatBatch history(@DestinationVariable String roomId) {
+        return chatService.history(roomId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.map.MetaHive.controller;
+
+import com.map.MetaHive.dto.ConversationGroupUpdate;
+import com.map.MetaHive.service.ProximityClusterService;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.stereotype.Controller;
+
+@Controller
+public class ConversationGroupController {
+
+    private final ProximityClusterService proximityClusterService;
+
+    public ConversationGroupController(ProximityClusterService proximityClusterService) {
+        this.proximityClusterService = proximityClusterService;
+    }
+
+    /**
+     * Replies with the full group assignment of a room when a client subscribes to
+     * {@code /app/rooms/{roomId}/groups}; afterwards clients follow the delta topic.
+     */
+    @SubscribeMapping("/rooms/{roomId}/groups")
+    public ConversationGroupUpdate currentGroups(@DestinationVariable String roomId) {
+        return new ConversationGroupUpdate(roomId, proximityClusterService.getGroups(roomId));
+    }
+}
@@ -0,0 +1,58 @@
+package com.map.MetaHive.controller;
+
+import com.map.MetaHive.dto.PathUpdate;
+import com.map.MetaHive.dto.WalkToRequest;
+import com.map.MetaHive.model.Player;
+import com.map.MetaHive.service.GameSessionService;
+import com.map.MetaHive.service.PathfindingService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.messaging.handler.annotation.Payload;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Controller;
+
+import java.util.List;
+
+@Controller
+public class PathController {
+
+    private static final Logger logger = LoggerFactory.getLogger(PathController.class);
+
+    private final GameSessionService gameSessionService;
+    private final PathfindingService pathfindingService;
+    private final SimpMessagingTemplate messagingTemplate;
+
+    public PathController(GameSessionService gameSessionService,
+                          PathfindingService pathfindingService,
+                          SimpMessagingTemplate messagingTemplate) {
+        this.gameSessionService = gameSessionService;
+        this.pathfindingService = pathfindingService;
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    /**
+     * Click-to-walk: the client only sends its destination, the server computes the path
+     * once and broadcasts it to the room. Clients animate along the waypoints and send a
+     * single {@code /app/move} on arrival instead of streaming every intermediate step.
+     */
+    @MessageMapping("/walkTo")
+    public void walkTo(@Payload WalkToRequest request) {
+        if (request.getRoomId() == null || request.getPlayerId() == null) {
+            logger.warn("Invalid walkTo payload received.");
+            return;
+        }
+        Player player = gameSessionService.getPlayerById(request.getRoomId(), request.getPlayerId());
+        if (player == null) {
+            logger.warn("Walk request received for non-existent player.");
+            return;
+        }
+
+        List<double[]> waypoints = pathfindingService.findPath(player.getX(), player.getY(), request.getX(), request.getY());
+        if (waypoints.isEmpty()) {
+            logger.info("Walk destination is not reachable.");
+        }
+        PathUpdate update = new PathUpdate(request.getRoomId(), request.getPlayerId(), waypoints, System.currentTimeMillis());
+        messagingTemplate.convertAndSend("/topic/rooms/" + request.getRoomId() + "/paths", update);
+    }
+}
@@ -3,17 +3,22 @@ package com.map.MetaHive.controller;
 import com.map.MetaHive.dto.CreateRoomRequest;
 import com.map.MetaHive.dto.JoinRoomRequest;
 import com.map.MetaHive.dto.LeaveRoomRequest;
+import com.map.MetaHive.dto.ProfileTable;
 import com.map.MetaHive.model.Player;
 import com.map.MetaHive.model.Room;
 import com.map.MetaHive.service.GameSessionService;
+import com.map.MetaHive.service.PlayerStatePublisher;
+import com.map.MetaHive.service.RosterBatcher;
 import com.map.MetaHive.service.SpawnPointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
 import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.stereotype.Controller;
 
 import java.util.HashMap;
@@ -28,14 +33,20 @@ public class PlayerController {
     private final GameSessionService gameSessionService;
     private final SimpMessagingTemplate messagingTemplate;
     private final SpawnPointService spawnPointService;
+    private final PlayerStatePublisher playerStatePublisher;
+    private final RosterBatcher rosterBatcher;
 
     @Autowired
     public PlayerController(GameSessionService gameSessionService,
                             SimpMessagingTemplate messagingTemplate,
-                            SpawnPointService spawnPointService) {
+                            SpawnPointService spawnPointService,
+                            PlayerStatePublisher playerStatePublisher,
+                            RosterBatcher rosterBatcher) {
         this.gameSessionService = gameSessionService;
         this.messagingTemplate = messagingTemplate;
         this.spawnPointService = spawnPointService;
+        this.playerStatePublisher = playerStatePublisher;
+        this.rosterBatcher = rosterBatcher;
     }
 
     @MessageMapping("/createRoom")
@@ -54,7 +65,7 @@ public class PlayerController {
 
         // Create room if it doesn't exist
         if (!gameSessionService.roomExists(roomId)) {
-            gameSessionService.createRoom(roomId);
+            gameSessionService.createRoom(roomId, request.getOfficeId());
             logger.info("Room created successfully.");
         } else {
             logger.info("Room already exists; no action taken.");
@@ -74,7 +85,7 @@ public class PlayerController {
         // If room does not exist, create one
         if (!gameSessionService.roomExists(roomId)) {
             logger.info("Room not found; creating a new room.");
-            Room newRoom = new Room(roomId);
+            Room newRoom = new Room(roomId, request.getOfficeId());
             gameSessionService.addRoom(roomId, newRoom);
         }
 
@@ -101,7 +112,7 @@ public class PlayerController {
         if (existing != null) {
             logger.info("Player already exists; updating username if needed.");
             existing.setUsername(incoming.getUsername());
-            broadcastPlayerStates(incoming.getRoomId());
+            rosterBatcher.profileChanged(incoming.getRoomId(), incoming.getId());
             return;
         }
 
@@ -112,7 +123,7 @@ public class PlayerController {
 
         logger.info("New player registered in room; spawn coordinates set.");
         gameSessionService.addPlayer(incoming);
-        broadcastPlayerStates(incoming.getRoomId());
+        rosterBatcher.playerJoined(incoming.getRoomId(), incoming.getId());
     }
 
     @MessageMapping("/move")
@@ -127,7 +138,7 @@ public class PlayerController {
             existingPlayer.setIsMoving(playerMovement.getIsMoving());
             existingPlayer.setAnimation(playerMovement.getAnimation());
             existingPlayer.setTimestamp(playerMovement.getTimestamp());
-            broadcastPlayerStates(playerMovement.getRoomId());
+            playerStatePublisher.publishState(playerMovement.getRoomId());
         } else {
             logger.warn("Player movement received for non-existent player.");
         }
@@ -144,13 +155,17 @@ public class PlayerController {
         }
 
         logger.info("Processing request to remove a player from a room.");
+        Player leaving = gameSessionService.getPlayerById(roomId, playerId);
         gameSessionService.removePlayer(roomId, playerId);
-        broadcastPlayerStates(roomId);
+        rosterBatcher.playerLeft(roomId, playerId, leaving);
     }
 
-    private void broadcastPlayerStates(String roomId) {
-        Map<String, Player> players = gameSessionService.getPlayersInRoom(roomId);
-        logger.info("Broadcasting updated player state for room.");
-        messagingTemplate.convertAndSend("/topic/rooms/" + roomId + "/players", players);
+    /**
+     * Replies with the profile table of a room when a client subscribes to
+     * {@code /app/rooms/{roomId}/profiles}, so late joiners can resolve state slots.
+     */
+    @SubscribeMapping("/rooms/{roomId}/profiles")
+    public ProfileTable currentProfiles(@DestinationVariable String roomId) {
+        return playerStatePublisher.profileTable(roomId);
     }
 }
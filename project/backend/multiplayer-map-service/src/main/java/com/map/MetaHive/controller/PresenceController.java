@@ -0,0 +1,49 @@
+package com.map.MetaHive.controller;
+
+import com.map.MetaHive.dto.PlayerLocation;
+import com.map.MetaHive.dto.RoomOccupancy;
+import com.map.MetaHive.service.PresenceDirectory;
+import org.springframework.http.ResponseEntity;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Read API of the presence directory over REST and STOMP. Live changes are pushed on
+ * {@code /topic/offices/{officeId}/presence}.
+ */
+@RestController
+@RequestMapping("/map/v1")
+public class PresenceController {
+
+    private final PresenceDirectory presenceDirectory;
+
+    public PresenceController(PresenceDirectory presenceDirectory) {
+        this.presenceDirectory = presenceDirectory;
+    }
+
+    @GetMapping("/offices/{officeId}/rooms")
+    public List<RoomOccupancy> getRoomsForOffice(@PathVariable String officeId) {
+        return presenceDirectory.getRoomsForOffice(officeId);
+    }
+
+    @GetMapping("/players/{playerId}/location")
+    public ResponseEntity<PlayerLocation> locatePlayer(@PathVariable String playerId) {
+        PlayerLocation location = presenceDirectory.locate(playerId);
+        return location != null ? ResponseEntity.ok(location) : ResponseEntity.notFound().build();
+    }
+
+    /**
+     * Replies with the rooms of an office when a client subscribes to
+     * {@code /app/offices/{officeId}/rooms}; afterwards clients follow the presence topic.
+     */
+    @SubscribeMapping("/offices/{officeId}/rooms")
+    public List<RoomOccupancy> subscribeRoomsForOffice(@DestinationVariable String officeId) {
+        return presenceDirectory.getRoomsForOffice(officeId);
+    }
+}
@@ -0,0 +1,26 @@
+package com.map.MetaHive.controller;
+
+import com.map.MetaHive.dto.RoomStats;
+import com.map.MetaHive.service.RoomHibernationService;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequestMapping("/map/v1/rooms")
+public class RoomStatsController {
+
+    private final RoomHibernationService roomHibernationService;
+
+    public RoomStatsController(RoomHibernationService roomHibernationService) {
+        this.roomHibernationService = roomHibernationService;
+    }
+
+    /**
+     * Returns active vs hibernated room counts and the estimated bytes each group retains.
+     */
+    @GetMapping("/stats")
+    public RoomStats getStats() {
+        return roomHibernationService.getStats();
+    }
+}
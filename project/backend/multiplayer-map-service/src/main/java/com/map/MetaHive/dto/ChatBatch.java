@@ -0,0 +1,30 @@
+package com.map.MetaHive.dto;
+
+import com.map.MetaHive.model.ChatMessage;
+
+import java.util.List;
+
+public class ChatBatch {
+    private String roomId;
+    private List<ChatMessage> messages;
+
+    public ChatBatch() {}
+
+    public ChatBatch(String roomId, List<ChatMessage> messages) {
+        this.roomId = roomId;
+        this.messages = messages;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public List<ChatMessage> getMessages() {
+        return messages;
+    }
+    public void setMessages(List<ChatMessage> messages) {
+        this.messages = messages;
+    }
+}
@@ -0,0 +1,34 @@
+package com.map.MetaHive.dto;
+
+public class ChatRequest {
+    private String roomId;
+    private String playerId;
+    private String text;
+
+    public ChatRequest() {}
+
+    public ChatRequest(String roomId, String playerId, String text) {
+        this.roomId = roomId;
+        this.playerId = playerId;
+        this.text = text;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public String getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    public String getText() {
+        return text;
+    }
+    public void setText(String text) {
+        this.text = text;
+    }
+}
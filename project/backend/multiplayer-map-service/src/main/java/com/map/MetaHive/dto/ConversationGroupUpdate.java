@@ -0,0 +1,29 @@
+package com.map.MetaHive.dto;
+
+import java.util.Map;
+
+public class ConversationGroupUpdate {
+    private String roomId;
+    // playerId -> groupId; a null groupId means the player left every group
+    private Map<String, String> changes;
+
+    public ConversationGroupUpdate() {}
+
+    public ConversationGroupUpdate(String roomId, Map<String, String> changes) {
+        this.roomId = roomId;
+        this.changes = changes;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public Map<String, String> getChanges() {
+        return changes;
+    }
+    public void setChanges(Map<String, String> changes) {
+        this.changes = changes;
+    }
+}
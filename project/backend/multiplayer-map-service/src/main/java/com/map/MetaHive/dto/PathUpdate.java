@@ -0,0 +1,45 @@
+package com.map.MetaHive.dto;
+
+import java.util.List;
+
+public class PathUpdate {
+    private String roomId;
+    private String playerId;
+    // Turning points of the path as [x, y] pairs in map pixels, start included; empty when unreachable
+    private List<double[]> waypoints;
+    private long timestamp;
+
+    public PathUpdate() {}
+
+    public PathUpdate(String roomId, String playerId, List<double[]> waypoints, long timestamp) {
+        this.roomId = roomId;
+        this.playerId = playerId;
+        this.waypoints = waypoints;
+        this.timestamp = timestamp;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public String getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    public List<double[]> getWaypoints() {
+        return waypoints;
+    }
+    public void setWaypoints(List<double[]> waypoints) {
+        this.waypoints = waypoints;
+    }
+    public long getTimestamp() {
+        return timestamp;
+    }
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
@@ -0,0 +1,34 @@
+package com.map.MetaHive.dto;
+
+public class PlayerLocation {
+    private String playerId;
+    private String roomId;
+    private String officeId;
+
+    public PlayerLocation() {}
+
+    public PlayerLocation(String playerId, String roomId, String officeId) {
+        this.playerId = playerId;
+        this.roomId = roomId;
+        this.officeId = officeId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public String getOfficeId() {
+        return officeId;
+    }
+    public void setOfficeId(String officeId) {
+        this.officeId = officeId;
+    }
+}
@@ -0,0 +1,42 @@
+package com.map.MetaHive.dto;
+
+public class PlayerProfile {
+    private int slot;
+    private String id;
+    private String username;
+    private String color;
+
+    public PlayerProfile() {}
+
+    public PlayerProfile(int slot, String id, String username, String color) {
+        this.slot = slot;
+        this.id = id;
+        this.username = username;
+        this.color = color;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+    public String getId() {
+        return id;
+    }
+    public void setId(String id) {
+        this.id = id;
+    }
+    public String getUsername() {
+        return username;
+    }
+    public void setUsername(String username) {
+        this.username = username;
+    }
+    public String getColor() {
+        return color;
+    }
+    public void setColor(String color) {
+        this.color = color;
+    }
+}
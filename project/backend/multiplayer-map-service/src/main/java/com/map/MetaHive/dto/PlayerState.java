@@ -0,0 +1,75 @@
+package com.map.MetaHive.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+
+/**
+ * Dynamic part of a player, serialized as a positional array
+ * {@code [slot, x, y, direction, isMoving, animation, timestamp]} to keep frames small.
+ */
+@JsonFormat(shape = JsonFormat.Shape.ARRAY)
+@JsonPropertyOrder({"slot", "x", "y", "direction", "isMoving", "animation", "timestamp"})
+public class PlayerState {
+    private int slot;
+    private double x;
+    private double y;
+    private String direction;
+    private boolean isMoving;
+    private String animation;
+    private long timestamp;
+
+    public PlayerState() {}
+
+    public PlayerState(int slot, double x, double y, String direction, boolean isMoving, String animation, long timestamp) {
+        this.slot = slot;
+        this.x = x;
+        this.y = y;
+        this.direction = direction;
+        this.isMoving = isMoving;
+        this.animation = animation;
+        this.timestamp = timestamp;
+    }
+
+    public int getSlot() {
+        return slot;
+    }
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
+    public double getX() {
+        return x;
+    }
+    public void setX(double x) {
+        this.x = x;
+    }
+    public double getY() {
+        return y;
+    }
+    public void setY(double y) {
+        this.y = y;
+    }
+    public String getDirection() {
+        return direction;
+    }
+    public void setDirection(String direction) {
+        this.direction = direction;
+    }
+    public boolean getIsMoving() {
+        return isMoving;
+    }
+    public void setIsMoving(boolean isMoving) {
+        this.isMoving = isMoving;
+    }
+    public String getAnimation() {
+        return animation;
+    }
+    public void setAnimation(String animation) {
+        this.animation = animation;
+    }
+    public long getTimestamp() {
+        return timestamp;
+    }
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
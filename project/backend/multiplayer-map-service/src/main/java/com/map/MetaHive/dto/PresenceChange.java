@@ -0,0 +1,60 @@
+package com.map.MetaHive.dto;
+
+public class PresenceChange {
+    // JOINED, LEFT, ROOM_OPENED or ROOM_CLOSED
+    private String type;
+    private String officeId;
+    private String roomId;
+    private String playerId;
+    private long roomOccupancy;
+    private long officeOccupancy;
+
+    public PresenceChange() {}
+
+    public PresenceChange(String type, String officeId, String roomId, String playerId,
+                          long roomOccupancy, long officeOccupancy) {
+        this.type = type;
+        this.officeId = officeId;
+        this.roomId = roomId;
+        this.playerId = playerId;
+        this.roomOccupancy = roomOccupancy;
+        this.officeOccupancy = officeOccupancy;
+    }
+
+    public String getType() {
+        return type;
+    }
+    public void setType(String type) {
+        this.type = type;
+    }
+    public String getOfficeId() {
+        return officeId;
+    }
+    public void setOfficeId(String officeId) {
+        this.officeId = officeId;
+    }
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public String getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    public long getRoomOccupancy() {
+        return roomOccupancy;
+    }
+    public void setRoomOccupancy(long roomOccupancy) {
+        this.roomOccupancy = roomOccupancy;
+    }
+    public long getOfficeOccupancy() {
+        return officeOccupancy;
+    }
+    public void setOfficeOccupancy(long officeOccupancy) {
+        this.officeOccupancy = officeOccupancy;
+    }
+}
@@ -0,0 +1,28 @@
+package com.map.MetaHive.dto;
+
+import java.util.List;
+
+public class ProfileTable {
+    private String roomId;
+    private List<PlayerProfile> profiles;
+
+    public ProfileTable() {}
+
+    public ProfileTable(String roomId, List<PlayerProfile> profiles) {
+        this.roomId = roomId;
+        this.profiles = profiles;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public List<PlayerProfile> getProfiles() {
+        return profiles;
+    }
+    public void setProfiles(List<PlayerProfile> profiles) {
+        this.profiles = profiles;
+    }
+}
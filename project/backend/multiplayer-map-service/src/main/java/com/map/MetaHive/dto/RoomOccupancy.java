@@ -0,0 +1,34 @@
+package com.map.MetaHive.dto;
+
+public class RoomOccupancy {
+    private String roomId;
+    private String officeId;
+    private long occupancy;
+
+    public RoomOccupancy() {}
+
+    public RoomOccupancy(String roomId, String officeId, long occupancy) {
+        this.roomId = roomId;
+        this.officeId = officeId;
+        this.occupancy = occupancy;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public String getOfficeId() {
+        return officeId;
+    }
+    public void setOfficeId(String officeId) {
+        this.officeId = officeId;
+    }
+    public long getOccupancy() {
+        return occupancy;
+    }
+    public void setOccupancy(long occupancy) {
+        this.occupancy = occupancy;
+    }
+}
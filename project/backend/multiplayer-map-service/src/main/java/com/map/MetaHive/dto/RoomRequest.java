@@ -3,6 +3,8 @@ package com.map.MetaHive.dto;
 public class RoomRequest {
     private String roomId;
     private String username;
+    // Optional office the room belongs to, used by the presence directory
+    private String officeId;
 
     public RoomRequest() {}
 
@@ -26,4 +28,12 @@ public class RoomRequest {
     public void setUsername(String username) {
         this.username = username;
     }
+
+    public String getOfficeId() {
+        return officeId;
+    }
+
+    public void setOfficeId(String officeId) {
+        this.officeId = officeId;
+    }
 }
@@ -0,0 +1,42 @@
+package com.map.MetaHive.dto;
+
+public class RoomStats {
+    private int activeRooms;
+    private int hibernatedRooms;
+    private long activeBytes;
+    private long hibernatedBytes;
+
+    public RoomStats() {}
+
+    public RoomStats(int activeRooms, int hibernatedRooms, long activeBytes, long hibernatedBytes) {
+        this.activeRooms = activeRooms;
+        this.hibernatedRooms = hibernatedRooms;
+        this.activeBytes = activeBytes;
+        this.hibernatedBytes = hibernatedBytes;
+    }
+
+    public int getActiveRooms() {
+        return activeRooms;
+    }
+    public void setActiveRooms(int activeRooms) {
+        this.activeRooms = activeRooms;
+    }
+    public int getHibernatedRooms() {
+        return hibernatedRooms;
+    }
+    public void setHibernatedRooms(int hibernatedRooms) {
+        this.hibernatedRooms = hibernatedRooms;
+    }
+    public long getActiveBytes() {
+        return activeBytes;
+    }
+    public void setActiveBytes(long activeBytes) {
+        this.activeBytes = activeBytes;
+    }
+    public long getHibernatedBytes() {
+        return hibernatedBytes;
+    }
+    public void setHibernatedBytes(long hibernatedBytes) {
+        this.hibernatedBytes = hibernatedBytes;
+    }
+}
@@ -0,0 +1,38 @@
+package com.map.MetaHive.dto;
+
+import java.util.List;
+
+public class RosterDelta {
+    private String roomId;
+    // Applied first: players that left, with the slot they released
+    private List<PlayerProfile> left;
+    // Applied second: players that joined or changed their profile
+    private List<PlayerProfile> joined;
+
+    public RosterDelta() {}
+
+    public RosterDelta(String roomId, List<PlayerProfile> left, List<PlayerProfile> joined) {
+        this.roomId = roomId;
+        this.left = left;
+        this.joined = joined;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public List<PlayerProfile> getLeft() {
+        return left;
+    }
+    public void setLeft(List<PlayerProfile> left) {
+        this.left = left;
+    }
+    public List<PlayerProfile> getJoined() {
+        return joined;
+    }
+    public void setJoined(List<PlayerProfile> joined) {
+        this.joined = joined;
+    }
+}
@@ -0,0 +1,28 @@
+package com.map.MetaHive.dto;
+
+import java.util.List;
+
+public class StateFrame {
+    private String roomId;
+    private List<PlayerState> states;
+
+    public StateFrame() {}
+
+    public StateFrame(String roomId, List<PlayerState> states) {
+        this.roomId = roomId;
+        this.states = states;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public List<PlayerState> getStates() {
+        return states;
+    }
+    public void setStates(List<PlayerState> states) {
+        this.states = states;
+    }
+}
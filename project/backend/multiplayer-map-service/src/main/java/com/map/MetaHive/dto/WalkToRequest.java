@@ -0,0 +1,42 @@
+package com.map.MetaHive.dto;
+
+public class WalkToRequest {
+    private String roomId;
+    private String playerId;
+    private double x;
+    private double y;
+
+    public WalkToRequest() {}
+
+    public WalkToRequest(String roomId, String playerId, double x, double y) {
+        this.roomId = roomId;
+        this.playerId = playerId;
+        this.x = x;
+        this.y = y;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+    public String getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+    public double getX() {
+        return x;
+    }
+    public void setX(double x) {
+        this.x = x;
+    }
+    public double getY() {
+        return y;
+    }
+    public void setY(double y) {
+        this.y = y;
+    }
+}
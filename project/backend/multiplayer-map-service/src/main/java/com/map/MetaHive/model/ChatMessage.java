@@ -0,0 +1,65 @@
+package com.map.MetaHive.model;
+
+public class ChatMessage {
+    private long id;
+    private String roomId;
+    private String playerId;
+    private String username;
+    private String text;
+    private long timestamp;
+
+    public ChatMessage() {
+        // no-args constructor
+    }
+
+    public ChatMessage(long id, String roomId, String playerId, String username, String text, long timestamp) {
+        this.id = id;
+        this.roomId = roomId;
+        this.playerId = playerId;
+        this.username = username;
+        this.text = text;
+        this.timestamp = timestamp;
+    }
+
+    public long getId() {
+        return id;
+    }
+    public void setId(long id) {
+        this.id = id;
+    }
+
+    public String getRoomId() {
+        return roomId;
+    }
+    public void setRoomId(String roomId) {
+        this.roomId = roomId;
+    }
+
+    public String getPlayerId() {
+        return playerId;
+    }
+    public void setPlayerId(String playerId) {
+        this.playerId = playerId;
+    }
+
+    public String getUsername() {
+        return username;
+    }
+    public void setUsername(String username) {
+        this.username = username;
+    }
+
+    public String getText() {
+        return text;
+    }
+    public void setText(String text) {
+        this.text = text;
+    }
+
+    public long getTimestamp() {
+        return timestamp;
+    }
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+}
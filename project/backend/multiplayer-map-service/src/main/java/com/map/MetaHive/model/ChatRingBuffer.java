@@ -0,0 +1,73 @@
+package com.map.MetaHive.model;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fixed-capacity history of the most recent chat messages of a room. Adding to a full
+ * buffer overwrites, and returns, the oldest message.
+ */
+public class ChatRingBuffer {
+
+    private final ChatMessage[] slots;
+    private int head;
+    private int size;
+
+    public ChatRingBuffer(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.slots = new ChatMessage[capacity];
+    }
+
+    /**
+     * @return the evicted message, or null if the buffer was not full.
+     */
+    public synchronized ChatMessage add(ChatMessage message) {
+        ChatMessage evicted = null;
+        int tail = (head + size) % slots.length;
+        if (size == slots.length) {
+            evicted = slots[head];
+            head = (head + 1) % slots.length;
+        } else {
+            size++;
+        }
+        slots[tail] = message;
+        return evicted;
+    }
+
+    /**
+     * @return the buffered messages from oldest to newest.
+     */
+    public synchronized List<ChatMessage> snapshot() {
+        List<ChatMessage> messages = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            messages.add(slots[(head + i) % slots.length]);
+        }
+        return messages;
+    }
+
+    /**
+     * @return the buffered messages with an id greater than {@code afterId}, oldest first.
+     * Relies on ids increasing in insertion order.
+     */
+    public synchronized List<ChatMessage> since(long afterId) {
+        int count = 0;
+        while (count < size && slots[(head + size - 1 - count) % slots.length].getId() > afterId) {
+            count++;
+        }
+        List<ChatMessage> messages = new ArrayList<>(count);
+        for (int i = size - count; i < size; i++) {
+            messages.add(slots[(head + i) % slots.length]);
+        }
+        return messages;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return slots.length;
+    }
+}
@@ -0,0 +1,72 @@
+package com.map.MetaHive.model;
+
+/**
+ * Walkability grid derived from the collision layers of the Tiled map.
+ * Cells are addressed by tile column/row; world coordinates are map pixels.
+ */
+public class CollisionGrid {
+
+    private final int width;
+    private final int height;
+    private final int tileWidth;
+    private final int tileHeight;
+    private final boolean[] blocked;
+
+    public CollisionGrid(int width, int height, int tileWidth, int tileHeight) {
+        if (width <= 0 || height <= 0 || tileWidth <= 0 || tileHeight <= 0) {
+            throw new IllegalArgumentException("Grid and tile dimensions must be positive");
+        }
+        this.width = width;
+        this.height = height;
+        this.tileWidth = tileWidth;
+        this.tileHeight = tileHeight;
+        this.blocked = new boolean[width * height];
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    public int getHeight() {
+        return height;
+    }
+
+    public int getTileWidth() {
+        return tileWidth;
+    }
+
+    public int getTileHeight() {
+        return tileHeight;
+    }
+
+    public void setBlocked(int col, int row, boolean value) {
+        if (!inBounds(col, row)) {
+            throw new IllegalArgumentException("Cell outside of grid");
+        }
+        blocked[row * width + col] = value;
+    }
+
+    public boolean inBounds(int col, int row) {
+        return col >= 0 && row >= 0 && col < width && row < height;
+    }
+
+    public boolean isWalkable(int col, int row) {
+        return inBounds(col, row) && !blocked[row * width + col];
+    }
+
+    public int colOf(double x) {
+        return (int) Math.floor(x / tileWidth);
+    }
+
+    public int rowOf(double y) {
+        return (int) Math.floor(y / tileHeight);
+    }
+
+    public double centerX(int col) {
+        return col * (double) tileWidth + tileWidth / 2.0;
+    }
+
+    public double centerY(int row) {
+        return row * (double) tileHeight + tileHeight / 2.0;
+    }
+}
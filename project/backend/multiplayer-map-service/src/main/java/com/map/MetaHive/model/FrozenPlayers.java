@@ -0,0 +1,92 @@
+package com.map.MetaHive.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Compact, read-only snapshot of the players of a hibernated room, stored as parallel
+ * arrays instead of a map of {@link Player} objects. Direction and animation names come
+ * from a tiny vocabulary and are interned; the room id is restored from the owning room.
+ */
+public class FrozenPlayers {
+
+    // Estimated bytes per frozen player: five array references, x/y, timestamp, slot and moving flag
+    private static final int BYTES_PER_PLAYER = 5 * 4 + 2 * 8 + 8 + 4 + 1;
+
+    private final String[] ids;
+    private final String[] usernames;
+    private final String[] colors;
+    private final String[] directions;
+    private final String[] animations;
+    private final double[] positions;
+    private final long[] timestamps;
+    private final int[] slots;
+    private final boolean[] moving;
+
+    private FrozenPlayers(int size) {
+        ids = new String[size];
+        usernames = new String[size];
+        colors = new String[size];
+        directions = new String[size];
+        animations = new String[size];
+        positions = new double[size * 2];
+        timestamps = new long[size];
+        slots = new int[size];
+        moving = new boolean[size];
+    }
+
+    public static FrozenPlayers freeze(Collection<Player> players) {
+        List<Player> snapshot = new ArrayList<>(players);
+        FrozenPlayers frozen = new FrozenPlayers(snapshot.size());
+        for (int i = 0; i < snapshot.size(); i++) {
+            Player player = snapshot.get(i);
+            frozen.ids[i] = player.getId();
+            frozen.usernames[i] = player.getUsername();
+            frozen.colors[i] = player.getColor();
+            frozen.directions[i] = player.getDirection() != null ? player.getDirection().intern() : null;
+            frozen.animations[i] = player.getAnimation() != null ? player.getAnimation().intern() : null;
+            frozen.positions[2 * i] = player.getX();
+            frozen.positions[2 * i + 1] = player.getY();
+            frozen.timestamps[i] = player.getTimestamp();
+            frozen.slots[i] = player.getSlot();
+            frozen.moving[i] = player.getIsMoving();
+        }
+        return frozen;
+    }
+
+    public List<Player> thaw(String roomId) {
+        List<Player> players = new ArrayList<>(ids.length);
+        for (int i = 0; i < ids.length; i++) {
+            Player player = new Player();
+            player.setId(ids[i]);
+            player.setRoomId(roomId);
+            player.setUsername(usernames[i]);
+            player.setColor(colors[i]);
+            player.setDirection(directions[i]);
+            player.setAnimation(animations[i]);
+            player.setX(positions[2 * i]);
+            player.setY(positions[2 * i + 1]);
+            player.setTimestamp(timestamps[i]);
+            player.setSlot(slots[i]);
+            player.setIsMoving(moving[i]);
+            players.add(player);
+        }
+        return players;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public long estimateBytes() {
+        long bytes = 9L * 16;
+        for (int i = 0; i < ids.length; i++) {
+            bytes += BYTES_PER_PLAYER
+                    + Room.estimateStringBytes(ids[i])
+                    + Room.estimateStringBytes(usernames[i])
+                    + Room.estimateStringBytes(colors[i]);
+        }
+        return bytes;
+    }
+}
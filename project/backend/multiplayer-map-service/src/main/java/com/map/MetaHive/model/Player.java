@@ -11,6 +11,7 @@ public class Player {
     private String animation;
     private long timestamp;
     private String roomId;
+    private int slot = -1;
 
     public Player() {
         // no-args constructor
@@ -87,4 +88,11 @@ public class Player {
     public void setRoomId(String roomId) {
         this.roomId = roomId;
     }
+
+    public int getSlot() {
+        return slot;
+    }
+    public void setSlot(int slot) {
+        this.slot = slot;
+    }
 }
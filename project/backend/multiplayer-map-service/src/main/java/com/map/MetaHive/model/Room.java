@@ -1,12 +1,29 @@
 package com.map.MetaHive.model;
 
+import java.util.BitSet;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
 public class Room {
+
+    // Rough heap estimates for the memory budget: Player object plus its map entry
+    private static final int BYTES_PER_PLAYER = 80 + 48;
+    private static final int BYTES_PER_STRING = 40;
+
     private String id;
-    private Map<String, Player> players;
+    private String officeId;
+    private volatile Map<String, Player> players;
     private long createdAt;
+    // Compact numeric ids referenced by the state stream; freed slots are reused
+    private final BitSet usedSlots = new BitSet();
+    private volatile long lastActivityAt;
+    // Non-null while the room is hibernated; the players map is empty then
+    private volatile FrozenPlayers frozen;
+
+    public Room(String id, String officeId) {
+        this(id);
+        this.officeId = officeId;
+    }
 
     public Room(String id) {
         if (id == null || id.isEmpty()) {
@@ -15,35 +32,155 @@ public class Room {
         this.id = id;
         this.players = new ConcurrentHashMap<>();
         this.createdAt = System.currentTimeMillis();
+        this.lastActivityAt = createdAt;
     }
 
     public String getId() {
         return id;
     }
 
-    public Map<String, Player> getPlayers() {
+    public String getOfficeId() {
+        return officeId;
+    }
+
+    /**
+     * Returns the live players of the room, waking it first if it is hibernated. Holds the
+     * room's monitor, so a concurrent {@link #hibernate(long)} cannot swap the map between
+     * the wake and the read.
+     */
+    public synchronized Map<String, Player> getPlayers() {
+        wake();
         return players;
     }
 
+    public int getPlayerCount() {
+        FrozenPlayers snapshot = frozen;
+        return snapshot != null ? snapshot.size() : players.size();
+    }
+
     public long getCreatedAt() {
         return createdAt;
     }
 
-    public void addPlayer(Player player) {
+    /**
+     * Adds or replaces a player.
+     *
+     * @return true if the player was not in the room before.
+     */
+    public synchronized boolean addPlayer(Player player) {
         if (player == null || player.getId() == null) {
             throw new IllegalArgumentException("Player or Player ID cannot be null");
         }
+        wake();
+        Player previous = players.get(player.getId());
+        if (previous != null) {
+            player.setSlot(previous.getSlot());
+        } else {
+            int slot = usedSlots.nextClearBit(0);
+            usedSlots.set(slot);
+            player.setSlot(slot);
+        }
         players.put(player.getId(), player);
+        return previous == null;
     }
 
-    public void removePlayer(String playerId) {
+    /**
+     * Removes a player.
+     *
+     * @return true if the player was in the room.
+     */
+    public synchronized boolean removePlayer(String playerId) {
         if (playerId == null) {
             throw new IllegalArgumentException("Player ID cannot be null");
         }
-        players.remove(playerId);
+        wake();
+        Player removed = players.remove(playerId);
+        if (removed != null) {
+            usedSlots.clear(removed.getSlot());
+        }
+        return removed != null;
     }
 
     public boolean hasPlayer(String playerId) {
-        return playerId != null && players.containsKey(playerId);
+        return playerId != null && getPlayers().containsKey(playerId);
+    }
+
+    public long getLastActivityAt() {
+        return lastActivityAt;
+    }
+
+    public void touch(long now) {
+        lastActivityAt = now;
+    }
+
+    public boolean isHibernated() {
+        return frozen != null;
+    }
+
+    /**
+     * Freezes the players into a compact snapshot and drops the live player map.
+     *
+     * @return false if the room was already hibernated.
+     */
+    public boolean hibernate() {
+        return hibernate(Long.MAX_VALUE);
+    }
+
+    /**
+     * Hibernates the room unless it saw activity after {@code idleSince}. Inbound messages
+     * touch the room before reading its players, so checking under the monitor keeps a room
+     * from being frozen under a message that has just looked up a player to update it.
+     *
+     * @return false if the room was already hibernated or has been active since.
+     */
+    public synchronized boolean hibernate(long idleSince) {
+        if (frozen != null || lastActivityAt > idleSince) {
+            return false;
+        }
+        frozen = FrozenPlayers.freeze(players.values());
+        players = new ConcurrentHashMap<>();
+        return true;
+    }
+
+    /**
+     * Restores the live players of a hibernated room.
+     *
+     * @return false if the room was not hibernated.
+     */
+    public synchronized boolean wake() {
+        FrozenPlayers snapshot = frozen;
+        if (snapshot == null) {
+            return false;
+        }
+        for (Player player : snapshot.thaw(id)) {
+            players.put(player.getId(), player);
+        }
+        frozen = null;
+        return true;
+    }
+
+    /**
+     * Estimates the heap retained by the room's player state, frozen or live.
+     */
+    public long estimateRetainedBytes() {
+        FrozenPlayers snapshot = frozen;
+        if (snapshot != null) {
+            return snapshot.estimateBytes();
+        }
+        long bytes = 0;
+        for (Player player : players.values()) {
+            bytes += BYTES_PER_PLAYER
+                    + estimateStringBytes(player.getId())
+                    + estimateStringBytes(player.getUsername())
+                    + estimateStringBytes(player.getColor())
+                    + estimateStringBytes(player.getDirection())
+                    + estimateStringBytes(player.getAnimation())
+                    + estimateStringBytes(player.getRoomId());
+        }
+        return bytes;
+    }
+
+    static long estimateStringBytes(String value) {
+        return value == null ? 0 : BYTES_PER_STRING + value.length();
     }
 }
@@ -0,0 +1,68 @@
+package com.map.MetaHive.model;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntConsumer;
+
+/**
+ * Uniform grid that buckets indexed points by cell so neighbourhood queries only
+ * look at the 3x3 block of cells around a position instead of every point in the room.
+ * The grid is cheap to rebuild and is meant to be filled once per tick.
+ */
+public class SpatialGrid {
+
+    private final double cellSize;
+    private final Map<Long, List<Integer>> cells = new HashMap<>();
+
+    public SpatialGrid(double cellSize) {
+        if (cellSize <= 0) {
+            throw new IllegalArgumentException("Cell size must be positive");
+        }
+        this.cellSize = cellSize;
+    }
+
+    public double getCellSize() {
+        return cellSize;
+    }
+
+    public void insert(int index, double x, double y) {
+        cells.computeIfAbsent(key(cellOf(x), cellOf(y)), k -> new ArrayList<>()).add(index);
+    }
+
+    /**
+     * Visits every index stored in the cell containing (x, y) and its eight neighbours.
+     * With a cell size of at least the query radius this covers all points within the radius.
+     */
+    public void forEachNear(double x, double y, IntConsumer consumer) {
+        int cx = cellOf(x);
+        int cy = cellOf(y);
+        for (int dx = -1; dx <= 1; dx++) {
+            for (int dy = -1; dy <= 1; dy++) {
+                List<Integer> bucket = cells.get(key(cx + dx, cy + dy));
+                if (bucket != null) {
+                    for (int index : bucket) {
+                        consumer.accept(index);
+                    }
+                }
+            }
+        }
+    }
+
+    public int occupiedCells() {
+        return cells.size();
+    }
+
+    public void clear() {
+        cells.clear();
+    }
+
+    private int cellOf(double value) {
+        return (int) Math.floor(value / cellSize);
+    }
+
+    private static long key(int cx, int cy) {
+        return ((long) cx << 32) | (cy & 0xffffffffL);
+    }
+}
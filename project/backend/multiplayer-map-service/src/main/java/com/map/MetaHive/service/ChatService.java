@@ -0,0 +1,135 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.dto.ChatBatch;
+import com.map.MetaHive.model.ChatMessage;
+import com.map.MetaHive.model.ChatRingBuffer;
+import com.map.MetaHive.model.Player;
+import com.map.MetaHive.model.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Room chat. Each room keeps its recent messages in a fixed-size {@link ChatRingBuffer};
+ * new messages are fanned out in one {@link ChatBatch} per room on the tick rather than one
+ * frame per message, and late joiners get the whole buffer in a single frame. Messages that
+ * fall out of the buffer are handed to the {@link ChatSpillWriter}.
+ * <p>
+ * The tick reads new messages back from the buffer by the last delivered id, so no room
+ * holds more than the buffer between ticks. Within a burst larger than the buffer, the
+ * messages evicted before the tick are only spilled, not broadcast.
+ */
+@Service
+public class ChatService implements RoomTickStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatService.class);
+
+    private final GameSessionService gameSessionService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ChatSpillWriter chatSpillWriter;
+    private final int historySize;
+    private final int maxLength;
+    private final Map<String, RoomChat> chats = new ConcurrentHashMap<>();
+
+    public ChatService(GameSessionService gameSessionService,
+                       SimpMessagingTemplate messagingTemplate,
+                       ChatSpillWriter chatSpillWriter,
+                       @Value("${app.map.chat.history-size:100}") int historySize,
+                       @Value("${app.map.chat.max-length:500}") int maxLength) {
+        if (historySize <= 0 || maxLength <= 0) {
+            throw new IllegalArgumentException("History size and max length must be positive");
+        }
+        this.gameSessionService = gameSessionService;
+        this.messagingTemplate = messagingTemplate;
+        this.chatSpillWriter = chatSpillWriter;
+        this.historySize = historySize;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Appends a message to the room's history; it is delivered on the next tick.
+     *
+     * @return the stored message, or null if the sender or text is invalid.
+     */
+    public ChatMessage post(String roomId, String playerId, String text) {
+        if (roomId == null || playerId == null || text == null || text.isBlank()) {
+            logger.warn("Invalid chat message received.");
+            return null;
+        }
+        if (text.length() > maxLength) {
+            logger.warn("Chat message exceeds the maximum length.");
+            return null;
+        }
+        Player sender = gameSessionService.getPlayerById(roomId, playerId);
+        if (sender == null) {
+            logger.warn("Chat message received for non-existent player.");
+            return null;
+        }
+        RoomChat chat = chats.computeIfAbsent(roomId, id -> new RoomChat(historySize));
+        ChatMessage evicted;
+        ChatMessage message;
+        synchronized (chat) {
+            message = new ChatMessage(++chat.lastId, roomId, playerId, sender.getUsername(), text, System.currentTimeMillis());
+            evicted = chat.history.add(message);
+        }
+        if (evicted != null) {
+            chatSpillWriter.spill(evicted);
+        }
+        return message;
+    }
+
+    @Override
+    public void onTick(Room room, long now) {
+        RoomChat chat = chats.get(room.getId());
+        if (chat == null) {
+            return;
+        }
+        List<ChatMessage> fresh;
+        long overflowed;
+        synchronized (chat) {
+            if (chat.lastDelivered == chat.lastId) {
+                return;
+            }
+            fresh = chat.history.since(chat.lastDelivered);
+            overflowed = chat.lastId - chat.lastDelivered - fresh.size();
+            chat.lastDelivered = chat.lastId;
+        }
+        if (overflowed > 0) {
+            logger.warn("{} chat messages left the history before the tick and were not broadcast.", overflowed);
+        }
+        messagingTemplate.convertAndSend("/topic/rooms/" + room.getId() + "/chat", new ChatBatch(room.getId(), fresh));
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        RoomChat chat = chats.remove(roomId);
+        if (chat != null && chatSpillWriter.isEnabled()) {
+            chat.history.snapshot().forEach(chatSpillWriter::spill);
+        }
+    }
+
+    /**
+     * Returns the buffered history of a room in one frame, oldest message first.
+     */
+    public ChatBatch history(String roomId) {
+        RoomChat chat = chats.get(roomId);
+        return new ChatBatch(roomId, chat != null ? chat.history.snapshot() : List.of());
+    }
+
+    private static final class RoomChat {
+        private final ChatRingBuffer history;
+        // Both guarded by the RoomChat monitor
+        private long lastId;
+        private long lastDelivered;
+
+        private RoomChat(int historySize) {
+            this.history = new ChatRingBuffer(historySize);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.map.MetaHive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.map.MetaHive.model.ChatMessage;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Appends chat messages that fall out of the in-memory history to a JSON-lines file on a
+ * background thread. Spilling is best effort: when the queue is full messages are dropped
+ * rather than slowing down the chat path. Disabled when no spill file is configured.
+ */
+@Service
+public class ChatSpillWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatSpillWriter.class);
+    private static final int MAX_BATCH = 512;
+
+    private final Path spillFile;
+    private final BlockingQueue<ChatMessage> queue;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final AtomicLong dropped = new AtomicLong();
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ChatSpillWriter(@Value("${app.map.chat.spill-file:}") String spillFile,
+                           @Value("${app.map.chat.spill-queue-size:10000}") int queueSize) {
+        if (spillFile == null || spillFile.isBlank()) {
+            this.spillFile = null;
+            this.queue = null;
+            this.writer = null;
+            return;
+        }
+        this.spillFile = Paths.get(spillFile);
+        this.queue = new ArrayBlockingQueue<>(queueSize);
+        this.writer = new Thread(this::drain, "chat-spill-writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    public boolean isEnabled() {
+        return spillFile != null;
+    }
+
+    /**
+     * Queues a message for appending. Returns false if spilling is disabled or the queue is full.
+     */
+    public boolean spill(ChatMessage message) {
+        if (!isEnabled()) {
+            return false;
+        }
+        if (!queue.offer(message)) {
+            dropped.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    public long getDroppedCount() {
+        return dropped.get();
+    }
+
+    /**
+     * Stops accepting work once the queue is drained and waits for the writer to finish.
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        if (!isEnabled()) {
+            return;
+        }
+        running = false;
+        writer.join(TimeUnit.SECONDS.toMillis(5));
+    }
+
+    private void drain() {
+        List<ChatMessage> batch = new ArrayList<>(MAX_BATCH);
+        try (BufferedWriter out = Files.newBufferedWriter(spillFile, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+            while (running || !queue.isEmpty()) {
+                ChatMessage first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                queue.drainTo(batch, MAX_BATCH - 1);
+                for (ChatMessage message : batch) {
+                    out.write(mapper.writeValueAsString(message));
+                    out.newLine();
+                }
+                out.flush();
+                batch.clear();
+            }
+        } catch (IOException e) {
+            logger.error("Error writing chat spill file: ", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -6,6 +6,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -14,6 +15,11 @@ public class GameSessionService {
 
     private static final Logger logger = LoggerFactory.getLogger(GameSessionService.class);
     private final Map<String, Room> activeRooms = new ConcurrentHashMap<>();
+    private final PresenceDirectory presenceDirectory;
+
+    public GameSessionService(PresenceDirectory presenceDirectory) {
+        this.presenceDirectory = presenceDirectory;
+    }
 
     /**
      * Creates a room using the provided roomId if it doesn't already exist.
@@ -21,10 +27,23 @@ public class GameSessionService {
      * @param roomId The room id.
      */
     public void createRoom(String roomId) {
+        createRoom(roomId, null);
+    }
+
+    /**
+     * Creates a room belonging to an office if it doesn't already exist.
+     *
+     * @param roomId   The room id.
+     * @param officeId The office the room belongs to, may be null.
+     */
+    public void createRoom(String roomId, String officeId) {
         if (roomId == null || roomId.isEmpty()) {
             throw new IllegalArgumentException("Room ID cannot be null or empty");
         }
-        activeRooms.putIfAbsent(roomId, new Room(roomId));
+        Room room = new Room(roomId, officeId);
+        if (activeRooms.putIfAbsent(roomId, room) == null) {
+            presenceDirectory.roomCreated(roomId, officeId);
+        }
         logger.info("Room created or already exists.");
     }
 
@@ -32,9 +51,11 @@ public class GameSessionService {
         if (roomId == null || player == null || player.getId() == null) {
             throw new IllegalArgumentException("Room ID, Player, or Player ID cannot be null");
         }
-        Room room = activeRooms.get(roomId);
+        Room room = findActiveRoom(roomId);
         if (room != null) {
-            room.addPlayer(player);
+            if (room.addPlayer(player)) {
+                presenceDirectory.playerJoined(roomId, player.getId());
+            }
             logger.info("Player joined the room.");
             return true;
         }
@@ -46,7 +67,14 @@ public class GameSessionService {
         if (roomId == null || room == null) {
             throw new IllegalArgumentException("Room ID or Room object cannot be null");
         }
-        activeRooms.put(roomId, room);
+        Room replaced = activeRooms.put(roomId, room);
+        if (replaced != null) {
+            presenceDirectory.roomRemoved(roomId);
+        }
+        presenceDirectory.roomCreated(roomId, room.getOfficeId());
+        for (Player player : room.getPlayers().values()) {
+            presenceDirectory.playerJoined(roomId, player.getId());
+        }
         logger.info("New room added.");
     }
 
@@ -54,12 +82,14 @@ public class GameSessionService {
         if (player == null || player.getId() == null || player.getRoomId() == null) {
             throw new IllegalArgumentException("Player, Player ID, or Room ID cannot be null");
         }
-        Room room = activeRooms.get(player.getRoomId());
+        Room room = findActiveRoom(player.getRoomId());
         if (room == null) {
             throw new IllegalStateException("Room does not exist: " + player.getRoomId());
         }
         logger.info("Adding player to room.");
-        room.addPlayer(player);
+        if (room.addPlayer(player)) {
+            presenceDirectory.playerJoined(room.getId(), player.getId());
+        }
         logger.info("Player added; current room player count updated.");
     }
 
@@ -67,7 +97,7 @@ public class GameSessionService {
         if (roomId == null) {
             throw new IllegalArgumentException("Room ID cannot be null");
         }
-        Room room = activeRooms.get(roomId);
+        Room room = findActiveRoom(roomId);
         if (room != null) {
             logger.info("Retrieving players from room.");
             return room.getPlayers();
@@ -79,7 +109,7 @@ public class GameSessionService {
         if (roomId == null || playerId == null) {
             throw new IllegalArgumentException("Room ID or Player ID cannot be null");
         }
-        Room room = activeRooms.get(roomId);
+        Room room = findActiveRoom(roomId);
         return (room != null) ? room.getPlayers().get(playerId) : null;
     }
 
@@ -87,15 +117,17 @@ public class GameSessionService {
         if (roomId == null || playerId == null) {
             throw new IllegalArgumentException("Room ID or Player ID cannot be null");
         }
-        Room room = activeRooms.get(roomId);
+        Room room = findActiveRoom(roomId);
         if (room == null) {
             logger.warn("Attempt to remove a player from a non-existent room.");
             return;
         }
-        room.removePlayer(playerId);
+        if (room.removePlayer(playerId)) {
+            presenceDirectory.playerLeft(roomId, playerId);
+        }
         logger.info("Player removed from room.");
-        if (room.getPlayers().isEmpty()) {
-            activeRooms.remove(roomId);
+        if (room.getPlayers().isEmpty() && activeRooms.remove(roomId, room)) {
+            presenceDirectory.roomRemoved(roomId);
             logger.info("Room removed due to being empty.");
         }
     }
@@ -103,4 +135,20 @@ public class GameSessionService {
     public boolean roomExists(String roomId) {
         return roomId != null && activeRooms.containsKey(roomId);
     }
+
+    public Collection<Room> getActiveRooms() {
+        return activeRooms.values();
+    }
+
+    /**
+     * Looks up a room on behalf of an inbound message and records the activity, which
+     * keeps the room from hibernating. Hibernated rooms wake on first access to their players.
+     */
+    private Room findActiveRoom(String roomId) {
+        Room room = activeRooms.get(roomId);
+        if (room != null) {
+            room.touch(System.currentTimeMillis());
+        }
+        return room;
+    }
 }
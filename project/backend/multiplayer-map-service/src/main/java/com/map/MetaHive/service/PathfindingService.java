@@ -0,0 +1,348 @@
+package com.map.MetaHive.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.map.MetaHive.model.CollisionGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Service;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Server-side click-to-walk pathfinding over the collision layers of the Tiled map.
+ * Uses A* with jump point search (diagonal moves only when both adjacent cells are open)
+ * and keeps an LRU cache of recent cell-to-cell paths, since most walks go between the
+ * same desks and meeting rooms.
+ */
+@Service
+public class PathfindingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PathfindingService.class);
+    private static final String MAP_JSON_PATH = "mapfinal1.json";
+    private static final double SQRT2 = Math.sqrt(2);
+
+    private final CollisionGrid grid;
+    private final Map<Long, int[]> pathCache;
+
+    @Autowired
+    public PathfindingService(@Value("${app.map.pathfinding.cache-size:512}") int cacheSize) {
+        this(loadCollisionGrid(), cacheSize);
+    }
+
+    PathfindingService(CollisionGrid grid, int cacheSize) {
+        if (cacheSize <= 0) {
+            throw new IllegalArgumentException("Path cache size must be positive");
+        }
+        this.grid = grid;
+        this.pathCache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, int[]> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    /**
+     * Finds a walkable path between two points in map pixels.
+     *
+     * @return the turning points of the path as [x, y] pairs starting at the origin and
+     * ending at the destination, or an empty list if the destination cannot be reached.
+     * Without a collision map the path is the straight segment between both points.
+     */
+    public List<double[]> findPath(double fromX, double fromY, double toX, double toY) {
+        if (grid == null) {
+            return List.of(new double[]{fromX, fromY}, new double[]{toX, toY});
+        }
+        int startCol = grid.colOf(fromX);
+        int startRow = grid.rowOf(fromY);
+        int goalCol = grid.colOf(toX);
+        int goalRow = grid.rowOf(toY);
+        if (!grid.inBounds(startCol, startRow) || !grid.isWalkable(goalCol, goalRow)) {
+            return Collections.emptyList();
+        }
+
+        int start = startRow * grid.getWidth() + startCol;
+        int goal = goalRow * grid.getWidth() + goalCol;
+        long key = ((long) start << 32) | goal;
+        int[] cells = pathCache.get(key);
+        if (cells == null) {
+            cells = search(start, goal);
+            pathCache.put(key, cells);
+        }
+        if (cells.length == 0) {
+            return Collections.emptyList();
+        }
+
+        List<double[]> waypoints = new ArrayList<>(cells.length);
+        waypoints.add(new double[]{fromX, fromY});
+        for (int i = 1; i < cells.length - 1; i++) {
+            int cell = cells[i];
+            waypoints.add(new double[]{grid.centerX(cell % grid.getWidth()), grid.centerY(cell / grid.getWidth())});
+        }
+        waypoints.add(new double[]{toX, toY});
+        return waypoints;
+    }
+
+    public int getCachedPathCount() {
+        return pathCache.size();
+    }
+
+    /**
+     * Runs A* with jump point search and returns the jump points from start to goal
+     * (both included), or an empty array if there is no path.
+     */
+    int[] search(int start, int goal) {
+        if (start == goal) {
+            return new int[]{start, goal};
+        }
+        int width = grid.getWidth();
+        int size = width * grid.getHeight();
+        double[] gScore = new double[size];
+        Arrays.fill(gScore, Double.POSITIVE_INFINITY);
+        int[] parent = new int[size];
+        Arrays.fill(parent, -1);
+        boolean[] closed = new boolean[size];
+        PriorityQueue<double[]> open = new PriorityQueue<>((a, b) -> Double.compare(a[0], b[0]));
+
+        gScore[start] = 0;
+        open.add(new double[]{octile(start, goal), start});
+        int[] neighbours = new int[16];
+        while (!open.isEmpty()) {
+            int current = (int) open.poll()[1];
+            if (closed[current]) {
+                continue;
+            }
+            if (current == goal) {
+                return reconstruct(parent, goal);
+            }
+            closed[current] = true;
+
+            int x = current % width;
+            int y = current / width;
+            int count = neighbours(current, parent[current], neighbours);
+            for (int i = 0; i < count; i += 2) {
+                int dx = neighbours[i];
+                int dy = neighbours[i + 1];
+                int jumpPoint = jump(x + dx, y + dy, dx, dy, goal);
+                if (jumpPoint < 0 || closed[jumpPoint]) {
+                    continue;
+                }
+                double tentative = gScore[current] + octile(current, jumpPoint);
+                if (tentative < gScore[jumpPoint]) {
+                    gScore[jumpPoint] = tentative;
+                    parent[jumpPoint] = current;
+                    open.add(new double[]{tentative + octile(jumpPoint, goal), jumpPoint});
+                }
+            }
+        }
+        return new int[0];
+    }
+
+    /**
+     * Writes the pruned search directions of a node as (dx, dy) pairs and returns the
+     * number of ints written.
+     */
+    private int neighbours(int node, int parentNode, int[] out) {
+        int width = grid.getWidth();
+        int x = node % width;
+        int y = node / width;
+        int n = 0;
+        if (parentNode < 0) {
+            for (int dy = -1; dy <= 1; dy++) {
+                for (int dx = -1; dx <= 1; dx++) {
+                    if ((dx != 0 || dy != 0) && canStep(x, y, dx, dy)) {
+                        out[n++] = dx;
+                        out[n++] = dy;
+                    }
+                }
+            }
+            return n;
+        }
+
+        int dx = Integer.signum(x - parentNode % width);
+        int dy = Integer.signum(y - parentNode / width);
+        if (dx != 0 && dy != 0) {
+            boolean vertical = grid.isWalkable(x, y + dy);
+            boolean horizontal = grid.isWalkable(x + dx, y);
+            if (vertical) {
+                out[n++] = 0;
+                out[n++] = dy;
+            }
+            if (horizontal) {
+                out[n++] = dx;
+                out[n++] = 0;
+            }
+            if (vertical && horizontal) {
+                out[n++] = dx;
+                out[n++] = dy;
+            }
+        } else if (dx != 0) {
+            boolean next = grid.isWalkable(x + dx, y);
+            boolean down = grid.isWalkable(x, y + 1);
+            boolean up = grid.isWalkable(x, y - 1);
+            if (next) {
+                out[n++] = dx;
+                out[n++] = 0;
+                if (down) {
+                    out[n++] = dx;
+                    out[n++] = 1;
+                }
+                if (up) {
+                    out[n++] = dx;
+                    out[n++] = -1;
+                }
+            }
+            if (down) {
+                out[n++] = 0;
+                out[n++] = 1;
+            }
+            if (up) {
+                out[n++] = 0;
+                out[n++] = -1;
+            }
+        } else {
+            boolean next = grid.isWalkable(x, y + dy);
+            boolean right = grid.isWalkable(x + 1, y);
+            boolean left = grid.isWalkable(x - 1, y);
+            if (next) {
+                out[n++] = 0;
+                out[n++] = dy;
+                if (right) {
+                    out[n++] = 1;
+                    out[n++] = dy;
+                }
+                if (left) {
+                    out[n++] = -1;
+                    out[n++] = dy;
+                }
+            }
+            if (right) {
+                out[n++] = 1;
+                out[n++] = 0;
+            }
+            if (left) {
+                out[n++] = -1;
+                out[n++] = 0;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Walks from (x, y) in direction (dx, dy) until reaching the goal, a cell with a
+     * forced neighbour, or an obstacle. Returns the jump point cell or -1.
+     */
+    private int jump(int x, int y, int dx, int dy, int goal) {
+        int width = grid.getWidth();
+        while (true) {
+            if (!grid.isWalkable(x, y)) {
+                return -1;
+            }
+            int cell = y * width + x;
+            if (cell == goal) {
+                return cell;
+            }
+            if (dx != 0 && dy != 0) {
+                if (jump(x + dx, y, dx, 0, goal) >= 0 || jump(x, y + dy, 0, dy, goal) >= 0) {
+                    return cell;
+                }
+            } else if (dx != 0) {
+                if ((grid.isWalkable(x, y - 1) && !grid.isWalkable(x - dx, y - 1))
+                        || (grid.isWalkable(x, y + 1) && !grid.isWalkable(x - dx, y + 1))) {
+                    return cell;
+                }
+            } else {
+                if ((grid.isWalkable(x - 1, y) && !grid.isWalkable(x - 1, y - dy))
+                        || (grid.isWalkable(x + 1, y) && !grid.isWalkable(x + 1, y - dy))) {
+                    return cell;
+                }
+            }
+            if (!canStep(x, y, dx, dy)) {
+                return -1;
+            }
+            x += dx;
+            y += dy;
+        }
+    }
+
+    private boolean canStep(int x, int y, int dx, int dy) {
+        if (dx != 0 && dy != 0) {
+            return grid.isWalkable(x + dx, y) && grid.isWalkable(x, y + dy) && grid.isWalkable(x + dx, y + dy);
+        }
+        return grid.isWalkable(x + dx, y + dy);
+    }
+
+    private double octile(int a, int b) {
+        int width = grid.getWidth();
+        int dx = Math.abs(a % width - b % width);
+        int dy = Math.abs(a / width - b / width);
+        return Math.max(dx, dy) + (SQRT2 - 1) * Math.min(dx, dy);
+    }
+
+    private static int[] reconstruct(int[] parent, int goal) {
+        List<Integer> reversed = new ArrayList<>();
+        for (int cell = goal; cell >= 0; cell = parent[cell]) {
+            reversed.add(cell);
+        }
+        int[] path = new int[reversed.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = reversed.get(path.length - 1 - i);
+        }
+        return path;
+    }
+
+    /**
+     * Reads the Tiled map JSON from the classpath and marks every non-empty tile of a
+     * layer named like "collision" as blocked. Returns null if the map cannot be read.
+     */
+    @SuppressWarnings("unchecked")
+    static CollisionGrid loadCollisionGrid() {
+        try {
+            ClassPathResource resource = new ClassPathResource(MAP_JSON_PATH);
+            InputStream is = resource.getInputStream();
+            ObjectMapper mapper = new ObjectMapper();
+            Map<String, Object> mapData = mapper.readValue(is, new TypeReference<Map<String, Object>>() {});
+            return fromTiledMap(mapData);
+        } catch (Exception e) {
+            logger.error("Error reading collision layers from JSON: ", e);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    static CollisionGrid fromTiledMap(Map<String, Object> mapData) {
+        int width = ((Number) mapData.get("width")).intValue();
+        int height = ((Number) mapData.get("height")).intValue();
+        int tileWidth = ((Number) mapData.get("tilewidth")).intValue();
+        int tileHeight = ((Number) mapData.get("tileheight")).intValue();
+        CollisionGrid collisionGrid = new CollisionGrid(width, height, tileWidth, tileHeight);
+
+        List<Map<String, Object>> layers = (List<Map<String, Object>>) mapData.get("layers");
+        if (layers != null) {
+            for (Map<String, Object> layer : layers) {
+                String layerName = (String) layer.get("name");
+                List<Number> data = (List<Number>) layer.get("data");
+                if (layerName == null || data == null || !layerName.toLowerCase().contains("collision")) {
+                    continue;
+                }
+                for (int i = 0; i < data.size() && i < width * height; i++) {
+                    if (data.get(i).longValue() != 0) {
+                        collisionGrid.setBlocked(i % width, i / width, true);
+                    }
+                }
+            }
+        }
+        return collisionGrid;
+    }
+}
@@ -0,0 +1,94 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.config.ProtocolMode;
+import com.map.MetaHive.dto.PlayerProfile;
+import com.map.MetaHive.dto.PlayerState;
+import com.map.MetaHive.dto.ProfileTable;
+import com.map.MetaHive.dto.RosterDelta;
+import com.map.MetaHive.dto.StateFrame;
+import com.map.MetaHive.model.Player;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes player updates to a room. Static profile data (username, color) goes out
+ * as a {@link RosterDelta} on {@code /topic/rooms/{roomId}/roster} only when the roster
+ * changes (the full table is served on subscribe to {@code /app/rooms/{roomId}/profiles}), while the
+ * high-frequency {@code /topic/rooms/{roomId}/state} stream references players by slot.
+ * Depending on {@link ProtocolMode} the legacy full player map is emitted as well.
+ */
+@Service
+public class PlayerStatePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlayerStatePublisher.class);
+
+    private final GameSessionService gameSessionService;
+    private final SimpMessagingTemplate messagingTemplate;
+    private final ProtocolMode mode;
+
+    public PlayerStatePublisher(GameSessionService gameSessionService,
+                                SimpMessagingTemplate messagingTemplate,
+                                @Value("${app.map.protocol.mode:BOTH}") ProtocolMode mode) {
+        this.gameSessionService = gameSessionService;
+        this.messagingTemplate = messagingTemplate;
+        this.mode = mode;
+    }
+
+    public ProtocolMode getMode() {
+        return mode;
+    }
+
+    /**
+     * Publishes a batch of roster changes followed by the current state.
+     */
+    public void publishRosterDelta(RosterDelta delta) {
+        if (mode.emitsSplit()) {
+            logger.info("Broadcasting roster changes for room.");
+            messagingTemplate.convertAndSend("/topic/rooms/" + delta.getRoomId() + "/roster", delta);
+        }
+        publishState(delta.getRoomId());
+    }
+
+    /**
+     * Publishes the dynamic state of every player in the room.
+     */
+    public void publishState(String roomId) {
+        Map<String, Player> players = gameSessionService.getPlayersInRoom(roomId);
+        logger.info("Broadcasting updated player state for room.");
+        if (mode.emitsLegacy()) {
+            messagingTemplate.convertAndSend("/topic/rooms/" + roomId + "/players", players);
+        }
+        if (mode.emitsSplit()) {
+            List<PlayerState> states = new ArrayList<>(players.size());
+            for (Player player : players.values()) {
+                states.add(toState(player));
+            }
+            messagingTemplate.convertAndSend("/topic/rooms/" + roomId + "/state", new StateFrame(roomId, states));
+        }
+    }
+
+    public ProfileTable profileTable(String roomId) {
+        Map<String, Player> players = gameSessionService.getPlayersInRoom(roomId);
+        List<PlayerProfile> profiles = new ArrayList<>(players.size());
+        for (Player player : players.values()) {
+            profiles.add(toProfile(player));
+        }
+        return new ProfileTable(roomId, profiles);
+    }
+
+    static PlayerProfile toProfile(Player player) {
+        return new PlayerProfile(player.getSlot(), player.getId(), player.getUsername(), player.getColor());
+    }
+
+    static PlayerState toState(Player player) {
+        return new PlayerState(player.getSlot(), player.getX(), player.getY(), player.getDirection(),
+                player.getIsMoving(), player.getAnimation(), player.getTimestamp());
+    }
+}
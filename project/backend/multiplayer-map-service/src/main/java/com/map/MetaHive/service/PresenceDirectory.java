@@ -0,0 +1,154 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.dto.PlayerLocation;
+import com.map.MetaHive.dto.PresenceChange;
+import com.map.MetaHive.dto.RoomOccupancy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live directory of rooms per office and of where each player is, maintained on room
+ * creation/removal and player join/leave so that occupancy queries never walk the rooms.
+ * Occupancy is kept in striped {@link LongAdder} counters; every change is published to
+ * {@code /topic/offices/{officeId}/presence}.
+ */
+@Service
+public class PresenceDirectory {
+
+    public static final String UNASSIGNED_OFFICE = "unassigned";
+
+    private static final Logger logger = LoggerFactory.getLogger(PresenceDirectory.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final Map<String, RoomEntry> rooms = new ConcurrentHashMap<>();
+    private final Map<String, OfficeEntry> offices = new ConcurrentHashMap<>();
+    private final Map<String, String> playerRooms = new ConcurrentHashMap<>();
+
+    public PresenceDirectory(SimpMessagingTemplate messagingTemplate) {
+        this.messagingTemplate = messagingTemplate;
+    }
+
+    public void roomCreated(String roomId, String officeId) {
+        String office = officeId != null && !officeId.isEmpty() ? officeId : UNASSIGNED_OFFICE;
+        RoomEntry entry = new RoomEntry(office);
+        if (rooms.putIfAbsent(roomId, entry) == null) {
+            office(office).roomIds.add(roomId);
+            publish("ROOM_OPENED", office, roomId, null, 0);
+        }
+    }
+
+    public void roomRemoved(String roomId) {
+        RoomEntry entry = rooms.remove(roomId);
+        if (entry == null) {
+            return;
+        }
+        OfficeEntry office = office(entry.officeId);
+        office.roomIds.remove(roomId);
+        // Players still listed in the closed room are in no room now, unless they already moved on
+        for (String playerId : entry.playerIds) {
+            playerRooms.remove(playerId, roomId);
+        }
+        long remaining = entry.occupancy.sum();
+        if (remaining != 0) {
+            office.occupancy.add(-remaining);
+        }
+        publish("ROOM_CLOSED", entry.officeId, roomId, null, 0);
+    }
+
+    public void playerJoined(String roomId, String playerId) {
+        RoomEntry entry = rooms.get(roomId);
+        if (entry == null) {
+            logger.warn("Presence update for a room missing from the directory.");
+            return;
+        }
+        entry.occupancy.increment();
+        office(entry.officeId).occupancy.increment();
+        entry.playerIds.add(playerId);
+        playerRooms.put(playerId, roomId);
+        publish("JOINED", entry.officeId, roomId, playerId, entry.occupancy.sum());
+    }
+
+    public void playerLeft(String roomId, String playerId) {
+        RoomEntry entry = rooms.get(roomId);
+        if (entry == null) {
+            return;
+        }
+        entry.occupancy.decrement();
+        office(entry.officeId).occupancy.decrement();
+        entry.playerIds.remove(playerId);
+        // Only forget the location if the player did not already move to another room.
+        playerRooms.remove(playerId, roomId);
+        publish("LEFT", entry.officeId, roomId, playerId, entry.occupancy.sum());
+    }
+
+    public long getRoomOccupancy(String roomId) {
+        RoomEntry entry = rooms.get(roomId);
+        return entry != null ? entry.occupancy.sum() : 0;
+    }
+
+    public long getOfficeOccupancy(String officeId) {
+        OfficeEntry office = offices.get(officeId);
+        return office != null ? office.occupancy.sum() : 0;
+    }
+
+    public List<RoomOccupancy> getRoomsForOffice(String officeId) {
+        OfficeEntry office = offices.get(officeId);
+        if (office == null) {
+            return List.of();
+        }
+        List<RoomOccupancy> result = new ArrayList<>(office.roomIds.size());
+        for (String roomId : office.roomIds) {
+            RoomEntry entry = rooms.get(roomId);
+            if (entry != null) {
+                result.add(new RoomOccupancy(roomId, officeId, entry.occupancy.sum()));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return where the player currently is, or null if they are in no room.
+     */
+    public PlayerLocation locate(String playerId) {
+        String roomId = playerRooms.get(playerId);
+        if (roomId == null) {
+            return null;
+        }
+        RoomEntry entry = rooms.get(roomId);
+        return entry != null ? new PlayerLocation(playerId, roomId, entry.officeId) : null;
+    }
+
+    private OfficeEntry office(String officeId) {
+        return offices.computeIfAbsent(officeId, id -> new OfficeEntry());
+    }
+
+    private void publish(String type, String officeId, String roomId, String playerId, long roomOccupancy) {
+        PresenceChange change = new PresenceChange(type, officeId, roomId, playerId,
+                roomOccupancy, getOfficeOccupancy(officeId));
+        messagingTemplate.convertAndSend("/topic/offices/" + officeId + "/presence", change);
+    }
+
+    private static final class RoomEntry {
+        private final String officeId;
+        private final LongAdder occupancy = new LongAdder();
+        private final Set<String> playerIds = ConcurrentHashMap.newKeySet();
+
+        private RoomEntry(String officeId) {
+            this.officeId = officeId;
+        }
+    }
+
+    private static final class OfficeEntry {
+        private final LongAdder occupancy = new LongAdder();
+        private final Set<String> roomIds = ConcurrentHashMap.newKeySet();
+    }
+}
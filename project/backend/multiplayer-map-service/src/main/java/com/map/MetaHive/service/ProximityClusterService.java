@@ -0,0 +1,187 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.dto.ConversationGroupUpdate;
+import com.map.MetaHive.model.Player;
+import com.map.MetaHive.model.Room;
+import com.map.MetaHive.model.SpatialGrid;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Groups nearby avatars into ad-hoc conversation groups for audio routing.
+ * Every tick the room's players are bucketed into a {@link SpatialGrid}, pairs within
+ * the conversation radius are merged with union-find and only membership changes are
+ * published to {@code /topic/rooms/{roomId}/groups}.
+ */
+@Service
+public class ProximityClusterService implements RoomTickStage {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProximityClusterService.class);
+
+    private final SimpMessagingTemplate messagingTemplate;
+    private final double radius;
+    private final Map<String, Map<String, String>> groupsByRoom = new ConcurrentHashMap<>();
+    private final AtomicLong groupSequence = new AtomicLong();
+
+    public ProximityClusterService(SimpMessagingTemplate messagingTemplate,
+                                   @Value("${app.map.conversation.radius:96}") double radius) {
+        if (radius <= 0) {
+            throw new IllegalArgumentException("Conversation radius must be positive");
+        }
+        this.messagingTemplate = messagingTemplate;
+        this.radius = radius;
+    }
+
+    @Override
+    public void onTick(Room room, long now) {
+        Map<String, String> previous = groupsByRoom.getOrDefault(room.getId(), Collections.emptyMap());
+        Map<String, String> current = computeGroups(room.getPlayers().values(), previous);
+        Map<String, String> changes = diff(previous, current);
+        groupsByRoom.put(room.getId(), current);
+        if (!changes.isEmpty()) {
+            logger.debug("Publishing conversation group changes for room.");
+            messagingTemplate.convertAndSend("/topic/rooms/" + room.getId() + "/groups",
+                    new ConversationGroupUpdate(room.getId(), changes));
+        }
+    }
+
+    @Override
+    public void onRoomRemoved(String roomId) {
+        groupsByRoom.remove(roomId);
+    }
+
+    /**
+     * Returns the current playerId -> groupId assignment of a room, for late joiners.
+     */
+    public Map<String, String> getGroups(String roomId) {
+        return Collections.unmodifiableMap(groupsByRoom.getOrDefault(roomId, Collections.emptyMap()));
+    }
+
+    /**
+     * Computes conversation groups for the given players. Players that are not within
+     * the radius of anybody else are left out. Group ids are carried over from the
+     * previous assignment where possible so that a group keeps its id while it grows,
+     * shrinks or splits (the largest fragment keeps the id).
+     */
+    Map<String, String> computeGroups(Collection<Player> players, Map<String, String> previous) {
+        List<Player> snapshot = new ArrayList<>(players);
+        int n = snapshot.size();
+        double[] xs = new double[n];
+        double[] ys = new double[n];
+        SpatialGrid grid = new SpatialGrid(radius);
+        for (int i = 0; i < n; i++) {
+            xs[i] = snapshot.get(i).getX();
+            ys[i] = snapshot.get(i).getY();
+            grid.insert(i, xs[i], ys[i]);
+        }
+
+        int[] parent = new int[n];
+        for (int i = 0; i < n; i++) {
+            parent[i] = i;
+        }
+        double radiusSquared = radius * radius;
+        for (int i = 0; i < n; i++) {
+            final int a = i;
+            grid.forEachNear(xs[a], ys[a], b -> {
+                if (b > a) {
+                    double dx = xs[a] - xs[b];
+                    double dy = ys[a] - ys[b];
+                    if (dx * dx + dy * dy <= radiusSquared) {
+                        union(parent, a, b);
+                    }
+                }
+            });
+        }
+
+        Map<Integer, List<String>> components = new HashMap<>();
+        for (int i = 0; i < n; i++) {
+            components.computeIfAbsent(find(parent, i), k -> new ArrayList<>()).add(snapshot.get(i).getId());
+        }
+        List<List<String>> groups = new ArrayList<>();
+        for (List<String> members : components.values()) {
+            if (members.size() > 1) {
+                groups.add(members);
+            }
+        }
+        groups.sort((g1, g2) -> Integer.compare(g2.size(), g1.size()));
+
+        Map<String, String> assignment = new HashMap<>();
+        Set<String> claimed = new HashSet<>();
+        for (List<String> members : groups) {
+            String groupId = inheritGroupId(members, previous, claimed);
+            claimed.add(groupId);
+            for (String playerId : members) {
+                assignment.put(playerId, groupId);
+            }
+        }
+        return assignment;
+    }
+
+    /**
+     * Returns the entries that differ between two assignments. Players that are no
+     * longer grouped map to {@code null}.
+     */
+    static Map<String, String> diff(Map<String, String> previous, Map<String, String> current) {
+        Map<String, String> changes = new HashMap<>();
+        for (Map.Entry<String, String> entry : current.entrySet()) {
+            if (!entry.getValue().equals(previous.get(entry.getKey()))) {
+                changes.put(entry.getKey(), entry.getValue());
+            }
+        }
+        for (String playerId : previous.keySet()) {
+            if (!current.containsKey(playerId)) {
+                changes.put(playerId, null);
+            }
+        }
+        return changes;
+    }
+
+    private String inheritGroupId(List<String> members, Map<String, String> previous, Set<String> claimed) {
+        Map<String, Integer> votes = new HashMap<>();
+        for (String playerId : members) {
+            String groupId = previous.get(playerId);
+            if (groupId != null && !claimed.contains(groupId)) {
+                votes.merge(groupId, 1, Integer::sum);
+            }
+        }
+        String best = null;
+        int bestVotes = 0;
+        for (Map.Entry<String, Integer> vote : votes.entrySet()) {
+            if (vote.getValue() > bestVotes) {
+                best = vote.getKey();
+                bestVotes = vote.getValue();
+            }
+        }
+        return best != null ? best : "g" + groupSequence.incrementAndGet();
+    }
+
+    private static int find(int[] parent, int i) {
+        while (parent[i] != i) {
+            parent[i] = parent[parent[i]];
+            i = parent[i];
+        }
+        return i;
+    }
+
+    private static void union(int[] parent, int a, int b) {
+        int rootA = find(parent, a);
+        int rootB = find(parent, b);
+        if (rootA != rootB) {
+            parent[Math.max(rootA, rootB)] = Math.min(rootA, rootB);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.dto.RoomStats;
+import com.map.MetaHive.model.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Hibernates rooms that saw no inbound message for the idle timeout, and enforces a global
+ * budget on the heap held by awake rooms by hibernating the least recently active ones first.
+ * Hibernated rooms are skipped by the tick and wake on the next inbound message.
+ */
+@Service
+public class RoomHibernationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomHibernationService.class);
+
+    private final GameSessionService gameSessionService;
+    private final long idleTimeout;
+    private final long memoryBudget;
+
+    public RoomHibernationService(GameSessionService gameSessionService,
+                                  @Value("${app.map.hibernation.idle-timeout-ms:300000}") long idleTimeout,
+                                  @Value("${app.map.hibernation.memory-budget-bytes:67108864}") long memoryBudget) {
+        if (idleTimeout <= 0 || memoryBudget <= 0) {
+            throw new IllegalArgumentException("Idle timeout and memory budget must be positive");
+        }
+        this.gameSessionService = gameSessionService;
+        this.idleTimeout = idleTimeout;
+        this.memoryBudget = memoryBudget;
+    }
+
+    @Scheduled(fixedRateString = "${app.map.hibernation.check-interval-ms:10000}")
+    public void sweep() {
+        sweep(System.currentTimeMillis());
+    }
+
+    void sweep(long now) {
+        List<Room> awake = new ArrayList<>();
+        long awakeBytes = 0;
+        int idle = 0;
+        for (Room room : gameSessionService.getActiveRooms()) {
+            if (room.isHibernated()) {
+                continue;
+            }
+            if (now - room.getLastActivityAt() >= idleTimeout) {
+                if (room.hibernate(now - idleTimeout)) {
+                    idle++;
+                }
+            } else {
+                awake.add(room);
+                awakeBytes += room.estimateRetainedBytes();
+            }
+        }
+        if (idle > 0) {
+            logger.info("Hibernated {} idle rooms.", idle);
+        }
+
+        if (awakeBytes > memoryBudget) {
+            awake.sort(Comparator.comparingLong(Room::getLastActivityAt));
+            int evicted = 0;
+            for (Room room : awake) {
+                if (awakeBytes <= memoryBudget) {
+                    break;
+                }
+                long bytes = room.estimateRetainedBytes();
+                // Rooms touched since the sweep started are left awake
+                if (room.hibernate(now)) {
+                    awakeBytes -= bytes;
+                    evicted++;
+                }
+            }
+            logger.warn("Memory budget exceeded; hibernated {} least recently active rooms.", evicted);
+        }
+    }
+
+    public RoomStats getStats() {
+        int active = 0;
+        int hibernated = 0;
+        long activeBytes = 0;
+        long hibernatedBytes = 0;
+        for (Room room : gameSessionService.getActiveRooms()) {
+            long bytes = room.estimateRetainedBytes();
+            if (room.isHibernated()) {
+                hibernated++;
+                hibernatedBytes += bytes;
+            } else {
+                active++;
+                activeBytes += bytes;
+            }
+        }
+        return new RoomStats(active, hibernated, activeBytes, hibernatedBytes);
+    }
+}
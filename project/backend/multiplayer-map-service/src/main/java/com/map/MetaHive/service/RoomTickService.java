@@ -0,0 +1,55 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.model.Room;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+@Service
+public class RoomTickService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RoomTickService.class);
+
+    private final GameSessionService gameSessionService;
+    private final List<RoomTickStage> stages;
+    private Set<String> lastTickedRooms = new HashSet<>();
+
+    public RoomTickService(GameSessionService gameSessionService, List<RoomTickStage> stages) {
+        this.gameSessionService = gameSessionService;
+        this.stages = stages;
+    }
+
+    /**
+     * Runs every registered stage against every awake room, then lets the stages
+     * forget rooms that disappeared since the previous tick. Hibernated rooms are skipped.
+     */
+    @Scheduled(fixedRateString = "${app.map.tick-interval-ms:100}")
+    public void tick() {
+        long now = System.currentTimeMillis();
+        Set<String> tickedRooms = new HashSet<>();
+        for (Room room : gameSessionService.getActiveRooms()) {
+            tickedRooms.add(room.getId());
+            if (room.isHibernated()) {
+                continue;
+            }
+            for (RoomTickStage stage : stages) {
+                try {
+                    stage.onTick(room, now);
+                } catch (RuntimeException e) {
+                    logger.error("Room tick stage failed: ", e);
+                }
+            }
+        }
+        for (String roomId : lastTickedRooms) {
+            if (!tickedRooms.contains(roomId)) {
+                stages.forEach(stage -> stage.onRoomRemoved(roomId));
+            }
+        }
+        lastTickedRooms = tickedRooms;
+    }
+}
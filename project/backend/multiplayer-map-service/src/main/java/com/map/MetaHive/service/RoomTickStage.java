@@ -0,0 +1,26 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.model.Room;
+
+/**
+ * A unit of per-room work executed by {@link RoomTickService} on every tick.
+ */
+public interface RoomTickStage {
+
+    /**
+     * Runs this stage for a single room.
+     *
+     * @param room The room being ticked.
+     * @param now  The tick timestamp in epoch milliseconds.
+     */
+    void onTick(Room room, long now);
+
+    /**
+     * Called once a room has disappeared so the stage can drop any state it keeps for it.
+     *
+     * @param roomId The id of the removed room.
+     */
+    default void onRoomRemoved(String roomId) {
+        // no state by default
+    }
+}
@@ -0,0 +1,192 @@
+package com.map.MetaHive.service;
+
+import com.map.MetaHive.dto.PlayerProfile;
+import com.map.MetaHive.dto.RosterDelta;
+import com.map.MetaHive.model.Player;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.function.LongSupplier;
+
+/**
+ * Coalesces roster changes (joins, leaves, profile updates) per room so that a join storm
+ * results in one {@link RosterDelta} and one state broadcast instead of a full roster per
+ * registration. A batch is flushed once no change arrived for {@code window} ms, and never
+ * later than {@code maxDelay} ms after its first change. A window of 0 publishes immediately.
+ */
+@Service
+public class RosterBatcher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterBatcher.class);
+
+    private final GameSessionService gameSessionService;
+    private final PlayerStatePublisher playerStatePublisher;
+    private final long window;
+    private final long maxDelay;
+    private final ScheduledExecutorService scheduler;
+    private final LongSupplier clock;
+    private final Map<String, PendingRoster> pending = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RosterBatcher(GameSessionService gameSessionService,
+                         PlayerStatePublisher playerStatePublisher,
+                         @Value("${app.map.roster.batch-window-ms:50}") long window,
+                         @Value("${app.map.roster.max-delay-ms:250}") long maxDelay) {
+        this(gameSessionService, playerStatePublisher, window, maxDelay,
+                Executors.newSingleThreadScheduledExecutor(), System::currentTimeMillis);
+    }
+
+    RosterBatcher(GameSessionService gameSessionService,
+                  PlayerStatePublisher playerStatePublisher,
+                  long window,
+                  long maxDelay,
+                  ScheduledExecutorService scheduler,
+                  LongSupplier clock) {
+        if (window < 0 || maxDelay < window) {
+            throw new IllegalArgumentException("Batch window must be non-negative and not exceed the max delay");
+        }
+        this.gameSessionService = gameSessionService;
+        this.playerStatePublisher = playerStatePublisher;
+        this.window = window;
+        this.maxDelay = maxDelay;
+        this.scheduler = scheduler;
+        this.clock = clock;
+    }
+
+    /**
+     * Records a newly registered player.
+     */
+    public void playerJoined(String roomId, String playerId) {
+        record(roomId, batch -> {
+            batch.newcomers.add(playerId);
+            batch.joined.add(playerId);
+        });
+    }
+
+    /**
+     * Records a profile change (e.g. a new username) of a player already in the room.
+     */
+    public void profileChanged(String roomId, String playerId) {
+        record(roomId, batch -> batch.joined.add(playerId));
+    }
+
+    /**
+     * Records a player leaving. The profile is captured before removal so the delta can
+     * tell clients which slot was released; it may be null if the player was unknown.
+     */
+    public void playerLeft(String roomId, String playerId, Player leaving) {
+        PlayerProfile profile = leaving != null
+                ? PlayerStatePublisher.toProfile(leaving)
+                : new PlayerProfile(-1, playerId, null, null);
+        record(roomId, batch -> {
+            batch.joined.remove(playerId);
+            // Players that joined and left within the same batch were never announced.
+            if (!batch.newcomers.remove(playerId)) {
+                batch.left.putIfAbsent(playerId, profile);
+            }
+        });
+    }
+
+    /**
+     * Flushes the batch of a room if its quiet window or max delay has elapsed, otherwise
+     * schedules another check for the earliest moment it can become due.
+     */
+    void flushIfDue(String roomId) {
+        PendingRoster batch = pending.get(roomId);
+        if (batch == null) {
+            return;
+        }
+        long dueAt;
+        synchronized (batch) {
+            dueAt = batch.dueAt();
+        }
+        long now = clock.getAsLong();
+        if (now >= dueAt) {
+            flush(roomId);
+        } else {
+            scheduler.schedule(() -> flushIfDue(roomId), dueAt - now, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public int getPendingRoomCount() {
+        return pending.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void record(String roomId, Consumer<PendingRoster> change) {
+        long now = clock.getAsLong();
+        boolean[] created = new boolean[1];
+        pending.compute(roomId, (id, batch) -> {
+            if (batch == null) {
+                batch = new PendingRoster(now);
+                created[0] = true;
+            }
+            synchronized (batch) {
+                change.accept(batch);
+                batch.lastChangeAt = now;
+            }
+            return batch;
+        });
+        if (window == 0) {
+            flush(roomId);
+        } else if (created[0]) {
+            scheduler.schedule(() -> flushIfDue(roomId), window, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private void flush(String roomId) {
+        PendingRoster batch = pending.remove(roomId);
+        if (batch == null) {
+            return;
+        }
+        List<PlayerProfile> left;
+        List<PlayerProfile> joined = new ArrayList<>();
+        synchronized (batch) {
+            left = new ArrayList<>(batch.left.values());
+            for (String playerId : batch.joined) {
+                Player player = gameSessionService.getPlayerById(roomId, playerId);
+                if (player != null) {
+                    joined.add(PlayerStatePublisher.toProfile(player));
+                }
+            }
+        }
+        logger.info("Flushing batched roster changes for room.");
+        playerStatePublisher.publishRosterDelta(new RosterDelta(roomId, left, joined));
+    }
+
+    private final class PendingRoster {
+        private final long firstChangeAt;
+        private long lastChangeAt;
+        private final Set<String> newcomers = new LinkedHashSet<>();
+        private final Set<String> joined = new LinkedHashSet<>();
+        private final Map<String, PlayerProfile> left = new LinkedHashMap<>();
+
+        private PendingRoster(long firstChangeAt) {
+            this.firstChangeAt = firstChangeAt;
+            this.lastChangeAt = firstChangeAt;
+        }
+
+        private long dueAt() {
+            return Math.min(lastChangeAt + window, firstChangeAt + maxDelay);
+        }
+    }
+}
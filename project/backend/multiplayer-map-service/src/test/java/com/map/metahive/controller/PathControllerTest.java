@@ -0,0 +1,63 @@
+package com.map.metahive.controller;
+
+import com.map.metahive.dto.PathUpdate;
+import com.map.metahive.dto.WalkToRequest;
+import com.map.metahive.model.Player;
+import com.map.metahive.service.GameSessionService;
+import com.map.metahive.service.PathfindingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PathControllerTest {
+
+    private GameSessionService gameSessionService;
+    private PathfindingService pathfindingService;
+    private SimpMessagingTemplate messagingTemplate;
+    private PathController pathController;
+
+    @BeforeEach
+    public void setup() {
+        gameSessionService = mock(GameSessionService.class);
+        pathfindingService = mock(PathfindingService.class);
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        pathController = new PathController(gameSessionService, pathfindingService, messagingTemplate);
+    }
+
+    @Test
+    public void testWalkToBroadcastsPathOnce() {
+        Player player = new Player();
+        player.setId("player1");
+        player.setX(10);
+        player.setY(20);
+        List<double[]> waypoints = List.of(new double[]{10, 20}, new double[]{100, 200});
+        when(gameSessionService.getPlayerById("room1", "player1")).thenReturn(player);
+        when(pathfindingService.findPath(10, 20, 100, 200)).thenReturn(waypoints);
+
+        pathController.walkTo(new WalkToRequest("room1", "player1", 100, 200));
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/rooms/room1/paths"), captor.capture());
+        PathUpdate update = (PathUpdate) captor.getValue();
+        assertThat(update.getPlayerId()).isEqualTo("player1");
+        assertThat(update.getWaypoints()).isSameAs(waypoints);
+    }
+
+    @Test
+    public void testWalkToUnknownPlayer() {
+        when(gameSessionService.getPlayerById("room1", "player1")).thenReturn(null);
+
+        pathController.walkTo(new WalkToRequest("room1", "player1", 100, 200));
+
+        verify(messagingTemplate, never()).convertAndSend(anyString(), any(Object.class));
+    }
+}
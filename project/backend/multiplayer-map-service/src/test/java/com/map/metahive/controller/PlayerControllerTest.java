@@ -5,7 +5,10 @@ import com.map.metahive.dto.JoinRoomRequest;
 import com.map.metahive.dto.LeaveRoomRequest;
 import com.map.metahive.model.Player;
 import com.map.metahive.model.Room;
+import com.map.metahive.config.ProtocolMode;
 import com.map.metahive.service.GameSessionService;
+import com.map.metahive.service.PlayerStatePublisher;
+import com.map.metahive.service.RosterBatcher;
 import com.map.metahive.service.SpawnPointService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -24,6 +27,7 @@ public class PlayerControllerTest {
     private GameSessionService gameSessionService;
     private SimpMessagingTemplate messagingTemplate;
     private SpawnPointService spawnPointService;
+    private PlayerStatePublisher playerStatePublisher;
     private PlayerController playerController;
 
     @BeforeEach
@@ -31,7 +35,11 @@ public class PlayerControllerTest {
         gameSessionService = mock(GameSessionService.class);
         messagingTemplate = mock(SimpMessagingTemplate.class);
         spawnPointService = mock(SpawnPointService.class);
-        playerController = new PlayerController(gameSessionService, messagingTemplate, spawnPointService);
+        playerStatePublisher = new PlayerStatePublisher(gameSessionService, messagingTemplate, ProtocolMode.BOTH);
+        // A zero batch window publishes roster changes immediately.
+        RosterBatcher rosterBatcher = new RosterBatcher(gameSessionService, playerStatePublisher, 0, 0);
+        playerController = new PlayerController(gameSessionService, messagingTemplate, spawnPointService,
+                playerStatePublisher, rosterBatcher);
     }
 
     @Test
@@ -55,7 +63,7 @@ public class PlayerControllerTest {
         when(gameSessionService.roomExists(roomId)).thenReturn(false);
 
         playerController.createRoom(request);
-        verify(gameSessionService).createRoom(roomId);
+        verify(gameSessionService).createRoom(roomId, null);
 
         ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
         verify(messagingTemplate).convertAndSend(eq("/queue/roomCreated"), captor.capture());
@@ -176,5 +184,22 @@ public class PlayerControllerTest {
 
         verify(gameSessionService).removePlayer("room1", "player1");
         verify(messagingTemplate).convertAndSend(eq("/topic/rooms/room1/players"), any(java.util.Map.class));
+        verify(messagingTemplate).convertAndSend(eq("/topic/rooms/room1/roster"), any(Object.class));
+    }
+
+    @Test
+    public void testMovePlayerPublishesStateWithoutProfiles() {
+        Player existing = new Player();
+        existing.setId("player1");
+        existing.setRoomId("room1");
+        Player movement = new Player();
+        movement.setId("player1");
+        movement.setRoomId("room1");
+        when(gameSessionService.getPlayerById("room1", "player1")).thenReturn(existing);
+
+        playerController.movePlayer(movement);
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/rooms/room1/state"), any(Object.class));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/rooms/room1/roster"), any(Object.class));
     }
 }
@@ -0,0 +1,45 @@
+package com.map.metahive.model;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ChatRingBufferTest {
+
+    private static ChatMessage message(long id) {
+        return new ChatMessage(id, "room1", "p1", "user", "hello " + id, id);
+    }
+
+    @Test
+    public void testAddEvictsOldestWhenFull() {
+        ChatRingBuffer buffer = new ChatRingBuffer(3);
+        assertThat(buffer.add(message(1))).isNull();
+        assertThat(buffer.add(message(2))).isNull();
+        assertThat(buffer.add(message(3))).isNull();
+
+        ChatMessage evicted = buffer.add(message(4));
+
+        assertThat(evicted.getId()).isEqualTo(1);
+        assertThat(buffer.size()).isEqualTo(3);
+        assertThat(buffer.snapshot()).extracting(ChatMessage::getId).containsExactly(2L, 3L, 4L);
+    }
+
+    @Test
+    public void testSinceReturnsNewerMessagesInOrder() {
+        ChatRingBuffer buffer = new ChatRingBuffer(4);
+        for (long id = 1; id <= 6; id++) {
+            buffer.add(message(id));
+        }
+
+        assertThat(buffer.since(4)).extracting(ChatMessage::getId).containsExactly(5L, 6L);
+        // Ids older than the buffer return everything still held.
+        assertThat(buffer.since(0)).extracting(ChatMessage::getId).containsExactly(3L, 4L, 5L, 6L);
+        assertThat(buffer.since(6)).isEmpty();
+    }
+
+    @Test
+    public void testInvalidCapacity() {
+        assertThrows(IllegalArgumentException.class, () -> new ChatRingBuffer(0));
+    }
+}
@@ -2,6 +2,12 @@ package com.map.metahive.model;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import static org.assertj.core.api.Assertions.*;
 
 public class RoomTest {
@@ -60,4 +66,120 @@ public class RoomTest {
                 .isInstanceOf(IllegalArgumentException.class)
                 .hasMessageContaining("Player ID cannot be null");
     }
+
+    @Test
+    public void testSlotsAreCompactAndReused() {
+        Room room = new Room("room4");
+        Player first = new Player();
+        first.setId("player1");
+        Player second = new Player();
+        second.setId("player2");
+        room.addPlayer(first);
+        room.addPlayer(second);
+        assertThat(first.getSlot()).isZero();
+        assertThat(second.getSlot()).isEqualTo(1);
+
+        // Re-registering keeps the slot, leaving frees it for the next player.
+        Player again = new Player();
+        again.setId("player1");
+        room.addPlayer(again);
+        assertThat(again.getSlot()).isZero();
+
+        room.removePlayer("player1");
+        Player third = new Player();
+        third.setId("player3");
+        room.addPlayer(third);
+        assertThat(third.getSlot()).isZero();
+    }
+
+    @Test
+    public void testHibernateAndWakeRestoresPlayers() {
+        Room room = new Room("room5");
+        Player player = new Player();
+        player.setId("player1");
+        player.setUsername("alice");
+        player.setX(12.5);
+        player.setY(7);
+        player.setDirection("left");
+        player.setIsMoving(true);
+        room.addPlayer(player);
+        for (int i = 2; i <= 10; i++) {
+            Player other = new Player();
+            other.setId("player" + i);
+            other.setRoomId("room5");
+            room.addPlayer(other);
+        }
+        long liveBytes = room.estimateRetainedBytes();
+
+        assertThat(room.hibernate()).isTrue();
+        assertThat(room.isHibernated()).isTrue();
+        assertThat(room.hibernate()).isFalse();
+        assertThat(room.getPlayerCount()).isEqualTo(10);
+        assertThat(room.estimateRetainedBytes()).isLessThan(liveBytes);
+
+        // Accessing the players wakes the room.
+        Player restored = room.getPlayers().get("player1");
+        assertThat(room.isHibernated()).isFalse();
+        assertThat(restored.getUsername()).isEqualTo("alice");
+        assertThat(restored.getX()).isEqualTo(12.5);
+        assertThat(restored.getDirection()).isEqualTo("left");
+        assertThat(restored.getIsMoving()).isTrue();
+        assertThat(restored.getRoomId()).isEqualTo("room5");
+        assertThat(restored.getSlot()).isEqualTo(player.getSlot());
+    }
+
+    @Test
+    public void testHibernateSkipsRoomsActiveSinceTheIdleCheck() {
+        Room room = new Room("room6");
+        Player player = new Player();
+        player.setId("player1");
+        room.addPlayer(player);
+        room.touch(1_000);
+
+        // A message touched the room and looked up its player after the sweep judged it idle.
+        room.touch(2_000);
+        Player moving = room.getPlayers().get("player1");
+        assertThat(room.hibernate(1_500)).isFalse();
+        moving.setX(42);
+
+        assertThat(room.isHibernated()).isFalse();
+        assertThat(room.hibernate(2_000)).isTrue();
+        assertThat(room.getPlayers().get("player1").getX()).isEqualTo(42);
+    }
+
+    @Test
+    public void testPlayersStayVisibleWhileTheRoomHibernatesConcurrently() throws Exception {
+        Room room = new Room("room7");
+        for (int i = 0; i < 50; i++) {
+            Player player = new Player();
+            player.setId("player" + i);
+            room.addPlayer(player);
+        }
+        AtomicBoolean done = new AtomicBoolean();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            Future<?> hibernator = executor.submit(() -> {
+                while (!done.get()) {
+                    room.hibernate();
+                }
+            });
+            Future<Integer> reader = executor.submit(() -> {
+                int missing = 0;
+                for (int i = 0; i < 200_000; i++) {
+                    if (room.getPlayers().get("player" + (i % 50)) == null) {
+                        missing++;
+                    }
+                }
+                done.set(true);
+                return missing;
+            });
+
+            assertThat(reader.get(30, TimeUnit.SECONDS)).isZero();
+            hibernator.get(30, TimeUnit.SECONDS);
+        } finally {
+            done.set(true);
+            executor.shutdownNow();
+        }
+        assertThat(room.getPlayers()).hasSize(50);
+    }
 }
@@ -0,0 +1,33 @@
+package com.map.metahive.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class SpatialGridTest {
+
+    @Test
+    public void testInvalidCellSize() {
+        assertThatThrownBy(() -> new SpatialGrid(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testForEachNearVisitsNeighbouringCellsOnly() {
+        SpatialGrid grid = new SpatialGrid(100);
+        grid.insert(0, 10, 10);
+        grid.insert(1, 150, 50);
+        grid.insert(2, -50, -50);
+        grid.insert(3, 450, 450);
+
+        List<Integer> visited = new ArrayList<>();
+        grid.forEachNear(20, 20, visited::add);
+
+        assertThat(visited).containsExactlyInAnyOrder(0, 1, 2);
+        assertThat(grid.occupiedCells()).isEqualTo(4);
+    }
+}
@@ -0,0 +1,124 @@
+package com.map.metahive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.map.metahive.dto.ChatBatch;
+import com.map.metahive.model.ChatMessage;
+import com.map.metahive.model.Player;
+import com.map.metahive.model.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ChatServiceTest {
+
+    private GameSessionService gameSessionService;
+    private SimpMessagingTemplate messagingTemplate;
+    private ChatService chatService;
+
+    @BeforeEach
+    public void setup() {
+        gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        chatService = new ChatService(gameSessionService, messagingTemplate, new ChatSpillWriter("", 10), 3, 20);
+        gameSessionService.createRoom("room1");
+        Player player = new Player();
+        player.setId("p1");
+        player.setUsername("alice");
+        player.setRoomId("room1");
+        gameSessionService.addPlayer(player);
+    }
+
+    private Room room() {
+        return gameSessionService.getActiveRooms().iterator().next();
+    }
+
+    @Test
+    public void testMessagesAreBatchedPerTick() {
+        chatService.post("room1", "p1", "one");
+        chatService.post("room1", "p1", "two");
+        verifyNoInteractions(messagingTemplate);
+
+        chatService.onTick(room(), 0);
+        chatService.onTick(room(), 100);
+
+        ArgumentCaptor<ChatBatch> captor = ArgumentCaptor.forClass(ChatBatch.class);
+        verify(messagingTemplate, times(1)).convertAndSend(eq("/topic/rooms/room1/chat"), captor.capture());
+        assertThat(captor.getValue().getMessages()).extracting(ChatMessage::getText).containsExactly("one", "two");
+        assertThat(captor.getValue().getMessages()).extracting(ChatMessage::getUsername).containsOnly("alice");
+    }
+
+    @Test
+    public void testBurstLargerThanHistoryDeliversWhatTheHistoryHolds() {
+        for (int i = 1; i <= 5; i++) {
+            chatService.post("room1", "p1", "m" + i);
+        }
+
+        chatService.onTick(room(), 0);
+        chatService.post("room1", "p1", "m6");
+        chatService.onTick(room(), 100);
+
+        // m1 and m2 left the history before the tick; they go to the spill writer only.
+        ArgumentCaptor<ChatBatch> captor = ArgumentCaptor.forClass(ChatBatch.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/rooms/room1/chat"), captor.capture());
+        assertThat(captor.getAllValues().get(0).getMessages()).extracting(ChatMessage::getText)
+                .containsExactly("m3", "m4", "m5");
+        assertThat(captor.getAllValues().get(1).getMessages()).extracting(ChatMessage::getText)
+                .containsExactly("m6");
+    }
+
+    @Test
+    public void testInvalidMessagesAreRejected() {
+        assertThat(chatService.post("room1", "p1", " ")).isNull();
+        assertThat(chatService.post("room1", "p1", "x".repeat(21))).isNull();
+        assertThat(chatService.post("room1", "ghost", "hi")).isNull();
+
+        chatService.onTick(room(), 0);
+        verify(messagingTemplate, never()).convertAndSend(any(String.class), any(Object.class));
+    }
+
+    @Test
+    public void testHistoryKeepsMostRecentMessages() {
+        for (int i = 1; i <= 5; i++) {
+            chatService.post("room1", "p1", "m" + i);
+        }
+
+        assertThat(chatService.history("room1").getMessages()).extracting(ChatMessage::getText)
+                .containsExactly("m3", "m4", "m5");
+        assertThat(chatService.history("empty").getMessages()).isEmpty();
+    }
+
+    @Test
+    public void testRoomRemovalDropsHistory() {
+        chatService.post("room1", "p1", "hi");
+        chatService.onRoomRemoved("room1");
+        assertThat(chatService.history("room1").getMessages()).isEmpty();
+    }
+
+    @Test
+    public void testEvictedMessagesAreSpilled(@TempDir Path dir) throws Exception {
+        Path file = dir.resolve("chat.jsonl");
+        ChatSpillWriter spillWriter = new ChatSpillWriter(file.toString(), 100);
+        ChatService service = new ChatService(gameSessionService, messagingTemplate, spillWriter, 2, 20);
+        for (int i = 1; i <= 4; i++) {
+            service.post("room1", "p1", "m" + i);
+        }
+        spillWriter.shutdown();
+
+        List<String> lines = Files.readAllLines(file);
+        ObjectMapper mapper = new ObjectMapper();
+        assertThat(lines).hasSize(2);
+        assertThat(mapper.readValue(lines.get(0), ChatMessage.class).getText()).isEqualTo("m1");
+        assertThat(mapper.readValue(lines.get(1), ChatMessage.class).getText()).isEqualTo("m2");
+    }
+}
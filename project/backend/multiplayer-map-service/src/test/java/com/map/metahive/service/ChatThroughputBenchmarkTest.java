@@ -0,0 +1,69 @@
+package com.map.metahive.service;
+
+import com.map.metahive.model.Player;
+import com.map.metahive.model.Room;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+/**
+ * Simulates one second of chat at 100 messages per second per room with a tick every 100 ms
+ * and reports the cost per message and the number of frames sent. Run with {@code -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class ChatThroughputBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ChatThroughputBenchmarkTest.class);
+    private static final int MESSAGES_PER_SECOND = 100;
+    private static final int TICKS_PER_SECOND = 10;
+    private static final int SECONDS = 20;
+
+    @ParameterizedTest
+    @ValueSource(ints = {10, 100, 500})
+    public void benchmarkChatThroughput(int roomCount) {
+        GameSessionService gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+        ChatService chatService = new ChatService(gameSessionService, messagingTemplate, new ChatSpillWriter("", 10), 100, 500);
+        for (int r = 0; r < roomCount; r++) {
+            gameSessionService.createRoom("room" + r);
+            Player player = new Player();
+            player.setId("p" + r);
+            player.setUsername("user" + r);
+            player.setRoomId("room" + r);
+            gameSessionService.addPlayer(player);
+        }
+        List<Room> rooms = new ArrayList<>(gameSessionService.getActiveRooms());
+
+        long start = System.nanoTime();
+        long messages = 0;
+        for (int tick = 0; tick < SECONDS * TICKS_PER_SECOND; tick++) {
+            for (int r = 0; r < roomCount; r++) {
+                for (int m = 0; m < MESSAGES_PER_SECOND / TICKS_PER_SECOND; m++) {
+                    chatService.post("room" + r, "p" + r, "message " + m);
+                    messages++;
+                }
+            }
+            for (Room room : rooms) {
+                chatService.onTick(room, tick);
+            }
+        }
+        double nanosPerMessage = (double) (System.nanoTime() - start) / messages;
+
+        int frames = mockingDetails(messagingTemplate).getInvocations().size();
+        logger.info("BENCH chat rooms={} messages={} frames={} ns/message={}",
+                roomCount, messages, frames, String.format("%.0f", nanosPerMessage));
+        assertThat(frames).isEqualTo(roomCount * SECONDS * TICKS_PER_SECOND);
+        verify(messagingTemplate, atLeastOnce()).convertAndSend(anyString(), any(Object.class));
+    }
+}
@@ -4,8 +4,10 @@ import com.map.metahive.model.Player;
 import com.map.metahive.model.Room;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
 
 import static org.assertj.core.api.Assertions.*;
+import static org.mockito.Mockito.mock;
 
 public class GameSessionServiceTest {
 
@@ -13,7 +15,7 @@ public class GameSessionServiceTest {
 
     @BeforeEach
     public void setup() {
-        gameSessionService = new GameSessionService();
+        gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
     }
 
     @Test
@@ -0,0 +1,123 @@
+package com.map.metahive.service;
+
+import com.map.metahive.model.CollisionGrid;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class PathfindingServiceTest {
+
+    private static final int TILE = 32;
+
+    /**
+     * 10x10 grid with a vertical wall at column 5 from row 0 to row 8; the only gap is row 9.
+     */
+    private CollisionGrid wallGrid() {
+        CollisionGrid grid = new CollisionGrid(10, 10, TILE, TILE);
+        for (int row = 0; row < 9; row++) {
+            grid.setBlocked(5, row, true);
+        }
+        return grid;
+    }
+
+    private double center(int cell) {
+        return cell * TILE + TILE / 2.0;
+    }
+
+    @Test
+    public void testStraightLineWithoutObstacles() {
+        PathfindingService service = new PathfindingService(new CollisionGrid(10, 10, TILE, TILE), 8);
+
+        List<double[]> path = service.findPath(center(0), center(0), center(9), center(0));
+
+        assertThat(path).hasSize(2);
+        assertThat(path.get(1)).containsExactly(center(9), center(0));
+    }
+
+    @Test
+    public void testPathGoesAroundWall() {
+        CollisionGrid grid = wallGrid();
+        PathfindingService service = new PathfindingService(grid, 8);
+
+        List<double[]> path = service.findPath(center(1), center(1), center(8), center(1));
+
+        assertThat(path.size()).isGreaterThan(2);
+        assertThat(path.get(0)).containsExactly(center(1), center(1));
+        assertThat(path.get(path.size() - 1)).containsExactly(center(8), center(1));
+        for (int i = 1; i < path.size(); i++) {
+            assertSegmentWalkable(grid, path.get(i - 1), path.get(i));
+        }
+        // The wall can only be crossed through the gap in the last row.
+        assertThat(path).anySatisfy(point -> assertThat(grid.rowOf(point[1])).isEqualTo(9));
+    }
+
+    @Test
+    public void testUnreachableDestination() {
+        CollisionGrid grid = wallGrid();
+        grid.setBlocked(5, 9, true);
+        PathfindingService service = new PathfindingService(grid, 8);
+
+        assertThat(service.findPath(center(1), center(1), center(8), center(1))).isEmpty();
+        assertThat(service.findPath(center(1), center(1), center(5), center(3))).isEmpty();
+    }
+
+    @Test
+    public void testPathsAreCachedWithLruEviction() {
+        PathfindingService service = new PathfindingService(wallGrid(), 2);
+
+        service.findPath(center(1), center(1), center(8), center(1));
+        service.findPath(center(1), center(1), center(8), center(1));
+        assertThat(service.getCachedPathCount()).isEqualTo(1);
+
+        service.findPath(center(2), center(2), center(8), center(2));
+        service.findPath(center(3), center(3), center(8), center(3));
+        assertThat(service.getCachedPathCount()).isEqualTo(2);
+    }
+
+    @Test
+    public void testWithoutCollisionMapFallsBackToStraightSegment() {
+        PathfindingService service = new PathfindingService(null, 8);
+
+        List<double[]> path = service.findPath(1, 2, 300, 400);
+
+        assertThat(path).hasSize(2);
+        assertThat(path.get(1)).containsExactly(300, 400);
+    }
+
+    @Test
+    public void testInvalidCacheSize() {
+        assertThatThrownBy(() -> new PathfindingService(null, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    public void testFromTiledMapReadsCollisionLayer() {
+        List<Integer> data = new ArrayList<>(Collections.nCopies(6, 0));
+        data.set(4, 17);
+        Map<String, Object> mapData = Map.of(
+                "width", 3, "height", 2, "tilewidth", TILE, "tileheight", TILE,
+                "layers", List.of(
+                        Map.of("name", "floor", "data", Collections.nCopies(6, 5)),
+                        Map.of("name", "Collisions", "data", data)));
+
+        CollisionGrid grid = PathfindingService.fromTiledMap(mapData);
+
+        assertThat(grid.isWalkable(0, 0)).isTrue();
+        assertThat(grid.isWalkable(1, 1)).isFalse();
+    }
+
+    private void assertSegmentWalkable(CollisionGrid grid, double[] from, double[] to) {
+        int steps = 64;
+        for (int i = 0; i <= steps; i++) {
+            double x = from[0] + (to[0] - from[0]) * i / steps;
+            double y = from[1] + (to[1] - from[1]) * i / steps;
+            assertThat(grid.isWalkable(grid.colOf(x), grid.rowOf(y))).isTrue();
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package com.map.metahive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.map.metahive.config.ProtocolMode;
+import com.map.metahive.dto.PlayerState;
+import com.map.metahive.dto.ProfileTable;
+import com.map.metahive.dto.RosterDelta;
+import com.map.metahive.dto.StateFrame;
+import com.map.metahive.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PlayerStatePublisherTest {
+
+    private GameSessionService gameSessionService;
+    private SimpMessagingTemplate messagingTemplate;
+
+    @BeforeEach
+    public void setup() {
+        gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        gameSessionService.createRoom("room1");
+        Player player = new Player();
+        player.setId("player1");
+        player.setRoomId("room1");
+        player.setUsername("alice");
+        player.setColor("red");
+        player.setX(10);
+        player.setY(20);
+        gameSessionService.addPlayer(player);
+    }
+
+    @Test
+    public void testSplitModeSendsRosterDeltaAndSlotState() {
+        PlayerStatePublisher publisher = new PlayerStatePublisher(gameSessionService, messagingTemplate, ProtocolMode.SPLIT);
+        RosterDelta delta = new RosterDelta("room1", List.of(), List.of());
+
+        publisher.publishRosterDelta(delta);
+
+        verify(messagingTemplate).convertAndSend("/topic/rooms/room1/roster", delta);
+        ArgumentCaptor<Object> state = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate).convertAndSend(eq("/topic/rooms/room1/state"), state.capture());
+        assertThat(((StateFrame) state.getValue()).getStates()).singleElement()
+                .satisfies(playerState -> assertThat(playerState.getX()).isEqualTo(10));
+        verify(messagingTemplate, never()).convertAndSend(eq("/topic/rooms/room1/players"), any(Object.class));
+    }
+
+    @Test
+    public void testProfileTable() {
+        PlayerStatePublisher publisher = new PlayerStatePublisher(gameSessionService, messagingTemplate, ProtocolMode.SPLIT);
+
+        ProfileTable table = publisher.profileTable("room1");
+
+        assertThat(table.getProfiles()).singleElement()
+                .satisfies(profile -> {
+                    assertThat(profile.getSlot()).isZero();
+                    assertThat(profile.getUsername()).isEqualTo("alice");
+                    assertThat(profile.getColor()).isEqualTo("red");
+                });
+    }
+
+    @Test
+    public void testLegacyModeOnlySendsPlayerMap() {
+        PlayerStatePublisher publisher = new PlayerStatePublisher(gameSessionService, messagingTemplate, ProtocolMode.LEGACY);
+
+        publisher.publishRosterDelta(new RosterDelta("room1", List.of(), List.of()));
+
+        verify(messagingTemplate).convertAndSend(eq("/topic/rooms/room1/players"), any(Object.class));
+        verifyNoMoreInteractions(messagingTemplate);
+    }
+
+    @Test
+    public void testStateSerializesAsPositionalArray() throws Exception {
+        PlayerState state = new PlayerState(3, 1.5, 2.5, "left", true, "walk", 42L);
+
+        String json = new ObjectMapper().writeValueAsString(state);
+
+        assertThat(json).isEqualTo("[3,1.5,2.5,\"left\",true,\"walk\",42]");
+        PlayerState parsed = new ObjectMapper().readValue(json, PlayerState.class);
+        assertThat(parsed.getSlot()).isEqualTo(3);
+        assertThat(parsed.getIsMoving()).isTrue();
+    }
+}
@@ -0,0 +1,107 @@
+package com.map.metahive.service;
+
+import com.map.metahive.dto.PresenceChange;
+import com.map.metahive.dto.RoomOccupancy;
+import com.map.metahive.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.assertj.core.groups.Tuple;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class PresenceDirectoryTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private PresenceDirectory presenceDirectory;
+    private GameSessionService gameSessionService;
+
+    @BeforeEach
+    public void setup() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        presenceDirectory = new PresenceDirectory(messagingTemplate);
+        gameSessionService = new GameSessionService(presenceDirectory);
+    }
+
+    private void join(String roomId, String playerId) {
+        Player player = new Player();
+        player.setId(playerId);
+        player.setRoomId(roomId);
+        gameSessionService.addPlayer(player);
+    }
+
+    @Test
+    public void testOccupancyFollowsJoinsAndLeaves() {
+        gameSessionService.createRoom("lobby", "office1");
+        gameSessionService.createRoom("kitchen", "office1");
+        join("lobby", "a");
+        join("lobby", "b");
+        join("kitchen", "c");
+        // Re-registering does not count twice.
+        join("lobby", "a");
+
+        assertThat(presenceDirectory.getRoomOccupancy("lobby")).isEqualTo(2);
+        assertThat(presenceDirectory.getOfficeOccupancy("office1")).isEqualTo(3);
+        assertThat(presenceDirectory.getRoomsForOffice("office1"))
+                .extracting(RoomOccupancy::getRoomId, RoomOccupancy::getOccupancy)
+                .containsExactlyInAnyOrder(Tuple.tuple("lobby", 2L),
+                        Tuple.tuple("kitchen", 1L));
+
+        gameSessionService.removePlayer("kitchen", "c");
+        assertThat(presenceDirectory.getOfficeOccupancy("office1")).isEqualTo(2);
+        // The empty kitchen is closed and leaves the directory.
+        assertThat(presenceDirectory.getRoomsForOffice("office1")).extracting(RoomOccupancy::getRoomId)
+                .containsExactly("lobby");
+    }
+
+    @Test
+    public void testLocatePlayer() {
+        gameSessionService.createRoom("lobby", "office1");
+        gameSessionService.createRoom("standup", null);
+        join("lobby", "a");
+        assertThat(presenceDirectory.locate("a").getRoomId()).isEqualTo("lobby");
+        assertThat(presenceDirectory.locate("a").getOfficeId()).isEqualTo("office1");
+
+        // Moving to another room before leaving the first keeps the newest location.
+        join("standup", "a");
+        gameSessionService.removePlayer("lobby", "a");
+        assertThat(presenceDirectory.locate("a").getRoomId()).isEqualTo("standup");
+        assertThat(presenceDirectory.locate("a").getOfficeId()).isEqualTo(PresenceDirectory.UNASSIGNED_OFFICE);
+
+        gameSessionService.removePlayer("standup", "a");
+        assertThat(presenceDirectory.locate("a")).isNull();
+    }
+
+    @Test
+    public void testClosingARoomForgetsItsPlayers() {
+        presenceDirectory.roomCreated("lobby", "office1");
+        presenceDirectory.roomCreated("standup", "office1");
+        presenceDirectory.playerJoined("lobby", "a");
+        presenceDirectory.playerJoined("lobby", "b");
+        // b moves on before the lobby closes.
+        presenceDirectory.playerJoined("standup", "b");
+
+        presenceDirectory.roomRemoved("lobby");
+
+        assertThat(presenceDirectory.locate("a")).isNull();
+        assertThat(presenceDirectory.locate("b").getRoomId()).isEqualTo("standup");
+        assertThat(presenceDirectory.locate("b").getOfficeId()).isEqualTo("office1");
+    }
+
+    @Test
+    public void testChangesArePublishedPerOffice() {
+        gameSessionService.createRoom("lobby", "office1");
+        join("lobby", "a");
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/offices/office1/presence"), captor.capture());
+        PresenceChange change = (PresenceChange) captor.getValue();
+        assertThat(change.getType()).isEqualTo("JOINED");
+        assertThat(change.getPlayerId()).isEqualTo("a");
+        assertThat(change.getRoomOccupancy()).isEqualTo(1);
+        assertThat(change.getOfficeOccupancy()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,57 @@
+package com.map.metahive.service;
+
+import com.map.metahive.model.Player;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Measures one clustering pass for a crowded room. Run with {@code -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class ProximityClusterBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(ProximityClusterBenchmarkTest.class);
+    private static final int WARMUP_ROUNDS = 200;
+    private static final int MEASURED_ROUNDS = 500;
+
+    @ParameterizedTest
+    @ValueSource(ints = {100, 300, 1000})
+    public void benchmarkClusterPass(int playerCount) {
+        ProximityClusterService service = new ProximityClusterService(mock(SimpMessagingTemplate.class), 96);
+        // Roughly an office floor of 3200x3200 pixels
+        Random random = new Random(42);
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            Player player = new Player();
+            player.setId("p" + i);
+            player.setX(random.nextDouble() * 3200);
+            player.setY(random.nextDouble() * 3200);
+            players.add(player);
+        }
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            service.computeGroups(players, Collections.emptyMap());
+        }
+        long start = System.nanoTime();
+        int grouped = 0;
+        for (int i = 0; i < MEASURED_ROUNDS; i++) {
+            grouped += service.computeGroups(players, Collections.emptyMap()).size();
+        }
+        double microsPerPass = (System.nanoTime() - start) / 1_000.0 / MEASURED_ROUNDS;
+
+        logger.info("BENCH proximity clustering players={} us/pass={}", playerCount, String.format("%.1f", microsPerPass));
+        assertThat(grouped).isPositive();
+    }
+}
@@ -0,0 +1,123 @@
+package com.map.metahive.service;
+
+import com.map.metahive.dto.ConversationGroupUpdate;
+import com.map.metahive.model.Player;
+import com.map.metahive.model.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class ProximityClusterServiceTest {
+
+    private SimpMessagingTemplate messagingTemplate;
+    private ProximityClusterService proximityClusterService;
+    private Room room;
+
+    @BeforeEach
+    public void setup() {
+        messagingTemplate = mock(SimpMessagingTemplate.class);
+        proximityClusterService = new ProximityClusterService(messagingTemplate, 100);
+        room = new Room("room1");
+    }
+
+    private Player player(String id, double x, double y) {
+        Player player = new Player();
+        player.setId(id);
+        player.setRoomId("room1");
+        player.setX(x);
+        player.setY(y);
+        room.addPlayer(player);
+        return player;
+    }
+
+    @Test
+    public void testNearbyPlayersFormOneGroup() {
+        player("a", 0, 0);
+        player("b", 80, 0);
+        player("c", 160, 0);
+        player("d", 1000, 1000);
+
+        proximityClusterService.onTick(room, 0);
+
+        Map<String, String> groups = proximityClusterService.getGroups("room1");
+        assertThat(groups).containsOnlyKeys("a", "b", "c");
+        assertThat(groups.get("a")).isEqualTo(groups.get("b")).isEqualTo(groups.get("c"));
+    }
+
+    @Test
+    public void testOnlyChangesArePublished() {
+        player("a", 0, 0);
+        player("b", 50, 0);
+        Player c = player("c", 500, 0);
+
+        proximityClusterService.onTick(room, 0);
+        String groupId = proximityClusterService.getGroups("room1").get("a");
+
+        // Nothing moved, so nothing new is published.
+        proximityClusterService.onTick(room, 100);
+        verify(messagingTemplate, times(1)).convertAndSend(anyString(), any(Object.class));
+
+        c.setX(90);
+        proximityClusterService.onTick(room, 200);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/rooms/room1/groups"), captor.capture());
+        ConversationGroupUpdate update = (ConversationGroupUpdate) captor.getValue();
+        assertThat(update.getChanges()).containsOnlyKeys("c");
+        assertThat(update.getChanges().get("c")).isEqualTo(groupId);
+    }
+
+    @Test
+    public void testLeavingGroupPublishesNull() {
+        player("a", 0, 0);
+        Player b = player("b", 50, 0);
+        proximityClusterService.onTick(room, 0);
+
+        b.setX(1000);
+        proximityClusterService.onTick(room, 100);
+
+        ArgumentCaptor<Object> captor = ArgumentCaptor.forClass(Object.class);
+        verify(messagingTemplate, times(2)).convertAndSend(eq("/topic/rooms/room1/groups"), captor.capture());
+        ConversationGroupUpdate update = (ConversationGroupUpdate) captor.getValue();
+        assertThat(update.getChanges()).containsOnlyKeys("a", "b");
+        assertThat(update.getChanges().get("a")).isNull();
+        assertThat(proximityClusterService.getGroups("room1")).isEmpty();
+    }
+
+    @Test
+    public void testLargestFragmentKeepsGroupIdOnSplit() {
+        player("a", 0, 0);
+        player("b", 50, 0);
+        player("c", 100, 0);
+        Player d = player("d", 150, 0);
+        proximityClusterService.onTick(room, 0);
+        String groupId = proximityClusterService.getGroups("room1").get("a");
+
+        d.setX(1000);
+        player("e", 1050, 0);
+        proximityClusterService.onTick(room, 100);
+
+        Map<String, String> groups = proximityClusterService.getGroups("room1");
+        assertThat(groups.get("a")).isEqualTo(groupId);
+        assertThat(groups.get("d")).isNotEqualTo(groupId).isEqualTo(groups.get("e"));
+    }
+
+    @Test
+    public void testRoomRemovedDropsState() {
+        player("a", 0, 0);
+        player("b", 50, 0);
+        proximityClusterService.onTick(room, 0);
+
+        proximityClusterService.onRoomRemoved("room1");
+        assertThat(proximityClusterService.getGroups("room1")).isEmpty();
+    }
+}
@@ -0,0 +1,88 @@
+package com.map.metahive.service;
+
+import com.map.metahive.dto.RoomStats;
+import com.map.metahive.model.Player;
+import com.map.metahive.model.Room;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+public class RoomHibernationServiceTest {
+
+    private GameSessionService gameSessionService;
+
+    @BeforeEach
+    public void setup() {
+        gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+    }
+
+    private Room room(String roomId, int players, long lastActivityAt) {
+        Room room = new Room(roomId);
+        gameSessionService.addRoom(roomId, room);
+        for (int i = 0; i < players; i++) {
+            Player player = new Player();
+            player.setId(roomId + "-player" + i);
+            player.setRoomId(roomId);
+            player.setUsername("user" + i);
+            room.addPlayer(player);
+        }
+        room.touch(lastActivityAt);
+        return room;
+    }
+
+    @Test
+    public void testIdleRoomsHibernate() {
+        RoomHibernationService service = new RoomHibernationService(gameSessionService, 60_000, Long.MAX_VALUE);
+        Room idle = room("idle", 2, 0);
+        Room busy = room("busy", 2, 50_000);
+
+        service.sweep(60_000);
+
+        assertThat(idle.isHibernated()).isTrue();
+        assertThat(busy.isHibernated()).isFalse();
+        RoomStats stats = service.getStats();
+        assertThat(stats.getActiveRooms()).isEqualTo(1);
+        assertThat(stats.getHibernatedRooms()).isEqualTo(1);
+        assertThat(stats.getActiveBytes()).isPositive();
+        assertThat(stats.getHibernatedBytes()).isPositive();
+    }
+
+    @Test
+    public void testMemoryBudgetHibernatesLeastRecentlyActiveFirst() {
+        Room oldest = room("oldest", 10, 1_000);
+        Room middle = room("middle", 10, 2_000);
+        Room newest = room("newest", 10, 3_000);
+        long perRoom = newest.estimateRetainedBytes();
+        RoomHibernationService service = new RoomHibernationService(gameSessionService, 60_000, perRoom * 2);
+
+        service.sweep(4_000);
+
+        assertThat(oldest.isHibernated()).isTrue();
+        assertThat(middle.isHibernated()).isFalse();
+        assertThat(newest.isHibernated()).isFalse();
+    }
+
+    @Test
+    public void testInboundMessageWakesRoom() {
+        RoomHibernationService service = new RoomHibernationService(gameSessionService, 60_000, Long.MAX_VALUE);
+        Room room = room("room1", 1, 0);
+        service.sweep(60_000);
+        assertThat(room.isHibernated()).isTrue();
+
+        Player player = gameSessionService.getPlayerById("room1", "room1-player0");
+
+        assertThat(player).isNotNull();
+        assertThat(room.isHibernated()).isFalse();
+        assertThat(room.getLastActivityAt()).isGreaterThan(60_000);
+    }
+
+    @Test
+    public void testInvalidConfiguration() {
+        assertThatThrownBy(() -> new RoomHibernationService(gameSessionService, 0, 1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
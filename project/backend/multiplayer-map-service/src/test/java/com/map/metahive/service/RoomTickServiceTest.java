@@ -0,0 +1,63 @@
+package com.map.metahive.service;
+
+import com.map.metahive.model.Player;
+import org.junit.jupiter.api.Test;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+public class RoomTickServiceTest {
+
+    @Test
+    public void testTickRunsStagesAndReportsRemovedRooms() {
+        GameSessionService gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        RoomTickStage stage = mock(RoomTickStage.class);
+        RoomTickService roomTickService = new RoomTickService(gameSessionService, List.of(stage));
+
+        gameSessionService.createRoom("room1");
+        Player player = new Player();
+        player.setId("player1");
+        player.setRoomId("room1");
+        gameSessionService.addPlayer(player);
+
+        roomTickService.tick();
+        verify(stage).onTick(any(), anyLong());
+        verify(stage, never()).onRoomRemoved(any());
+
+        gameSessionService.removePlayer("room1", "player1");
+        roomTickService.tick();
+        verify(stage).onRoomRemoved("room1");
+    }
+
+    @Test
+    public void testFailingStageDoesNotStopTick() {
+        GameSessionService gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        RoomTickStage failing = mock(RoomTickStage.class);
+        RoomTickStage healthy = mock(RoomTickStage.class);
+        doThrow(new IllegalStateException("boom")).when(failing).onTick(any(), anyLong());
+        RoomTickService roomTickService = new RoomTickService(gameSessionService, List.of(failing, healthy));
+
+        gameSessionService.createRoom("room1");
+        roomTickService.tick();
+
+        verify(healthy).onTick(any(), anyLong());
+    }
+
+    @Test
+    public void testHibernatedRoomsAreNotTicked() {
+        GameSessionService gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        RoomTickStage stage = mock(RoomTickStage.class);
+        RoomTickService roomTickService = new RoomTickService(gameSessionService, List.of(stage));
+
+        gameSessionService.createRoom("room1");
+        gameSessionService.getActiveRooms().forEach(room -> room.hibernate());
+        roomTickService.tick();
+
+        verify(stage, never()).onTick(any(), anyLong());
+        verify(stage, never()).onRoomRemoved(any());
+    }
+}
@@ -0,0 +1,142 @@
+package com.map.metahive.service;
+
+import com.map.metahive.dto.PlayerProfile;
+import com.map.metahive.dto.RosterDelta;
+import com.map.metahive.model.Player;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class RosterBatcherTest {
+
+    private GameSessionService gameSessionService;
+    private PlayerStatePublisher playerStatePublisher;
+    private ScheduledExecutorService scheduler;
+    private AtomicLong clock;
+    private RosterBatcher rosterBatcher;
+
+    @BeforeEach
+    public void setup() {
+        gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        gameSessionService.createRoom("room1");
+        playerStatePublisher = mock(PlayerStatePublisher.class);
+        scheduler = mock(ScheduledExecutorService.class);
+        clock = new AtomicLong(1_000);
+        rosterBatcher = new RosterBatcher(gameSessionService, playerStatePublisher, 50, 200, scheduler, clock::get);
+    }
+
+    private Player join(String id) {
+        Player player = new Player();
+        player.setId(id);
+        player.setRoomId("room1");
+        player.setUsername(id);
+        gameSessionService.addPlayer(player);
+        rosterBatcher.playerJoined("room1", id);
+        return player;
+    }
+
+    private RosterDelta publishedDelta() {
+        ArgumentCaptor<RosterDelta> captor = ArgumentCaptor.forClass(RosterDelta.class);
+        verify(playerStatePublisher).publishRosterDelta(captor.capture());
+        return captor.getValue();
+    }
+
+    @Test
+    public void testJoinsWithinWindowAreCoalesced() {
+        join("a");
+        clock.addAndGet(10);
+        join("b");
+        clock.addAndGet(10);
+        join("c");
+        verify(scheduler, times(1)).schedule(any(Runnable.class), eq(50L), eq(TimeUnit.MILLISECONDS));
+
+        // Quiet window not yet over since the last join: the check reschedules itself.
+        clock.addAndGet(30);
+        rosterBatcher.flushIfDue("room1");
+        verify(playerStatePublisher, never()).publishRosterDelta(any());
+        verify(scheduler).schedule(any(Runnable.class), eq(20L), eq(TimeUnit.MILLISECONDS));
+
+        clock.addAndGet(20);
+        rosterBatcher.flushIfDue("room1");
+        RosterDelta delta = publishedDelta();
+        assertThat(delta.getJoined()).extracting(PlayerProfile::getId).containsExactly("a", "b", "c");
+        assertThat(delta.getLeft()).isEmpty();
+        assertThat(rosterBatcher.getPendingRoomCount()).isZero();
+    }
+
+    @Test
+    public void testMaxDelayBoundsContinuousChanges() {
+        for (int i = 0; i < 10; i++) {
+            join("p" + i);
+            clock.addAndGet(40);
+        }
+        // 400ms of steady joins never leave a 50ms quiet gap, but the batch is due 200ms after the first.
+        rosterBatcher.flushIfDue("room1");
+        assertThat(publishedDelta().getJoined()).hasSize(10);
+    }
+
+    @Test
+    public void testJoinAndLeaveInSameBatchCancelOut() {
+        Player known = new Player();
+        known.setId("known");
+        known.setRoomId("room1");
+        gameSessionService.addPlayer(known);
+
+        Player transient_ = join("transient");
+        gameSessionService.removePlayer("room1", "transient");
+        rosterBatcher.playerLeft("room1", "transient", transient_);
+        gameSessionService.removePlayer("room1", "known");
+        rosterBatcher.playerLeft("room1", "known", known);
+
+        clock.addAndGet(50);
+        rosterBatcher.flushIfDue("room1");
+        RosterDelta delta = publishedDelta();
+        assertThat(delta.getJoined()).isEmpty();
+        assertThat(delta.getLeft()).extracting(PlayerProfile::getId).containsExactly("known");
+    }
+
+    @Test
+    public void testProfileChangeThenLeaveIsReportedAsLeave() {
+        Player known = join("known");
+        clock.addAndGet(50);
+        rosterBatcher.flushIfDue("room1");
+        reset(playerStatePublisher);
+
+        rosterBatcher.profileChanged("room1", "known");
+        rosterBatcher.playerLeft("room1", "known", known);
+        clock.addAndGet(50);
+        rosterBatcher.flushIfDue("room1");
+
+        RosterDelta delta = publishedDelta();
+        assertThat(delta.getJoined()).isEmpty();
+        assertThat(delta.getLeft()).extracting(PlayerProfile::getSlot).containsExactly(known.getSlot());
+    }
+
+    @Test
+    public void testZeroWindowPublishesImmediately() {
+        rosterBatcher = new RosterBatcher(gameSessionService, playerStatePublisher, 0, 0, scheduler, clock::get);
+
+        join("a");
+
+        assertThat(publishedDelta().getJoined()).hasSize(1);
+        verify(scheduler, never()).schedule(any(Runnable.class), anyLong(), any(TimeUnit.class));
+    }
+
+    @Test
+    public void testInvalidWindow() {
+        assertThatThrownBy(() -> new RosterBatcher(gameSessionService, playerStatePublisher, 100, 50, scheduler, clock::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
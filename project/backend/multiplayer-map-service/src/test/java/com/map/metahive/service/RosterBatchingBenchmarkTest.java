@@ -0,0 +1,78 @@
+package com.map.metahive.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.map.metahive.config.ProtocolMode;
+import com.map.metahive.model.Player;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * Compares the traffic of a synthetic 200-person join burst with and without roster
+ * batching. Run with {@code -Dbenchmarks=true}.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+public class RosterBatchingBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(RosterBatchingBenchmarkTest.class);
+    private static final int BURST_SIZE = 200;
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Test
+    public void benchmarkJoinBurst() {
+        long[] unbatched = runBurst(0);
+        long[] batched = runBurst(50);
+
+        logger.info("BENCH join burst players={} unbatched messages={} bytes={}", BURST_SIZE, unbatched[0], unbatched[1]);
+        logger.info("BENCH join burst players={} batched messages={} bytes={}", BURST_SIZE, batched[0], batched[1]);
+        assertThat(batched[1]).isLessThan(unbatched[1]);
+    }
+
+    /**
+     * Registers {@code BURST_SIZE} players 5ms apart (one second of joins) and returns the
+     * number of published messages and their total JSON size.
+     */
+    private long[] runBurst(long window) {
+        long[] totals = new long[2];
+        SimpMessagingTemplate messagingTemplate = mock(SimpMessagingTemplate.class);
+        doAnswer(invocation -> {
+            totals[0]++;
+            totals[1] += MAPPER.writeValueAsBytes(invocation.getArgument(1, Object.class)).length;
+            return null;
+        }).when(messagingTemplate).convertAndSend(anyString(), any(Object.class));
+
+        GameSessionService gameSessionService = new GameSessionService(new PresenceDirectory(mock(SimpMessagingTemplate.class)));
+        gameSessionService.createRoom("room1");
+        PlayerStatePublisher publisher = new PlayerStatePublisher(gameSessionService, messagingTemplate, ProtocolMode.BOTH);
+        AtomicLong clock = new AtomicLong();
+        RosterBatcher batcher = new RosterBatcher(gameSessionService, publisher, window, 250,
+                mock(ScheduledExecutorService.class), clock::get);
+
+        for (int i = 0; i < BURST_SIZE; i++) {
+            Player player = new Player();
+            player.setId("player-" + i);
+            player.setRoomId("room1");
+            player.setUsername("user-" + i);
+            player.setColor("#33aaff");
+            gameSessionService.addPlayer(player);
+            batcher.playerJoined("room1", player.getId());
+            // The scheduler is mocked, so drive the due checks like it would.
+            batcher.flushIfDue("room1");
+            clock.addAndGet(5);
+        }
+        clock.addAndGet(250);
+        batcher.flushIfDue("room1");
+        return totals;
+    }
+}
@@ -1,14 +1,34 @@
 package com.meta.project.controllers;
 
 
+import com.meta.project.dto.ActivityDTO;
+import com.meta.project.dto.BoardCloneDTO;
 import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.BoardFlowDTO;
+import com.meta.project.dto.BoardSnapshotDTO;
+import com.meta.project.dto.CardFilterDTO;
+import com.meta.project.dto.CardFilterResultDTO;
+import com.meta.project.dto.LabelCountDTO;
+import com.meta.project.dto.PageDTO;
+import com.meta.project.service.ActivityLog;
+import com.meta.project.service.BoardAnalyticsService;
+import com.meta.project.service.BoardChangeFeed;
+import com.meta.project.service.BoardFilterService;
 import com.meta.project.service.BoardService;
+import com.meta.project.service.BoardSnapshotService;
+import com.meta.project.util.ETags;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 
@@ -26,9 +46,21 @@ public class BoardController {
 
 
     private BoardService boardService;
+    private BoardSnapshotService boardSnapshotService;
+    private BoardChangeFeed boardChangeFeed;
+    private BoardFilterService boardFilterService;
+    private BoardAnalyticsService boardAnalyticsService;
+    private ActivityLog activityLog;
     // Constructor Injection (Replaces Field Injection)
-    public BoardController(BoardService boardService) {
+    public BoardController(BoardService boardService, BoardSnapshotService boardSnapshotService,
+                           BoardChangeFeed boardChangeFeed, BoardFilterService boardFilterService,
+                           BoardAnalyticsService boardAnalyticsService, ActivityLog activityLog) {
         this.boardService = boardService;
+        this.boardSnapshotService = boardSnapshotService;
+        this.boardChangeFeed = boardChangeFeed;
+        this.boardFilterService = boardFilterService;
+        this.boardAnalyticsService = boardAnalyticsService;
+        this.activityLog = activityLog;
     }
 
 
@@ -60,6 +92,46 @@ public class BoardController {
         return ResponseEntity.status(HttpStatus.CREATED).body(createdBoard);
     }
 
+    /**
+     * Lists the template boards, of one team or of all teams.
+     *
+     * @param teamId The team whose templates to list, or null for all.
+     * @return A ResponseEntity containing the templates.
+     */
+    @GetMapping("/templates")
+    public ResponseEntity<List<BoardDTO>> getTemplates(@RequestParam(required = false) String teamId) {
+        return ResponseEntity.ok(boardService.getTemplates(teamId));
+    }
+
+    /**
+     * Creates a board from a template. Completion, todo progress and due dates are cleared
+     * unless {@code resetProgress} is false.
+     *
+     * @param id      The ID of the template.
+     * @param options The title and team of the new board.
+     * @return A ResponseEntity containing the created BoardDTO.
+     */
+    @PostMapping("/templates/{id}/instantiate")
+    public ResponseEntity<BoardDTO> instantiateTemplate(@PathVariable String id,
+                                                        @RequestBody(required = false) BoardCloneDTO options) {
+        BoardDTO board = boardService.instantiateTemplate(id, options != null ? options : new BoardCloneDTO());
+        return ResponseEntity.status(HttpStatus.CREATED).body(board);
+    }
+
+    /**
+     * Copies a board with its lists, cards, labels, links, members and todos.
+     *
+     * @param id      The ID of the board to copy.
+     * @param options The title, team and template flag of the copy, and whether to reset progress.
+     * @return A ResponseEntity containing the created BoardDTO.
+     */
+    @PostMapping("/{id}/clone")
+    public ResponseEntity<BoardDTO> cloneBoard(@PathVariable String id,
+                                               @RequestBody(required = false) BoardCloneDTO options) {
+        BoardDTO board = boardService.cloneBoard(id, options != null ? options : new BoardCloneDTO());
+        return ResponseEntity.status(HttpStatus.CREATED).body(board);
+    }
+
     /**
      * Deletes a board by its ID.
      *
@@ -67,8 +139,9 @@ public class BoardController {
      * @return A ResponseEntity with HTTP status.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteBoard(@PathVariable String id) {
-        boardService.deleteBoard(id);
+    public ResponseEntity<Void> deleteBoard(@PathVariable String id,
+                                            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boardService.deleteBoard(id, ifMatch);
         return ResponseEntity.ok().build();
     }
 
@@ -79,10 +152,14 @@ public class BoardController {
      * @return A ResponseEntity containing the BoardDTO if found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BoardDTO> getBoardById(@PathVariable String id) {
+    public ResponseEntity<BoardDTO> getBoardById(@PathVariable String id, WebRequest request) {
+        String etag = boardService.getBoardETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         try {
             return boardService.getBoardById(id)
-                    .map(ResponseEntity::ok)
+                    .map(board -> ResponseEntity.ok().eTag(etag).body(board))
                     .orElse(ResponseEntity.notFound().build());
         } catch (IllegalArgumentException e) {
             return ResponseEntity.badRequest().body(null);
@@ -94,5 +171,99 @@ public class BoardController {
 
 
 
+    /**
+     * Retrieves a board with all of its lists and cards in one response, loaded with a
+     * fixed number of queries regardless of the card count.
+     *
+     * @param id The ID of the board.
+     * @return A ResponseEntity containing the BoardSnapshotDTO.
+     */
+    @GetMapping("/{id}/snapshot")
+    public ResponseEntity<BoardSnapshotDTO> getBoardSnapshot(@PathVariable String id, WebRequest request) {
+        // Read before the snapshot: a change in between only makes the next check miss
+        String etag = boardService.getBoardETag(id);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(boardSnapshotService.getSnapshot(id));
+    }
+
+    /**
+     * Streams the changes made to a board as Server-Sent Events. A reconnecting client sends the
+     * token of the last event it saw (the browser does this through {@code Last-Event-ID}) and
+     * receives only the events it missed, or a {@code reset} event if it should reload the snapshot.
+     *
+     * @param id          The ID of the board.
+     * @param lastEventId The resume token sent by EventSource on reconnect.
+     * @param since       The resume token, for clients that cannot set headers.
+     * @return The event stream.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBoardEvents(@PathVariable String id,
+                                        @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId,
+                                        @RequestParam(required = false) String since) {
+        return boardChangeFeed.subscribe(id, lastEventId != null ? lastEventId : since);
+    }
+
+    /**
+     * Returns the cards of a board matching a filter of labels, members, lists, completion and
+     * due dates combined with and/or/not. Only the matching card IDs are returned, plus their
+     * summaries when {@code summaries=true}.
+     *
+     * @param id        The ID of the board.
+     * @param filter    The filter; an empty body matches every card.
+     * @param summaries Whether to include card summaries.
+     * @return A ResponseEntity containing the matching cards.
+     */
+    @PostMapping("/{id}/cards/filter")
+    public ResponseEntity<CardFilterResultDTO> filterCards(@PathVariable String id,
+                                                           @RequestBody(required = false) CardFilterDTO filter,
+                                                           @RequestParam(defaultValue = "false") boolean summaries) {
+        return ResponseEntity.ok(boardFilterService.filterCards(id, filter, summaries));
+    }
+
+    /**
+     * Returns the labels used on a board with the number of cards carrying each.
+     *
+     * @param id The ID of the board.
+     * @return A ResponseEntity containing the board's labels.
+     */
+    @GetMapping("/{id}/labels")
+    public ResponseEntity<List<LabelCountDTO>> getBoardLabels(@PathVariable String id) {
+        return ResponseEntity.ok(boardFilterService.getLabels(id));
+    }
+
+    /**
+     * Returns a board's cumulative flow over a range of days: for every day, the cards in each
+     * list, the open and completed cards, and the cards completed that day.
+     *
+     * @param id   The ID of the board.
+     * @param from The first day (ISO date); defaults to 29 days before {@code to}.
+     * @param to   The last day (ISO date); defaults to today.
+     * @return A ResponseEntity containing the board's flow.
+     */
+    @GetMapping("/{id}/analytics/flow")
+    public ResponseEntity<BoardFlowDTO> getBoardFlow(
+            @PathVariable String id,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(boardAnalyticsService.getFlow(id, from, to));
+    }
+
+    /**
+     * Returns the activity on a board and its lists and cards, newest first, a page at a time.
+     *
+     * @param id     The ID of the board.
+     * @param cursor The {@code nextCursor} of the previous page; omit for the first page.
+     * @param limit  The page size.
+     * @return A ResponseEntity containing the page.
+     */
+    @GetMapping("/{id}/activity")
+    public ResponseEntity<PageDTO<ActivityDTO>> getBoardActivity(@PathVariable String id,
+                                                            @RequestParam(required = false) String cursor,
+                                                            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(activityLog.getBoardActivity(id, cursor, limit));
+    }
+
     // Add more endpoints as needed
 }
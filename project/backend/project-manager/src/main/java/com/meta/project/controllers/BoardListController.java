@@ -3,13 +3,20 @@ package com.meta.project.controllers;
 
 
 import com.meta.project.dto.BoardListDTO;
+import com.meta.project.dto.ListReorderDTO;
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.service.BatchReorderService;
 import com.meta.project.service.BoardListService;
+import com.meta.project.service.BoardService;
+import com.meta.project.util.ETags;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.Map;
@@ -28,9 +35,14 @@ import java.util.Map;
 public class BoardListController {
 
     private BoardListService boardListService;
+    private BatchReorderService batchReorderService;
+    private BoardService boardService;
 
-    public BoardListController(BoardListService boardListService) {
+    public BoardListController(BoardListService boardListService, BatchReorderService batchReorderService,
+                               BoardService boardService) {
         this.boardListService = boardListService;
+        this.batchReorderService = batchReorderService;
+        this.boardService = boardService;
     }
     /**
      * Creates a new list within a specified board.
@@ -55,13 +67,17 @@ public class BoardListController {
     /**
      * Retrieves a list by its ID.
      *
-     * @param id The ID of the list.
+     * @param id      The ID of the list.
+     * @param request Used to answer If-None-Match with 304 from the list's version alone.
      * @return A ResponseEntity containing the BoardListDTO if found.
      */
     @GetMapping("/{id}")
-    public ResponseEntity<BoardListDTO> getList(@PathVariable String id) {
+    public ResponseEntity<BoardListDTO> getList(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(ETags.of(boardListService.getListVersion(id)))) {
+            return null;
+        }
         BoardListDTO list = boardListService.getBoardListById(id);
-        return ResponseEntity.ok(list);
+        return ResponseEntity.ok().eTag(ETags.of(list.getVersion())).body(list);
     }
 
     /**
@@ -76,16 +92,29 @@ public class BoardListController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Applies the complete new list order of one or more boards in a single bulk write.
+     *
+     * @param reorders The new order of the lists for each board.
+     * @return A ResponseEntity containing only the lists whose rank changed.
+     */
+    @PutMapping("/reorder/batch")
+    public ResponseEntity<List<RankChangeDTO>> batchReorderLists(@RequestBody List<ListReorderDTO> reorders) {
+        return ResponseEntity.ok(batchReorderService.reorderLists(reorders));
+    }
+
     /**
      * Updates an existing list's title and associated board.
      *
      * @param id      The ID of the list to update.
+     * @param ifMatch The ETag the client last saw; the update fails with 412 if the list has changed since.
      * @param request A map containing 'title' and 'boardId'.
      * @return A ResponseEntity containing the updated BoardListDTO if successful.
      */
     @PutMapping("/{id}")
     public ResponseEntity<BoardListDTO> updateList(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Map<String, Object> request) {
         String title = (String) request.get("title");
         String boardId = (String) request.get("boardId");
@@ -95,19 +124,21 @@ public class BoardListController {
             throw new IllegalArgumentException("Title and Board ID are required.");
         }
 
-        BoardListDTO updatedList = boardListService.updateList(id, title, boardId);
-        return ResponseEntity.ok(updatedList);
+        BoardListDTO updatedList = boardListService.updateList(id, title, boardId, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedList.getVersion())).body(updatedList);
     }
 
     /**
      * Deletes a list by its ID.
      *
-     * @param id The ID of the list to delete.
+     * @param id      The ID of the list to delete.
+     * @param ifMatch The ETag the client last saw; the delete fails with 412 if the list has changed since.
      * @return A ResponseEntity with HTTP status.
      */
     @DeleteMapping("/{id}")
-    public ResponseEntity<Void> deleteList(@PathVariable String id) {
-        boardListService.deleteList(id);
+    public ResponseEntity<Void> deleteList(@PathVariable String id,
+                                           @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        boardListService.deleteList(id, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -115,12 +146,17 @@ public class BoardListController {
      * Retrieves all lists associated with a specific board.
      *
      * @param boardId The ID of the board.
+     * @param request Used to answer If-None-Match with 304 from the board's ETag alone.
      * @return A ResponseEntity containing a list of BoardListDTOs.
      */
     @GetMapping("/board/{boardId}")
-    public ResponseEntity<List<BoardListDTO>> getListsByBoardId(@PathVariable String boardId) {
+    public ResponseEntity<List<BoardListDTO>> getListsByBoardId(@PathVariable String boardId, WebRequest request) {
+        String etag = boardService.getBoardETag(boardId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
         List<BoardListDTO> lists = boardListService.getLists(boardId);
-        return ResponseEntity.ok(lists);
+        return ResponseEntity.ok().eTag(etag).body(lists);
     }
 
     /**
@@ -1,20 +1,42 @@
 package com.meta.project.controllers;
 
+import com.meta.project.dto.ActivityDTO;
+import com.meta.project.dto.BoardCardsDTO;
+import com.meta.project.dto.CardBulkCommandDTO;
+import com.meta.project.dto.CardBulkResultDTO;
+import com.meta.project.dto.CardCollectionsPatchDTO;
 import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.CardReorderDTO;
+import com.meta.project.dto.CardSearchResultDTO;
+import com.meta.project.dto.CardSummaryDTO;
+import com.meta.project.dto.CardTimeDTO;
 import com.meta.project.dto.CommentDTO;
+import com.meta.project.dto.PageDTO;
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.dto.TimeEntryDTO;
 import com.meta.project.dto.TodoDTO;
 import com.meta.project.dto.UpdateCardDTO;
 import com.meta.project.entity.Comment;
 import com.meta.project.entity.Todo;
 import com.meta.project.mapper.CommentMapper;
 import com.meta.project.mapper.TodoMapper;
+import com.meta.project.service.ActivityLog;
+import com.meta.project.service.BatchReorderService;
+import com.meta.project.service.BoardService;
+import com.meta.project.service.CardBulkService;
+import com.meta.project.service.CardSearchService;
 import com.meta.project.service.CardService;
+import com.meta.project.service.CardSummaryService;
+import com.meta.project.service.TimeTrackingService;
+import com.meta.project.util.ETags;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.time.LocalDateTime;
 import java.util.HashSet;
@@ -24,6 +46,9 @@ import java.util.stream.Collectors;
 
 /**
  * REST controller for managing cards within a project management application.
+ * <p>
+ * Every write to a single card accepts {@code If-Match} with the card's ETag and answers 412
+ * if the card has changed since; successful writes return the new ETag.
  */
 @RestController
 @RequestMapping("/pm/v1/cards")
@@ -33,6 +58,13 @@ import java.util.stream.Collectors;
 public class CardController {
 
     private final CardService cardService;
+    private final BatchReorderService batchReorderService;
+    private final CardBulkService cardBulkService;
+    private final CardSummaryService cardSummaryService;
+    private final CardSearchService cardSearchService;
+    private final TimeTrackingService timeTrackingService;
+    private final ActivityLog activityLog;
+    private final BoardService boardService;
     private final CommentMapper commentMapper;
     private final TodoMapper todoMapper;
 
@@ -45,47 +77,146 @@ public class CardController {
     @PutMapping("/{cardId}/members/add")
     public ResponseEntity<CardDTO> addCardMembers(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody List<String> userIds) {
-        return ResponseEntity.ok(cardService.addCardMembers(cardId, userIds));
+        CardDTO updatedCard = cardService.addCardMembers(cardId, userIds, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PatchMapping("/{cardId}/members/remove")
     public ResponseEntity<CardDTO> removeCardMembers(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody List<String> userIds) {
-        return ResponseEntity.ok(cardService.removeCardMembers(cardId, userIds));
+        CardDTO updatedCard = cardService.removeCardMembers(cardId, userIds, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PatchMapping("/{cardId}/tracked-times")
     public ResponseEntity<CardDTO> updateCardTrackedTimes(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Set<String> trackedTimes) {
-        return ResponseEntity.ok(cardService.updateCardTrackedTimes(cardId, trackedTimes));
+        CardDTO updatedCard = cardService.updateCardTrackedTimes(cardId, trackedTimes, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
+    }
+
+    /**
+     * Appends a time entry to a card. Entries cannot be changed or removed; a negative
+     * duration corrects earlier ones.
+     */
+    @PostMapping("/{cardId}/time-entries")
+    public ResponseEntity<TimeEntryDTO> addTimeEntry(
+            @PathVariable String cardId,
+            @RequestBody TimeEntryDTO entry) {
+        return ResponseEntity.status(HttpStatus.CREATED).body(timeTrackingService.addEntry(cardId, entry));
+    }
+
+    @GetMapping("/{cardId}/time-entries")
+    public ResponseEntity<List<TimeEntryDTO>> getTimeEntries(@PathVariable String cardId) {
+        return ResponseEntity.ok(timeTrackingService.getEntries(cardId));
+    }
+
+    // Total time booked on a card, from its rollup
+    @GetMapping("/{cardId}/time")
+    public ResponseEntity<CardTimeDTO> getCardTime(@PathVariable String cardId) {
+        return ResponseEntity.ok(timeTrackingService.getCardTime(cardId));
+    }
+
+    /**
+     * Returns a card's activity, newest first, a page at a time.
+     *
+     * @param cardId The ID of the card.
+     * @param cursor The {@code nextCursor} of the previous page; omit for the first page.
+     * @param limit  The page size.
+     */
+    @GetMapping("/{cardId}/activity")
+    public ResponseEntity<PageDTO<ActivityDTO>> getCardActivity(
+            @PathVariable String cardId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(activityLog.getCardActivity(cardId, cursor, limit));
     }
 
     @DeleteMapping("/{cardId}/links")
     public ResponseEntity<CardDTO> removeCardLinks(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Set<String> linksToRemove) {
-        return ResponseEntity.ok(cardService.removeCardLinks(cardId, linksToRemove));
+        CardDTO updatedCard = cardService.removeCardLinks(cardId, linksToRemove, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
+    }
+
+    /**
+     * Applies a list of card commands (move, label and member changes, completion, delete) in
+     * one transaction and returns one result per command. Commands that cannot apply are
+     * reported and skipped; the rest still apply.
+     */
+    @PostMapping("/bulk")
+    public ResponseEntity<List<CardBulkResultDTO>> applyBulkCommands(@RequestBody List<CardBulkCommandDTO> commands) {
+        return ResponseEntity.ok(cardBulkService.applyCommands(commands));
+    }
+
+    /**
+     * Full-text search over card titles, descriptions, comments and todos of one board or of
+     * all boards of a team. Every word must match; the last one also matches as a prefix.
+     */
+    @GetMapping("/search")
+    public ResponseEntity<List<CardSearchResultDTO>> searchCards(
+            @RequestParam String q,
+            @RequestParam(required = false) String boardId,
+            @RequestParam(required = false) String teamId,
+            @RequestParam(required = false) List<String> label,
+            @RequestParam(required = false) String member,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(defaultValue = "20") int limit) {
+        return ResponseEntity.ok(cardSearchService.search(q, boardId, teamId, label, member, completed, limit));
     }
 
+    /**
+     * Rebuilds the search index of a board from the database.
+     */
+    @PostMapping("/search/rebuild/{boardId}")
+    public ResponseEntity<Void> rebuildSearchIndex(@PathVariable String boardId) {
+        cardSearchService.rebuildBoard(boardId);
+        return ResponseEntity.accepted().build();
+    }
+
+    /**
+     * Returns 304 Not Modified from the card's version alone when the client's ETag is current.
+     */
     @GetMapping("/{id}")
-    public ResponseEntity<CardDTO> getCard(@PathVariable String id) {
-        return ResponseEntity.ok(cardService.getCardById(id));
+    public ResponseEntity<CardDTO> getCard(@PathVariable String id, WebRequest request) {
+        if (request.checkNotModified(ETags.of(cardService.getCardVersion(id)))) {
+            return null;
+        }
+        CardDTO card = cardService.getCardById(id);
+        return ResponseEntity.ok().eTag(ETags.of(card.getVersion())).body(card);
     }
 
+    /**
+     * Overwrites a card. With If-Match (or a version in the body) the update is rejected with
+     * 412 if someone else changed the card first.
+     */
     @PutMapping("/{id}")
     public ResponseEntity<CardDTO> updateCard(
             @PathVariable String id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Validated CardDTO cardDTO) {
         cardDTO.setId(id);
-        return ResponseEntity.ok(cardService.updateCard(cardDTO));
+        Long expectedVersion = ETags.expectedVersion(ifMatch);
+        if (expectedVersion != null) {
+            cardDTO.setVersion(expectedVersion);
+        }
+        CardDTO updatedCard = cardService.updateCard(cardDTO);
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @DeleteMapping("/{cardId}")
-    public ResponseEntity<Void> deleteCard(@PathVariable String cardId) {
-        cardService.deleteCard(cardId);
+    public ResponseEntity<Void> deleteCard(
+            @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        cardService.deleteCard(cardId, ETags.expectedVersion(ifMatch));
         return ResponseEntity.ok().build();
     }
 
@@ -94,6 +225,27 @@ public class CardController {
         return ResponseEntity.ok(cardService.getCardsByBoardListId(listId));
     }
 
+    /**
+     * Lightweight card tiles for a list: labels, members, comment count and todo progress
+     * instead of the full comment and todo threads.
+     */
+    @GetMapping("/list/{listId}/summaries")
+    public ResponseEntity<List<CardSummaryDTO>> getCardSummariesByListId(@PathVariable String listId) {
+        return ResponseEntity.ok(cardSummaryService.getSummariesByListId(listId));
+    }
+
+    /**
+     * A page of a list's card tiles in rank order. Follow {@code nextCursor} for the next page;
+     * cards added or moved meanwhile do not shift the pages still to come.
+     */
+    @GetMapping("/list/{listId}/summaries/page")
+    public ResponseEntity<PageDTO<CardSummaryDTO>> getCardSummaryPageByListId(
+            @PathVariable String listId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(cardSummaryService.getSummaryPageByListId(listId, cursor, limit));
+    }
+
     @PostMapping("/copy/{cardId}")
     public ResponseEntity<CardDTO> copyCard(@PathVariable String cardId) {
         return ResponseEntity.ok(cardService.copyCard(cardId));
@@ -102,64 +254,105 @@ public class CardController {
     @PutMapping("/{cardId}/labels")
     public ResponseEntity<CardDTO> updateCardLabel(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody List<String> labels) {
-        return ResponseEntity.ok(cardService.updateCardLabels(cardId, new HashSet<>(labels)));
+        CardDTO updatedCard = cardService.updateCardLabels(cardId, new HashSet<>(labels), ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PutMapping("/{cardId}/is-completed")
     public ResponseEntity<CardDTO> updateCardIsCompleted(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody Boolean isCompleted) {
-        return ResponseEntity.ok(cardService.updateCardIsCompleted(cardId, isCompleted));
+        CardDTO updatedCard = cardService.updateCardIsCompleted(cardId, isCompleted, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PutMapping("/{cardId}/comments")
     public ResponseEntity<CardDTO> updateCardComments(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody List<CommentDTO> comments) {
         List<Comment> commentEntities = comments.stream()
                 .map(commentMapper::toEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(cardService.updateCardComments(cardId, commentEntities));
+        CardDTO updatedCard = cardService.updateCardComments(cardId, commentEntities, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PutMapping("/{cardId}/todos")
     public ResponseEntity<CardDTO> updateCardTodos(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody List<TodoDTO> todos) {
         List<Todo> todoEntities = todos.stream()
                 .map(todoMapper::toEntity)
                 .collect(Collectors.toList());
-        return ResponseEntity.ok(cardService.updateCardTodos(cardId, todoEntities));
+        CardDTO updatedCard = cardService.updateCardTodos(cardId, todoEntities, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PutMapping("/{cardId}/links")
     public ResponseEntity<CardDTO> updateCardLinks(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody List<String> links) {
-        return ResponseEntity.ok(cardService.updateCardLinks(cardId, new HashSet<>(links)));
+        CardDTO updatedCard = cardService.updateCardLinks(cardId, new HashSet<>(links), ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PutMapping("/{cardId}/date")
     public ResponseEntity<CardDTO> updateCardDate(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody String dateTo) {
         LocalDateTime parsedDate = dateTo != null ? LocalDateTime.parse(dateTo) : null;
-        return ResponseEntity.ok(cardService.updateCardDate(cardId, parsedDate));
+        CardDTO updatedCard = cardService.updateCardDate(cardId, parsedDate, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
+    }
+
+    /**
+     * A page of a card's comments, oldest first.
+     */
+    @GetMapping("/{cardId}/comments")
+    public ResponseEntity<PageDTO<CommentDTO>> getCardComments(
+            @PathVariable String cardId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(cardService.getCardComments(cardId, cursor, limit));
     }
 
     @PostMapping("/{cardId}/comments")
     public ResponseEntity<CardDTO> addCardComment(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody CommentDTO commentDTO) {
-        return ResponseEntity.ok(cardService.addCardComment(cardId, commentMapper.toEntity(commentDTO)));
+        CardDTO updatedCard = cardService.addCardComment(cardId, commentMapper.toEntity(commentDTO),
+                ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
+    }
+
+    /**
+     * Applies add/update/remove deltas to a card's labels, links, tracked times, members,
+     * comments and todos. Only the rows that change are written.
+     */
+    @PatchMapping("/{cardId}/collections")
+    public ResponseEntity<CardDTO> patchCardCollections(
+            @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody CardCollectionsPatchDTO patch) {
+        CardDTO updatedCard = cardService.patchCardCollections(cardId, patch, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @DeleteMapping("/{cardId}/comments/{commentId}")
     public ResponseEntity<CardDTO> removeCardComment(
             @PathVariable String cardId,
-            @PathVariable String commentId) {
-        return ResponseEntity.ok(cardService.removeCardComment(cardId, commentId));
+            @PathVariable String commentId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        CardDTO updatedCard = cardService.removeCardComment(cardId, commentId, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 
     @PutMapping("/reorder")
@@ -168,15 +361,65 @@ public class CardController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * Applies the complete new card order of one or more lists in a single bulk write.
+     * Returns only the cards whose rank changed.
+     */
+    @PutMapping("/reorder/batch")
+    public ResponseEntity<List<RankChangeDTO>> batchReorderCards(@RequestBody List<CardReorderDTO> reorders) {
+        return ResponseEntity.ok(batchReorderService.reorderCards(reorders));
+    }
+
     @GetMapping("/board/{boardId}")
-    public ResponseEntity<List<CardDTO>> getCardsByBoardId(@PathVariable String boardId) {
-        return ResponseEntity.ok(cardService.getCardsByBoardId(boardId));
+    public ResponseEntity<List<CardDTO>> getCardsByBoardId(@PathVariable String boardId, WebRequest request) {
+        String etag = boardService.getBoardETag(boardId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(cardService.getCardsByBoardId(boardId));
+    }
+
+    /**
+     * Lightweight card tiles for a whole board, grouped by list in rank order.
+     */
+    @GetMapping("/board/{boardId}/summaries")
+    public ResponseEntity<List<CardSummaryDTO>> getCardSummariesByBoardId(@PathVariable String boardId,
+                                                                          WebRequest request) {
+        String etag = boardService.getBoardETag(boardId);
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(cardSummaryService.getSummariesByBoardId(boardId));
+    }
+
+    /**
+     * A page of a board's card tiles, list by list in rank order.
+     */
+    @GetMapping("/board/{boardId}/summaries/page")
+    public ResponseEntity<PageDTO<CardSummaryDTO>> getCardSummaryPageByBoardId(
+            @PathVariable String boardId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(cardSummaryService.getSummaryPageByBoardId(boardId, cursor, limit));
+    }
+
+    /**
+     * A page of the cards a member is assigned to across all boards, grouped by board.
+     */
+    @GetMapping("/member/{userId}")
+    public ResponseEntity<PageDTO<BoardCardsDTO>> getCardsByMember(
+            @PathVariable String userId,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(cardSummaryService.getSummaryPageByMemberId(userId, cursor, limit));
     }
 
     @PutMapping("/{cardId}/position")
     public ResponseEntity<CardDTO> updateCardPosition(
             @PathVariable String cardId,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @RequestBody @Validated UpdateCardDTO updateCardDTO) {
-        return ResponseEntity.ok(cardService.updateCardPosition(cardId, updateCardDTO));
+        CardDTO updatedCard = cardService.updateCardPosition(cardId, updateCardDTO, ETags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of(updatedCard.getVersion())).body(updatedCard);
     }
 }
\ No newline at end of file
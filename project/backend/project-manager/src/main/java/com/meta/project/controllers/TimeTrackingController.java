@@ -0,0 +1,70 @@
+package com.meta.project.controllers;
+
+import com.meta.project.dto.TimeBucketDTO;
+import com.meta.project.dto.TimeMigrationResultDTO;
+import com.meta.project.service.TimeTrackingService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.validation.annotation.Validated;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * REST controller for time reports: member timesheets and board totals, both read from
+ * precomputed rollups. Time entries themselves are added under {@code /pm/v1/cards}.
+ */
+@RestController
+@RequestMapping("/pm/v1/time")
+@Validated
+public class TimeTrackingController {
+
+    private final TimeTrackingService timeTrackingService;
+
+    public TimeTrackingController(TimeTrackingService timeTrackingService) {
+        this.timeTrackingService = timeTrackingService;
+    }
+
+    /**
+     * Returns a member's timesheet: the time booked per day, across all boards.
+     *
+     * @param userId The member.
+     * @param from   The first day; defaults to six days before {@code to}.
+     * @param to     The last day; defaults to today.
+     * @return A ResponseEntity containing one bucket per day with time booked.
+     */
+    @GetMapping("/members/{userId}/days")
+    public ResponseEntity<List<TimeBucketDTO>> getMemberDays(
+            @PathVariable String userId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = from != null ? from : last.minusDays(6);
+        return ResponseEntity.ok(timeTrackingService.getMemberDays(userId, first, last));
+    }
+
+    /**
+     * Returns the time booked on a board's cards per week.
+     *
+     * @param boardId The board.
+     * @param from    A day in the first week; all weeks when neither bound is given.
+     * @param to      A day in the last week.
+     * @return A ResponseEntity containing one bucket per week with time booked, keyed by its Monday.
+     */
+    @GetMapping("/boards/{boardId}/weeks")
+    public ResponseEntity<List<TimeBucketDTO>> getBoardWeeks(
+            @PathVariable String boardId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(timeTrackingService.getBoardWeeks(boardId, from, to));
+    }
+
+    /**
+     * Imports the legacy tracked-time strings that have no time entry yet. Also runs at startup.
+     */
+    @PostMapping("/legacy-migration")
+    public ResponseEntity<TimeMigrationResultDTO> migrateLegacyTrackedTimes() {
+        return ResponseEntity.ok(timeTrackingService.migrateLegacyTrackedTimes());
+    }
+}
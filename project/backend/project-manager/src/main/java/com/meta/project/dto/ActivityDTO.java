@@ -0,0 +1,25 @@
+package com.meta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One entry of a board's or card's activity: the action on the entity, the fields an update
+ * changed, and the member who made the change if the request named one.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class ActivityDTO {
+    private String id;
+    private String boardId;
+    private String entity;
+    private String entityId;
+    private String listId;
+    private String action;
+    private List<String> fields;
+    private String actorId;
+    private LocalDateTime occurredAt;
+}
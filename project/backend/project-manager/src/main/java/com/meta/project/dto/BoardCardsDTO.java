@@ -0,0 +1,15 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * Some cards of one board, as one group of a member's cards across boards.
+ */
+@Data
+public class BoardCardsDTO {
+    private String boardId;
+    private String boardTitle;
+    private List<CardSummaryDTO> cards;
+}
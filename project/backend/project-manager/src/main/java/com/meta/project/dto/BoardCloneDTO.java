@@ -0,0 +1,17 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+/**
+ * Options for copying a board or instantiating a template. Unset fields default to the
+ * source board's title and team.
+ */
+@Data
+public class BoardCloneDTO {
+    private String title;
+    private String teamId;
+    // Whether the copy is itself a template
+    private Boolean template;
+    // Clears completion, todo progress and due dates on the copy
+    private Boolean resetProgress;
+}
@@ -10,6 +10,9 @@ public class BoardDTO {
     private String title;
     private String image;
     private String teamId;
+    private Boolean template;
+    private Long cardCount;
+    private Long completedCount;
     private Set<BoardListDTO> lists;
     private Set<CardDTO> cards;
 }
\ No newline at end of file
@@ -0,0 +1,24 @@
+package com.meta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One change on a board, as sent on the board change feed. Only the fields that apply to the
+ * change are set; clients fetch full state from the regular endpoints when they need it.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BoardEventDTO {
+    private String boardId;
+    private String entity;
+    private String entityId;
+    private String action;
+    private List<String> fields;
+    private String listId;
+    private String rank;
+    private List<RankChangeDTO> ranks;
+    private long timestamp;
+}
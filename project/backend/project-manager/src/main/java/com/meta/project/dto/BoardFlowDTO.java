@@ -0,0 +1,37 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A board's cumulative flow and burndown over a range of days: for each day, the number of
+ * cards in each list and the number of open and completed cards at the end of the day, plus
+ * how many cards were completed that day.
+ */
+@Data
+public class BoardFlowDTO {
+    private String boardId;
+    private LocalDate from;
+    private LocalDate to;
+    // The board's current lists in rank order; days may also count cards of lists since removed
+    private List<ListDTO> lists;
+    private List<DayDTO> days;
+
+    @Data
+    public static class ListDTO {
+        private String id;
+        private String title;
+    }
+
+    @Data
+    public static class DayDTO {
+        private LocalDate day;
+        private Map<String, Long> lists;
+        private long open;
+        private long completed;
+        private long completedToday;
+    }
+}
@@ -10,6 +10,9 @@ public class BoardListDTO {
     private String title;
     private Integer order;
     private String boardId;
+    private Long version;
+    private Long cardCount;
+    private Long completedCount;
     private Set<CardDTO> cards;
 
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A whole board in one response: its lists in rank order, each with its cards in rank order.
+ */
+@Data
+public class BoardSnapshotDTO {
+    private String id;
+    private String title;
+    private String image;
+    private String teamId;
+    private List<ListSnapshotDTO> lists;
+
+    @Data
+    public static class ListSnapshotDTO {
+        private String id;
+        private String title;
+        private Integer order;
+        private List<CardDTO> cards;
+    }
+}
@@ -0,0 +1,23 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One command of a bulk card operation.
+ * <p>
+ * {@code op} is one of {@code move} (to the end of {@code listId}), {@code addLabels},
+ * {@code removeLabels}, {@code addMembers}, {@code removeMembers} (with {@code values}),
+ * {@code complete} (sets {@code completed}, default true) or {@code delete}. An optional
+ * {@code version} makes the command apply only if the card is still at that version.
+ */
+@Data
+public class CardBulkCommandDTO {
+    private String op;
+    private String cardId;
+    private String listId;
+    private List<String> values;
+    private Boolean completed;
+    private Long version;
+}
@@ -0,0 +1,24 @@
+package com.meta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+/**
+ * The outcome of one bulk command: {@code applied}, {@code not_found}, {@code conflict}
+ * (the card moved past the given version) or {@code invalid}.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CardBulkResultDTO {
+    public static final String APPLIED = "applied";
+    public static final String NOT_FOUND = "not_found";
+    public static final String CONFLICT = "conflict";
+    public static final String INVALID = "invalid";
+
+    private int index;
+    private String cardId;
+    private String op;
+    private String status;
+    private String message;
+    private Long version;
+}
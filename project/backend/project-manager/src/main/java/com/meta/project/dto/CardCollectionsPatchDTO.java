@@ -0,0 +1,16 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+/**
+ * Delta changes to any of a card's collections. Collections that are left null are untouched.
+ */
+@Data
+public class CardCollectionsPatchDTO {
+    private SetDeltaDTO labels;
+    private SetDeltaDTO links;
+    private SetDeltaDTO trackedTimes;
+    private SetDeltaDTO members;
+    private ChildDeltaDTO<CommentDTO> comments;
+    private ChildDeltaDTO<TodoDTO> todos;
+}
@@ -27,6 +27,7 @@ public class CardDTO {
     private LocalDateTime dateTo;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
+    private Long version;
 
     private List<CommentDTO> comments;
     private List<TodoDTO> todos;
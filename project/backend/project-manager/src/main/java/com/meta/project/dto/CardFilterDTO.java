@@ -0,0 +1,27 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * A card filter, evaluated server-side against the board's bitmap indexes.
+ * <p>
+ * Every condition set on a node must hold; a node with nothing set matches every card.
+ * Conditions combine with {@code and}, {@code or} and {@code not}, e.g.
+ * {@code {"or": [{"label": "bug"}, {"label": "urgent"}], "not": {"completed": true}}}.
+ * <p>
+ * {@code due} is one of {@code overdue} (due before today), {@code today}, {@code week}
+ * (due within the next seven days, today included), {@code none} (no due date) or {@code any}.
+ */
+@Data
+public class CardFilterDTO {
+    private List<CardFilterDTO> and;
+    private List<CardFilterDTO> or;
+    private CardFilterDTO not;
+    private String label;
+    private String member;
+    private String listId;
+    private Boolean completed;
+    private String due;
+}
@@ -0,0 +1,18 @@
+package com.meta.project.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The cards of a board matching a {@link CardFilterDTO}: always their IDs, and their
+ * summaries when requested.
+ */
+@Data
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class CardFilterResultDTO {
+    private int count;
+    private List<String> cardIds;
+    private List<CardSummaryDTO> cards;
+}
@@ -0,0 +1,14 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The complete new order of the cards in one list.
+ */
+@Data
+public class CardReorderDTO {
+    private String listId;
+    private List<String> cardIds;
+}
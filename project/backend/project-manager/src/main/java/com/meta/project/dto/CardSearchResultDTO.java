@@ -0,0 +1,20 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * One card search hit, ranked by relevance.
+ */
+@Data
+public class CardSearchResultDTO {
+    private String cardId;
+    private String boardId;
+    private String listId;
+    private String title;
+    private Boolean isCompleted;
+    private List<String> labels;
+    private List<String> memberIds;
+    private float score;
+}
@@ -0,0 +1,25 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * What a card tile needs: no description, comments or todos, only their counts.
+ * The full card is available from {@code GET /pm/v1/cards/{id}}.
+ */
+@Data
+public class CardSummaryDTO {
+    private String id;
+    private String title;
+    private Integer order;
+    private String listId;
+    private List<String> labels;
+    private List<String> memberIds;
+    private long commentCount;
+    private long todoDone;
+    private long todoTotal;
+    private Boolean isCompleted;
+    private LocalDateTime dateTo;
+}
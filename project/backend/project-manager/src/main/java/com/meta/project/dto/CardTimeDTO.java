@@ -0,0 +1,17 @@
+package com.meta.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Total time booked on a card.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardTimeDTO {
+    private String cardId;
+    private long totalSeconds;
+    private long entryCount;
+}
@@ -0,0 +1,17 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Changes to a card's child rows: new rows to add, existing rows (by ID) to update in place,
+ * and IDs of rows to remove.
+ */
+@Data
+public class ChildDeltaDTO<T> {
+    private List<T> add;
+    private List<T> update;
+    private Set<String> remove;
+}
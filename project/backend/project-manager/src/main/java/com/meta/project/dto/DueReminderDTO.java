@@ -0,0 +1,26 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+
+/**
+ * A due-date notification for a card: {@code upcoming} a while before the card is due, or
+ * {@code overdue} once it is due and still open.
+ */
+@Data
+public class DueReminderDTO {
+    public static final String UPCOMING = "upcoming";
+    public static final String OVERDUE = "overdue";
+
+    private String kind;
+    private String cardId;
+    private String boardId;
+    private String listId;
+    private String title;
+    private String userId;
+    private Set<String> memberIds;
+    private LocalDateTime dateTo;
+    private LocalDateTime firedAt;
+}
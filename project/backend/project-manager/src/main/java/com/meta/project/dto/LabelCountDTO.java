@@ -0,0 +1,16 @@
+package com.meta.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A label used on a board and the number of cards carrying it.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class LabelCountDTO {
+    private String name;
+    private int count;
+}
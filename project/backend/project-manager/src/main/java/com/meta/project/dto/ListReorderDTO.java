@@ -0,0 +1,14 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.List;
+
+/**
+ * The complete new order of the lists on one board.
+ */
+@Data
+public class ListReorderDTO {
+    private String boardId;
+    private List<String> listIds;
+}
@@ -0,0 +1,17 @@
+package com.meta.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A card or list whose rank was rewritten by a batch reorder, with its new position.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RankChangeDTO {
+    private String id;
+    private Integer order;
+    private String rank;
+}
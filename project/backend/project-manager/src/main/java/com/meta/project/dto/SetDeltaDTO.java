@@ -0,0 +1,14 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.util.Set;
+
+/**
+ * Values to add to and remove from a card's value collection. Removals are applied first.
+ */
+@Data
+public class SetDeltaDTO {
+    private Set<String> add;
+    private Set<String> remove;
+}
@@ -0,0 +1,19 @@
+package com.meta.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * Time booked in one day or week of a timesheet or board report; a week starts on its Monday.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeBucketDTO {
+    private LocalDate start;
+    private long totalSeconds;
+    private long entryCount;
+}
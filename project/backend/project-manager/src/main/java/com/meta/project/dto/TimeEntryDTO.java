@@ -0,0 +1,19 @@
+package com.meta.project.dto;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+/**
+ * A time entry on a card. A negative duration corrects earlier entries; when no start is
+ * given, the entry is taken to end now.
+ */
+@Data
+public class TimeEntryDTO {
+    private String id;
+    private String cardId;
+    private String boardId;
+    private String userId;
+    private LocalDateTime startedAt;
+    private Long durationSeconds;
+}
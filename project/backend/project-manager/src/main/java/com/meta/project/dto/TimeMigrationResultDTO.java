@@ -0,0 +1,17 @@
+package com.meta.project.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of importing legacy tracked-time strings: how many became time entries and how
+ * many could not be parsed.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class TimeMigrationResultDTO {
+    private long imported;
+    private long skipped;
+}
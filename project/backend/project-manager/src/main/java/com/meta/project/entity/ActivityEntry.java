@@ -0,0 +1,54 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change to a board, list or card in the activity log: what happened, to what, by whom
+ * and when. Written in batches by {@code ActivityLogWriter} and never updated; the board,
+ * list and card are plain IDs so the history outlives them.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "activity_log", indexes = {
+        @Index(name = "idx_activity_log_board", columnList = "board_id, occurred_at, id"),
+        @Index(name = "idx_activity_log_card", columnList = "card_id, occurred_at, id")
+})
+public class ActivityEntry {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "board_id", nullable = false)
+    private String boardId;
+
+    @Column(nullable = false, length = 16)
+    private String entity;
+
+    @Column(name = "entity_id", nullable = false)
+    private String entityId;
+
+    // Set for card changes, so a card's history is one index range
+    @Column(name = "card_id")
+    private String cardId;
+
+    @Column(name = "list_id")
+    private String listId;
+
+    @Column(nullable = false, length = 16)
+    private String action;
+
+    // The changed fields of an update, comma-separated
+    private String fields;
+
+    @Column(name = "actor_id")
+    private String actorId;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
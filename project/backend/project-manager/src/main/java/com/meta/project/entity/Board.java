@@ -6,6 +6,7 @@ import jakarta.persistence.*;
 import lombok.Getter;
 import lombok.Setter;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -20,6 +21,30 @@ public class Board extends BaseEntity {
     private String image;
     private String teamId;
 
+    // Templates are listed separately and instantiated into new boards
+    @Column(name = "is_template")
+    @ColumnDefault("false")
+    private boolean template;
+
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    // Bumped with a bulk update on every change to the board's lists and cards, so the
+    // board's ETag can be checked with a primary key lookup. Never written by entity updates.
+    @Column(updatable = false)
+    @ColumnDefault("0")
+    private long contentVersion;
+
+    // Maintained with bulk increments by BoardCounters, never by entity updates
+    @Column(updatable = false)
+    @ColumnDefault("0")
+    private long cardCount;
+
+    @Column(updatable = false)
+    @ColumnDefault("0")
+    private long completedCount;
+
     @OneToMany(mappedBy = "board", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.EAGER)
     @JsonManagedReference("board-lists")
     private Set<BoardList> lists = new HashSet<>();
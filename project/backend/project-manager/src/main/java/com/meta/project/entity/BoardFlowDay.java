@@ -0,0 +1,53 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * How many cards entered and left one bucket of a board on one day. A bucket is a list ID, or
+ * {@link #OPEN} / {@link #COMPLETED} for the board's cards by status, so the number of cards
+ * in a bucket at the end of a day is the running sum of entered minus exited up to that day.
+ * Maintained with upserts by {@code CardFlowWriter}, never by entity updates.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(BoardFlowDay.Key.class)
+@Table(name = "board_flow_daily")
+public class BoardFlowDay {
+
+    public static final String OPEN = "open";
+    public static final String COMPLETED = "completed";
+
+    @Id
+    @Column(name = "board_id", length = 36)
+    private String boardId;
+
+    @Id
+    @Column(name = "flow_day")
+    private LocalDate day;
+
+    @Id
+    @Column(name = "bucket", length = 36)
+    private String bucket;
+
+    @Column(nullable = false)
+    private long entered;
+
+    @Column(nullable = false)
+    private long exited;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String boardId;
+        private LocalDate day;
+        private String bucket;
+    }
+}
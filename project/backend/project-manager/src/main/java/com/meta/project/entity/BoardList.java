@@ -7,6 +7,7 @@ import lombok.Getter;
 import lombok.Setter;
 import lombok.ToString;
 import lombok.EqualsAndHashCode;
+import org.hibernate.annotations.ColumnDefault;
 
 import java.util.HashSet;
 import java.util.Set;
@@ -16,6 +17,7 @@ import java.util.Set;
 @ToString(exclude = {"board", "cards"})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
+@Table(indexes = @Index(name = "idx_board_list_board_rank", columnList = "board_id, list_rank"))
 @JsonIdentityInfo(
         generator = ObjectIdGenerators.PropertyGenerator.class,
         property = "id"
@@ -27,6 +29,24 @@ public class BoardList extends BaseEntity {
     @Column(name = "list_order")
     private Integer order;
 
+    // Fractional position within the board, see LexoRank
+    @Column(name = "list_rank", length = 64)
+    private String rank;
+
+    // Optimistic lock; also the list's ETag
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    // Maintained with bulk increments by BoardCounters, never by entity updates
+    @Column(updatable = false)
+    @ColumnDefault("0")
+    private long cardCount;
+
+    @Column(updatable = false)
+    @ColumnDefault("0")
+    private long completedCount;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id")
     private Board board;
@@ -0,0 +1,43 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Time booked on a board's cards in one ISO week, keyed by the week's Monday. Maintained
+ * with upserts by {@code TimeRollupWriter}, never by entity updates.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(BoardWeekTimeRollup.Key.class)
+@Table(name = "time_rollup_board_week")
+public class BoardWeekTimeRollup {
+
+    @Id
+    @Column(name = "board_id", length = 36)
+    private String boardId;
+
+    @Id
+    @Column(name = "week_start")
+    private LocalDate weekStart;
+
+    @Column(name = "total_seconds", nullable = false)
+    private long totalSeconds;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String boardId;
+        private LocalDate weekStart;
+    }
+}
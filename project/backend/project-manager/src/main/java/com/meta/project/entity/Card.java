@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import org.hibernate.annotations.GenericGenerator;
 
 import java.time.LocalDateTime;
@@ -16,7 +17,10 @@ import java.util.Set;
 @ToString(exclude = {"board", "boardList", "comments", "todos"})
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity
-@Table(name = "cards")
+@Table(name = "cards", indexes = {
+        @Index(name = "idx_cards_list_rank", columnList = "list_id, card_rank"),
+        @Index(name = "idx_cards_date_to", columnList = "date_to")
+})
 @JsonIdentityInfo(
         generator = ObjectIdGenerators.PropertyGenerator.class,
         property = "id"
@@ -36,6 +40,10 @@ public class Card {
     @Column(name = "card_order")
     private Integer order;
 
+    // Fractional position within the list, see LexoRank
+    @Column(name = "card_rank", length = 64)
+    private String rank;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "board_id")
     private Board board;
@@ -82,6 +90,21 @@ public class Card {
     private Boolean isCompleted = false;
     private LocalDateTime updatedAt;
 
+    // Optimistic lock; also the card's ETag
+    @Version
+    @ColumnDefault("0")
+    private long version;
+
+    // Kept in step with the todos and comments by CardService; recomputed by BoardCounters.repair
+    @ColumnDefault("0")
+    private int todoDone;
+
+    @ColumnDefault("0")
+    private int todoTotal;
+
+    @ColumnDefault("0")
+    private int commentCount;
+
     @ElementCollection(fetch = FetchType.EAGER)
     @CollectionTable(
             name = "card_members",
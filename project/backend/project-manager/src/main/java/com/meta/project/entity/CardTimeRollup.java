@@ -0,0 +1,29 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Total time booked on a card. Maintained with upserts by {@code TimeRollupWriter} in the
+ * transaction that appends the entries, never by entity updates.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "time_rollup_card")
+public class CardTimeRollup {
+
+    @Id
+    @Column(name = "card_id", length = 36)
+    private String cardId;
+
+    @Column(name = "board_id")
+    private String boardId;
+
+    @Column(name = "total_seconds", nullable = false)
+    private long totalSeconds;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+}
@@ -0,0 +1,50 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One change of a card's board, list or completed flag, including its creation (no "from"
+ * side) and deletion (no "to" side). Appended by {@code CardFlowWriter} in the transaction
+ * of the change and never updated.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "card_transitions", indexes = {
+        @Index(name = "idx_card_transitions_card", columnList = "card_id, occurred_at"),
+        @Index(name = "idx_card_transitions_board", columnList = "to_board_id, occurred_at")
+})
+public class CardTransition {
+
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @Column(name = "card_id", nullable = false)
+    private String cardId;
+
+    @Column(name = "from_board_id")
+    private String fromBoardId;
+
+    @Column(name = "from_list_id")
+    private String fromListId;
+
+    @Column(name = "was_completed")
+    private Boolean wasCompleted;
+
+    @Column(name = "to_board_id")
+    private String toBoardId;
+
+    @Column(name = "to_list_id")
+    private String toListId;
+
+    @Column(name = "is_completed")
+    private Boolean completed;
+
+    @Column(name = "occurred_at", nullable = false)
+    private LocalDateTime occurredAt;
+}
@@ -0,0 +1,26 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * Old-to-new ID pairs of one board clone. Written and read only by set-based SQL in
+ * {@code BoardCloner}, which joins against it to copy rows and deletes its pairs afterwards.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "clone_id_map", indexes = @Index(name = "idx_clone_id_map_old", columnList = "clone_id, old_id"))
+public class CloneIdMapping {
+
+    @Id
+    @Column(name = "new_id", length = 36)
+    private String newId;
+
+    @Column(name = "clone_id", nullable = false, length = 36)
+    private String cloneId;
+
+    @Column(name = "old_id", nullable = false)
+    private String oldId;
+}
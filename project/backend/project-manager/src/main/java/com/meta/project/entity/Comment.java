@@ -4,17 +4,32 @@ import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.Data;
 
+import java.time.LocalDateTime;
+
 @Data
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = @Index(name = "idx_comments_card_created", columnList = "card_id, created_at"))
 public class Comment extends BaseEntity {
 
     private String text;
     private String image;
     private String userId;
 
+    // Unlike updatedAt, fixed once written; orders a card's comments for paging
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "card_id")
     @JsonBackReference("card-comments")
     private Card card;
+
+    @Override
+    @PrePersist
+    protected void onCreate() {
+        super.onCreate();
+        if (createdAt == null) {
+            createdAt = getUpdatedAt();
+        }
+    }
 }
\ No newline at end of file
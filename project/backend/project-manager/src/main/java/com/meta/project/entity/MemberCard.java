@@ -0,0 +1,43 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+
+/**
+ * One card a member is assigned to, keyed by member first so all of a member's cards, grouped
+ * by board, are one range of the primary key. A copy of {@code card_members} with the card's
+ * board; maintained by {@code MemberCardIndex} alongside every membership change, never by
+ * entity updates.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(MemberCard.Key.class)
+@Table(name = "member_cards", indexes = @Index(name = "idx_member_cards_card", columnList = "card_id"))
+public class MemberCard {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "board_id", length = 36)
+    private String boardId;
+
+    @Id
+    @Column(name = "card_id", length = 36)
+    private String cardId;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String userId;
+        private String boardId;
+        private String cardId;
+    }
+}
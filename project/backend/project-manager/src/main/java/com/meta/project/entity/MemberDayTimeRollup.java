@@ -0,0 +1,43 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Time a member booked on one day, across all boards. Maintained with upserts by
+ * {@code TimeRollupWriter}, never by entity updates.
+ */
+@Getter
+@Setter
+@Entity
+@IdClass(MemberDayTimeRollup.Key.class)
+@Table(name = "time_rollup_member_day")
+public class MemberDayTimeRollup {
+
+    @Id
+    @Column(name = "user_id")
+    private String userId;
+
+    @Id
+    @Column(name = "work_day")
+    private LocalDate day;
+
+    @Column(name = "total_seconds", nullable = false)
+    private long totalSeconds;
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    @Getter
+    @Setter
+    @EqualsAndHashCode
+    public static class Key implements Serializable {
+        private String userId;
+        private LocalDate day;
+    }
+}
@@ -0,0 +1,41 @@
+package com.meta.project.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time a member spent on a card. Entries are only ever appended: a correction is another
+ * entry with a negative duration. The card and board are plain IDs rather than associations
+ * so that time booked on a card still counts in timesheets after the card is deleted.
+ */
+@Getter
+@Setter
+@Entity
+@Table(name = "time_entries", indexes = {
+        @Index(name = "idx_time_entries_card", columnList = "card_id, started_at"),
+        @Index(name = "idx_time_entries_user", columnList = "user_id, started_at")
+})
+public class TimeEntry extends BaseEntity {
+
+    @Column(name = "card_id", nullable = false, updatable = false)
+    private String cardId;
+
+    @Column(name = "board_id", updatable = false)
+    private String boardId;
+
+    @Column(name = "user_id", updatable = false)
+    private String userId;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "duration_seconds", nullable = false, updatable = false)
+    private long durationSeconds;
+
+    // The card_tracked_times string this entry was imported from, if any
+    @Column(name = "legacy_value", updatable = false)
+    private String legacyValue;
+}
@@ -3,6 +3,7 @@ package com.meta.project.exception;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -41,6 +42,32 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(PreconditionFailedException.class)
+    public ResponseEntity<ErrorResponsee> handlePreconditionFailedException(PreconditionFailedException ex, WebRequest request) {
+        log.warn("Precondition failed: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.PRECONDITION_FAILED)
+                .body(ErrorResponsee.of(
+                        HttpStatus.PRECONDITION_FAILED.value(),
+                        "Precondition Failed",
+                        ex.getMessage(),
+                        request.getDescription(false)
+                ));
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    public ResponseEntity<ErrorResponsee> handleOptimisticLockingFailure(ObjectOptimisticLockingFailureException ex, WebRequest request) {
+        log.warn("Concurrent modification: {}", ex.getMessage());
+        return ResponseEntity
+                .status(HttpStatus.CONFLICT)
+                .body(ErrorResponsee.of(
+                        HttpStatus.CONFLICT.value(),
+                        "Conflict",
+                        "The resource was modified concurrently; reload it and retry.",
+                        request.getDescription(false)
+                ));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ErrorResponsee> handleGeneralException(Exception ex, WebRequest request) {
         log.error("Unexpected error: {}", ex.getMessage(), ex);
@@ -13,6 +13,9 @@ public class BoardListMapper {
         dto.setTitle(boardList.getTitle());
         dto.setOrder(boardList.getOrder());
         dto.setBoardId(boardList.getBoard().getId());
+        dto.setVersion(boardList.getVersion());
+        dto.setCardCount(boardList.getCardCount());
+        dto.setCompletedCount(boardList.getCompletedCount());
         return dto;
     }
 
@@ -17,6 +17,9 @@ public class BoardMapper {
         dto.setTitle(board.getTitle());
         dto.setImage(board.getImage());
         dto.setTeamId(board.getTeamId());
+        dto.setTemplate(board.isTemplate());
+        dto.setCardCount(board.getCardCount());
+        dto.setCompletedCount(board.getCompletedCount());
         dto.setLists(
                 board.getLists().stream()
                         .map(this::toDTO)
@@ -31,6 +34,7 @@ public class BoardMapper {
         board.setTitle(boardDTO.getTitle());
         board.setImage(boardDTO.getImage());
         board.setTeamId(boardDTO.getTeamId());
+        board.setTemplate(Boolean.TRUE.equals(boardDTO.getTemplate()));
         return board;
     }
 
@@ -40,6 +44,8 @@ public class BoardMapper {
         dto.setTitle(boardList.getTitle());
         dto.setOrder(boardList.getOrder());
         dto.setBoardId(String.valueOf(boardList.getBoard().getId())); // Convert Long to String
+        dto.setCardCount(boardList.getCardCount());
+        dto.setCompletedCount(boardList.getCompletedCount());
         return dto;
     }
 
@@ -62,6 +62,7 @@ public class CardMapper {
         dto.setIsCompleted(card.getIsCompleted());
         dto.setDateTo(card.getDateTo());
         dto.setUpdatedAt(card.getUpdatedAt());
+        dto.setVersion(card.getVersion());
         dto.setComments(mapCommentsToDTOs(card.getComments()));
         dto.setTodos(mapTodosToDTOs(card.getTodos()));
         dto.setMemberIds(new ArrayList<>(card.getMembers()));
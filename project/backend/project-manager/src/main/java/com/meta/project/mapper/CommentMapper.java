@@ -17,6 +17,7 @@ public class CommentMapper {
         dto.setImage(comment.getImage());
         dto.setUserId(comment.getUserId());
         dto.setCardId(comment.getCard() != null ? comment.getCard().getId() : null);
+        dto.setCreatedAt(comment.getCreatedAt());
         dto.setUpdatedAt(comment.getUpdatedAt());
         return dto;
     }
@@ -0,0 +1,39 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.ActivityEntry;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Newest-first pages of the activity log. The first page of a board or card is a plain range
+ * read; later pages seek past the (time, ID) of the previous page's last entry.
+ */
+@Repository
+public interface ActivityEntryRepository extends JpaRepository<ActivityEntry, String> {
+
+    List<ActivityEntry> findByBoardIdOrderByOccurredAtDescIdDesc(String boardId, Pageable page);
+
+    List<ActivityEntry> findByCardIdOrderByOccurredAtDescIdDesc(String cardId, Pageable page);
+
+    @Query("SELECT a FROM ActivityEntry a WHERE a.boardId = :boardId "
+            + "AND (a.occurredAt < :occurredAt OR (a.occurredAt = :occurredAt AND a.id < :id)) "
+            + "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<ActivityEntry> findByBoardIdBefore(@Param("boardId") String boardId,
+                                            @Param("occurredAt") LocalDateTime occurredAt,
+                                            @Param("id") String id,
+                                            Pageable page);
+
+    @Query("SELECT a FROM ActivityEntry a WHERE a.cardId = :cardId "
+            + "AND (a.occurredAt < :occurredAt OR (a.occurredAt = :occurredAt AND a.id < :id)) "
+            + "ORDER BY a.occurredAt DESC, a.id DESC")
+    List<ActivityEntry> findByCardIdBefore(@Param("cardId") String cardId,
+                                           @Param("occurredAt") LocalDateTime occurredAt,
+                                           @Param("id") String id,
+                                           Pageable page);
+}
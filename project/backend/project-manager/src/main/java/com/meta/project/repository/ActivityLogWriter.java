@@ -0,0 +1,38 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.ActivityEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Appends activity entries with one JDBC batch insert, bypassing the persistence context.
+ * {@code ActivityLog} decides which transaction that is: the change's own for synchronous
+ * durability, otherwise one per batch on its writer thread.
+ */
+@Repository
+public class ActivityLogWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ActivityLogWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void insert(Collection<ActivityEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(entries.size());
+        for (ActivityEntry e : entries) {
+            rows.add(new Object[]{e.getId(), e.getBoardId(), e.getEntity(), e.getEntityId(), e.getCardId(),
+                    e.getListId(), e.getAction(), e.getFields(), e.getActorId(), Timestamp.valueOf(e.getOccurredAt())});
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO activity_log (id, board_id, entity, entity_id, card_id, list_id, "
+                + "action, fields, actor_id, occurred_at) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+    }
+}
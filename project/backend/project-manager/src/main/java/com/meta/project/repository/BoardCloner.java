@@ -0,0 +1,101 @@
+package com.meta.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Copies a board with its lists, cards, labels, links, members and todos using one
+ * INSERT ... SELECT per table, without loading any entity.
+ * <p>
+ * The database generates a new ID for every copied list and card and stores the old and new
+ * IDs in {@code clone_id_map} under a clone ID; each INSERT ... SELECT joins through those
+ * pairs to translate its own ID and its foreign keys, so no ID travels to the application and
+ * back. Todos are referenced by nothing and get fresh IDs directly. The pairs are deleted at
+ * the end; {@code BoardService} runs the whole copy in one transaction, so a failed copy leaves
+ * neither rows nor pairs behind.
+ */
+@Repository
+public class BoardCloner {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BoardCloner(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Copies a board.
+     *
+     * @param sourceId      The board to copy.
+     * @param targetId      The ID of the new board.
+     * @param title         The title of the new board.
+     * @param teamId        The team of the new board.
+     * @param template      Whether the new board is a template.
+     * @param resetProgress Whether to clear completion, todo progress and due dates on the copy.
+     * @return The number of cards copied.
+     */
+    public int cloneBoard(String sourceId, String targetId, String title, String teamId,
+                          boolean template, boolean resetProgress) {
+        String cloneId = UUID.randomUUID().toString();
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        jdbcTemplate.update("INSERT INTO clone_id_map (new_id, clone_id, old_id) "
+                + "SELECT UUID(), ?, id FROM board_list WHERE board_id = ?", cloneId, sourceId);
+        jdbcTemplate.update("INSERT INTO clone_id_map (new_id, clone_id, old_id) "
+                + "SELECT UUID(), ?, id FROM cards WHERE board_id = ?", cloneId, sourceId);
+
+        jdbcTemplate.update("INSERT INTO board (id, updated_at, title, image, team_id, is_template, version, "
+                        + "content_version, card_count, completed_count) "
+                        + "SELECT ?, ?, ?, image, ?, ?, 0, 0, card_count, CASE WHEN ? THEN 0 ELSE completed_count END "
+                        + "FROM board WHERE id = ?",
+                targetId, now, title, teamId, template, resetProgress, sourceId);
+
+        jdbcTemplate.update("INSERT INTO board_list (id, updated_at, title, list_order, list_rank, version, "
+                        + "card_count, completed_count, board_id) "
+                        + "SELECT m.new_id, ?, l.title, l.list_order, l.list_rank, 0, "
+                        + "l.card_count, CASE WHEN ? THEN 0 ELSE l.completed_count END, ? "
+                        + "FROM board_list l JOIN clone_id_map m ON m.clone_id = ? AND m.old_id = l.id "
+                        + "WHERE l.board_id = ?",
+                now, resetProgress, targetId, cloneId, sourceId);
+
+        int cards = jdbcTemplate.update("INSERT INTO cards (id, title, description, card_order, card_rank, "
+                        + "board_id, list_id, user_id, date_to, is_completed, updated_at, version, todo_done, todo_total) "
+                        + "SELECT m.new_id, c.title, c.description, c.card_order, c.card_rank, ?, lm.new_id, c.user_id, "
+                        + "CASE WHEN ? THEN NULL ELSE c.date_to END, CASE WHEN ? THEN FALSE ELSE c.is_completed END, "
+                        + "?, 0, CASE WHEN ? THEN 0 ELSE c.todo_done END, c.todo_total "
+                        + "FROM cards c JOIN clone_id_map m ON m.clone_id = ? AND m.old_id = c.id "
+                        + "LEFT JOIN clone_id_map lm ON lm.clone_id = ? AND lm.old_id = c.list_id "
+                        + "WHERE c.board_id = ?",
+                targetId, resetProgress, resetProgress, now, resetProgress, cloneId, cloneId, sourceId);
+
+        copyValues(sourceId, cloneId, "card_labels", "label");
+        copyValues(sourceId, cloneId, "card_links", "link");
+        copyValues(sourceId, cloneId, "card_members", "user_id");
+
+        jdbcTemplate.update("INSERT INTO todos (id, updated_at, content, completed, card_id) "
+                        + "SELECT UUID(), ?, t.content, CASE WHEN ? THEN FALSE ELSE t.completed END, m.new_id "
+                        + "FROM cards c JOIN clone_id_map m ON m.clone_id = ? AND m.old_id = c.id "
+                        + "JOIN todos t ON t.card_id = c.id "
+                        + "WHERE c.board_id = ?",
+                now, resetProgress, cloneId, sourceId);
+
+        jdbcTemplate.update("DELETE FROM clone_id_map WHERE clone_id = ?", cloneId);
+        return cards;
+    }
+
+    /**
+     * Copies one of the cards' element collections. Starts from the source board's cards so
+     * only their rows of the collection table are read.
+     */
+    private void copyValues(String sourceId, String cloneId, String table, String column) {
+        jdbcTemplate.update("INSERT INTO " + table + " (card_id, " + column + ") "
+                + "SELECT m.new_id, v." + column + " FROM cards c "
+                + "JOIN clone_id_map m ON m.clone_id = ? AND m.old_id = c.id "
+                + "JOIN " + table + " v ON v.card_id = c.id "
+                + "WHERE c.board_id = ?", cloneId, sourceId);
+    }
+}
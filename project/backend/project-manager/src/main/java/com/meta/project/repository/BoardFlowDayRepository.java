@@ -0,0 +1,21 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.BoardFlowDay;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BoardFlowDayRepository extends JpaRepository<BoardFlowDay, BoardFlowDay.Key> {
+
+    // Cards in each bucket of a board at the start of a day
+    @Query("SELECT f.bucket AS bucket, SUM(f.entered - f.exited) AS count FROM BoardFlowDay f "
+            + "WHERE f.boardId = :boardId AND f.day < :day GROUP BY f.bucket")
+    List<BucketCount> sumBefore(@Param("boardId") String boardId, @Param("day") LocalDate day);
+
+    List<BoardFlowDay> findByBoardIdAndDayBetweenOrderByDay(String boardId, LocalDate from, LocalDate to);
+}
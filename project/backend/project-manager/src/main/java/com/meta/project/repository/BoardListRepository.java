@@ -2,17 +2,44 @@ package com.meta.project.repository;
 
 import com.meta.project.entity.BoardList;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface BoardListRepository extends JpaRepository<BoardList, String> {
+    // Fetch lists by board ID ordered by their rank
+    List<BoardList> findByBoardIdOrderByRankAsc(String boardId);
+
     // Fetch lists by board ID ordered by their 'order' field
     List<BoardList> findByBoardIdOrderByOrderAsc(String boardId);
 
-    // Find the maximum order value for a given board ID
-    @Query("SELECT MAX(b.order) FROM BoardList b WHERE b.board.id = :boardId")
-    Optional<Integer> findMaxOrderByBoardId(@Param("boardId") String boardId);
-}
\ No newline at end of file
+    // Current version of a list, used for conditional requests without loading the list
+    @Query("SELECT b.version FROM BoardList b WHERE b.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    @Query("SELECT b.cardCount FROM BoardList b WHERE b.id = :id")
+    Optional<Long> findCardCountById(@Param("id") String id);
+
+    // Applies card counter deltas in place; joins the caller's transaction
+    @Transactional
+    @Modifying
+    @Query("UPDATE BoardList b SET b.cardCount = b.cardCount + :cards, " +
+            "b.completedCount = b.completedCount + :completed WHERE b.id = :id")
+    int adjustCounters(@Param("id") String id, @Param("cards") long cards, @Param("completed") long completed);
+
+    // Last rank and list count of a board, used when appending a list
+    @Query("SELECT MAX(b.rank) AS maxRank, COUNT(b) AS count FROM BoardList b WHERE b.board.id = :boardId")
+    RankTail findRankTailByBoardId(@Param("boardId") String boardId);
+
+    // Ids and ranks of all lists on the given boards, used to validate and plan a batch reorder
+    @Query("SELECT b.id AS id, b.board.id AS parentId, b.rank AS rank FROM BoardList b WHERE b.board.id IN :boardIds")
+    List<RankedItem> findRankedItemsByBoardIds(@Param("boardIds") Collection<String> boardIds);
+
+    @Query("SELECT DISTINCT b.board.id FROM BoardList b WHERE b.rank IS NULL AND b.board IS NOT NULL")
+    List<String> findBoardIdsWithUnrankedLists();
+}
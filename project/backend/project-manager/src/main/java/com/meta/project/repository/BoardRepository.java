@@ -2,12 +2,41 @@ package com.meta.project.repository;
 
 import com.meta.project.entity.Board;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface BoardRepository extends JpaRepository<Board, String> {
     Board getBoardById(String boardId);
     List<Board> getBoardsByTeamId(String teamId);
-}
\ No newline at end of file
+    List<Board> findByTemplateTrue();
+    List<Board> findByTemplateTrueAndTeamId(String teamId);
+
+    @Query("SELECT b.id FROM Board b")
+    List<String> findAllIds();
+
+    @Query("SELECT b.id FROM Board b WHERE b.teamId = :teamId")
+    List<String> findIdsByTeamId(@Param("teamId") String teamId);
+
+    // Board ETag parts, read by primary key without loading the board
+    @Query("SELECT b.version AS version, b.contentVersion AS contentVersion FROM Board b WHERE b.id = :id")
+    Optional<BoardVersion> findVersionById(@Param("id") String id);
+
+    // Joins the caller's transaction, so the bump commits or rolls back with the change itself
+    @Transactional
+    @Modifying
+    @Query("UPDATE Board b SET b.contentVersion = b.contentVersion + 1 WHERE b.id = :id")
+    int incrementContentVersion(@Param("id") String id);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Board b SET b.cardCount = b.cardCount + :cards, " +
+            "b.completedCount = b.completedCount + :completed WHERE b.id = :id")
+    int adjustCounters(@Param("id") String id, @Param("cards") long cards, @Param("completed") long completed);
+}
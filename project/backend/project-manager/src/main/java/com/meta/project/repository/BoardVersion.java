@@ -0,0 +1,11 @@
+package com.meta.project.repository;
+
+/**
+ * Projection of a board's own version and the aggregate version of its lists and cards,
+ * which together make up the board's ETag.
+ */
+public interface BoardVersion {
+    long getVersion();
+
+    long getContentVersion();
+}
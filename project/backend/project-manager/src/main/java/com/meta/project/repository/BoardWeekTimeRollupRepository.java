@@ -0,0 +1,17 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.BoardWeekTimeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface BoardWeekTimeRollupRepository extends JpaRepository<BoardWeekTimeRollup, BoardWeekTimeRollup.Key> {
+
+    List<BoardWeekTimeRollup> findByBoardIdOrderByWeekStart(String boardId);
+
+    List<BoardWeekTimeRollup> findByBoardIdAndWeekStartBetweenOrderByWeekStart(String boardId, LocalDate from,
+                                                                              LocalDate to);
+}
@@ -0,0 +1,10 @@
+package com.meta.project.repository;
+
+/**
+ * Projection of a board flow bucket with a card count.
+ */
+public interface BucketCount {
+    String getBucket();
+
+    long getCount();
+}
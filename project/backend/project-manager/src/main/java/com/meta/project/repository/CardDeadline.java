@@ -0,0 +1,12 @@
+package com.meta.project.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of an open card's due date, for the reminder index.
+ */
+public interface CardDeadline {
+    String getId();
+
+    LocalDateTime getDateTo();
+}
@@ -0,0 +1,174 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.BoardFlowDay;
+import com.meta.project.entity.CardTransition;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+
+/**
+ * Appends card transitions and adds them to the daily board flow counts in
+ * {@code board_flow_daily}, with one upsert per touched (board, day, bucket) row written in
+ * key order. Transitions are written in the transaction of the card or list change behind
+ * them; the startup backfill uses one transaction per board, and the repair one of its own.
+ * <p>
+ * Boards whose cards predate the transitions are backfilled from the card rows, and
+ * {@link #repair(LocalDate)} books any difference between the running counts and the cards
+ * as a correction, e.g. for changes made outside the services.
+ */
+@Repository
+public class CardFlowWriter {
+
+    private static final String UPSERT = "INSERT INTO board_flow_daily (board_id, flow_day, bucket, entered, exited) "
+            + "VALUES (?, ?, ?, ?, ?) ON DUPLICATE KEY UPDATE entered = entered + ?, exited = exited + ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CardFlowWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Appends transitions and moves each card out of its old list and status buckets and into
+     * its new ones on the day of the transition.
+     */
+    public void record(Collection<CardTransition> transitions) {
+        if (transitions.isEmpty()) {
+            return;
+        }
+        List<Object[]> rows = new ArrayList<>(transitions.size());
+        Flow flow = new Flow();
+        for (CardTransition t : transitions) {
+            rows.add(new Object[]{t.getId(), t.getCardId(), t.getFromBoardId(), t.getFromListId(), t.getWasCompleted(),
+                    t.getToBoardId(), t.getToListId(), t.getCompleted(), Timestamp.valueOf(t.getOccurredAt())});
+            LocalDate day = t.getOccurredAt().toLocalDate();
+            boolean sameBoard = Objects.equals(t.getFromBoardId(), t.getToBoardId());
+            if (!sameBoard || !Objects.equals(t.getFromListId(), t.getToListId())) {
+                flow.add(t.getFromBoardId(), day, t.getFromListId(), 0, 1);
+                flow.add(t.getToBoardId(), day, t.getToListId(), 1, 0);
+            }
+            if (!sameBoard || !Objects.equals(t.getWasCompleted(), t.getCompleted())) {
+                flow.add(t.getFromBoardId(), day, status(t.getWasCompleted()), 0, 1);
+                flow.add(t.getToBoardId(), day, status(t.getCompleted()), 1, 0);
+            }
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO card_transitions (id, card_id, from_board_id, from_list_id, "
+                + "was_completed, to_board_id, to_list_id, is_completed, occurred_at) "
+                + "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", rows);
+        flow.write();
+    }
+
+    /**
+     * Moves a whole list's cards between boards, or off its board when {@code toBoardId} is null.
+     */
+    public void listMoved(String listId, String fromBoardId, String toBoardId, long cards, long completed,
+                          LocalDate day) {
+        Flow flow = new Flow();
+        for (String bucket : List.of(listId, BoardFlowDay.OPEN, BoardFlowDay.COMPLETED)) {
+            long count = bucket.equals(BoardFlowDay.OPEN) ? cards - completed
+                    : bucket.equals(BoardFlowDay.COMPLETED) ? completed : cards;
+            flow.add(fromBoardId, day, bucket, 0, count);
+            flow.add(toBoardId, day, bucket, count, 0);
+        }
+        flow.write();
+    }
+
+    /**
+     * Fills the flow of a board that has none yet from its cards: each card enters its list
+     * and status on the day it was last updated.
+     *
+     * @return The number of flow rows written, 0 if the board already had a flow.
+     */
+    public int backfillBoard(String boardId) {
+        Integer existing = jdbcTemplate.queryForObject(
+                "SELECT COUNT(*) FROM board_flow_daily WHERE board_id = ?", Integer.class, boardId);
+        if (existing != null && existing > 0) {
+            return 0;
+        }
+        int rows = jdbcTemplate.update("INSERT INTO board_flow_daily (board_id, flow_day, bucket, entered, exited) "
+                + "SELECT board_id, CAST(COALESCE(updated_at, CURRENT_TIMESTAMP) AS DATE), list_id, COUNT(*), 0 "
+                + "FROM cards WHERE board_id = ? AND list_id IS NOT NULL "
+                + "GROUP BY board_id, CAST(COALESCE(updated_at, CURRENT_TIMESTAMP) AS DATE), list_id", boardId);
+        rows += jdbcTemplate.update("INSERT INTO board_flow_daily (board_id, flow_day, bucket, entered, exited) "
+                + "SELECT board_id, CAST(COALESCE(updated_at, CURRENT_TIMESTAMP) AS DATE), "
+                + "CASE WHEN is_completed = TRUE THEN '" + BoardFlowDay.COMPLETED + "' ELSE '" + BoardFlowDay.OPEN + "' END, "
+                + "COUNT(*), 0 FROM cards WHERE board_id = ? "
+                + "GROUP BY board_id, CAST(COALESCE(updated_at, CURRENT_TIMESTAMP) AS DATE), "
+                + "CASE WHEN is_completed = TRUE THEN '" + BoardFlowDay.COMPLETED + "' ELSE '" + BoardFlowDay.OPEN + "' END",
+                boardId);
+        return rows;
+    }
+
+    /**
+     * The boards with cards but no flow yet.
+     */
+    public List<String> findBoardsWithoutFlow() {
+        return jdbcTemplate.queryForList("SELECT b.id FROM board b WHERE EXISTS (SELECT 1 FROM cards c WHERE c.board_id = b.id) "
+                + "AND NOT EXISTS (SELECT 1 FROM board_flow_daily f WHERE f.board_id = b.id)", String.class);
+    }
+
+    /**
+     * Compares every bucket's running count with the cards and books the difference on the
+     * given day.
+     *
+     * @return The number of buckets corrected.
+     */
+    public int repair(LocalDate day) {
+        String status = "CASE WHEN c.is_completed = TRUE THEN '" + BoardFlowDay.COMPLETED + "' ELSE '" + BoardFlowDay.OPEN + "' END";
+        List<Map<String, Object>> drift = jdbcTemplate.queryForList("SELECT x.board_id, x.bucket, SUM(x.n) AS diff FROM ("
+                + "SELECT c.board_id, c.list_id AS bucket, COUNT(*) AS n FROM cards c "
+                + "WHERE c.board_id IS NOT NULL AND c.list_id IS NOT NULL GROUP BY c.board_id, c.list_id "
+                + "UNION ALL SELECT c.board_id, " + status + " AS bucket, COUNT(*) AS n FROM cards c "
+                + "WHERE c.board_id IS NOT NULL GROUP BY c.board_id, " + status + " "
+                + "UNION ALL SELECT f.board_id, f.bucket, -SUM(f.entered - f.exited) AS n FROM board_flow_daily f "
+                + "JOIN board b ON b.id = f.board_id GROUP BY f.board_id, f.bucket"
+                + ") x GROUP BY x.board_id, x.bucket HAVING SUM(x.n) <> 0");
+        Flow flow = new Flow();
+        for (Map<String, Object> row : drift) {
+            long diff = ((Number) row.get("diff")).longValue();
+            flow.add((String) row.get("board_id"), day, (String) row.get("bucket"), Math.max(diff, 0), Math.max(-diff, 0));
+        }
+        flow.write();
+        return drift.size();
+    }
+
+    private static String status(Boolean completed) {
+        return Boolean.TRUE.equals(completed) ? BoardFlowDay.COMPLETED : BoardFlowDay.OPEN;
+    }
+
+    /**
+     * Entered and exited counts per (board, day, bucket), summed before they are written.
+     */
+    private final class Flow {
+        private final Map<String, Object[]> rows = new TreeMap<>();
+
+        private void add(String boardId, LocalDate day, String bucket, long entered, long exited) {
+            if (boardId == null || bucket == null || (entered == 0 && exited == 0)) {
+                return;
+            }
+            Object[] row = rows.computeIfAbsent(boardId + '|' + day + '|' + bucket,
+                    key -> new Object[]{boardId, Date.valueOf(day), bucket, 0L, 0L});
+            row[3] = (long) row[3] + entered;
+            row[4] = (long) row[4] + exited;
+        }
+
+        private void write() {
+            List<Object[]> params = new ArrayList<>(rows.size());
+            for (Object[] row : rows.values()) {
+                params.add(new Object[]{row[0], row[1], row[2], row[3], row[4], row[3], row[4]});
+            }
+            if (!params.isEmpty()) {
+                jdbcTemplate.batchUpdate(UPSERT, params);
+            }
+        }
+    }
+}
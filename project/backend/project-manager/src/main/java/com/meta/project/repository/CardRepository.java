@@ -1,29 +1,143 @@
 package com.meta.project.repository;
 
 import com.meta.project.entity.Card;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 
 public interface CardRepository extends JpaRepository<Card, String> {
 
-    // Fetch cards by board list ID
-    @Query("SELECT c FROM Card c WHERE c.boardList.id = :listId")
+    // Fetch cards by board list ID in rank order
+    @Query("SELECT c FROM Card c WHERE c.boardList.id = :listId ORDER BY c.rank")
     List<Card> findByBoardListId(@Param("listId") String listId);
 
-    // Find the maximum order value for a given board list ID
-    @Query("SELECT MAX(c.order) FROM Card c WHERE c.boardList.id = :listId")
-    Optional<Integer> findMaxOrderByListId(@Param("listId") String listId);
+    // Current version of a card, used for conditional requests without loading the card
+    @Query("SELECT c.version FROM Card c WHERE c.id = :id")
+    Optional<Long> findVersionById(@Param("id") String id);
+
+    // Last rank and card count of a list, used when appending a card
+    @Query("SELECT MAX(c.rank) AS maxRank, COUNT(c) AS count FROM Card c WHERE c.boardList.id = :listId")
+    RankTail findRankTailByListId(@Param("listId") String listId);
+
+    @Query("SELECT MAX(c.rank) FROM Card c WHERE c.boardList.id = :listId AND c.id <> :cardId")
+    Optional<String> findMaxRankByListIdExcluding(@Param("listId") String listId, @Param("cardId") String cardId);
+
+    // Ranks of the cards around a target position, skipping the card being moved
+    @Query(value = "SELECT card_rank FROM cards WHERE list_id = :listId AND id <> :cardId AND card_rank IS NOT NULL " +
+            "ORDER BY card_rank LIMIT :limit OFFSET :offset", nativeQuery = true)
+    List<String> findRanksInList(@Param("listId") String listId, @Param("cardId") String cardId,
+                                 @Param("offset") int offset, @Param("limit") int limit);
+
+    // Ids and ranks of all cards in the given lists, used to validate and plan a batch reorder
+    @Query("SELECT c.id AS id, c.boardList.id AS parentId, c.rank AS rank FROM Card c WHERE c.boardList.id IN :listIds")
+    List<RankedItem> findRankedItemsByListIds(@Param("listIds") Collection<String> listIds);
+
+    @Query("SELECT DISTINCT c.boardList.id FROM Card c WHERE c.rank IS NULL AND c.boardList IS NOT NULL")
+    List<String> findListIdsWithUnrankedCards();
+
+    // Scalar columns of every card on a board, grouped by list in rank order
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount " +
+            "FROM Card c WHERE c.board.id = :boardId ORDER BY c.boardList.id, c.rank")
+    List<CardRow> findRowsByBoardId(@Param("boardId") String boardId);
+
+    // Scalar columns of every card in a list, in rank order
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount " +
+            "FROM Card c WHERE c.boardList.id = :listId ORDER BY c.rank")
+    List<CardRow> findRowsByListId(@Param("listId") String listId);
+
+    // The first cards of a list in (rank, id) order, for keyset pagination
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount " +
+            "FROM Card c WHERE c.boardList.id = :listId ORDER BY c.rank, c.id")
+    List<CardRow> findRowPageByListId(@Param("listId") String listId, Pageable page);
+
+    // The cards of a list after (rank, id), seeking along idx_cards_list_rank
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount " +
+            "FROM Card c WHERE c.boardList.id = :listId " +
+            "AND (c.rank > :rank OR (c.rank = :rank AND c.id > :id)) ORDER BY c.rank, c.id")
+    List<CardRow> findRowPageByListIdAfter(@Param("listId") String listId, @Param("rank") String rank,
+                                           @Param("id") String id, Pageable page);
+
+    // Cards with their labels and members, for bulk operations
+    @Query("SELECT DISTINCT c FROM Card c LEFT JOIN FETCH c.labels LEFT JOIN FETCH c.members " +
+            "LEFT JOIN FETCH c.board LEFT JOIN FETCH c.boardList WHERE c.id IN :ids")
+    List<Card> findWithLabelsAndMembersByIds(@Param("ids") Collection<String> ids);
+
+    // Scalar columns of the given cards, grouped by list in rank order
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount " +
+            "FROM Card c WHERE c.id IN :ids ORDER BY c.boardList.id, c.rank")
+    List<CardRow> findRowsByIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT c.id AS cardId, l AS value FROM Card c JOIN c.labels l WHERE c.id IN :ids")
+    List<CardValue> findLabelsByIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT c.id AS cardId, m AS value FROM Card c JOIN c.members m WHERE c.id IN :ids")
+    List<CardValue> findMembersByIds(@Param("ids") Collection<String> ids);
+
+    @Query("SELECT c.id AS cardId, l AS value FROM Card c JOIN c.labels l WHERE c.boardList.id = :listId")
+    List<CardValue> findLabelsByListId(@Param("listId") String listId);
+
+    @Query("SELECT c.id AS cardId, m AS value FROM Card c JOIN c.members m WHERE c.boardList.id = :listId")
+    List<CardValue> findMembersByListId(@Param("listId") String listId);
+
+    // Value collections of every card on a board, one query each
+    @Query("SELECT c.id AS cardId, l AS value FROM Card c JOIN c.labels l WHERE c.board.id = :boardId")
+    List<CardValue> findLabelsByBoardId(@Param("boardId") String boardId);
+
+    @Query("SELECT c.id AS cardId, l AS value FROM Card c JOIN c.links l WHERE c.board.id = :boardId")
+    List<CardValue> findLinksByBoardId(@Param("boardId") String boardId);
+
+    @Query("SELECT c.id AS cardId, t AS value FROM Card c JOIN c.trackedTimes t WHERE c.board.id = :boardId")
+    List<CardValue> findTrackedTimesByBoardId(@Param("boardId") String boardId);
+
+    @Query("SELECT c.id AS cardId, m AS value FROM Card c JOIN c.members m WHERE c.board.id = :boardId")
+    List<CardValue> findMembersByBoardId(@Param("boardId") String boardId);
+
+    // Open cards due in (from, to]; a range read on idx_cards_date_to
+    @Query("SELECT c.id AS id, c.dateTo AS dateTo FROM Card c " +
+            "WHERE c.dateTo > :from AND c.dateTo <= :to AND (c.isCompleted IS NULL OR c.isCompleted = false)")
+    List<CardDeadline> findDeadlinesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("SELECT c.id AS id, c.dateTo AS dateTo FROM Card c WHERE c.board.id = :boardId " +
+            "AND c.dateTo > :from AND c.dateTo <= :to AND (c.isCompleted IS NULL OR c.isCompleted = false)")
+    List<CardDeadline> findDeadlinesByBoardIdBetween(@Param("boardId") String boardId,
+                                                     @Param("from") LocalDateTime from,
+                                                     @Param("to") LocalDateTime to);
 
     // Count the number of cards in a specific board list
     int countByBoardListId(String listId);
 
     List<Card> findByBoardListIdOrderByOrder(String id);
 
-    @Query("SELECT c FROM Card c WHERE c.board.id = :boardId")
+    @Query("SELECT c FROM Card c WHERE c.board.id = :boardId ORDER BY c.boardList.id, c.rank")
     List<Card> findByBoardId(@Param("boardId") String boardId);
-}
\ No newline at end of file
+
+    // Moves the cards of a list along with it to another board; joins the caller's transaction
+    @Transactional
+    @Modifying
+    @Query("UPDATE Card c SET c.board.id = :boardId, c.version = c.version + 1 WHERE c.boardList.id = :listId")
+    int moveListCardsToBoard(@Param("listId") String listId, @Param("boardId") String boardId);
+}
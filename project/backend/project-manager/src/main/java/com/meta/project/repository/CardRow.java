@@ -0,0 +1,36 @@
+package com.meta.project.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of the scalar columns of a card, without any of its collections.
+ */
+public interface CardRow {
+    String getId();
+
+    String getTitle();
+
+    String getDescription();
+
+    String getListId();
+
+    String getRank();
+
+    Integer getOrder();
+
+    String getUserId();
+
+    LocalDateTime getDateTo();
+
+    Boolean getIsCompleted();
+
+    LocalDateTime getUpdatedAt();
+
+    long getVersion();
+
+    int getTodoDone();
+
+    int getTodoTotal();
+
+    int getCommentCount();
+}
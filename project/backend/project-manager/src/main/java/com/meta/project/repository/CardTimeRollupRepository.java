@@ -0,0 +1,9 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.CardTimeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface CardTimeRollupRepository extends JpaRepository<CardTimeRollup, String> {
+}
@@ -0,0 +1,10 @@
+package com.meta.project.repository;
+
+/**
+ * Projection of one element of a card's value collection (label, link, tracked time, member).
+ */
+public interface CardValue {
+    String getCardId();
+
+    String getValue();
+}
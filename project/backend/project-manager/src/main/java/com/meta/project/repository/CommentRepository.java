@@ -1,10 +1,40 @@
 package com.meta.project.repository;
 
 import com.meta.project.entity.Comment;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.List;
+
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Long> {
-    // Custom queries if needed
-}
\ No newline at end of file
+
+    // All comments of the cards on a board, in one query
+    @Query("SELECT cm FROM Comment cm WHERE cm.card.board.id = :boardId ORDER BY cm.updatedAt")
+    List<Comment> findByBoardId(@Param("boardId") String boardId);
+
+    // Comment texts of the cards on a board, for the search index
+    @Query("SELECT cm.card.id AS cardId, cm.text AS value FROM Comment cm WHERE cm.card.board.id = :boardId")
+    List<CardValue> findTextsByBoardId(@Param("boardId") String boardId);
+
+    // The first comments of a card, oldest first, for keyset pagination
+    @Query("SELECT cm FROM Comment cm WHERE cm.card.id = :cardId ORDER BY cm.createdAt, cm.id")
+    List<Comment> findPageByCardId(@Param("cardId") String cardId, Pageable page);
+
+    // The comments of a card after (createdAt, id)
+    @Query("SELECT cm FROM Comment cm WHERE cm.card.id = :cardId " +
+            "AND (cm.createdAt > :createdAt OR (cm.createdAt = :createdAt AND cm.id > :id)) " +
+            "ORDER BY cm.createdAt, cm.id")
+    List<Comment> findPageByCardIdAfter(@Param("cardId") String cardId, @Param("createdAt") LocalDateTime createdAt,
+                                        @Param("id") String id, Pageable page);
+
+    // Comments written before they had a creation time get their last update instead
+    @Modifying
+    @Query("UPDATE Comment cm SET cm.createdAt = COALESCE(cm.updatedAt, CURRENT_TIMESTAMP) WHERE cm.createdAt IS NULL")
+    int fillMissingCreatedAt();
+}
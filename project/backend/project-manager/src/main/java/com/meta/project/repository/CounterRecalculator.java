@@ -0,0 +1,37 @@
+package com.meta.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Recomputes the denormalized card, todo and comment counters from the source rows, one
+ * set-based UPDATE per table.
+ */
+@Repository
+public class CounterRecalculator {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public CounterRecalculator(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int recalculateListCounters() {
+        return jdbcTemplate.update("UPDATE board_list l SET "
+                + "card_count = (SELECT COUNT(*) FROM cards c WHERE c.list_id = l.id), "
+                + "completed_count = (SELECT COUNT(*) FROM cards c WHERE c.list_id = l.id AND c.is_completed = TRUE)");
+    }
+
+    public int recalculateBoardCounters() {
+        return jdbcTemplate.update("UPDATE board b SET "
+                + "card_count = (SELECT COUNT(*) FROM cards c WHERE c.board_id = b.id), "
+                + "completed_count = (SELECT COUNT(*) FROM cards c WHERE c.board_id = b.id AND c.is_completed = TRUE)");
+    }
+
+    public int recalculateCardCounters() {
+        return jdbcTemplate.update("UPDATE cards c SET "
+                + "todo_total = (SELECT COUNT(*) FROM todos t WHERE t.card_id = c.id), "
+                + "todo_done = (SELECT COUNT(*) FROM todos t WHERE t.card_id = c.id AND t.completed = TRUE), "
+                + "comment_count = (SELECT COUNT(*) FROM comments cm WHERE cm.card_id = c.id)");
+    }
+}
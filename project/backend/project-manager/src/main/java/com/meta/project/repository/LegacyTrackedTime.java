@@ -0,0 +1,18 @@
+package com.meta.project.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Projection of one legacy tracked-time string with the card columns its time entry needs.
+ */
+public interface LegacyTrackedTime {
+    String getCardId();
+
+    String getTrackedTime();
+
+    String getBoardId();
+
+    String getUserId();
+
+    LocalDateTime getUpdatedAt();
+}
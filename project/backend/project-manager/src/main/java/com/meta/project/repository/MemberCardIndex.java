@@ -0,0 +1,114 @@
+package com.meta.project.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Keeps {@code member_cards} in step with the cards' members and boards. The maintenance methods
+ * are called from the transactional card, list and board services, so their writes commit or
+ * roll back with the card and list changes they follow; they run after the card rows they read
+ * from have been flushed.
+ * <p>
+ * {@link #repair()} adds the rows that are missing and removes the ones that no longer match
+ * a card member, e.g. after changes made outside the services. It runs on its own, one
+ * statement at a time.
+ */
+@Repository
+public class MemberCardIndex {
+
+    private static final String SELECT_MEMBERS = "SELECT DISTINCT m.user_id, c.board_id, c.id "
+            + "FROM card_members m JOIN cards c ON c.id = m.card_id WHERE c.board_id IS NOT NULL";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public MemberCardIndex(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public void add(String boardId, String cardId, Collection<String> userIds) {
+        if (boardId == null || userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO member_cards (user_id, board_id, card_id) VALUES (?, ?, ?) "
+                        + "ON DUPLICATE KEY UPDATE board_id = VALUES(board_id)",
+                userIds.stream().distinct().map(userId -> new Object[]{userId, boardId, cardId}).toList());
+    }
+
+    public void remove(String cardId, Collection<String> userIds) {
+        if (userIds == null || userIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM member_cards WHERE card_id = ? AND user_id = ?",
+                userIds.stream().distinct().map(userId -> new Object[]{cardId, userId}).toList());
+    }
+
+    public void removeCards(Collection<String> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("DELETE FROM member_cards WHERE card_id = ?",
+                cardIds.stream().map(id -> new Object[]{id}).toList());
+    }
+
+    /**
+     * Rewrites the rows of some cards from their current members and boards.
+     */
+    public void syncCards(Collection<String> cardIds) {
+        if (cardIds.isEmpty()) {
+            return;
+        }
+        List<Object[]> ids = cardIds.stream().map(id -> new Object[]{id}).toList();
+        jdbcTemplate.batchUpdate("DELETE FROM member_cards WHERE card_id = ?", ids);
+        jdbcTemplate.batchUpdate("INSERT INTO member_cards (user_id, board_id, card_id) "
+                + SELECT_MEMBERS + " AND c.id = ?", ids);
+    }
+
+    /**
+     * Moves the rows of a list's cards to the board the list now belongs to.
+     */
+    public void listMoved(String listId, String boardId) {
+        jdbcTemplate.update("UPDATE member_cards SET board_id = ? "
+                + "WHERE card_id IN (SELECT id FROM cards WHERE list_id = ?)", boardId, listId);
+    }
+
+    /**
+     * Removes the rows of a list's cards; called before the list and its cards are deleted.
+     */
+    public void removeList(String listId) {
+        jdbcTemplate.update("DELETE FROM member_cards WHERE card_id IN (SELECT id FROM cards WHERE list_id = ?)",
+                listId);
+    }
+
+    /**
+     * Removes the rows of a board's cards; called before the board and its cards are deleted.
+     */
+    public void removeBoard(String boardId) {
+        jdbcTemplate.update("DELETE FROM member_cards WHERE card_id IN (SELECT id FROM cards WHERE board_id = ?)",
+                boardId);
+    }
+
+    /**
+     * Adds the rows of a board whose cards were inserted in bulk, e.g. as a copy.
+     */
+    public void addBoard(String boardId) {
+        jdbcTemplate.update("INSERT INTO member_cards (user_id, board_id, card_id) "
+                + SELECT_MEMBERS + " AND c.board_id = ?", boardId);
+    }
+
+    /**
+     * @return the number of rows added and removed.
+     */
+    public int repair() {
+        int removed = jdbcTemplate.update("DELETE FROM member_cards WHERE NOT EXISTS ("
+                + "SELECT 1 FROM card_members m JOIN cards c ON c.id = m.card_id "
+                + "WHERE m.card_id = member_cards.card_id AND m.user_id = member_cards.user_id "
+                + "AND c.board_id = member_cards.board_id)");
+        int added = jdbcTemplate.update("INSERT INTO member_cards (user_id, board_id, card_id) "
+                + SELECT_MEMBERS + " AND NOT EXISTS (SELECT 1 FROM member_cards mc "
+                + "WHERE mc.user_id = m.user_id AND mc.board_id = c.board_id AND mc.card_id = c.id)");
+        return removed + added;
+    }
+}
@@ -0,0 +1,37 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.MemberCard;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface MemberCardRepository extends JpaRepository<MemberCard, MemberCard.Key> {
+
+    // The first cards of a member in (board, card) order, a range of the member_cards key
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount, " +
+            "b.id AS boardId, b.title AS boardTitle " +
+            "FROM MemberCard mc JOIN Card c ON c.id = mc.cardId JOIN Board b ON b.id = mc.boardId " +
+            "WHERE mc.userId = :userId AND c.board.id = mc.boardId ORDER BY mc.boardId, mc.cardId")
+    List<MemberCardRow> findRowPageByUserId(@Param("userId") String userId, Pageable page);
+
+    // The cards of a member after (board, card)
+    @Query("SELECT c.id AS id, c.title AS title, c.description AS description, c.boardList.id AS listId, " +
+            "c.rank AS rank, c.order AS order, c.userId AS userId, c.dateTo AS dateTo, " +
+            "c.isCompleted AS isCompleted, c.updatedAt AS updatedAt, c.version AS version, " +
+            "c.todoDone AS todoDone, c.todoTotal AS todoTotal, c.commentCount AS commentCount, " +
+            "b.id AS boardId, b.title AS boardTitle " +
+            "FROM MemberCard mc JOIN Card c ON c.id = mc.cardId JOIN Board b ON b.id = mc.boardId " +
+            "WHERE mc.userId = :userId AND c.board.id = mc.boardId " +
+            "AND (mc.boardId > :boardId OR (mc.boardId = :boardId AND mc.cardId > :cardId)) " +
+            "ORDER BY mc.boardId, mc.cardId")
+    List<MemberCardRow> findRowPageByUserIdAfter(@Param("userId") String userId, @Param("boardId") String boardId,
+                                                 @Param("cardId") String cardId, Pageable page);
+}
@@ -0,0 +1,10 @@
+package com.meta.project.repository;
+
+/**
+ * Projection of a card a member is assigned to: the card's scalar columns and its board.
+ */
+public interface MemberCardRow extends CardRow {
+    String getBoardId();
+
+    String getBoardTitle();
+}
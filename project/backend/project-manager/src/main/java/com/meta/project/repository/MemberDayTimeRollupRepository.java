@@ -0,0 +1,14 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.MemberDayTimeRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+@Repository
+public interface MemberDayTimeRollupRepository extends JpaRepository<MemberDayTimeRollup, MemberDayTimeRollup.Key> {
+
+    List<MemberDayTimeRollup> findByUserIdAndDayBetweenOrderByDay(String userId, LocalDate from, LocalDate to);
+}
@@ -0,0 +1,123 @@
+package com.meta.project.repository;
+
+import com.meta.project.dto.RankChangeDTO;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes many rank changes with one UPDATE ... CASE statement per chunk instead of one
+ * statement per row.
+ * <p>
+ * Reorders are edits and bump the rows' versions. Rebalancing only respaces the keys, keeping
+ * every row's position, so it leaves versions alone and the rows' ETags stay valid.
+ */
+@Repository
+public class RankBulkUpdater {
+
+    private static final int CHUNK_SIZE = 500;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public RankBulkUpdater(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    public int updateCardRanks(List<RankChangeDTO> changes) {
+        return update("cards", "card_rank", "card_order", changes);
+    }
+
+    public int updateListRanks(List<RankChangeDTO> changes) {
+        return update("board_list", "list_rank", "list_order", changes);
+    }
+
+    /**
+     * Rewrites card ranks without bumping versions, each row only if it is still at the version
+     * it was read at.
+     *
+     * @param versions The version each card was read at, by ID.
+     * @throws OptimisticLockingFailureException If a card changed since it was read.
+     */
+    public void respaceCardRanks(List<RankChangeDTO> changes, Map<String, Long> versions) {
+        respace("cards", "card_rank", "card_order", changes, versions);
+    }
+
+    /**
+     * Rewrites list ranks without bumping versions, each row only if it is still at the version
+     * it was read at.
+     *
+     * @param versions The version each list was read at, by ID.
+     * @throws OptimisticLockingFailureException If a list changed since it was read.
+     */
+    public void respaceListRanks(List<RankChangeDTO> changes, Map<String, Long> versions) {
+        respace("board_list", "list_rank", "list_order", changes, versions);
+    }
+
+    private void respace(String table, String rankColumn, String orderColumn, List<RankChangeDTO> changes,
+                         Map<String, Long> versions) {
+        for (int from = 0; from < changes.size(); from += CHUNK_SIZE) {
+            List<RankChangeDTO> chunk = changes.subList(from, Math.min(from + CHUNK_SIZE, changes.size()));
+            String whens = String.join(" ", Collections.nCopies(chunk.size(), "WHEN ? THEN ?"));
+            String ids = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            String sql = "UPDATE " + table
+                    + " SET " + rankColumn + " = CASE id " + whens + " END, "
+                    + orderColumn + " = CASE id " + whens + " END"
+                    + " WHERE id IN (" + ids + ") AND version = CASE id " + whens + " END";
+
+            List<Object> args = new ArrayList<>(chunk.size() * 7);
+            chunk.forEach(change -> {
+                args.add(change.getId());
+                args.add(change.getRank());
+            });
+            chunk.forEach(change -> {
+                args.add(change.getId());
+                args.add(change.getOrder());
+            });
+            chunk.forEach(change -> args.add(change.getId()));
+            chunk.forEach(change -> {
+                args.add(change.getId());
+                args.add(versions.get(change.getId()));
+            });
+            int updated = jdbcTemplate.update(sql, args.toArray());
+            if (updated != chunk.size()) {
+                throw new OptimisticLockingFailureException((chunk.size() - updated) + " rows of " + table
+                        + " changed while their ranks were respaced");
+            }
+        }
+    }
+
+    private int update(String table, String rankColumn, String orderColumn, List<RankChangeDTO> changes) {
+        int updated = 0;
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        for (int from = 0; from < changes.size(); from += CHUNK_SIZE) {
+            List<RankChangeDTO> chunk = changes.subList(from, Math.min(from + CHUNK_SIZE, changes.size()));
+            String whens = String.join(" ", Collections.nCopies(chunk.size(), "WHEN ? THEN ?"));
+            String ids = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            String sql = "UPDATE " + table
+                    + " SET " + rankColumn + " = CASE id " + whens + " END, "
+                    + orderColumn + " = CASE id " + whens + " END, "
+                    + "version = version + 1, updated_at = ? WHERE id IN (" + ids + ")";
+
+            List<Object> args = new ArrayList<>(chunk.size() * 5 + 1);
+            chunk.forEach(change -> {
+                args.add(change.getId());
+                args.add(change.getRank());
+            });
+            chunk.forEach(change -> {
+                args.add(change.getId());
+                args.add(change.getOrder());
+            });
+            args.add(now);
+            chunk.forEach(change -> args.add(change.getId()));
+            updated += jdbcTemplate.update(sql, args.toArray());
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,11 @@
+package com.meta.project.repository;
+
+/**
+ * Projection of the last rank key and the item count of a list or board,
+ * fetched in one query when appending.
+ */
+public interface RankTail {
+    String getMaxRank();
+
+    long getCount();
+}
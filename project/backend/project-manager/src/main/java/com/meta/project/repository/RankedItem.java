@@ -0,0 +1,12 @@
+package com.meta.project.repository;
+
+/**
+ * Projection of a card or list with its parent (list or board) and rank.
+ */
+public interface RankedItem {
+    String getId();
+
+    String getParentId();
+
+    String getRank();
+}
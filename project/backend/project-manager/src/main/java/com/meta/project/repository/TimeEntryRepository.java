@@ -0,0 +1,37 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.TimeEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TimeEntryRepository extends JpaRepository<TimeEntry, String> {
+
+    List<TimeEntry> findByCardIdOrderByStartedAt(String cardId);
+
+    // The next card_tracked_times strings after (cardId, value) that have no time entry yet,
+    // in key order, for the batched import of the legacy strings
+    @Query(value = "SELECT t.card_id AS cardId, t.tracked_time AS trackedTime, c.board_id AS boardId, "
+            + "c.user_id AS userId, c.updated_at AS updatedAt "
+            + "FROM card_tracked_times t JOIN cards c ON c.id = t.card_id "
+            + "WHERE (t.card_id > :cardId OR (t.card_id = :cardId AND t.tracked_time > :value)) "
+            + "AND NOT EXISTS (SELECT 1 FROM time_entries e "
+            + "WHERE e.card_id = t.card_id AND e.legacy_value = t.tracked_time) "
+            + "ORDER BY t.card_id, t.tracked_time LIMIT :limit", nativeQuery = true)
+    List<LegacyTrackedTime> findLegacyTrackedTimesAfter(@Param("cardId") String cardId,
+                                                        @Param("value") String value,
+                                                        @Param("limit") int limit);
+
+    // The card_tracked_times strings of one card that have no time entry yet
+    @Query(value = "SELECT t.card_id AS cardId, t.tracked_time AS trackedTime, c.board_id AS boardId, "
+            + "c.user_id AS userId, c.updated_at AS updatedAt "
+            + "FROM card_tracked_times t JOIN cards c ON c.id = t.card_id "
+            + "WHERE t.card_id = :cardId "
+            + "AND NOT EXISTS (SELECT 1 FROM time_entries e "
+            + "WHERE e.card_id = t.card_id AND e.legacy_value = t.tracked_time)", nativeQuery = true)
+    List<LegacyTrackedTime> findLegacyTrackedTimesByCardId(@Param("cardId") String cardId);
+}
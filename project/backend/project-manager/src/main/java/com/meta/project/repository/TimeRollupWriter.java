@@ -0,0 +1,101 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.TimeEntry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Adds time entries to the card, member-day and board-week rollups with one upsert per
+ * touched rollup row. Entries are summed per row first, and rows are written in key order
+ * so concurrent writers lock them in the same order. The entries and their rollups are
+ * written in the same transaction by {@code TimeTrackingService}.
+ */
+@Repository
+public class TimeRollupWriter {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimeRollupWriter(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * The Monday starting the ISO week of a day, which keys the board-week rollup.
+     */
+    public static LocalDate weekStart(LocalDate day) {
+        return day.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    public void add(Collection<TimeEntry> entries) {
+        Map<String, Sum> cards = new TreeMap<>();
+        Map<String, Sum> memberDays = new TreeMap<>();
+        Map<String, Sum> boardWeeks = new TreeMap<>();
+        for (TimeEntry entry : entries) {
+            LocalDate day = entry.getStartedAt().toLocalDate();
+            cards.computeIfAbsent(entry.getCardId(), key -> new Sum(entry.getCardId(), entry.getBoardId(), null))
+                    .add(entry);
+            if (entry.getUserId() != null) {
+                memberDays.computeIfAbsent(entry.getUserId() + '|' + day, key -> new Sum(entry.getUserId(), null, day))
+                        .add(entry);
+            }
+            if (entry.getBoardId() != null) {
+                LocalDate week = weekStart(day);
+                boardWeeks.computeIfAbsent(entry.getBoardId() + '|' + week, key -> new Sum(entry.getBoardId(), null, week))
+                        .add(entry);
+            }
+        }
+
+        List<Object[]> cardRows = new ArrayList<>();
+        cards.values().forEach(sum -> cardRows.add(new Object[]{sum.id, sum.boardId, sum.seconds, sum.count,
+                sum.boardId, sum.seconds, sum.count}));
+        jdbcTemplate.batchUpdate("INSERT INTO time_rollup_card (card_id, board_id, total_seconds, entry_count) "
+                + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE board_id = ?, "
+                + "total_seconds = total_seconds + ?, entry_count = entry_count + ?", cardRows);
+
+        List<Object[]> memberDayRows = new ArrayList<>();
+        memberDays.values().forEach(sum -> memberDayRows.add(new Object[]{sum.id, Date.valueOf(sum.date),
+                sum.seconds, sum.count, sum.seconds, sum.count}));
+        jdbcTemplate.batchUpdate("INSERT INTO time_rollup_member_day (user_id, work_day, total_seconds, entry_count) "
+                + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                + "total_seconds = total_seconds + ?, entry_count = entry_count + ?", memberDayRows);
+
+        List<Object[]> boardWeekRows = new ArrayList<>();
+        boardWeeks.values().forEach(sum -> boardWeekRows.add(new Object[]{sum.id, Date.valueOf(sum.date),
+                sum.seconds, sum.count, sum.seconds, sum.count}));
+        jdbcTemplate.batchUpdate("INSERT INTO time_rollup_board_week (board_id, week_start, total_seconds, entry_count) "
+                + "VALUES (?, ?, ?, ?) ON DUPLICATE KEY UPDATE "
+                + "total_seconds = total_seconds + ?, entry_count = entry_count + ?", boardWeekRows);
+    }
+
+    /**
+     * What a batch adds to one rollup row.
+     */
+    private static final class Sum {
+        private final String id;
+        private final String boardId;
+        private final LocalDate date;
+        private long seconds;
+        private long count;
+
+        private Sum(String id, String boardId, LocalDate date) {
+            this.id = id;
+            this.boardId = boardId;
+            this.date = date;
+        }
+
+        private void add(TimeEntry entry) {
+            seconds += entry.getDurationSeconds();
+            count++;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package com.meta.project.repository;
+
+import com.meta.project.entity.Todo;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface TodoRepository extends JpaRepository<Todo, String> {
+
+    // All todos of the cards on a board, in one query
+    @Query("SELECT t FROM Todo t WHERE t.card.board.id = :boardId")
+    List<Todo> findByBoardId(@Param("boardId") String boardId);
+
+    // Todo texts of the cards on a board, for the search index
+    @Query("SELECT t.card.id AS cardId, t.content AS value FROM Todo t WHERE t.card.board.id = :boardId")
+    List<CardValue> findContentsByBoardId(@Param("boardId") String boardId);
+}
@@ -0,0 +1,390 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.ActivityDTO;
+import com.meta.project.dto.PageDTO;
+import com.meta.project.dto.BoardEventDTO;
+import com.meta.project.entity.ActivityEntry;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.ActivityEntryRepository;
+import com.meta.project.repository.ActivityLogWriter;
+import com.meta.project.util.Cursors;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Activity log of board, list and card changes ("who moved this card, and when"), fed by the
+ * same {@link BoardEventDTO}s as the change feed. The member making a change is taken from the
+ * {@value #ACTOR_HEADER} request header when present.
+ * <p>
+ * The entries of a transaction are collected while it runs and handed over together. How
+ * they reach the database depends on {@code app.activity.durability}:
+ * <ul>
+ *     <li>{@code sync}: one batch insert just before the transaction commits, so the changes
+ *     and their entries commit or roll back together.</li>
+ *     <li>{@code group-commit}: after the commit the entries are queued and the request waits
+ *     until the writer thread has stored them. Concurrent requests share one batch insert and
+ *     one commit.</li>
+ *     <li>{@code best-effort}: queued after the commit without waiting. Entries are dropped
+ *     when the queue is full and lost if the node stops before the writer stores them.</li>
+ * </ul>
+ * The queue is bounded. The writer takes up to {@code app.activity.batch-size} entries at a
+ * time, waiting at most {@code app.activity.flush-interval-ms} for a batch to fill. Queue depth,
+ * flush latency and written, dropped and failed entries are published as metrics.
+ */
+@Service
+@Slf4j
+public class ActivityLog {
+
+    public static final String ACTOR_HEADER = "X-User-Id";
+
+    private static final int DEFAULT_LIMIT = 50;
+    private static final int MAX_LIMIT = 200;
+
+    enum Durability { SYNC, GROUP_COMMIT, BEST_EFFORT }
+
+    private record Pending(ActivityEntry entry, CompletableFuture<Void> stored) {
+    }
+
+    private final ActivityEntryRepository activityEntryRepository;
+    private final ActivityLogWriter activityLogWriter;
+    private final TransactionTemplate transaction;
+    private final Durability durability;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long waitTimeoutMs;
+
+    private final BlockingQueue<Pending> queue;
+    private final Timer flushTimer;
+    private final Counter written;
+    private final Counter dropped;
+    private final Counter failed;
+    private final Thread writer;
+    private volatile boolean running = true;
+
+    public ActivityLog(ActivityEntryRepository activityEntryRepository,
+                       ActivityLogWriter activityLogWriter,
+                       PlatformTransactionManager transactionManager,
+                       MeterRegistry meterRegistry,
+                       @Value("${app.activity.durability:group-commit}") String durability,
+                       @Value("${app.activity.queue-capacity:10000}") int queueCapacity,
+                       @Value("${app.activity.batch-size:200}") int batchSize,
+                       @Value("${app.activity.flush-interval-ms:10}") long flushIntervalMs,
+                       @Value("${app.activity.wait-timeout-ms:2000}") long waitTimeoutMs) {
+        this.activityEntryRepository = activityEntryRepository;
+        this.activityLogWriter = activityLogWriter;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.durability = Durability.valueOf(durability.trim().replace('-', '_').toUpperCase(Locale.ROOT));
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+
+        Gauge.builder("pm.activity.queue.depth", queue, BlockingQueue::size)
+                .description("Activity entries waiting for the writer")
+                .register(meterRegistry);
+        this.flushTimer = Timer.builder("pm.activity.flush")
+                .description("Time to store one batch of activity entries")
+                .register(meterRegistry);
+        this.written = meterRegistry.counter("pm.activity.entries", "outcome", "written");
+        this.dropped = meterRegistry.counter("pm.activity.entries", "outcome", "dropped");
+        this.failed = meterRegistry.counter("pm.activity.entries", "outcome", "failed");
+
+        this.writer = new Thread(this::runWriter, "activity-log-writer");
+        this.writer.setDaemon(true);
+        if (this.durability != Durability.SYNC) {
+            this.writer.start();
+        }
+    }
+
+    /**
+     * A board's activity, newest first.
+     *
+     * @param boardId The board.
+     * @param cursor  The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit   The page size; defaults to 50, at most 200.
+     */
+    public PageDTO<ActivityDTO> getBoardActivity(String boardId, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        String[] after = Cursors.decode(cursor, 2);
+        List<ActivityEntry> entries = after == null
+                ? activityEntryRepository.findByBoardIdOrderByOccurredAtDescIdDesc(boardId, PageRequest.ofSize(size))
+                : activityEntryRepository.findByBoardIdBefore(boardId, cursorTime(after[0]), after[1],
+                        PageRequest.ofSize(size));
+        return page(entries, size);
+    }
+
+    /**
+     * A card's activity, newest first, including the activity of a deleted card.
+     *
+     * @param cardId The card.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit  The page size; defaults to 50, at most 200.
+     */
+    public PageDTO<ActivityDTO> getCardActivity(String cardId, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        String[] after = Cursors.decode(cursor, 2);
+        List<ActivityEntry> entries = after == null
+                ? activityEntryRepository.findByCardIdOrderByOccurredAtDescIdDesc(cardId, PageRequest.ofSize(size))
+                : activityEntryRepository.findByCardIdBefore(cardId, cursorTime(after[0]), after[1],
+                        PageRequest.ofSize(size));
+        return page(entries, size);
+    }
+
+    /**
+     * Collects the entries of a transaction's changes, to be stored together when it commits.
+     * Changes made outside a transaction are stored right away.
+     */
+    @EventListener
+    public void onChange(BoardEventDTO event) {
+        ActivityEntry entry = toEntry(event);
+        if (entry == null) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            store(List.of(entry), true);
+            return;
+        }
+        @SuppressWarnings("unchecked")
+        List<ActivityEntry> entries = (List<ActivityEntry>) TransactionSynchronizationManager.getResource(this);
+        if (entries == null) {
+            List<ActivityEntry> transactionEntries = new ArrayList<>();
+            TransactionSynchronizationManager.bindResource(this, transactionEntries);
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void beforeCommit(boolean readOnly) {
+                    store(transactionEntries, false);
+                }
+
+                @Override
+                public void afterCommit() {
+                    store(transactionEntries, true);
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    TransactionSynchronizationManager.unbindResourceIfPossible(ActivityLog.this);
+                }
+            });
+            entries = transactionEntries;
+        }
+        entries.add(entry);
+    }
+
+    /**
+     * Stops the writer once it has stored the entries already queued.
+     */
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        try {
+            writer.join(Math.max(waitTimeoutMs, 1000));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Stores entries the way the durability asks: inserted before the commit, or queued after it.
+     */
+    private void store(List<ActivityEntry> entries, boolean committed) {
+        if (durability == Durability.SYNC) {
+            if (!committed || !TransactionSynchronizationManager.isSynchronizationActive()) {
+                long start = System.nanoTime();
+                activityLogWriter.insert(entries);
+                flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+                written.increment(entries.size());
+            }
+            return;
+        }
+        if (!committed) {
+            return;
+        }
+        List<CompletableFuture<Void>> stored = new ArrayList<>();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(waitTimeoutMs);
+        try {
+            for (ActivityEntry entry : entries) {
+                Pending pending = new Pending(entry,
+                        durability == Durability.GROUP_COMMIT ? new CompletableFuture<>() : null);
+                boolean queued = pending.stored() == null
+                        ? queue.offer(pending)
+                        : queue.offer(pending, Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+                if (!queued) {
+                    dropped.increment();
+                } else if (pending.stored() != null) {
+                    stored.add(pending.stored());
+                }
+            }
+            if (stored.size() < entries.size() && durability == Durability.GROUP_COMMIT) {
+                log.warn("Activity queue full, dropped {} of {} entries", entries.size() - stored.size(), entries.size());
+            }
+            if (!stored.isEmpty()) {
+                CompletableFuture.allOf(stored.toArray(CompletableFuture[]::new))
+                        .get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // The changes themselves are committed; only their activity entries may be missing
+            log.warn("Activity entries of {} changes not confirmed: {}", entries.size(), e.toString());
+        }
+    }
+
+    private void runWriter() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long wait = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || wait <= 0) {
+                        break;
+                    }
+                    Pending next = queue.poll(wait, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                running = false;
+                queue.drainTo(batch);
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flush(List<Pending> batch) {
+        List<ActivityEntry> entries = new ArrayList<>(batch.size());
+        batch.forEach(pending -> entries.add(pending.entry()));
+        long start = System.nanoTime();
+        try {
+            transaction.executeWithoutResult(status -> activityLogWriter.insert(entries));
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            written.increment(entries.size());
+            batch.forEach(pending -> {
+                if (pending.stored() != null) {
+                    pending.stored().complete(null);
+                }
+            });
+        } catch (Exception e) {
+            failed.increment(entries.size());
+            log.error("Error writing {} activity entries: ", entries.size(), e);
+            batch.forEach(pending -> {
+                if (pending.stored() != null) {
+                    pending.stored().completeExceptionally(e);
+                }
+            });
+        }
+    }
+
+    /**
+     * The entry for a change, or null for changes that are not user activity, like rank
+     * rebalancing.
+     */
+    private ActivityEntry toEntry(BoardEventDTO event) {
+        if (event.getBoardId() == null || "rebalanced".equals(event.getAction())) {
+            return null;
+        }
+        ActivityEntry entry = new ActivityEntry();
+        entry.setId(UUID.randomUUID().toString());
+        entry.setBoardId(event.getBoardId());
+        entry.setEntity(event.getEntity());
+        entry.setEntityId(event.getEntityId());
+        if (BoardChangePublisher.CARD.equals(event.getEntity()) && !"reordered".equals(event.getAction())) {
+            entry.setCardId(event.getEntityId());
+        }
+        entry.setListId(event.getListId());
+        entry.setAction(event.getAction());
+        if (event.getFields() != null && !event.getFields().isEmpty()) {
+            entry.setFields(String.join(",", event.getFields()));
+        }
+        entry.setActorId(currentActor());
+        entry.setOccurredAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(event.getTimestamp()), ZoneId.systemDefault()));
+        return entry;
+    }
+
+    private static String currentActor() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes instanceof ServletRequestAttributes servlet) {
+            String actor = servlet.getRequest().getHeader(ACTOR_HEADER);
+            return actor != null && !actor.isBlank() ? actor.trim() : null;
+        }
+        return null;
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_LIMIT : Math.max(1, Math.min(limit, MAX_LIMIT));
+    }
+
+    private static LocalDateTime cursorTime(String value) {
+        try {
+            return LocalDateTime.parse(value);
+        } catch (DateTimeParseException e) {
+            throw new ServiceException("Invalid page cursor", e);
+        }
+    }
+
+    private static PageDTO<ActivityDTO> page(List<ActivityEntry> entries, int size) {
+        List<ActivityDTO> items = entries.stream().map(ActivityLog::toDTO).toList();
+        String next = null;
+        if (entries.size() == size) {
+            ActivityEntry last = entries.get(entries.size() - 1);
+            next = Cursors.encode(last.getOccurredAt().toString(), last.getId());
+        }
+        return new PageDTO<>(items, next);
+    }
+
+    private static ActivityDTO toDTO(ActivityEntry entry) {
+        ActivityDTO dto = new ActivityDTO();
+        dto.setId(entry.getId());
+        dto.setBoardId(entry.getBoardId());
+        dto.setEntity(entry.getEntity());
+        dto.setEntityId(entry.getEntityId());
+        dto.setListId(entry.getListId());
+        dto.setAction(entry.getAction());
+        dto.setFields(entry.getFields() != null ? Arrays.asList(entry.getFields().split(",")) : null);
+        dto.setActorId(entry.getActorId());
+        dto.setOccurredAt(entry.getOccurredAt());
+        return dto;
+    }
+}
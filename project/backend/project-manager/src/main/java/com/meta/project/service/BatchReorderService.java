@@ -0,0 +1,198 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.CardReorderDTO;
+import com.meta.project.dto.ListReorderDTO;
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.RankBulkUpdater;
+import com.meta.project.repository.RankedItem;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import jakarta.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based reordering of whole lists and boards.
+ * Membership of every id is checked with a single query, only the items that actually
+ * moved get new ranks, and all new ranks are written with bulk UPDATE statements.
+ */
+@Service
+@Slf4j
+@Transactional
+public class BatchReorderService {
+
+    private static final Comparator<RankedItem> BY_RANK = Comparator
+            .comparing(RankedItem::getRank, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(RankedItem::getId);
+
+    private final CardRepository cardRepository;
+    private final BoardListRepository boardListRepository;
+    private final RankBulkUpdater rankBulkUpdater;
+    private final RankRebalancer rankRebalancer;
+    private final BoardChangePublisher changePublisher;
+
+    public BatchReorderService(CardRepository cardRepository,
+                               BoardListRepository boardListRepository,
+                               RankBulkUpdater rankBulkUpdater,
+                               RankRebalancer rankRebalancer,
+                               BoardChangePublisher changePublisher) {
+        this.cardRepository = cardRepository;
+        this.boardListRepository = boardListRepository;
+        this.rankBulkUpdater = rankBulkUpdater;
+        this.rankRebalancer = rankRebalancer;
+        this.changePublisher = changePublisher;
+    }
+
+    /**
+     * Applies the new card order of one or more lists. Each reorder must name every card of its list.
+     *
+     * @return The cards whose rank changed, with their new positions.
+     */
+    public List<RankChangeDTO> reorderCards(List<CardReorderDTO> reorders) {
+        Map<String, List<String>> requested = new HashMap<>();
+        for (CardReorderDTO reorder : reorders) {
+            requested.put(reorder.getListId(), reorder.getCardIds());
+        }
+        return applyCardOrder(requested, cardRepository.findRankedItemsByListIds(requested.keySet()));
+    }
+
+    /**
+     * Moves cards to the 1-based positions the legacy reorder endpoint sends. Positions count
+     * against the current rank order of each list, the cards not named keep their relative
+     * order, and only the cards that have to move get new ranks.
+     *
+     * @param positionsByList For each list, the requested position of each moved card.
+     * @return The cards whose rank changed, with their new positions.
+     */
+    public List<RankChangeDTO> moveCards(Map<String, Map<String, Integer>> positionsByList) {
+        List<RankedItem> current = cardRepository.findRankedItemsByListIds(positionsByList.keySet());
+        return applyCardOrder(place(positionsByList, current, "Card", "BoardList"), current);
+    }
+
+    private List<RankChangeDTO> applyCardOrder(Map<String, List<String>> requested, List<RankedItem> current) {
+        List<RankChangeDTO> changes = plan(requested, current, "card", "list");
+        rankBulkUpdater.updateCardRanks(changes);
+        checkRanks(changes, requested, rankRebalancer::checkCardRank);
+        publish(changes, requested, BoardChangePublisher.CARD, listId -> boardListRepository.findById(listId)
+                .map(list -> list.getBoard().getId()).orElse(null));
+        return changes;
+    }
+
+    /**
+     * Applies the new list order of one or more boards. Each reorder must name every list of its board.
+     *
+     * @return The lists whose rank changed, with their new positions.
+     */
+    public List<RankChangeDTO> reorderLists(List<ListReorderDTO> reorders) {
+        Map<String, List<String>> requested = new HashMap<>();
+        for (ListReorderDTO reorder : reorders) {
+            requested.put(reorder.getBoardId(), reorder.getListIds());
+        }
+        return applyListOrder(requested, boardListRepository.findRankedItemsByBoardIds(requested.keySet()));
+    }
+
+    /**
+     * Moves lists to the 1-based positions the legacy reorder endpoint sends, counted against
+     * the current rank order of each board.
+     *
+     * @param positionsByBoard For each board, the requested position of each moved list.
+     * @return The lists whose rank changed, with their new positions.
+     */
+    public List<RankChangeDTO> moveLists(Map<String, Map<String, Integer>> positionsByBoard) {
+        List<RankedItem> current = boardListRepository.findRankedItemsByBoardIds(positionsByBoard.keySet());
+        return applyListOrder(place(positionsByBoard, current, "List", "Board"), current);
+    }
+
+    private List<RankChangeDTO> applyListOrder(Map<String, List<String>> requested, List<RankedItem> current) {
+        List<RankChangeDTO> changes = plan(requested, current, "list", "board");
+        rankBulkUpdater.updateListRanks(changes);
+        checkRanks(changes, requested, rankRebalancer::checkListRank);
+        publish(changes, requested, BoardChangePublisher.LIST, Function.identity());
+        return changes;
+    }
+
+    /**
+     * Turns requested positions into complete orders, one per parent, starting from the
+     * current rank order.
+     */
+    private static Map<String, List<String>> place(Map<String, Map<String, Integer>> positionsByParent,
+                                                   List<RankedItem> current, String itemName, String parentName) {
+        Map<String, List<RankedItem>> itemsByParent = current.stream()
+                .collect(Collectors.groupingBy(RankedItem::getParentId));
+        Map<String, List<String>> requested = new HashMap<>();
+        positionsByParent.forEach((parentId, positions) -> {
+            List<String> currentOrder = itemsByParent.getOrDefault(parentId, List.of()).stream()
+                    .sorted(BY_RANK)
+                    .map(RankedItem::getId)
+                    .toList();
+            Set<String> members = new HashSet<>(currentOrder);
+            for (String id : positions.keySet()) {
+                if (!members.contains(id)) {
+                    throw new ServiceException(itemName + " ID: " + id + " does not belong to "
+                            + parentName + " ID: " + parentId, null);
+                }
+            }
+            requested.put(parentId, ReorderPlanner.place(currentOrder, positions));
+        });
+        return requested;
+    }
+
+    private List<RankChangeDTO> plan(Map<String, List<String>> requested, List<RankedItem> current,
+                                     String itemName, String parentName) {
+        Map<String, Map<String, String>> ranksByParent = new HashMap<>();
+        for (RankedItem item : current) {
+            ranksByParent.computeIfAbsent(item.getParentId(), id -> new HashMap<>())
+                    .put(item.getId(), item.getRank());
+        }
+
+        List<RankChangeDTO> changes = new ArrayList<>();
+        for (Map.Entry<String, List<String>> entry : requested.entrySet()) {
+            String parentId = entry.getKey();
+            List<String> orderedIds = entry.getValue() != null ? entry.getValue() : List.of();
+            Map<String, String> ranks = ranksByParent.getOrDefault(parentId, Map.of());
+
+            Set<String> unique = new HashSet<>(orderedIds);
+            if (unique.size() != orderedIds.size() || !unique.equals(ranks.keySet())) {
+                Set<String> foreign = unique.stream()
+                        .filter(id -> !ranks.containsKey(id))
+                        .collect(Collectors.toSet());
+                throw new ServiceException("Reorder of " + parentName + " ID: " + parentId + " must list each of its "
+                        + ranks.size() + " " + itemName + "s exactly once"
+                        + (foreign.isEmpty() ? "" : "; not in " + parentName + ": " + foreign), null);
+            }
+            changes.addAll(ReorderPlanner.plan(orderedIds, ranks));
+        }
+        return changes;
+    }
+
+    private void checkRanks(List<RankChangeDTO> changes, Map<String, List<String>> requested,
+                            BiConsumer<String, String> check) {
+        Map<String, String> parentById = new HashMap<>();
+        requested.forEach((parentId, ids) -> ids.forEach(id -> parentById.put(id, parentId)));
+        for (RankChangeDTO change : changes) {
+            check.accept(parentById.get(change.getId()), change.getRank());
+        }
+    }
+
+    private void publish(List<RankChangeDTO> changes, Map<String, List<String>> requested, String entity,
+                         Function<String, String> boardIdOfParent) {
+        Map<String, String> parentById = new HashMap<>();
+        requested.forEach((parentId, ids) -> ids.forEach(id -> parentById.put(id, parentId)));
+        Map<String, List<RankChangeDTO>> changesByParent = changes.stream()
+                .collect(Collectors.groupingBy(change -> parentById.get(change.getId())));
+        changesByParent.forEach((parentId, parentChanges) ->
+                changePublisher.reordered(boardIdOfParent.apply(parentId), entity, parentId, parentChanges));
+    }
+}
@@ -0,0 +1,166 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardFlowDTO;
+import com.meta.project.entity.BoardFlowDay;
+import com.meta.project.exception.ResourceNotFoundException;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardFlowDayRepository;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.BucketCount;
+import com.meta.project.repository.CardFlowWriter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Cumulative flow and burndown charts for boards, read from the daily flow counts that
+ * {@link BoardCounters} maintains with every card change. A chart over n days is two indexed
+ * reads, the bucket totals before the first day and the flow rows of the n days, no matter
+ * how many cards the board has.
+ * <p>
+ * At startup the boards whose cards predate the flow counts are backfilled from the card rows,
+ * and a nightly repair books any drift between the counts and the cards as a correction.
+ */
+@Service
+@Slf4j
+public class BoardAnalyticsService {
+
+    private static final int MAX_DAYS = 366;
+
+    private final BoardFlowDayRepository boardFlowDayRepository;
+    private final BoardListRepository boardListRepository;
+    private final BoardRepository boardRepository;
+    private final CardFlowWriter cardFlowWriter;
+    private final TransactionTemplate transaction;
+
+    public BoardAnalyticsService(BoardFlowDayRepository boardFlowDayRepository,
+                                 BoardListRepository boardListRepository,
+                                 BoardRepository boardRepository,
+                                 CardFlowWriter cardFlowWriter,
+                                 PlatformTransactionManager transactionManager) {
+        this.boardFlowDayRepository = boardFlowDayRepository;
+        this.boardListRepository = boardListRepository;
+        this.boardRepository = boardRepository;
+        this.cardFlowWriter = cardFlowWriter;
+        this.transaction = new TransactionTemplate(transactionManager);
+    }
+
+    /**
+     * Builds a board's flow over a range of days.
+     *
+     * @param boardId The board.
+     * @param from    The first day; defaults to 29 days before {@code to}.
+     * @param to      The last day; defaults to today.
+     * @return One entry per day with the cards per list and by status at the end of the day.
+     * @throws ResourceNotFoundException If the board does not exist.
+     * @throws ServiceException          If the range is empty or longer than a year.
+     */
+    public BoardFlowDTO getFlow(String boardId, LocalDate from, LocalDate to) {
+        LocalDate last = to != null ? to : LocalDate.now();
+        LocalDate first = from != null ? from : last.minusDays(29);
+        long dayCount = ChronoUnit.DAYS.between(first, last) + 1;
+        if (dayCount < 1 || dayCount > MAX_DAYS) {
+            throw new ServiceException("A flow covers 1 to " + MAX_DAYS + " days", null);
+        }
+        if (!boardRepository.existsById(boardId)) {
+            throw new ResourceNotFoundException("Board not found with ID: " + boardId);
+        }
+
+        Map<String, Long> totals = new HashMap<>();
+        for (BucketCount count : boardFlowDayRepository.sumBefore(boardId, first)) {
+            totals.put(count.getBucket(), count.getCount());
+        }
+        Map<LocalDate, List<BoardFlowDay>> rowsByDay = new HashMap<>();
+        for (BoardFlowDay row : boardFlowDayRepository.findByBoardIdAndDayBetweenOrderByDay(boardId, first, last)) {
+            rowsByDay.computeIfAbsent(row.getDay(), day -> new ArrayList<>()).add(row);
+        }
+
+        BoardFlowDTO flow = new BoardFlowDTO();
+        flow.setBoardId(boardId);
+        flow.setFrom(first);
+        flow.setTo(last);
+        flow.setLists(boardListRepository.findByBoardIdOrderByRankAsc(boardId).stream().map(list -> {
+            BoardFlowDTO.ListDTO dto = new BoardFlowDTO.ListDTO();
+            dto.setId(list.getId());
+            dto.setTitle(list.getTitle());
+            return dto;
+        }).toList());
+
+        List<BoardFlowDTO.DayDTO> days = new ArrayList<>((int) dayCount);
+        for (LocalDate day = first; !day.isAfter(last); day = day.plusDays(1)) {
+            long completedToday = 0;
+            for (BoardFlowDay row : rowsByDay.getOrDefault(day, List.of())) {
+                totals.merge(row.getBucket(), row.getEntered() - row.getExited(), Long::sum);
+                if (BoardFlowDay.COMPLETED.equals(row.getBucket())) {
+                    completedToday = row.getEntered();
+                }
+            }
+            BoardFlowDTO.DayDTO dto = new BoardFlowDTO.DayDTO();
+            dto.setDay(day);
+            dto.setOpen(totals.getOrDefault(BoardFlowDay.OPEN, 0L));
+            dto.setCompleted(totals.getOrDefault(BoardFlowDay.COMPLETED, 0L));
+            dto.setCompletedToday(completedToday);
+            Map<String, Long> lists = new LinkedHashMap<>();
+            flow.getLists().forEach(list -> lists.put(list.getId(), 0L));
+            totals.forEach((bucket, count) -> {
+                if (!BoardFlowDay.OPEN.equals(bucket) && !BoardFlowDay.COMPLETED.equals(bucket)
+                        && (count != 0 || lists.containsKey(bucket))) {
+                    lists.put(bucket, count);
+                }
+            });
+            dto.setLists(lists);
+            days.add(dto);
+        }
+        flow.setDays(days);
+        return flow;
+    }
+
+    /**
+     * Backfills the boards that have cards but no flow yet, one transaction per board, then
+     * repairs any drift.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfill() {
+        try {
+            long start = System.currentTimeMillis();
+            List<String> boardIds = cardFlowWriter.findBoardsWithoutFlow();
+            for (String boardId : boardIds) {
+                transaction.executeWithoutResult(status -> cardFlowWriter.backfillBoard(boardId));
+            }
+            if (!boardIds.isEmpty()) {
+                log.info("Backfilled the flow of {} boards in {} ms", boardIds.size(), System.currentTimeMillis() - start);
+            }
+        } catch (Exception e) {
+            log.error("Error backfilling board flows: ", e);
+        }
+        repair();
+    }
+
+    /**
+     * Books the difference between each board's running flow counts and its cards on today.
+     */
+    @Scheduled(cron = "${app.flow.repair-cron:0 45 3 * * *}")
+    public void repair() {
+        try {
+            Integer corrected = transaction.execute(status -> cardFlowWriter.repair(LocalDate.now()));
+            if (corrected != null && corrected > 0) {
+                log.info("Corrected the flow counts of {} board buckets", corrected);
+            }
+        } catch (Exception e) {
+            log.error("Error repairing board flows: ", e);
+        }
+    }
+}
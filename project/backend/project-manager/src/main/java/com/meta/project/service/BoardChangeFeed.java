@@ -0,0 +1,288 @@
+package com.meta.project.service;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+import com.meta.project.dto.BoardEventDTO;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Per-board change feed served over Server-Sent Events.
+ * <p>
+ * Committed changes get the next sequence number of their board and are kept in a bounded
+ * backlog. Every event carries a resume token ({@code <epoch>:<seq>}); a client that reconnects
+ * with its last token gets only the events it missed. If the token is too old or comes from an
+ * earlier feed (e.g. before a restart) the client gets a {@code reset} event and should reload
+ * the board snapshot.
+ * <p>
+ * Subscribers hold no request thread. Each one has its own bounded queue, drained by a virtual
+ * thread, so a slow client only delays itself. A subscriber that falls a whole queue behind is
+ * disconnected; its EventSource reconnects with its last token and resumes from the backlog.
+ * <p>
+ * The feed only sees changes committed on this node, so it is complete only when the service
+ * runs as a single node.
+ */
+@Service
+@Slf4j
+public class BoardChangeFeed {
+
+    private final Map<String, BoardFeed> feeds = new ConcurrentHashMap<>();
+    private final ExecutorService senders = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("board-feed-", 0).factory());
+    private final int backlogSize;
+    private final int queueSize;
+    private final long emitterTimeoutMs;
+    private final long idleFeedMs;
+
+    public BoardChangeFeed(@Value("${app.feed.backlog-size:500}") int backlogSize,
+                           @Value("${app.feed.subscriber-queue-size:256}") int queueSize,
+                           @Value("${app.feed.emitter-timeout-ms:1800000}") long emitterTimeoutMs,
+                           @Value("${app.feed.idle-feed-ms:3600000}") long idleFeedMs) {
+        this.backlogSize = backlogSize;
+        this.queueSize = queueSize;
+        this.emitterTimeoutMs = emitterTimeoutMs;
+        this.idleFeedMs = idleFeedMs;
+    }
+
+    /**
+     * Appends a committed change to its board's sequence and fans it out to the subscribers.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BoardEventDTO event) {
+        BoardFeed feed = feed(event.getBoardId());
+        // Queued under the lock, so every subscriber gets the board's events in sequence order
+        synchronized (feed) {
+            FeedEvent feedEvent = feed.append(event);
+            feed.subscribers.forEach(subscriber -> subscriber.send(feedEvent));
+        }
+    }
+
+    /**
+     * Opens a stream of the changes to a board.
+     *
+     * @param boardId     The ID of the board.
+     * @param resumeToken The token of the last event the client saw, or null for live changes only.
+     */
+    public SseEmitter subscribe(String boardId, String resumeToken) {
+        return subscribe(boardId, resumeToken, new SseEmitter(emitterTimeoutMs));
+    }
+
+    SseEmitter subscribe(String boardId, String resumeToken, SseEmitter emitter) {
+        BoardFeed feed = feed(boardId);
+        Subscriber subscriber = new Subscriber(emitter, feed);
+        emitter.onCompletion(() -> feed.remove(subscriber));
+        emitter.onTimeout(() -> feed.remove(subscriber));
+        emitter.onError(e -> feed.remove(subscriber));
+
+        synchronized (feed) {
+            feed.subscribers.add(subscriber);
+            // Queued ahead of any change appended after this point
+            List<FeedEvent> missed = feed.since(resumeToken);
+            if (missed == null) {
+                subscriber.sendReset(feed.currentToken());
+            } else {
+                missed.forEach(subscriber::send);
+            }
+        }
+        return emitter;
+    }
+
+    /**
+     * Keeps idle connections open through proxies, drops dead subscribers and forgets boards
+     * that have had neither subscribers nor changes for a while.
+     */
+    @Scheduled(fixedRateString = "${app.feed.heartbeat-interval-ms:25000}")
+    public void heartbeat() {
+        long now = System.currentTimeMillis();
+        feeds.forEach((boardId, feed) -> {
+            synchronized (feed) {
+                if (feed.subscribers.isEmpty() && now - feed.lastActivity > idleFeedMs) {
+                    feeds.remove(boardId, feed);
+                    return;
+                }
+                feed.subscribers.forEach(Subscriber::ping);
+            }
+        });
+    }
+
+    public int getSubscriberCount(String boardId) {
+        BoardFeed feed = feeds.get(boardId);
+        return feed != null ? feed.subscribers.size() : 0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        senders.shutdownNow();
+        feeds.values().forEach(feed -> feed.subscribers.forEach(subscriber -> subscriber.emitter.complete()));
+    }
+
+    private BoardFeed feed(String boardId) {
+        return feeds.computeIfAbsent(boardId, id -> new BoardFeed(backlogSize));
+    }
+
+    /**
+     * A change as this feed sent it: the shared event plus its token in the board's sequence.
+     * Serialized as the event's fields with the token added.
+     */
+    record FeedEvent(String token, @JsonUnwrapped BoardEventDTO change) {
+    }
+
+    static final class BoardFeed {
+        private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+        private final Deque<FeedEvent> backlog = new ArrayDeque<>();
+        private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+        private final int backlogSize;
+        private long lastSeq;
+        private long lastActivity = System.currentTimeMillis();
+
+        BoardFeed(int backlogSize) {
+            this.backlogSize = backlogSize;
+        }
+
+        FeedEvent append(BoardEventDTO event) {
+            FeedEvent feedEvent = new FeedEvent(epoch + ":" + ++lastSeq, event);
+            backlog.addLast(feedEvent);
+            if (backlog.size() > backlogSize) {
+                backlog.removeFirst();
+            }
+            lastActivity = System.currentTimeMillis();
+            return feedEvent;
+        }
+
+        /**
+         * @return the events after the token, or null if they are no longer (or never were) in the backlog.
+         */
+        List<FeedEvent> since(String token) {
+            if (token == null || token.isBlank()) {
+                return List.of();
+            }
+            int separator = token.lastIndexOf(':');
+            if (separator < 0 || !token.substring(0, separator).equals(epoch)) {
+                return null;
+            }
+            long seen;
+            try {
+                seen = Long.parseLong(token.substring(separator + 1));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+            long firstMissed = seen + 1;
+            long oldestKept = lastSeq - backlog.size() + 1;
+            if (seen < 0 || seen > lastSeq || firstMissed < oldestKept) {
+                return null;
+            }
+            List<FeedEvent> events = new ArrayList<>(backlog);
+            return events.subList((int) (firstMissed - oldestKept), events.size());
+        }
+
+        String currentToken() {
+            return epoch + ":" + lastSeq;
+        }
+
+        private void remove(Subscriber subscriber) {
+            subscribers.remove(subscriber);
+            lastActivity = System.currentTimeMillis();
+        }
+    }
+
+    private final class Subscriber {
+        private final SseEmitter emitter;
+        private final BoardFeed feed;
+        private final Deque<SseEmitter.SseEventBuilder> queue = new ArrayDeque<>();
+        private boolean draining;
+        private boolean closed;
+        private boolean overflowed;
+
+        private Subscriber(SseEmitter emitter, BoardFeed feed) {
+            this.emitter = emitter;
+            this.feed = feed;
+        }
+
+        private void send(FeedEvent event) {
+            enqueue(SseEmitter.event().id(event.token()).name("change").data(event));
+        }
+
+        private void sendReset(String token) {
+            enqueue(SseEmitter.event().id(token).name("reset").data(token));
+        }
+
+        private void ping() {
+            enqueue(SseEmitter.event().comment("ping"));
+        }
+
+        private void enqueue(SseEmitter.SseEventBuilder event) {
+            boolean startDrain;
+            boolean overflow;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                overflow = queue.size() >= queueSize;
+                if (overflow) {
+                    // The client reconnects with its last token and resumes from the backlog
+                    closed = true;
+                    overflowed = true;
+                    queue.clear();
+                } else {
+                    queue.addLast(event);
+                }
+                startDrain = !draining;
+                draining = true;
+            }
+            if (overflow) {
+                feed.remove(this);
+            }
+            if (startDrain) {
+                senders.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            while (true) {
+                SseEmitter.SseEventBuilder next;
+                synchronized (this) {
+                    next = closed ? null : queue.pollFirst();
+                    if (next == null) {
+                        draining = false;
+                        if (overflowed) {
+                            overflowed = false;
+                            disconnect();
+                        }
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(next);
+                } catch (IOException | IllegalStateException e) {
+                    synchronized (this) {
+                        closed = true;
+                        queue.clear();
+                    }
+                    feed.remove(this);
+                    emitter.completeWithError(e);
+                }
+            }
+        }
+
+        private void disconnect() {
+            log.debug("Disconnecting a board feed subscriber that fell {} events behind", queueSize);
+            emitter.complete();
+        }
+    }
+}
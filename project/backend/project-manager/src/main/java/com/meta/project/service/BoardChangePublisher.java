@@ -0,0 +1,153 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardEventDTO;
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.repository.BoardRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Turns card and list mutations into {@link BoardEventDTO}s. Events are published as Spring
+ * application events and reach the {@link BoardChangeFeed} only after the transaction commits.
+ * Every event also bumps the board's content version, which is part of the board's ETag.
+ */
+@Component
+public class BoardChangePublisher {
+
+    public static final String CARD = "card";
+    public static final String LIST = "list";
+    public static final String BOARD = "board";
+
+    private final ApplicationEventPublisher eventPublisher;
+    private final BoardRepository boardRepository;
+    private final ThreadLocal<Set<String>> batchedBoardIds = new ThreadLocal<>();
+
+    public BoardChangePublisher(ApplicationEventPublisher eventPublisher, BoardRepository boardRepository) {
+        this.eventPublisher = eventPublisher;
+        this.boardRepository = boardRepository;
+    }
+
+    /**
+     * A board was created with content already on it, e.g. as a copy; listeners should load
+     * it as a whole.
+     */
+    public void boardPopulated(String boardId) {
+        publish(event(boardId, BOARD, boardId, "created"));
+    }
+
+    /**
+     * A board was deleted with its lists and cards; listeners should drop what they hold for it.
+     */
+    public void boardDeleted(String boardId) {
+        publish(event(boardId, BOARD, boardId, "deleted"));
+    }
+
+    public void cardCreated(Card card) {
+        publish(cardEvent(card, "created", null));
+    }
+
+    public void cardUpdated(Card card, String... fields) {
+        publish(cardEvent(card, "updated", List.of(fields)));
+    }
+
+    public void cardMoved(Card card) {
+        publish(cardEvent(card, "moved", null));
+    }
+
+    public void cardDeleted(String boardId, String listId, String cardId) {
+        BoardEventDTO event = event(boardId, CARD, cardId, "deleted");
+        event.setListId(listId);
+        publish(event);
+    }
+
+    public void listCreated(BoardList list) {
+        publish(listEvent(list, "created", null));
+    }
+
+    public void listUpdated(BoardList list, String... fields) {
+        publish(listEvent(list, "updated", List.of(fields)));
+    }
+
+    public void listDeleted(String boardId, String listId) {
+        publish(event(boardId, LIST, listId, "deleted"));
+    }
+
+    /**
+     * One event for a whole batch reorder, carrying only the items whose rank changed. The
+     * entity ID is the parent: the list for cards, the board for lists.
+     */
+    public void reordered(String boardId, String entity, String parentId, List<RankChangeDTO> changes) {
+        BoardEventDTO event = event(boardId, entity, parentId, "reordered");
+        if (CARD.equals(entity)) {
+            event.setListId(parentId);
+        }
+        event.setRanks(changes);
+        publish(event);
+    }
+
+    /**
+     * The ranks of every card in a list (or every list on a board) were rewritten; clients
+     * should refetch the affected items.
+     */
+    public void rebalanced(String boardId, String entity, String parentId) {
+        publish(event(boardId, entity, parentId, "rebalanced"));
+    }
+
+    private BoardEventDTO cardEvent(Card card, String action, List<String> fields) {
+        BoardEventDTO event = event(card.getBoard() != null ? card.getBoard().getId() : null, CARD, card.getId(), action);
+        event.setFields(fields);
+        event.setListId(card.getBoardList() != null ? card.getBoardList().getId() : null);
+        event.setRank(card.getRank());
+        return event;
+    }
+
+    private BoardEventDTO listEvent(BoardList list, String action, List<String> fields) {
+        BoardEventDTO event = event(list.getBoard() != null ? list.getBoard().getId() : null, LIST, list.getId(), action);
+        event.setFields(fields);
+        event.setRank(list.getRank());
+        return event;
+    }
+
+    private BoardEventDTO event(String boardId, String entity, String entityId, String action) {
+        BoardEventDTO event = new BoardEventDTO();
+        event.setBoardId(boardId);
+        event.setEntity(entity);
+        event.setEntityId(entityId);
+        event.setAction(action);
+        event.setTimestamp(System.currentTimeMillis());
+        return event;
+    }
+
+    /**
+     * Runs a series of changes whose events should bump each board's content version once,
+     * at the end, instead of once per event.
+     */
+    public void batch(Runnable changes) {
+        Set<String> boardIds = new LinkedHashSet<>();
+        batchedBoardIds.set(boardIds);
+        try {
+            changes.run();
+        } finally {
+            batchedBoardIds.remove();
+        }
+        boardIds.forEach(boardRepository::incrementContentVersion);
+    }
+
+    private void publish(BoardEventDTO event) {
+        if (event.getBoardId() != null) {
+            Set<String> batched = batchedBoardIds.get();
+            if (batched != null) {
+                batched.add(event.getBoardId());
+            } else {
+                boardRepository.incrementContentVersion(event.getBoardId());
+            }
+            eventPublisher.publishEvent(event);
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.meta.project.service;
+
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.entity.CardTransition;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardFlowWriter;
+import com.meta.project.repository.CounterRecalculator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Keeps the card and completed-card counters of lists and boards in step with card changes.
+ * Counters move by deltas inside the caller's transaction, so a list's length is a single-row
+ * read. {@link #repair()} recomputes every counter from the card rows in case they drift.
+ * <p>
+ * Every change that moves a counter is also recorded as a {@link CardTransition} and added
+ * to the board's daily flow counts through {@link CardFlowWriter}, in the same transaction.
+ */
+@Component
+@Slf4j
+public class BoardCounters {
+
+    private final BoardListRepository boardListRepository;
+    private final BoardRepository boardRepository;
+    private final CounterRecalculator counterRecalculator;
+    private final CardFlowWriter cardFlowWriter;
+
+    public BoardCounters(BoardListRepository boardListRepository,
+                         BoardRepository boardRepository,
+                         CounterRecalculator counterRecalculator,
+                         CardFlowWriter cardFlowWriter) {
+        this.boardListRepository = boardListRepository;
+        this.boardRepository = boardRepository;
+        this.counterRecalculator = counterRecalculator;
+        this.cardFlowWriter = cardFlowWriter;
+    }
+
+    public void cardAdded(Card card) {
+        batch().cardAdded(card).apply();
+    }
+
+    public void cardRemoved(String cardId, String boardId, String listId, boolean wasCompleted) {
+        batch().cardRemoved(cardId, boardId, listId, wasCompleted).apply();
+    }
+
+    /**
+     * Applies a card's move between lists or boards and any change of its completed flag.
+     */
+    public void cardChanged(String fromBoardId, String fromListId, boolean wasCompleted, Card card) {
+        batch().cardChanged(fromBoardId, fromListId, wasCompleted, card).apply();
+    }
+
+    /**
+     * Starts collecting the counter changes of many cards, so each list and board is updated
+     * once when the batch is applied instead of once per card.
+     */
+    public Batch batch() {
+        return new Batch();
+    }
+
+    /**
+     * Moves a list's totals between boards, or off its board when {@code toBoardId} is null.
+     */
+    public void listMoved(BoardList list, String fromBoardId, String toBoardId) {
+        if (Objects.equals(fromBoardId, toBoardId)) {
+            return;
+        }
+        adjustBoard(fromBoardId, -list.getCardCount(), -list.getCompletedCount());
+        adjustBoard(toBoardId, list.getCardCount(), list.getCompletedCount());
+        cardFlowWriter.listMoved(list.getId(), fromBoardId, toBoardId, list.getCardCount(), list.getCompletedCount(),
+                LocalDate.now());
+    }
+
+    /**
+     * Recomputes all counters from the card, todo and comment rows. Runs once at startup, which
+     * also fills the counters of cards created before they existed, and then on a schedule.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.counters.repair-cron:0 30 3 * * *}")
+    public void repair() {
+        try {
+            long start = System.currentTimeMillis();
+            int lists = counterRecalculator.recalculateListCounters();
+            int boards = counterRecalculator.recalculateBoardCounters();
+            int cards = counterRecalculator.recalculateCardCounters();
+            log.info("Recomputed counters of {} boards, {} lists and {} cards in {} ms",
+                    boards, lists, cards, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Error recomputing counters: ", e);
+        }
+    }
+
+    /**
+     * Counter deltas per list and board and the card transitions behind them, collected until
+     * {@link #apply()}.
+     */
+    public class Batch {
+        private final Map<String, long[]> lists = new LinkedHashMap<>();
+        private final Map<String, long[]> boards = new LinkedHashMap<>();
+        private final List<CardTransition> transitions = new ArrayList<>();
+
+        private Batch() {
+        }
+
+        public Batch cardAdded(Card card) {
+            int completed = isCompleted(card) ? 1 : 0;
+            add(lists, listIdOf(card), 1, completed);
+            add(boards, boardIdOf(card), 1, completed);
+            transitions.add(transition(card.getId(), null, null, null, boardIdOf(card), listIdOf(card), isCompleted(card)));
+            return this;
+        }
+
+        public Batch cardRemoved(String cardId, String boardId, String listId, boolean wasCompleted) {
+            int completed = wasCompleted ? 1 : 0;
+            add(lists, listId, -1, -completed);
+            add(boards, boardId, -1, -completed);
+            transitions.add(transition(cardId, boardId, listId, wasCompleted, null, null, null));
+            return this;
+        }
+
+        public Batch cardChanged(String fromBoardId, String fromListId, boolean wasCompleted, Card card) {
+            int before = wasCompleted ? 1 : 0;
+            int after = isCompleted(card) ? 1 : 0;
+            add(lists, fromListId, -1, -before);
+            add(lists, listIdOf(card), 1, after);
+            add(boards, fromBoardId, -1, -before);
+            add(boards, boardIdOf(card), 1, after);
+            if (!Objects.equals(fromBoardId, boardIdOf(card)) || !Objects.equals(fromListId, listIdOf(card))
+                    || wasCompleted != isCompleted(card)) {
+                transitions.add(transition(card.getId(), fromBoardId, fromListId, wasCompleted,
+                        boardIdOf(card), listIdOf(card), isCompleted(card)));
+            }
+            return this;
+        }
+
+        public void apply() {
+            lists.forEach((listId, delta) -> adjustList(listId, delta[0], delta[1]));
+            boards.forEach((boardId, delta) -> adjustBoard(boardId, delta[0], delta[1]));
+            cardFlowWriter.record(transitions);
+            lists.clear();
+            boards.clear();
+            transitions.clear();
+        }
+
+        private static void add(Map<String, long[]> deltas, String id, long cards, long completed) {
+            if (id != null) {
+                long[] delta = deltas.computeIfAbsent(id, key -> new long[2]);
+                delta[0] += cards;
+                delta[1] += completed;
+            }
+        }
+    }
+
+    private static CardTransition transition(String cardId, String fromBoardId, String fromListId, Boolean wasCompleted,
+                                             String toBoardId, String toListId, Boolean completed) {
+        CardTransition transition = new CardTransition();
+        transition.setId(UUID.randomUUID().toString());
+        transition.setCardId(cardId);
+        transition.setFromBoardId(fromBoardId);
+        transition.setFromListId(fromListId);
+        transition.setWasCompleted(wasCompleted);
+        transition.setToBoardId(toBoardId);
+        transition.setToListId(toListId);
+        transition.setCompleted(completed);
+        transition.setOccurredAt(LocalDateTime.now());
+        return transition;
+    }
+
+    private void adjustList(String listId, long cards, long completed) {
+        if (listId != null && (cards != 0 || completed != 0)) {
+            boardListRepository.adjustCounters(listId, cards, completed);
+        }
+    }
+
+    private void adjustBoard(String boardId, long cards, long completed) {
+        if (boardId != null && (cards != 0 || completed != 0)) {
+            boardRepository.adjustCounters(boardId, cards, completed);
+        }
+    }
+
+    private static boolean isCompleted(Card card) {
+        return Boolean.TRUE.equals(card.getIsCompleted());
+    }
+
+    private static String listIdOf(Card card) {
+        return card.getBoardList() != null ? card.getBoardList().getId() : null;
+    }
+
+    private static String boardIdOf(Card card) {
+        return card.getBoard() != null ? card.getBoard().getId() : null;
+    }
+}
@@ -0,0 +1,325 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardEventDTO;
+import com.meta.project.dto.CardFilterDTO;
+import com.meta.project.dto.CardFilterResultDTO;
+import com.meta.project.dto.LabelCountDTO;
+import com.meta.project.entity.Card;
+import com.meta.project.exception.ResourceNotFoundException;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CardRow;
+import com.meta.project.repository.CardValue;
+import com.meta.project.util.BoardBitmapIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Server-side card filtering by label, member, list, completion and due date, evaluated as
+ * bit operations over a {@link BoardBitmapIndex} per board.
+ * <p>
+ * Like the search index, the bitmaps are built from the database at startup and then follow
+ * the committed board change events on a single indexer thread. A board not indexed yet is
+ * built on first use.
+ */
+@Service
+@Slf4j
+public class BoardFilterService {
+
+    private static final Set<String> INDEXED_FIELDS = Set.of("labels", "members", "isCompleted", "dateTo");
+
+    private final CardRepository cardRepository;
+    private final BoardRepository boardRepository;
+    private final CardSummaryService cardSummaryService;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+
+    private final Map<String, BoardBitmapIndex> indexes = new ConcurrentHashMap<>();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "board-filter-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BoardFilterService(CardRepository cardRepository,
+                              BoardRepository boardRepository,
+                              CardSummaryService cardSummaryService,
+                              PlatformTransactionManager transactionManager,
+                              @Value("${app.filter.enabled:true}") boolean enabled) {
+        this.cardRepository = cardRepository;
+        this.boardRepository = boardRepository;
+        this.cardSummaryService = cardSummaryService;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Finds the cards of a board matching a filter.
+     *
+     * @param boardId   The board to filter.
+     * @param filter    The filter; null matches every card.
+     * @param summaries Whether to return card summaries along with the IDs.
+     * @return The matching card IDs, and their summaries if requested.
+     * @throws ResourceNotFoundException If the board does not exist.
+     * @throws ServiceException          If the filter is invalid or filtering is disabled.
+     */
+    public CardFilterResultDTO filterCards(String boardId, CardFilterDTO filter, boolean summaries) {
+        BoardBitmapIndex index = getIndex(boardId);
+        LocalDate today = LocalDate.now();
+        List<String> cardIds = index.select(bitmaps -> evaluate(filter, bitmaps, today));
+
+        CardFilterResultDTO result = new CardFilterResultDTO();
+        result.setCount(cardIds.size());
+        result.setCardIds(cardIds);
+        if (summaries) {
+            result.setCards(cardSummaryService.getSummariesByIds(cardIds));
+        }
+        return result;
+    }
+
+    /**
+     * The label dictionary of a board: every label in use, with the number of cards carrying it.
+     */
+    public List<LabelCountDTO> getLabels(String boardId) {
+        return getIndex(boardId).labelCounts().entrySet().stream()
+                .map(entry -> new LabelCountDTO(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    /**
+     * Rebuilds the bitmaps of every board from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        if (!enabled) {
+            return;
+        }
+        indexer.execute(() -> {
+            long start = System.currentTimeMillis();
+            List<String> boardIds = boardRepository.findAllIds();
+            indexes.keySet().retainAll(boardIds);
+            boardIds.forEach(this::rebuildBoardNow);
+            log.info("Built filter bitmaps for {} boards in {} ms", boardIds.size(), System.currentTimeMillis() - start);
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BoardEventDTO event) {
+        if (!enabled) {
+            return;
+        }
+        indexer.execute(() -> {
+            try {
+                apply(event);
+            } catch (Exception e) {
+                log.error("Error updating filter bitmaps for board {}: ", event.getBoardId(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    private BoardBitmapIndex getIndex(String boardId) {
+        if (!enabled) {
+            throw new ServiceException("Card filtering is disabled", null);
+        }
+        BoardBitmapIndex index = indexes.get(boardId);
+        if (index != null) {
+            return index;
+        }
+        if (!boardRepository.existsById(boardId)) {
+            throw new ResourceNotFoundException("Board not found with ID: " + boardId);
+        }
+        // Built on the indexer thread, so no change event for the board can be applied out of order
+        try {
+            indexer.submit(() -> rebuildBoardNow(boardId)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while indexing board " + boardId, e);
+        } catch (ExecutionException e) {
+            throw new ServiceException("Error indexing board " + boardId, e.getCause());
+        }
+        return indexes.getOrDefault(boardId, new BoardBitmapIndex());
+    }
+
+    /**
+     * Evaluates a filter node and its children against the bitmaps of a board.
+     */
+    static BitSet evaluate(CardFilterDTO filter, BoardBitmapIndex.Bitmaps bitmaps, LocalDate today) {
+        BitSet result = bitmaps.all();
+        if (filter == null) {
+            return result;
+        }
+        if (filter.getLabel() != null) {
+            result.and(bitmaps.label(filter.getLabel()));
+        }
+        if (filter.getMember() != null) {
+            result.and(bitmaps.member(filter.getMember()));
+        }
+        if (filter.getListId() != null) {
+            result.and(bitmaps.list(filter.getListId()));
+        }
+        if (filter.getCompleted() != null) {
+            if (filter.getCompleted()) {
+                result.and(bitmaps.completed());
+            } else {
+                result.andNot(bitmaps.completed());
+            }
+        }
+        if (filter.getDue() != null) {
+            result.and(due(filter.getDue(), bitmaps, today));
+        }
+        if (filter.getAnd() != null) {
+            for (CardFilterDTO child : filter.getAnd()) {
+                result.and(evaluate(child, bitmaps, today));
+            }
+        }
+        if (filter.getOr() != null && !filter.getOr().isEmpty()) {
+            BitSet any = new BitSet();
+            for (CardFilterDTO child : filter.getOr()) {
+                any.or(evaluate(child, bitmaps, today));
+            }
+            result.and(any);
+        }
+        if (filter.getNot() != null) {
+            result.andNot(evaluate(filter.getNot(), bitmaps, today));
+        }
+        return result;
+    }
+
+    private static BitSet due(String due, BoardBitmapIndex.Bitmaps bitmaps, LocalDate today) {
+        return switch (due) {
+            case "overdue" -> bitmaps.dueBetween(null, today);
+            case "today" -> bitmaps.dueBetween(today, today.plusDays(1));
+            case "week" -> bitmaps.dueBetween(today, today.plusDays(7));
+            case "none" -> bitmaps.noDueDate();
+            case "any" -> bitmaps.dueBetween(null, null);
+            default -> throw new ServiceException("Unknown due filter: " + due, null);
+        };
+    }
+
+    private void apply(BoardEventDTO event) {
+        if (BoardChangePublisher.BOARD.equals(event.getEntity())) {
+            if ("deleted".equals(event.getAction())) {
+                indexes.remove(event.getBoardId());
+            } else {
+                rebuildBoardNow(event.getBoardId());
+            }
+            return;
+        }
+        if (BoardChangePublisher.LIST.equals(event.getEntity())) {
+            BoardBitmapIndex index = indexes.get(event.getBoardId());
+            if ("deleted".equals(event.getAction()) && index != null) {
+                index.removeList(event.getEntityId());
+            } else if ("created".equals(event.getAction())) {
+                // A list moved in from another board brings its cards along
+                readTransaction.execute(status -> cardRepository.findRowsByListId(event.getEntityId()))
+                        .forEach(row -> reindexCard(row.getId()));
+            }
+            return;
+        }
+        switch (event.getAction()) {
+            case "deleted" -> {
+                BoardBitmapIndex index = indexes.get(event.getBoardId());
+                if (index != null) {
+                    index.remove(event.getEntityId());
+                }
+            }
+            case "moved" -> {
+                BoardBitmapIndex index = indexes.get(event.getBoardId());
+                if (index == null || !index.moveToList(event.getEntityId(), event.getListId())) {
+                    reindexCard(event.getEntityId());
+                }
+            }
+            case "created" -> reindexCard(event.getEntityId());
+            case "updated" -> {
+                if (event.getFields() == null || event.getFields().stream().anyMatch(INDEXED_FIELDS::contains)) {
+                    reindexCard(event.getEntityId());
+                }
+            }
+            default -> {
+                // Reorders and rebalances change nothing the bitmaps hold
+            }
+        }
+    }
+
+    private void reindexCard(String cardId) {
+        readTransaction.executeWithoutResult(status -> {
+            Card card = cardRepository.findById(cardId).orElse(null);
+            if (card == null || card.getBoard() == null) {
+                indexes.values().forEach(index -> index.remove(cardId));
+                return;
+            }
+            BoardBitmapIndex index = indexes.get(card.getBoard().getId());
+            if (index == null) {
+                // Not built yet; the first filter on the board builds it from the rows
+                return;
+            }
+            index.put(cardId, card.getBoardList() != null ? card.getBoardList().getId() : null,
+                    Boolean.TRUE.equals(card.getIsCompleted()), dueDay(card.getDateTo()),
+                    card.getLabels(), card.getMembers());
+        });
+    }
+
+    /**
+     * Builds fresh bitmaps for a board with three queries and swaps them in.
+     */
+    private void rebuildBoardNow(String boardId) {
+        try {
+            BoardBitmapIndex index = readTransaction.execute(status -> {
+                List<CardRow> rows = cardRepository.findRowsByBoardId(boardId);
+                Map<String, List<String>> labels = group(cardRepository.findLabelsByBoardId(boardId));
+                Map<String, List<String>> members = group(cardRepository.findMembersByBoardId(boardId));
+
+                BoardBitmapIndex built = new BoardBitmapIndex();
+                for (CardRow row : rows) {
+                    built.put(row.getId(), row.getListId(), Boolean.TRUE.equals(row.getIsCompleted()),
+                            dueDay(row.getDateTo()),
+                            labels.getOrDefault(row.getId(), List.of()),
+                            members.getOrDefault(row.getId(), List.of()));
+                }
+                return built;
+            });
+            indexes.put(boardId, index);
+        } catch (Exception e) {
+            log.error("Error building filter bitmaps for board {}: ", boardId, e);
+        }
+    }
+
+    private static LocalDate dueDay(LocalDateTime dateTo) {
+        return dateTo != null ? dateTo.toLocalDate() : null;
+    }
+
+    private static Map<String, List<String>> group(List<CardValue> values) {
+        Map<String, List<String>> grouped = new HashMap<>();
+        for (CardValue value : values) {
+            grouped.computeIfAbsent(value.getCardId(), id -> new ArrayList<>()).add(value.getValue());
+        }
+        return grouped;
+    }
+}
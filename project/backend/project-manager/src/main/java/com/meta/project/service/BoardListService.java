@@ -3,17 +3,26 @@ package com.meta.project.service;
 import com.meta.project.dto.BoardListDTO;
 import com.meta.project.entity.Board;
 import com.meta.project.entity.BoardList;
+import com.meta.project.exception.PreconditionFailedException;
 import com.meta.project.exception.ResourceNotFoundException;
 import com.meta.project.exception.ServiceException;
 import com.meta.project.mapper.BoardListMapper;
 import com.meta.project.repository.BoardListRepository;
 import com.meta.project.repository.BoardRepository;
 import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.MemberCardIndex;
+import com.meta.project.repository.RankTail;
+import com.meta.project.util.LexoRank;
+import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 /**
  * Service class for managing BoardLists.
@@ -22,6 +31,7 @@ import java.util.stream.Collectors;
  */
 @Service
 @Slf4j
+@Transactional
 public class BoardListService {
 
     private static final String LIST_NOT_FOUND = "List not found with ID: ";
@@ -31,21 +41,39 @@ public class BoardListService {
     private final BoardRepository boardRepository;
     private final CardRepository cardRepository;
     private final BoardListMapper boardListMapper;
+    private final RankRebalancer rankRebalancer;
+    private final BoardChangePublisher changePublisher;
+    private final BoardCounters boardCounters;
+    private final MemberCardIndex memberCardIndex;
+    private final BatchReorderService batchReorderService;
 
     /**
      * Constructor for BoardListService.
      *
      * @param boardListRepository Repository for accessing BoardList entities.
      * @param boardRepository     Repository for accessing Board entities.
-     * @param cardRepository      Repository for accessing Card entities.
+     * @param cardRepository      Repository for moving a list's cards with it between boards.
      * @param boardListMapper     Mapper for converting between BoardList entities and DTOs.
+     * @param rankRebalancer      Rewrites list ranks when they get too long.
+     * @param changePublisher     Publishes list changes to the board change feed.
+     * @param boardCounters       Moves card counters between boards with their lists.
+     * @param memberCardIndex     Moves the member card index rows between boards with their lists.
+     * @param batchReorderService Applies list reorders as rank changes.
      */
     public BoardListService(BoardListRepository boardListRepository, BoardRepository boardRepository,
-                            CardRepository cardRepository, BoardListMapper boardListMapper) {
+                            CardRepository cardRepository, BoardListMapper boardListMapper,
+                            RankRebalancer rankRebalancer, BoardChangePublisher changePublisher,
+                            BoardCounters boardCounters, MemberCardIndex memberCardIndex,
+                            BatchReorderService batchReorderService) {
         this.boardListRepository = boardListRepository;
         this.boardRepository = boardRepository;
         this.cardRepository = cardRepository;
         this.boardListMapper = boardListMapper;
+        this.rankRebalancer = rankRebalancer;
+        this.changePublisher = changePublisher;
+        this.boardCounters = boardCounters;
+        this.memberCardIndex = memberCardIndex;
+        this.batchReorderService = batchReorderService;
     }
 
     private Board getBoardById(String boardId) {
@@ -58,23 +86,54 @@ public class BoardListService {
                 .orElseThrow(() -> new ResourceNotFoundException(LIST_NOT_FOUND + id));
     }
 
+    private static void checkVersion(BoardList list, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != list.getVersion()) {
+            throw new PreconditionFailedException("List ID: " + list.getId() + " is at version "
+                    + list.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
+    /**
+     * Returns a list's current version with a primary key lookup, for conditional reads.
+     *
+     * @param id The ID of the list.
+     * @return The version of the list.
+     */
+    public long getListVersion(String id) {
+        return boardListRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(LIST_NOT_FOUND + id));
+    }
+
     /**
-     * Retrieves all lists associated with a given board ID, ordered by their order.
+     * Retrieves all lists associated with a given board ID, ordered by their rank.
+     * The integer order of each DTO is derived from its position.
      *
      * @param boardId The ID of the board.
      * @return A list of BoardListDTOs.
      */
     public List<BoardListDTO> getLists(String boardId) {
-        List<BoardList> lists = boardListRepository.findByBoardIdOrderByOrderAsc(boardId);
-        return lists.stream().map(boardListMapper::toDTO).collect(Collectors.toList());
+        List<BoardList> lists = boardListRepository.findByBoardIdOrderByRankAsc(boardId);
+        List<BoardListDTO> dtos = new ArrayList<>(lists.size());
+        for (BoardList list : lists) {
+            BoardListDTO dto = boardListMapper.toDTO(list);
+            dto.setOrder(dtos.size() + 1);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private void appendToBoard(BoardList list, String boardId) {
+        RankTail tail = boardListRepository.findRankTailByBoardId(boardId);
+        list.setRank(LexoRank.after(tail.getMaxRank()));
+        list.setOrder((int) tail.getCount() + 1);
+        rankRebalancer.checkListRank(boardId, list.getRank());
     }
 
     private BoardList createAndSaveNewList(String title, Board board) {
-        Integer maxOrder = boardListRepository.findMaxOrderByBoardId(board.getId()).orElse(0);
         BoardList list = new BoardList();
         list.setTitle(title);
+        appendToBoard(list, board.getId());
         list.setBoard(board);
-        list.setOrder(maxOrder + 1);
         return boardListRepository.save(list);
     }
 
@@ -90,6 +149,7 @@ public class BoardListService {
         try {
             Board board = getBoardById(boardId);
             BoardList savedList = createAndSaveNewList(title, board);
+            changePublisher.listCreated(savedList);
             return boardListMapper.toDTO(savedList);
         } catch (ResourceNotFoundException e) {
             throw e;
@@ -100,6 +160,9 @@ public class BoardListService {
     }
 
     private BoardList updateAndSaveList(BoardList list, String title, Board board) {
+        if (list.getBoard() == null || !list.getBoard().getId().equals(board.getId())) {
+            appendToBoard(list, board.getId());
+        }
         list.setTitle(title);
         list.setBoard(board);
         return boardListRepository.save(list);
@@ -115,12 +178,33 @@ public class BoardListService {
      * @throws ServiceException If an error occurs during list update.
      */
     public BoardListDTO updateList(String id, String title, String boardId) {
+        return updateList(id, title, boardId, null);
+    }
+
+    /**
+     * Updates an existing list, provided it is still at the version the caller last saw.
+     *
+     * @param expectedVersion The version from the caller's If-Match header, or null to skip the check.
+     * @throws PreconditionFailedException If the list has changed since that version.
+     */
+    public BoardListDTO updateList(String id, String title, String boardId, Long expectedVersion) {
         try {
             BoardList list = getBoardListEntityById(id);
+            checkVersion(list, expectedVersion);
             Board board = getBoardById(boardId);
+            String previousBoardId = list.getBoard() != null ? list.getBoard().getId() : null;
             BoardList updatedList = updateAndSaveList(list, title, board);
+            if (previousBoardId != null && !previousBoardId.equals(boardId)) {
+                cardRepository.moveListCardsToBoard(id, boardId);
+                boardCounters.listMoved(updatedList, previousBoardId, boardId);
+                memberCardIndex.listMoved(id, boardId);
+                changePublisher.listDeleted(previousBoardId, id);
+                changePublisher.listCreated(updatedList);
+            } else {
+                changePublisher.listUpdated(updatedList, "title");
+            }
             return boardListMapper.toDTO(updatedList);
-        } catch (ResourceNotFoundException e) {
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
             throw e;
         } catch (Exception e) {
             log.error("Error updating list: ", e);
@@ -128,11 +212,15 @@ public class BoardListService {
         }
     }
 
-    private void deleteBoardListById(String id) {
-        if (!boardListRepository.existsById(id)) {
-            throw new ResourceNotFoundException(LIST_NOT_FOUND + id);
-        }
+    private void deleteBoardListById(String id, Long expectedVersion) {
+        BoardList list = getBoardListEntityById(id);
+        checkVersion(list, expectedVersion);
+        memberCardIndex.removeList(id);
         boardListRepository.deleteById(id);
+        if (list.getBoard() != null) {
+            boardCounters.listMoved(list, list.getBoard().getId(), null);
+            changePublisher.listDeleted(list.getBoard().getId(), id);
+        }
     }
 
     /**
@@ -142,9 +230,19 @@ public class BoardListService {
      * @throws ServiceException If an error occurs during list deletion.
      */
     public void deleteList(String id) {
+        deleteList(id, null);
+    }
+
+    /**
+     * Deletes a list, provided it is still at the version the caller last saw.
+     *
+     * @param expectedVersion The version from the caller's If-Match header, or null to skip the check.
+     * @throws PreconditionFailedException If the list has changed since that version.
+     */
+    public void deleteList(String id, Long expectedVersion) {
         try {
-            deleteBoardListById(id);
-        } catch (ResourceNotFoundException e) {
+            deleteBoardListById(id, expectedVersion);
+        } catch (ResourceNotFoundException | PreconditionFailedException e) {
             throw e;
         } catch (Exception e) {
             log.error("Error deleting list: ", e);
@@ -153,7 +251,7 @@ public class BoardListService {
     }
 
     /**
-     * Retrieves the count of cards within a specific list.
+     * Retrieves the count of cards within a specific list from the list's counter.
      *
      * @param listId The ID of the list.
      * @return The number of cards in the list.
@@ -161,30 +259,30 @@ public class BoardListService {
      */
     public int getCardCountByListId(String listId) {
         try {
-            return cardRepository.countByBoardListId(listId);
+            return boardListRepository.findCardCountById(listId).orElse(0L).intValue();
         } catch (Exception e) {
             log.error("Error counting cards in list ID {}: ", listId, e);
             throw new ServiceException("Failed to count cards in list.", e);
         }
     }
 
-    private void updateListOrder(BoardList list, int order) {
-        list.setOrder(order);
-        boardListRepository.save(list);
-    }
-
     /**
-     * Reorders a list of BoardLists based on the provided DTOs.
+     * Reorders a list of BoardLists based on the provided DTOs. Each list moves to its
+     * {@code order} within its board, counted against the current rank order; the lists
+     * not sent keep their places relative to each other.
      *
      * @param lists A list of BoardListDTOs with updated order values.
      * @throws ServiceException If an error occurs during reordering.
      */
     public void reorderLists(List<BoardListDTO> lists) {
         try {
+            Map<String, Map<String, Integer>> positionsByBoard = new LinkedHashMap<>();
             for (BoardListDTO dto : lists) {
                 BoardList existingList = getBoardListEntityById(dto.getId());
-                updateListOrder(existingList, dto.getOrder());
+                positionsByBoard.computeIfAbsent(existingList.getBoard().getId(), id -> new HashMap<>())
+                        .put(dto.getId(), dto.getOrder());
             }
+            batchReorderService.moveLists(positionsByBoard);
         } catch (ResourceNotFoundException e) {
             throw e;
         } catch (Exception e) {
@@ -1,14 +1,23 @@
 package com.meta.project.service;
 
+import com.meta.project.dto.BoardCloneDTO;
 import com.meta.project.dto.BoardDTO;
 import com.meta.project.entity.Board;
 import com.meta.project.exception.BoardNotFoundException;
+import com.meta.project.exception.PreconditionFailedException;
+import com.meta.project.exception.ResourceNotFoundException;
 import com.meta.project.mapper.BoardMapper;
+import com.meta.project.repository.BoardCloner;
+import com.meta.project.repository.CardFlowWriter;
 import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.MemberCardIndex;
+import com.meta.project.util.ETags;
+import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @Service
@@ -16,10 +25,20 @@ public class BoardService {
 
     private final BoardRepository boardRepository;
     private final BoardMapper boardMapper;
+    private final BoardCloner boardCloner;
+    private final CardFlowWriter cardFlowWriter;
+    private final BoardChangePublisher changePublisher;
+    private final MemberCardIndex memberCardIndex;
 
-    public BoardService(BoardRepository boardRepository, BoardMapper boardMapper) {
+    public BoardService(BoardRepository boardRepository, BoardMapper boardMapper,
+                        BoardCloner boardCloner, CardFlowWriter cardFlowWriter,
+                        BoardChangePublisher changePublisher, MemberCardIndex memberCardIndex) {
         this.boardRepository = boardRepository;
         this.boardMapper = boardMapper;
+        this.boardCloner = boardCloner;
+        this.cardFlowWriter = cardFlowWriter;
+        this.changePublisher = changePublisher;
+        this.memberCardIndex = memberCardIndex;
     }
 
     // Get all boards
@@ -47,6 +66,64 @@ public class BoardService {
         return boardMapper.toDTO(boardRepository.save(board));
     }
 
+    // Get templates, of one team or of all teams
+    public List<BoardDTO> getTemplates(String teamId) {
+        List<Board> templates = teamId != null
+                ? boardRepository.findByTemplateTrueAndTeamId(teamId)
+                : boardRepository.findByTemplateTrue();
+        return templates.stream()
+                .map(boardMapper::toDTO)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * Copies a board with its lists, cards, labels, links, members and todos. Comments and
+     * tracked times are not copied.
+     *
+     * @param id      The ID of the board to copy.
+     * @param options The title, team and template flag of the copy, and whether to reset progress.
+     * @return The new board.
+     * @throws ResourceNotFoundException If the board does not exist.
+     */
+    @Transactional
+    public BoardDTO cloneBoard(String id, BoardCloneDTO options) {
+        Board source = boardRepository.findById(id)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with ID: " + id));
+        String targetId = UUID.randomUUID().toString();
+        boardCloner.cloneBoard(id, targetId,
+                options.getTitle() != null ? options.getTitle() : source.getTitle(),
+                options.getTeamId() != null ? options.getTeamId() : source.getTeamId(),
+                Boolean.TRUE.equals(options.getTemplate()),
+                Boolean.TRUE.equals(options.getResetProgress()));
+        // The copied cards start the new board's flow on the day of the copy
+        cardFlowWriter.backfillBoard(targetId);
+        memberCardIndex.addBoard(targetId);
+        changePublisher.boardPopulated(targetId);
+        return boardRepository.findById(targetId).map(boardMapper::toDTO)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with ID: " + targetId));
+    }
+
+    /**
+     * Creates a board from a template, with progress reset unless the options say otherwise.
+     *
+     * @param templateId The ID of the template board.
+     * @param options    The title and team of the new board.
+     * @return The new board.
+     * @throws ResourceNotFoundException If there is no template with that ID.
+     */
+    @Transactional
+    public BoardDTO instantiateTemplate(String templateId, BoardCloneDTO options) {
+        if (!boardRepository.findById(templateId).map(Board::isTemplate).orElse(false)) {
+            throw new ResourceNotFoundException("Template not found with ID: " + templateId);
+        }
+        BoardCloneDTO instance = new BoardCloneDTO();
+        instance.setTitle(options.getTitle());
+        instance.setTeamId(options.getTeamId());
+        instance.setTemplate(false);
+        instance.setResetProgress(options.getResetProgress() == null || options.getResetProgress());
+        return cloneBoard(templateId, instance);
+    }
+
     /**
      * Retrieves a board by its ID.
      *
@@ -58,15 +135,45 @@ public class BoardService {
                 .map(boardMapper::toDTO);
     }
 
+    /**
+     * Returns the ETag of a board and everything on it. It changes whenever the board, one of
+     * its lists or one of its cards changes, and costs a single primary key lookup.
+     *
+     * @param id The ID of the board.
+     * @return The quoted ETag.
+     */
+    public String getBoardETag(String id) {
+        return boardRepository.findVersionById(id)
+                .map(version -> ETags.of(version.getVersion(), version.getContentVersion()))
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with ID: " + id));
+    }
+
     /**
      * Deletes a board by its ID.
      *
      * @param id The ID of the board to delete.
      */
     public void deleteBoard(String id) {
+        deleteBoard(id, null);
+    }
+
+    /**
+     * Deletes a board by its ID, provided it has not changed since the given ETag.
+     *
+     * @param id      The ID of the board to delete.
+     * @param ifMatch The caller's If-Match header, or null to skip the check.
+     * @throws PreconditionFailedException If the board has changed.
+     */
+    @Transactional
+    public void deleteBoard(String id, String ifMatch) {
         if (!boardRepository.existsById(id)) {
             throw new BoardNotFoundException("Board not found with ID: " + id);
         }
+        if (ifMatch != null && !ETags.matches(ifMatch, getBoardETag(id))) {
+            throw new PreconditionFailedException("Board ID: " + id + " has changed");
+        }
+        memberCardIndex.removeBoard(id);
+        changePublisher.boardDeleted(id);
         boardRepository.deleteById(id);
     }
 }
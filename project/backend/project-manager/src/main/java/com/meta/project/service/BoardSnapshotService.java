@@ -0,0 +1,148 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardSnapshotDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.entity.Board;
+import com.meta.project.entity.BoardList;
+import com.meta.project.exception.ResourceNotFoundException;
+import com.meta.project.mapper.CommentMapper;
+import com.meta.project.mapper.TodoMapper;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CardRow;
+import com.meta.project.repository.CardValue;
+import com.meta.project.repository.CommentRepository;
+import com.meta.project.repository.TodoRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * Loads a whole board for the UI with a fixed number of queries, whatever the number of cards:
+ * the board, its lists, the card rows, one query per card value collection, and the
+ * comments and todos of the board. The tree is assembled in memory.
+ */
+@Service
+public class BoardSnapshotService {
+
+    private final BoardRepository boardRepository;
+    private final BoardListRepository boardListRepository;
+    private final CardRepository cardRepository;
+    private final CommentRepository commentRepository;
+    private final TodoRepository todoRepository;
+    private final CommentMapper commentMapper;
+    private final TodoMapper todoMapper;
+
+    public BoardSnapshotService(BoardRepository boardRepository,
+                                BoardListRepository boardListRepository,
+                                CardRepository cardRepository,
+                                CommentRepository commentRepository,
+                                TodoRepository todoRepository,
+                                CommentMapper commentMapper,
+                                TodoMapper todoMapper) {
+        this.boardRepository = boardRepository;
+        this.boardListRepository = boardListRepository;
+        this.cardRepository = cardRepository;
+        this.commentRepository = commentRepository;
+        this.todoRepository = todoRepository;
+        this.commentMapper = commentMapper;
+        this.todoMapper = todoMapper;
+    }
+
+    /**
+     * Builds the snapshot of a board.
+     *
+     * @param boardId The ID of the board.
+     * @return The board with its lists and cards.
+     * @throws ResourceNotFoundException If the board does not exist.
+     */
+    @Transactional(readOnly = true)
+    public BoardSnapshotDTO getSnapshot(String boardId) {
+        Board board = boardRepository.findById(boardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Board not found with ID: " + boardId));
+
+        Map<String, CardDTO> cards = new LinkedHashMap<>();
+        Map<String, List<CardDTO>> cardsByList = new HashMap<>();
+        for (CardRow row : cardRepository.findRowsByBoardId(boardId)) {
+            CardDTO card = toCardDTO(row, boardId);
+            List<CardDTO> listCards = cardsByList.computeIfAbsent(row.getListId(), id -> new ArrayList<>());
+            card.setOrder(listCards.size() + 1);
+            listCards.add(card);
+            cards.put(card.getId(), card);
+        }
+
+        attachValues(cards, cardRepository.findLabelsByBoardId(boardId), CardDTO::getLabels);
+        attachValues(cards, cardRepository.findLinksByBoardId(boardId), CardDTO::getLinks);
+        attachValues(cards, cardRepository.findTrackedTimesByBoardId(boardId), CardDTO::getTrackedTimes);
+        attachValues(cards, cardRepository.findMembersByBoardId(boardId), CardDTO::getMemberIds);
+        attach(cards, commentRepository.findByBoardId(boardId), comment -> comment.getCard().getId(),
+                (card, comment) -> card.getComments().add(commentMapper.toDTO(comment)));
+        attach(cards, todoRepository.findByBoardId(boardId), todo -> todo.getCard().getId(),
+                (card, todo) -> card.getTodos().add(todoMapper.toDTO(todo)));
+
+        BoardSnapshotDTO snapshot = new BoardSnapshotDTO();
+        snapshot.setId(board.getId());
+        snapshot.setTitle(board.getTitle());
+        snapshot.setImage(board.getImage());
+        snapshot.setTeamId(board.getTeamId());
+
+        // Board.lists is a hash set keyed on BoardList equality, so read the lists directly
+        List<BoardList> lists = boardListRepository.findByBoardIdOrderByRankAsc(boardId);
+        List<BoardSnapshotDTO.ListSnapshotDTO> listDTOs = new ArrayList<>(lists.size());
+        for (BoardList list : lists) {
+            BoardSnapshotDTO.ListSnapshotDTO listDTO = new BoardSnapshotDTO.ListSnapshotDTO();
+            listDTO.setId(list.getId());
+            listDTO.setTitle(list.getTitle());
+            listDTO.setOrder(listDTOs.size() + 1);
+            listDTO.setCards(cardsByList.getOrDefault(list.getId(), List.of()));
+            listDTOs.add(listDTO);
+        }
+        snapshot.setLists(listDTOs);
+        return snapshot;
+    }
+
+    private CardDTO toCardDTO(CardRow row, String boardId) {
+        CardDTO dto = new CardDTO();
+        dto.setId(row.getId());
+        dto.setTitle(row.getTitle());
+        dto.setDescription(row.getDescription());
+        dto.setBoardId(boardId);
+        dto.setListId(row.getListId());
+        dto.setUserId(row.getUserId());
+        dto.setDateTo(row.getDateTo());
+        dto.setIsCompleted(row.getIsCompleted());
+        dto.setUpdatedAt(row.getUpdatedAt());
+        dto.setVersion(row.getVersion());
+        dto.setLabels(new ArrayList<>());
+        dto.setLinks(new ArrayList<>());
+        dto.setTrackedTimes(new ArrayList<>());
+        dto.setMemberIds(new ArrayList<>());
+        dto.setComments(new ArrayList<>());
+        dto.setTodos(new ArrayList<>());
+        return dto;
+    }
+
+    private void attachValues(Map<String, CardDTO> cards, List<CardValue> values,
+                              Function<CardDTO, List<String>> collection) {
+        attach(cards, values, CardValue::getCardId,
+                (card, value) -> collection.apply(card).add(value.getValue()));
+    }
+
+    private <T> void attach(Map<String, CardDTO> cards, List<T> items, Function<T, String> cardId,
+                            BiConsumer<CardDTO, T> add) {
+        for (T item : items) {
+            CardDTO card = cards.get(cardId.apply(item));
+            if (card != null) {
+                add.accept(card, item);
+            }
+        }
+    }
+}
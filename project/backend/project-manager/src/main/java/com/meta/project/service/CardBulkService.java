@@ -0,0 +1,282 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.CardBulkCommandDTO;
+import com.meta.project.dto.CardBulkResultDTO;
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.MemberCardIndex;
+import com.meta.project.repository.RankTail;
+import com.meta.project.util.LexoRank;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Applies a list of card commands (move, label and member changes, completion, delete) in one
+ * transaction.
+ * <p>
+ * All cards and target lists are loaded up front with one query each, every command then
+ * only changes managed entities, and a single flush at the end sends the writes as JDBC
+ * batches. Counters, change events and board content versions are settled once per list and
+ * board from each card's state before and after the batch, as are the member card index rows
+ * of cards whose members or board changed.
+ * <p>
+ * A command whose card or list does not exist, whose version check fails or that is
+ * malformed is skipped and reported; the others still apply.
+ */
+@Service
+@Slf4j
+@Transactional
+public class CardBulkService {
+
+    private static final String MOVE = "move";
+    private static final String ADD_LABELS = "addLabels";
+    private static final String REMOVE_LABELS = "removeLabels";
+    private static final String ADD_MEMBERS = "addMembers";
+    private static final String REMOVE_MEMBERS = "removeMembers";
+    private static final String COMPLETE = "complete";
+    private static final String DELETE = "delete";
+
+    private final CardRepository cardRepository;
+    private final BoardListRepository boardListRepository;
+    private final RankRebalancer rankRebalancer;
+    private final BoardChangePublisher changePublisher;
+    private final BoardCounters boardCounters;
+    private final MemberCardIndex memberCardIndex;
+    private final int maxCommands;
+
+    public CardBulkService(CardRepository cardRepository,
+                           BoardListRepository boardListRepository,
+                           RankRebalancer rankRebalancer,
+                           BoardChangePublisher changePublisher,
+                           BoardCounters boardCounters,
+                           MemberCardIndex memberCardIndex,
+                           @Value("${app.bulk.max-commands:500}") int maxCommands) {
+        this.cardRepository = cardRepository;
+        this.boardListRepository = boardListRepository;
+        this.rankRebalancer = rankRebalancer;
+        this.changePublisher = changePublisher;
+        this.boardCounters = boardCounters;
+        this.memberCardIndex = memberCardIndex;
+        this.maxCommands = maxCommands;
+    }
+
+    /**
+     * Where a card was before the batch, and what the batch did to it.
+     */
+    private static final class Touched {
+        private final Card card;
+        private final String boardId;
+        private final String listId;
+        private final boolean completed;
+        private final Set<String> fields = new LinkedHashSet<>();
+        private boolean moved;
+        private boolean deleted;
+
+        private Touched(Card card) {
+            this.card = card;
+            this.boardId = card.getBoard() != null ? card.getBoard().getId() : null;
+            this.listId = card.getBoardList() != null ? card.getBoardList().getId() : null;
+            this.completed = Boolean.TRUE.equals(card.getIsCompleted());
+        }
+    }
+
+    /**
+     * The end of a target list while cards are appended to it.
+     */
+    private static final class Tail {
+        private String rank;
+        private int count;
+
+        private Tail(RankTail tail) {
+            this.rank = tail.getMaxRank();
+            this.count = (int) tail.getCount();
+        }
+    }
+
+    /**
+     * Applies the commands in order.
+     *
+     * @param commands The commands to apply.
+     * @return One result per command, in the same order.
+     * @throws ServiceException If there are too many commands or the batch fails as a whole.
+     */
+    public List<CardBulkResultDTO> applyCommands(List<CardBulkCommandDTO> commands) {
+        if (commands == null || commands.isEmpty()) {
+            return List.of();
+        }
+        if (commands.size() > maxCommands) {
+            throw new ServiceException("A bulk request takes at most " + maxCommands + " commands", null);
+        }
+        try {
+            Set<String> cardIds = commands.stream().map(CardBulkCommandDTO::getCardId)
+                    .filter(Objects::nonNull).collect(Collectors.toSet());
+            Set<String> listIds = commands.stream().filter(command -> MOVE.equals(command.getOp()))
+                    .map(CardBulkCommandDTO::getListId).filter(Objects::nonNull).collect(Collectors.toSet());
+            Map<String, Card> cards = cardRepository.findWithLabelsAndMembersByIds(cardIds).stream()
+                    .collect(Collectors.toMap(Card::getId, Function.identity()));
+            Map<String, BoardList> lists = boardListRepository.findAllById(listIds).stream()
+                    .collect(Collectors.toMap(BoardList::getId, Function.identity()));
+
+            Map<String, Touched> touched = new LinkedHashMap<>();
+            Map<String, Tail> tails = new HashMap<>();
+            List<CardBulkResultDTO> results = new ArrayList<>(commands.size());
+            for (int i = 0; i < commands.size(); i++) {
+                CardBulkCommandDTO command = commands.get(i);
+                CardBulkResultDTO result = result(i, command);
+                Card card = command.getCardId() != null ? cards.get(command.getCardId()) : null;
+                if (card == null) {
+                    reject(result, CardBulkResultDTO.NOT_FOUND, "Card not found with ID: " + command.getCardId());
+                } else if (command.getVersion() != null && command.getVersion() != card.getVersion()) {
+                    reject(result, CardBulkResultDTO.CONFLICT, "Card is at version " + card.getVersion());
+                } else {
+                    Touched state = touched.computeIfAbsent(card.getId(), id -> new Touched(card));
+                    apply(command, state, lists, tails, result);
+                    if (state.deleted) {
+                        cards.remove(card.getId());
+                    }
+                }
+                results.add(result);
+            }
+
+            cardRepository.flush();
+            settle(touched.values());
+            tails.forEach((listId, tail) -> rankRebalancer.checkCardRank(listId, tail.rank));
+            for (CardBulkResultDTO result : results) {
+                Card card = cards.get(result.getCardId());
+                if (CardBulkResultDTO.APPLIED.equals(result.getStatus()) && card != null) {
+                    result.setVersion(card.getVersion());
+                }
+            }
+            return results;
+        } catch (ObjectOptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error applying bulk card commands: ", e);
+            throw new ServiceException("Error applying bulk card commands", e);
+        }
+    }
+
+    private void apply(CardBulkCommandDTO command, Touched state, Map<String, BoardList> lists,
+                       Map<String, Tail> tails, CardBulkResultDTO result) {
+        Card card = state.card;
+        String op = command.getOp() != null ? command.getOp() : "";
+        switch (op) {
+            case MOVE -> {
+                BoardList list = command.getListId() != null ? lists.get(command.getListId()) : null;
+                if (list == null) {
+                    reject(result, CardBulkResultDTO.NOT_FOUND, "BoardList not found with ID: " + command.getListId());
+                    return;
+                }
+                Tail tail = tails.computeIfAbsent(list.getId(),
+                        id -> new Tail(cardRepository.findRankTailByListId(id)));
+                tail.rank = LexoRank.after(tail.rank);
+                tail.count++;
+                card.setBoardList(list);
+                card.setBoard(list.getBoard());
+                card.setRank(tail.rank);
+                card.setOrder(tail.count);
+                state.moved = true;
+            }
+            case ADD_LABELS, REMOVE_LABELS, ADD_MEMBERS, REMOVE_MEMBERS -> {
+                if (command.getValues() == null || command.getValues().isEmpty()) {
+                    reject(result, CardBulkResultDTO.INVALID, op + " needs values");
+                    return;
+                }
+                boolean labels = ADD_LABELS.equals(op) || REMOVE_LABELS.equals(op);
+                Set<String> values = labels ? card.getLabels() : card.getMembers();
+                if (op.startsWith("add")) {
+                    values.addAll(command.getValues());
+                } else {
+                    command.getValues().forEach(values::remove);
+                }
+                state.fields.add(labels ? "labels" : "members");
+            }
+            case COMPLETE -> {
+                card.setIsCompleted(command.getCompleted() == null || command.getCompleted());
+                state.fields.add("isCompleted");
+            }
+            case DELETE -> {
+                cardRepository.delete(card);
+                state.deleted = true;
+            }
+            default -> {
+                reject(result, CardBulkResultDTO.INVALID, "Unknown bulk operation: " + command.getOp());
+                return;
+            }
+        }
+        // Collection-only changes do not dirty the card row; this moves its version as well
+        card.setUpdatedAt(LocalDateTime.now());
+    }
+
+    /**
+     * Updates counters and publishes one set of events per card from its state before and
+     * after the batch, bumping each board's content version once.
+     */
+    private void settle(Iterable<Touched> touched) {
+        BoardCounters.Batch counters = boardCounters.batch();
+        List<String> deletedIds = new ArrayList<>();
+        List<String> memberChangedIds = new ArrayList<>();
+        changePublisher.batch(() -> {
+            for (Touched state : touched) {
+                Card card = state.card;
+                if (state.deleted) {
+                    counters.cardRemoved(card.getId(), state.boardId, state.listId, state.completed);
+                    deletedIds.add(card.getId());
+                    changePublisher.cardDeleted(state.boardId, state.listId, card.getId());
+                    continue;
+                }
+                counters.cardChanged(state.boardId, state.listId, state.completed, card);
+                String boardId = card.getBoard() != null ? card.getBoard().getId() : null;
+                if (!Objects.equals(state.boardId, boardId) || state.fields.contains("members")) {
+                    memberChangedIds.add(card.getId());
+                }
+                if (!Objects.equals(state.boardId, boardId)) {
+                    changePublisher.cardDeleted(state.boardId, state.listId, card.getId());
+                    changePublisher.cardCreated(card);
+                    continue;
+                }
+                if (state.moved) {
+                    changePublisher.cardMoved(card);
+                }
+                if (!state.fields.isEmpty()) {
+                    changePublisher.cardUpdated(card, state.fields.toArray(String[]::new));
+                }
+            }
+        });
+        counters.apply();
+        memberCardIndex.removeCards(deletedIds);
+        memberCardIndex.syncCards(memberChangedIds);
+    }
+
+    private static CardBulkResultDTO result(int index, CardBulkCommandDTO command) {
+        CardBulkResultDTO result = new CardBulkResultDTO();
+        result.setIndex(index);
+        result.setCardId(command.getCardId());
+        result.setOp(command.getOp());
+        result.setStatus(CardBulkResultDTO.APPLIED);
+        return result;
+    }
+
+    private static void reject(CardBulkResultDTO result, String status, String message) {
+        result.setStatus(status);
+        result.setMessage(message);
+    }
+}
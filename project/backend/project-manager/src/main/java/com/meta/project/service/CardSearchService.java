@@ -0,0 +1,299 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardEventDTO;
+import com.meta.project.dto.CardSearchResultDTO;
+import com.meta.project.entity.Card;
+import com.meta.project.entity.Comment;
+import com.meta.project.entity.Todo;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CardRow;
+import com.meta.project.repository.CardValue;
+import com.meta.project.repository.CommentRepository;
+import com.meta.project.repository.TodoRepository;
+import com.meta.project.util.InvertedIndex;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Predicate;
+
+/**
+ * Full-text search over card titles, descriptions, comments and todos, with one
+ * {@link InvertedIndex} per board.
+ * <p>
+ * The indexes are built from the database at startup and then follow the board change feed:
+ * every committed card or list change is applied on a single indexer thread, so searches
+ * see a change shortly after it commits. A team search queries each of the team's boards
+ * and merges the hits; scores are per-board BM25 and only roughly comparable across boards.
+ */
+@Service
+@Slf4j
+public class CardSearchService {
+
+    private static final int MAX_LIMIT = 100;
+    private static final Set<String> INDEXED_FIELDS =
+            Set.of("title", "description", "comments", "todos", "labels", "members", "isCompleted");
+
+    private final CardRepository cardRepository;
+    private final BoardRepository boardRepository;
+    private final CommentRepository commentRepository;
+    private final TodoRepository todoRepository;
+    private final TransactionTemplate readTransaction;
+    private final boolean enabled;
+
+    private final Map<String, InvertedIndex<CardMeta>> indexes = new ConcurrentHashMap<>();
+    private final ExecutorService indexer = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "card-search-indexer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /**
+     * What the index keeps per card besides its terms: enough to filter and render a hit.
+     */
+    record CardMeta(String boardId, String listId, String title, boolean completed,
+                    Set<String> labels, Set<String> members) {
+
+        CardMeta withListId(String newListId) {
+            return new CardMeta(boardId, newListId, title, completed, labels, members);
+        }
+    }
+
+    public CardSearchService(CardRepository cardRepository,
+                             BoardRepository boardRepository,
+                             CommentRepository commentRepository,
+                             TodoRepository todoRepository,
+                             PlatformTransactionManager transactionManager,
+                             @Value("${app.search.enabled:true}") boolean enabled) {
+        this.cardRepository = cardRepository;
+        this.boardRepository = boardRepository;
+        this.commentRepository = commentRepository;
+        this.todoRepository = todoRepository;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.enabled = enabled;
+    }
+
+    /**
+     * Searches the cards of one board, or of every board of a team.
+     *
+     * @param query     The search text; the last word also matches as a prefix.
+     * @param boardId   The board to search, or null to search by team.
+     * @param teamId    The team whose boards to search when no board is given.
+     * @param labels    Labels a card must all have, or null.
+     * @param memberId  A member the card must have, or null.
+     * @param completed The completion state to match, or null for any.
+     * @param limit     The maximum number of hits.
+     * @return The hits, best first.
+     */
+    public List<CardSearchResultDTO> search(String query, String boardId, String teamId, Collection<String> labels,
+                                            String memberId, Boolean completed, int limit) {
+        if (query == null || query.isBlank()) {
+            throw new ServiceException("Search query must not be empty", null);
+        }
+        List<String> boardIds;
+        if (boardId != null) {
+            boardIds = List.of(boardId);
+        } else if (teamId != null) {
+            boardIds = boardRepository.findIdsByTeamId(teamId);
+        } else {
+            throw new ServiceException("Either boardId or teamId is required to search", null);
+        }
+
+        Predicate<CardMeta> filter = meta -> (completed == null || meta.completed() == completed)
+                && (labels == null || meta.labels().containsAll(labels))
+                && (memberId == null || meta.members().contains(memberId));
+        int max = Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        List<InvertedIndex.Hit<CardMeta>> hits = new ArrayList<>();
+        for (String id : boardIds) {
+            InvertedIndex<CardMeta> index = indexes.get(id);
+            if (index != null) {
+                hits.addAll(index.search(query, filter, max));
+            }
+        }
+        return hits.stream()
+                .sorted(Comparator.comparingDouble((InvertedIndex.Hit<CardMeta> hit) -> hit.score()).reversed())
+                .limit(max)
+                .map(this::toResult)
+                .toList();
+    }
+
+    /**
+     * Rebuilds the index of every board from the database.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildAll() {
+        if (!enabled) {
+            return;
+        }
+        indexer.execute(() -> {
+            long start = System.currentTimeMillis();
+            List<String> boardIds = boardRepository.findAllIds();
+            indexes.keySet().retainAll(boardIds);
+            boardIds.forEach(this::rebuildBoardNow);
+            log.info("Built search indexes for {} boards in {} ms", boardIds.size(), System.currentTimeMillis() - start);
+        });
+    }
+
+    /**
+     * Rebuilds the index of one board from the database, e.g. after bulk changes made outside
+     * the services.
+     */
+    public void rebuildBoard(String boardId) {
+        if (enabled) {
+            indexer.execute(() -> rebuildBoardNow(boardId));
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BoardEventDTO event) {
+        if (!enabled) {
+            return;
+        }
+        indexer.execute(() -> {
+            try {
+                apply(event);
+            } catch (Exception e) {
+                log.error("Error updating search index for board {}: ", event.getBoardId(), e);
+            }
+        });
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        indexer.shutdownNow();
+    }
+
+    private void apply(BoardEventDTO event) {
+        if (BoardChangePublisher.BOARD.equals(event.getEntity())) {
+            if ("deleted".equals(event.getAction())) {
+                indexes.remove(event.getBoardId());
+            } else {
+                rebuildBoardNow(event.getBoardId());
+            }
+            return;
+        }
+        InvertedIndex<CardMeta> index = indexes.computeIfAbsent(event.getBoardId(), id -> new InvertedIndex<>());
+        if (BoardChangePublisher.LIST.equals(event.getEntity())) {
+            if ("deleted".equals(event.getAction())) {
+                index.removeIf(meta -> event.getEntityId().equals(meta.listId()));
+            } else if ("created".equals(event.getAction())) {
+                // A list moved in from another board brings its cards along
+                readTransaction.execute(status -> cardRepository.findRowsByListId(event.getEntityId()))
+                        .forEach(row -> reindexCard(row.getId()));
+            }
+            return;
+        }
+        switch (event.getAction()) {
+            case "deleted" -> index.remove(event.getEntityId());
+            case "moved" -> {
+                if (!index.updateMeta(event.getEntityId(), meta -> meta.withListId(event.getListId()))) {
+                    reindexCard(event.getEntityId());
+                }
+            }
+            case "created" -> reindexCard(event.getEntityId());
+            case "updated" -> {
+                if (event.getFields() == null || event.getFields().stream().anyMatch(INDEXED_FIELDS::contains)) {
+                    reindexCard(event.getEntityId());
+                }
+            }
+            default -> {
+                // Reorders and rebalances change no indexed content
+            }
+        }
+    }
+
+    private void reindexCard(String cardId) {
+        readTransaction.executeWithoutResult(status -> {
+            Card card = cardRepository.findById(cardId).orElse(null);
+            if (card == null || card.getBoard() == null) {
+                indexes.values().forEach(index -> index.remove(cardId));
+                return;
+            }
+            List<String> texts = new ArrayList<>();
+            texts.add(card.getDescription());
+            card.getComments().stream().map(Comment::getText).forEach(texts::add);
+            card.getTodos().stream().map(Todo::getContent).forEach(texts::add);
+            CardMeta meta = new CardMeta(card.getBoard().getId(),
+                    card.getBoardList() != null ? card.getBoardList().getId() : null,
+                    card.getTitle(), Boolean.TRUE.equals(card.getIsCompleted()),
+                    Set.copyOf(card.getLabels()), Set.copyOf(card.getMembers()));
+            indexes.computeIfAbsent(meta.boardId(), id -> new InvertedIndex<>())
+                    .put(cardId, meta, card.getTitle(), texts);
+        });
+    }
+
+    /**
+     * Builds a fresh index for a board with a fixed number of queries and swaps it in, so
+     * searches keep using the old index until the new one is complete.
+     */
+    private void rebuildBoardNow(String boardId) {
+        try {
+            InvertedIndex<CardMeta> index = readTransaction.execute(status -> {
+                List<CardRow> rows = cardRepository.findRowsByBoardId(boardId);
+                Map<String, List<String>> labels = group(cardRepository.findLabelsByBoardId(boardId));
+                Map<String, List<String>> members = group(cardRepository.findMembersByBoardId(boardId));
+                Map<String, List<String>> texts = group(commentRepository.findTextsByBoardId(boardId));
+                todoRepository.findContentsByBoardId(boardId).forEach(todo ->
+                        texts.computeIfAbsent(todo.getCardId(), id -> new ArrayList<>()).add(todo.getValue()));
+
+                InvertedIndex<CardMeta> built = new InvertedIndex<>();
+                for (CardRow row : rows) {
+                    List<String> cardTexts = new ArrayList<>(texts.getOrDefault(row.getId(), List.of()));
+                    cardTexts.add(row.getDescription());
+                    CardMeta meta = new CardMeta(boardId, row.getListId(), row.getTitle(),
+                            Boolean.TRUE.equals(row.getIsCompleted()),
+                            new HashSet<>(labels.getOrDefault(row.getId(), List.of())),
+                            new HashSet<>(members.getOrDefault(row.getId(), List.of())));
+                    built.put(row.getId(), meta, row.getTitle(), cardTexts);
+                }
+                return built;
+            });
+            indexes.put(boardId, index);
+        } catch (Exception e) {
+            log.error("Error building search index for board {}: ", boardId, e);
+        }
+    }
+
+    private static Map<String, List<String>> group(List<CardValue> values) {
+        Map<String, List<String>> grouped = new HashMap<>();
+        for (CardValue value : values) {
+            grouped.computeIfAbsent(value.getCardId(), id -> new ArrayList<>()).add(value.getValue());
+        }
+        return grouped;
+    }
+
+    private CardSearchResultDTO toResult(InvertedIndex.Hit<CardMeta> hit) {
+        CardMeta meta = hit.meta();
+        CardSearchResultDTO result = new CardSearchResultDTO();
+        result.setCardId(hit.key());
+        result.setBoardId(meta.boardId());
+        result.setListId(meta.listId());
+        result.setTitle(meta.title());
+        result.setIsCompleted(meta.completed());
+        result.setLabels(List.copyOf(meta.labels()));
+        result.setMemberIds(List.copyOf(meta.members()));
+        result.setScore(hit.score());
+        return result;
+    }
+}
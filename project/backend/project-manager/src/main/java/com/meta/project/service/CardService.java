@@ -1,26 +1,52 @@
 package com.meta.project.service;
 
+import com.meta.project.dto.CardCollectionsPatchDTO;
 import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.ChildDeltaDTO;
+import com.meta.project.dto.CommentDTO;
+import com.meta.project.dto.PageDTO;
+import com.meta.project.dto.SetDeltaDTO;
+import com.meta.project.dto.TodoDTO;
 import com.meta.project.dto.UpdateCardDTO;
 import com.meta.project.entity.Board;
 import com.meta.project.entity.BoardList;
 import com.meta.project.entity.Card;
 import com.meta.project.entity.Comment;
 import com.meta.project.entity.Todo;
+import com.meta.project.exception.PreconditionFailedException;
 import com.meta.project.exception.ResourceNotFoundException;
 import com.meta.project.exception.ServiceException;
 import com.meta.project.mapper.CardMapper;
+import com.meta.project.mapper.CommentMapper;
+import com.meta.project.mapper.TodoMapper;
 import com.meta.project.repository.BoardListRepository;
 import com.meta.project.repository.BoardRepository;
 import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CommentRepository;
+import com.meta.project.repository.MemberCardIndex;
+import com.meta.project.repository.RankTail;
+import com.meta.project.util.Cursors;
+import com.meta.project.util.LexoRank;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 
 import jakarta.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
@@ -29,20 +55,198 @@ import java.util.stream.Collectors;
 public class CardService {
 
     private static final String CARD_NOT_FOUND_MESSAGE = "Card not found with ID: ";
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
 
     private final CardRepository cardRepository;
     private final BoardRepository boardRepository;
     private final BoardListRepository boardListRepository;
     private final CardMapper cardMapper;
+    private final CommentMapper commentMapper;
+    private final TodoMapper todoMapper;
+    private final RankRebalancer rankRebalancer;
+    private final BoardChangePublisher changePublisher;
+    private final BoardCounters boardCounters;
+    private final CommentRepository commentRepository;
+    private final MemberCardIndex memberCardIndex;
+    private final TimeTrackingService timeTrackingService;
+    private final BatchReorderService batchReorderService;
 
     public CardService(CardRepository cardRepository,
                        BoardRepository boardRepository,
                        BoardListRepository boardListRepository,
-                       CardMapper cardMapper) {
+                       CardMapper cardMapper,
+                       CommentMapper commentMapper,
+                       TodoMapper todoMapper,
+                       RankRebalancer rankRebalancer,
+                       BoardChangePublisher changePublisher,
+                       BoardCounters boardCounters,
+                       CommentRepository commentRepository,
+                       MemberCardIndex memberCardIndex,
+                       TimeTrackingService timeTrackingService,
+                       BatchReorderService batchReorderService) {
         this.cardRepository = cardRepository;
         this.boardRepository = boardRepository;
         this.boardListRepository = boardListRepository;
         this.cardMapper = cardMapper;
+        this.commentMapper = commentMapper;
+        this.todoMapper = todoMapper;
+        this.rankRebalancer = rankRebalancer;
+        this.changePublisher = changePublisher;
+        this.boardCounters = boardCounters;
+        this.commentRepository = commentRepository;
+        this.memberCardIndex = memberCardIndex;
+        this.timeTrackingService = timeTrackingService;
+        this.batchReorderService = batchReorderService;
+    }
+
+    /**
+     * Makes a managed value collection equal to {@code desired} by mutating it in place, so
+     * Hibernate issues row-level INSERTs and DELETEs for the difference instead of deleting
+     * and re-inserting the whole collection.
+     */
+    private static void syncValues(Set<String> current, Collection<String> desired) {
+        Set<String> target = desired != null ? new HashSet<>(desired) : Set.of();
+        current.retainAll(target);
+        current.addAll(target);
+    }
+
+    private static void applyDelta(Set<String> current, SetDeltaDTO delta) {
+        if (delta == null) {
+            return;
+        }
+        if (delta.getRemove() != null) {
+            current.removeAll(delta.getRemove());
+        }
+        if (delta.getAdd() != null) {
+            current.addAll(delta.getAdd());
+        }
+    }
+
+    /**
+     * Makes the card's comments match {@code desired} by ID: unknown or missing IDs are inserted,
+     * known ones updated in place and the rest removed.
+     */
+    private void syncComments(Card card, List<Comment> desired) {
+        List<Comment> incoming = desired != null ? desired : List.of();
+        Set<String> keep = incoming.stream().map(Comment::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        card.getComments().removeIf(existing -> !keep.contains(existing.getId()));
+        Map<String, Comment> existingById = card.getComments().stream()
+                .collect(Collectors.toMap(Comment::getId, Function.identity()));
+        for (Comment comment : incoming) {
+            Comment existing = comment.getId() != null ? existingById.get(comment.getId()) : null;
+            if (existing != null) {
+                copyComment(comment, existing);
+            } else {
+                addComment(card, comment);
+            }
+        }
+    }
+
+    /**
+     * Makes the card's todos match {@code desired} by ID, like {@link #syncComments}.
+     */
+    private void syncTodos(Card card, List<Todo> desired) {
+        List<Todo> incoming = desired != null ? desired : List.of();
+        Set<String> keep = incoming.stream().map(Todo::getId).filter(Objects::nonNull).collect(Collectors.toSet());
+        card.getTodos().removeIf(existing -> !keep.contains(existing.getId()));
+        Map<String, Todo> existingById = card.getTodos().stream()
+                .collect(Collectors.toMap(Todo::getId, Function.identity()));
+        for (Todo todo : incoming) {
+            Todo existing = todo.getId() != null ? existingById.get(todo.getId()) : null;
+            if (existing != null) {
+                copyTodo(todo, existing);
+            } else {
+                addTodo(card, todo);
+            }
+        }
+    }
+
+    private void applyCommentDelta(Card card, ChildDeltaDTO<CommentDTO> delta) {
+        if (delta == null) {
+            return;
+        }
+        if (delta.getRemove() != null) {
+            card.getComments().removeIf(comment -> delta.getRemove().contains(comment.getId()));
+        }
+        if (delta.getUpdate() != null) {
+            Map<String, Comment> existingById = card.getComments().stream()
+                    .collect(Collectors.toMap(Comment::getId, Function.identity()));
+            for (CommentDTO dto : delta.getUpdate()) {
+                Comment existing = existingById.get(dto.getId());
+                if (existing == null) {
+                    throw new ResourceNotFoundException("Comment not found with ID: " + dto.getId() + " in Card ID: " + card.getId());
+                }
+                copyComment(commentMapper.toEntity(dto), existing);
+            }
+        }
+        if (delta.getAdd() != null) {
+            delta.getAdd().forEach(dto -> addComment(card, commentMapper.toEntity(dto)));
+        }
+    }
+
+    private void applyTodoDelta(Card card, ChildDeltaDTO<TodoDTO> delta) {
+        if (delta == null) {
+            return;
+        }
+        if (delta.getRemove() != null) {
+            card.getTodos().removeIf(todo -> delta.getRemove().contains(todo.getId()));
+        }
+        if (delta.getUpdate() != null) {
+            Map<String, Todo> existingById = card.getTodos().stream()
+                    .collect(Collectors.toMap(Todo::getId, Function.identity()));
+            for (TodoDTO dto : delta.getUpdate()) {
+                Todo existing = existingById.get(dto.getId());
+                if (existing == null) {
+                    throw new ResourceNotFoundException("Todo not found with ID: " + dto.getId() + " in Card ID: " + card.getId());
+                }
+                copyTodo(todoMapper.toEntity(dto), existing);
+            }
+        }
+        if (delta.getAdd() != null) {
+            delta.getAdd().forEach(dto -> addTodo(card, todoMapper.toEntity(dto)));
+        }
+    }
+
+    // Setting unchanged values leaves the row clean, so only edited rows are updated
+    private static void copyComment(Comment source, Comment target) {
+        target.setText(source.getText());
+        target.setImage(source.getImage());
+        target.setUserId(source.getUserId());
+    }
+
+    private static void copyTodo(Todo source, Todo target) {
+        target.setContent(source.getContent());
+        target.setCompleted(source.getCompleted() != null && source.getCompleted());
+    }
+
+    private static void addComment(Card card, Comment comment) {
+        comment.setId(null);
+        comment.setCard(card);
+        card.getComments().add(comment);
+    }
+
+    /**
+     * Refreshes the card's todo counters from its todos, which the caller has already loaded.
+     */
+    private static void countTodos(Card card) {
+        card.setTodoTotal(card.getTodos().size());
+        card.setTodoDone((int) card.getTodos().stream()
+                .filter(todo -> Boolean.TRUE.equals(todo.getCompleted()))
+                .count());
+    }
+
+    private static void countComments(Card card) {
+        card.setCommentCount(card.getComments().size());
+    }
+
+    private static void addTodo(Card card, Todo todo) {
+        todo.setId(null);
+        if (todo.getCompleted() == null) {
+            todo.setCompleted(false);
+        }
+        todo.setCard(card);
+        card.getTodos().add(todo);
     }
 
     private Card getExistingCard(String cardId) {
@@ -50,6 +254,17 @@ public class CardService {
                 .orElseThrow(() -> new ResourceNotFoundException(CARD_NOT_FOUND_MESSAGE + cardId));
     }
 
+    /**
+     * Rejects a write made against an older version of the card. The {@code @Version} column
+     * still guards the gap between this check and the commit.
+     */
+    private static void checkVersion(Card card, Long expectedVersion) {
+        if (expectedVersion != null && expectedVersion != card.getVersion()) {
+            throw new PreconditionFailedException("Card ID: " + card.getId() + " is at version "
+                    + card.getVersion() + ", not " + expectedVersion);
+        }
+    }
+
     private BoardList getBoardListById(String listId) {
         return boardListRepository.findById(listId)
                 .orElseThrow(() -> new ResourceNotFoundException("BoardList not found with ID: " + listId));
@@ -63,6 +278,67 @@ public class CardService {
         return card;
     }
 
+    /**
+     * Places a card at the end of a list: one query for the last rank and the card count.
+     * Once the fixed-width key space is used up appends grow the keys, so the list is
+     * queued for rebalancing like any other move.
+     */
+    private void appendToList(Card card, String listId) {
+        RankTail tail = cardRepository.findRankTailByListId(listId);
+        card.setRank(LexoRank.after(tail.getMaxRank()));
+        card.setOrder((int) tail.getCount() + 1);
+        rankRebalancer.checkCardRank(listId, card.getRank());
+    }
+
+    /**
+     * Books the card's new legacy tracked-time strings as time entries in this transaction,
+     * so the time rollups do not wait for the next startup import.
+     */
+    private void importTrackedTimes(Card card) {
+        if (card.getTrackedTimes() != null && !card.getTrackedTimes().isEmpty()) {
+            cardRepository.flush();
+            timeTrackingService.importLegacyTrackedTimes(card.getId());
+        }
+    }
+
+    /**
+     * Computes the rank for moving a card to a 1-based position within a list, reading
+     * only the ranks of its future neighbours.
+     */
+    private String rankForPosition(String listId, String cardId, int position) {
+        if (position <= 1) {
+            List<String> next = cardRepository.findRanksInList(listId, cardId, 0, 1);
+            return LexoRank.between(null, next.isEmpty() ? null : next.get(0));
+        }
+        List<String> neighbours = cardRepository.findRanksInList(listId, cardId, position - 2, 2);
+        if (neighbours.isEmpty()) {
+            return LexoRank.after(cardRepository.findMaxRankByListIdExcluding(listId, cardId).orElse(null));
+        }
+        if (neighbours.size() == 1) {
+            return LexoRank.after(neighbours.get(0));
+        }
+        if (neighbours.get(0).equals(neighbours.get(1))) {
+            rankRebalancer.requestCardRebalance(listId);
+        }
+        return LexoRank.between(neighbours.get(0), neighbours.get(1));
+    }
+
+    // Integer order is derived from rank order when returning whole lists
+    private List<CardDTO> toDTOsWithDerivedOrder(List<Card> cardsInRankOrder) {
+        List<CardDTO> dtos = new java.util.ArrayList<>(cardsInRankOrder.size());
+        String currentListId = null;
+        int position = 0;
+        for (Card card : cardsInRankOrder) {
+            String listId = card.getBoardList() != null ? card.getBoardList().getId() : null;
+            position = Objects.equals(listId, currentListId) ? position + 1 : 1;
+            currentListId = listId;
+            CardDTO dto = cardMapper.toDTO(card);
+            dto.setOrder(position);
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
     private Card initializeCardCollections(Card card) {
         if (card.getLabels() == null) card.setLabels(new HashSet<>());
         if (card.getLinks() == null) card.setLinks(new HashSet<>());
@@ -87,12 +363,17 @@ public class CardService {
             Card card = cardMapper.toEntity(cardDTO);
             getAndSetBoardAndBoardList(card, cardDTO);
 
-            Integer maxOrder = cardRepository.findMaxOrderByListId(card.getBoardList().getId()).orElse(0);
-            card.setOrder(maxOrder + 1);
+            appendToList(card, card.getBoardList().getId());
 
             initializeCardCollections(card);
+            countTodos(card);
+            countComments(card);
 
             Card savedCard = saveCardAndManageRelationships(card, card.getBoard(), card.getBoardList());
+            boardCounters.cardAdded(savedCard);
+            memberCardIndex.add(savedCard.getBoard().getId(), savedCard.getId(), savedCard.getMembers());
+            importTrackedTimes(savedCard);
+            changePublisher.cardCreated(savedCard);
             return cardMapper.toDTO(savedCard);
         } catch (Exception e) {
             log.error("Error creating card: ", e);
@@ -101,11 +382,20 @@ public class CardService {
     }
 
     public CardDTO updateCardTrackedTimes(String cardId, Set<String> trackedTimes) {
+        return updateCardTrackedTimes(cardId, trackedTimes, null);
+    }
+
+    public CardDTO updateCardTrackedTimes(String cardId, Set<String> trackedTimes, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
-            card.setTrackedTimes(trackedTimes != null ? new HashSet<>(trackedTimes) : new HashSet<>());
-            Card updatedCard = cardRepository.save(card);
+            checkVersion(card, expectedVersion);
+            syncValues(card.getTrackedTimes(), trackedTimes);
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            importTrackedTimes(updatedCard);
+            changePublisher.cardUpdated(updatedCard, "trackedTimes");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating tracked times for card: ", e);
             throw new ServiceException("Error updating tracked times for card", e);
@@ -113,19 +403,35 @@ public class CardService {
     }
 
     public CardDTO removeCardLinks(String cardId, Set<String> linksToRemove) {
+        return removeCardLinks(cardId, linksToRemove, null);
+    }
+
+    public CardDTO removeCardLinks(String cardId, Set<String> linksToRemove, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
+            checkVersion(card, expectedVersion);
             if (linksToRemove != null) {
                 card.getLinks().removeAll(linksToRemove);
             }
-            Card updatedCard = cardRepository.save(card);
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "links");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error removing links from card: ", e);
             throw new ServiceException("Error removing links from card", e);
         }
     }
 
+    /**
+     * Returns a card's current version with a primary key lookup, for conditional reads.
+     */
+    public long getCardVersion(String id) {
+        return cardRepository.findVersionById(id)
+                .orElseThrow(() -> new ResourceNotFoundException(CARD_NOT_FOUND_MESSAGE + id));
+    }
+
     public CardDTO getCardById(String id) {
         return cardRepository.findById(id)
                 .map(cardMapper::toDTO)
@@ -139,45 +445,61 @@ public class CardService {
         existingCard.setDateTo(cardDTO.getDateTo());
     }
 
+    // Only the card's side of the relation is set: taking it out of the old parent's
+    // orphan-removing collection would delete it
     private void updateCardBoard(Card existingCard, String newBoardId) {
         if (!existingCard.getBoard().getId().equals(newBoardId)) {
-            Board newBoard = boardRepository.getBoardById(newBoardId);
-            existingCard.getBoard().getCards().remove(existingCard);
-            existingCard.setBoard(newBoard);
-            newBoard.getCards().add(existingCard);
-            boardRepository.save(newBoard);
-            boardRepository.save(existingCard.getBoard());
+            existingCard.setBoard(boardRepository.getBoardById(newBoardId));
         }
     }
 
     private void updateCardBoardList(Card existingCard, String newBoardListId) {
         if (!existingCard.getBoardList().getId().equals(newBoardListId)) {
             BoardList newBoardList = getBoardListById(newBoardListId);
-            existingCard.getBoardList().getCards().remove(existingCard);
+            appendToList(existingCard, newBoardListId);
             existingCard.setBoardList(newBoardList);
-            newBoardList.getCards().add(existingCard);
-            boardListRepository.save(newBoardList);
-            boardListRepository.save(existingCard.getBoardList());
         }
     }
 
     private void updateCardSets(Card existingCard, CardDTO cardDTO) {
-        existingCard.setLabels(cardDTO.getLabels() != null ? new HashSet<>(cardDTO.getLabels()) : new HashSet<>());
-        existingCard.setLinks(cardDTO.getLinks() != null ? new HashSet<>(cardDTO.getLinks()) : new HashSet<>());
-        existingCard.setTrackedTimes(cardDTO.getTrackedTimes() != null ? new HashSet<>(cardDTO.getTrackedTimes()) : new HashSet<>());
+        syncValues(existingCard.getLabels(), cardDTO.getLabels());
+        syncValues(existingCard.getLinks(), cardDTO.getLinks());
+        syncValues(existingCard.getTrackedTimes(), cardDTO.getTrackedTimes());
     }
 
+    /**
+     * Overwrites a card's fields. If the DTO carries a version, the update only applies to
+     * that version of the card.
+     */
     public CardDTO updateCard(CardDTO cardDTO) {
         try {
             Card existingCard = getExistingCard(cardDTO.getId());
+            checkVersion(existingCard, cardDTO.getVersion());
+            String previousBoardId = existingCard.getBoard().getId();
+            String previousListId = existingCard.getBoardList().getId();
+            boolean wasCompleted = Boolean.TRUE.equals(existingCard.getIsCompleted());
 
             updateBasicCardFields(existingCard, cardDTO);
             updateCardBoard(existingCard, cardDTO.getBoardId());
             updateCardBoardList(existingCard, cardDTO.getListId());
             updateCardSets(existingCard, cardDTO);
 
-            Card updatedCard = cardRepository.save(existingCard);
+            Card updatedCard = cardRepository.saveAndFlush(existingCard);
+            boardCounters.cardChanged(previousBoardId, previousListId, wasCompleted, updatedCard);
+            importTrackedTimes(updatedCard);
+            if (!previousBoardId.equals(updatedCard.getBoard().getId())) {
+                memberCardIndex.syncCards(List.of(updatedCard.getId()));
+                changePublisher.cardDeleted(previousBoardId, previousListId, updatedCard.getId());
+                changePublisher.cardCreated(updatedCard);
+            } else if (!previousListId.equals(updatedCard.getBoardList().getId())) {
+                changePublisher.cardMoved(updatedCard);
+            } else {
+                changePublisher.cardUpdated(updatedCard, "title", "description", "isCompleted", "dateTo",
+                        "labels", "links", "trackedTimes");
+            }
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card: ", e);
             throw new ServiceException("Error updating card", e);
@@ -194,10 +516,23 @@ public class CardService {
     }
 
     public void deleteCard(String cardId) {
+        deleteCard(cardId, null);
+    }
+
+    public void deleteCard(String cardId, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
+            checkVersion(card, expectedVersion);
+            String boardId = card.getBoard().getId();
+            String listId = card.getBoardList().getId();
+            boolean wasCompleted = Boolean.TRUE.equals(card.getIsCompleted());
             removeCardFromBoardAndList(card);
             cardRepository.delete(card);
+            boardCounters.cardRemoved(cardId, boardId, listId, wasCompleted);
+            memberCardIndex.removeCards(List.of(cardId));
+            changePublisher.cardDeleted(boardId, listId, cardId);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error deleting card: ", e);
             throw new ServiceException("Error deleting card", e);
@@ -205,19 +540,15 @@ public class CardService {
     }
 
     public List<CardDTO> getCardsByBoardListId(String listId) {
-        List<Card> cards = cardRepository.findByBoardListId(listId);
-        return cards.stream()
-                .map(cardMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOsWithDerivedOrder(cardRepository.findByBoardListId(listId));
     }
 
-    private Card createCopiedCard(Card originalCard, int newOrder) {
+    private Card createCopiedCard(Card originalCard) {
         Card newCard = new Card();
         newCard.setTitle(originalCard.getTitle() + " - Copy");
         newCard.setDescription(originalCard.getDescription());
         newCard.setBoard(originalCard.getBoard());
         newCard.setBoardList(originalCard.getBoardList());
-        newCard.setOrder(newOrder);
         newCard.setLabels(new HashSet<>(originalCard.getLabels()));
         newCard.setLinks(new HashSet<>(originalCard.getLinks()));
         newCard.setIsCompleted(originalCard.getIsCompleted());
@@ -231,12 +562,13 @@ public class CardService {
     public CardDTO copyCard(String cardId) {
         try {
             Card originalCard = getExistingCard(cardId);
-            Integer maxOrder = cardRepository.findMaxOrderByListId(originalCard.getBoardList().getId()).orElse(0);
-            int newOrder = maxOrder + 1;
-
-            Card newCard = createCopiedCard(originalCard, newOrder);
+            Card newCard = createCopiedCard(originalCard);
+            appendToList(newCard, originalCard.getBoardList().getId());
             Card savedCard = saveCardAndManageRelationships(newCard, originalCard.getBoard(), originalCard.getBoardList());
+            boardCounters.cardAdded(savedCard);
+            importTrackedTimes(savedCard);
 
+            changePublisher.cardCreated(savedCard);
             return cardMapper.toDTO(savedCard);
         } catch (Exception e) {
             log.error("Error copying card: ", e);
@@ -245,11 +577,19 @@ public class CardService {
     }
 
     public CardDTO updateCardLabels(String cardId, Set<String> labels) {
+        return updateCardLabels(cardId, labels, null);
+    }
+
+    public CardDTO updateCardLabels(String cardId, Set<String> labels, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
-            card.setLabels(labels != null ? new HashSet<>(labels) : new HashSet<>());
-            Card updatedCard = cardRepository.save(card);
+            checkVersion(card, expectedVersion);
+            syncValues(card.getLabels(), labels);
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "labels");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card labels: ", e);
             throw new ServiceException("Error updating card labels", e);
@@ -257,11 +597,22 @@ public class CardService {
     }
 
     public CardDTO updateCardIsCompleted(String cardId, Boolean isCompleted) {
+        return updateCardIsCompleted(cardId, isCompleted, null);
+    }
+
+    public CardDTO updateCardIsCompleted(String cardId, Boolean isCompleted, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
+            checkVersion(card, expectedVersion);
+            boolean wasCompleted = Boolean.TRUE.equals(card.getIsCompleted());
             card.setIsCompleted(isCompleted != null && isCompleted);
-            Card updatedCard = cardRepository.save(card);
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            boardCounters.cardChanged(updatedCard.getBoard().getId(), updatedCard.getBoardList().getId(),
+                    wasCompleted, updatedCard);
+            changePublisher.cardUpdated(updatedCard, "isCompleted");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card completion status: ", e);
             throw new ServiceException("Error updating card completion status", e);
@@ -269,15 +620,21 @@ public class CardService {
     }
 
     public CardDTO updateCardComments(String cardId, List<Comment> comments) {
+        return updateCardComments(cardId, comments, null);
+    }
+
+    public CardDTO updateCardComments(String cardId, List<Comment> comments, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
-            card.getComments().clear();
-            if (comments != null) {
-                comments.forEach(comment -> comment.setCard(card));
-                card.getComments().addAll(comments);
-            }
-            Card updatedCard = cardRepository.save(card);
+            checkVersion(card, expectedVersion);
+            syncComments(card, comments);
+            countComments(card);
+            card.setUpdatedAt(LocalDateTime.now());
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "comments");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card comments: ", e);
             throw new ServiceException("Error updating card comments", e);
@@ -285,15 +642,21 @@ public class CardService {
     }
 
     public CardDTO updateCardTodos(String cardId, List<Todo> todos) {
+        return updateCardTodos(cardId, todos, null);
+    }
+
+    public CardDTO updateCardTodos(String cardId, List<Todo> todos, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
-            card.getTodos().clear();
-            if (todos != null) {
-                todos.forEach(todo -> todo.setCard(card));
-                card.getTodos().addAll(todos);
-            }
-            Card updatedCard = cardRepository.save(card);
+            checkVersion(card, expectedVersion);
+            syncTodos(card, todos);
+            countTodos(card);
+            card.setUpdatedAt(LocalDateTime.now());
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "todos");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card todos: ", e);
             throw new ServiceException("Error updating card todos", e);
@@ -301,11 +664,19 @@ public class CardService {
     }
 
     public CardDTO updateCardLinks(String cardId, Set<String> links) {
+        return updateCardLinks(cardId, links, null);
+    }
+
+    public CardDTO updateCardLinks(String cardId, Set<String> links, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
-            card.setLinks(links != null ? new HashSet<>(links) : new HashSet<>());
-            Card updatedCard = cardRepository.save(card);
+            checkVersion(card, expectedVersion);
+            syncValues(card.getLinks(), links);
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "links");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card links: ", e);
             throw new ServiceException("Error updating card links", e);
@@ -313,11 +684,19 @@ public class CardService {
     }
 
     public CardDTO updateCardDate(String cardId, LocalDateTime dateTo) {
+        return updateCardDate(cardId, dateTo, null);
+    }
+
+    public CardDTO updateCardDate(String cardId, LocalDateTime dateTo, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
+            checkVersion(card, expectedVersion);
             card.setDateTo(dateTo);
-            Card updatedCard = cardRepository.save(card);
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "dateTo");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error updating card date: ", e);
             throw new ServiceException("Error updating card date", e);
@@ -326,29 +705,162 @@ public class CardService {
 
     @Transactional
     public CardDTO addCardComment(String cardId, Comment comment) {
+        return addCardComment(cardId, comment, null);
+    }
+
+    @Transactional
+    public CardDTO addCardComment(String cardId, Comment comment, Long expectedVersion) {
         Card card = getExistingCard(cardId);
+        checkVersion(card, expectedVersion);
         comment.setCard(card);
         card.getComments().add(comment);
-        Card updatedCard = cardRepository.save(card);
+        countComments(card);
+        card.setUpdatedAt(LocalDateTime.now());
+        Card updatedCard = cardRepository.saveAndFlush(card);
+        changePublisher.cardUpdated(updatedCard, "comments");
         return cardMapper.toDTO(updatedCard);
     }
 
+    /**
+     * A page of a card's comments, oldest first, keyed on their creation time and ID.
+     *
+     * @param cardId The ID of the card.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit  The page size; defaults to 50, at most 200.
+     * @throws ResourceNotFoundException If the card does not exist.
+     * @throws ServiceException          If the cursor is invalid.
+     */
+    public PageDTO<CommentDTO> getCardComments(String cardId, String cursor, Integer limit) {
+        if (!cardRepository.existsById(cardId)) {
+            throw new ResourceNotFoundException(CARD_NOT_FOUND_MESSAGE + cardId);
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        String[] after = Cursors.decode(cursor, 2);
+        List<Comment> comments;
+        if (after == null) {
+            comments = commentRepository.findPageByCardId(cardId, PageRequest.ofSize(size));
+        } else {
+            LocalDateTime createdAt;
+            try {
+                createdAt = LocalDateTime.parse(after[0]);
+            } catch (DateTimeParseException e) {
+                throw new ServiceException("Invalid page cursor", e);
+            }
+            comments = commentRepository.findPageByCardIdAfter(cardId, createdAt, after[1], PageRequest.ofSize(size));
+        }
+        String next = null;
+        if (comments.size() == size) {
+            Comment last = comments.get(comments.size() - 1);
+            next = Cursors.encode(last.getCreatedAt().toString(), last.getId());
+        }
+        return new PageDTO<>(comments.stream().map(commentMapper::toDTO).toList(), next);
+    }
+
+    /**
+     * Gives comments stored before they had a creation time their last update as one, so
+     * every comment can be paged.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void fillCommentCreationTimes() {
+        try {
+            int filled = commentRepository.fillMissingCreatedAt();
+            if (filled > 0) {
+                log.info("Filled the creation time of {} comments", filled);
+            }
+        } catch (Exception e) {
+            log.error("Error filling comment creation times: ", e);
+        }
+    }
+
     public CardDTO updateCardLabel(String cardId, List<String> labels) {
         Card card = getExistingCard(cardId);
-        card.setLabels(new HashSet<>(labels));
+        syncValues(card.getLabels(), labels);
         card.setUpdatedAt(LocalDateTime.now());
-        return cardMapper.toDTO(cardRepository.save(card));
+        Card updatedCard = cardRepository.saveAndFlush(card);
+        changePublisher.cardUpdated(updatedCard, "labels");
+        return cardMapper.toDTO(updatedCard);
+    }
+
+    /**
+     * Applies add/update/remove deltas to any of a card's collections, touching only the
+     * affected rows.
+     */
+    public CardDTO patchCardCollections(String cardId, CardCollectionsPatchDTO patch) {
+        return patchCardCollections(cardId, patch, null);
+    }
+
+    public CardDTO patchCardCollections(String cardId, CardCollectionsPatchDTO patch, Long expectedVersion) {
+        try {
+            Card card = getExistingCard(cardId);
+            checkVersion(card, expectedVersion);
+            applyDelta(card.getLabels(), patch.getLabels());
+            applyDelta(card.getLinks(), patch.getLinks());
+            applyDelta(card.getTrackedTimes(), patch.getTrackedTimes());
+            applyDelta(card.getMembers(), patch.getMembers());
+            applyCommentDelta(card, patch.getComments());
+            applyTodoDelta(card, patch.getTodos());
+            countTodos(card);
+            countComments(card);
+            card.setUpdatedAt(LocalDateTime.now());
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            if (patch.getMembers() != null) {
+                memberCardIndex.syncCards(List.of(cardId));
+            }
+            if (patch.getTrackedTimes() != null) {
+                importTrackedTimes(updatedCard);
+            }
+            changePublisher.cardUpdated(updatedCard, patchedFields(patch));
+            return cardMapper.toDTO(updatedCard);
+        } catch (ResourceNotFoundException | PreconditionFailedException | ObjectOptimisticLockingFailureException e) {
+            throw e;
+        } catch (Exception e) {
+            log.error("Error patching card collections: ", e);
+            throw new ServiceException("Error patching card collections", e);
+        }
+    }
+
+    private String[] patchedFields(CardCollectionsPatchDTO patch) {
+        List<String> fields = new ArrayList<>();
+        if (patch.getLabels() != null) {
+            fields.add("labels");
+        }
+        if (patch.getLinks() != null) {
+            fields.add("links");
+        }
+        if (patch.getTrackedTimes() != null) {
+            fields.add("trackedTimes");
+        }
+        if (patch.getMembers() != null) {
+            fields.add("members");
+        }
+        if (patch.getComments() != null) {
+            fields.add("comments");
+        }
+        if (patch.getTodos() != null) {
+            fields.add("todos");
+        }
+        return fields.toArray(String[]::new);
     }
 
     public CardDTO removeCardComment(String cardId, String commentId) {
+        return removeCardComment(cardId, commentId, null);
+    }
+
+    public CardDTO removeCardComment(String cardId, String commentId, Long expectedVersion) {
         try {
             Card card = getExistingCard(cardId);
+            checkVersion(card, expectedVersion);
             boolean removed = card.getComments().removeIf(comment -> comment.getId().equals(commentId));
             if (!removed) {
                 throw new ResourceNotFoundException("Comment not found with ID: " + commentId + " in Card ID: " + cardId);
             }
-            Card updatedCard = cardRepository.save(card);
+            countComments(card);
+            card.setUpdatedAt(LocalDateTime.now());
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "comments");
             return cardMapper.toDTO(updatedCard);
+        } catch (PreconditionFailedException e) {
+            throw e;
         } catch (Exception e) {
             log.error("Error removing comment from card: ", e);
             throw new ServiceException("Error removing comment from card", e);
@@ -360,7 +872,10 @@ public class CardService {
             Card card = getExistingCard(cardId);
             todo.setCard(card);
             card.getTodos().add(todo);
-            Card updatedCard = cardRepository.save(card);
+            countTodos(card);
+            card.setUpdatedAt(LocalDateTime.now());
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "todos");
             return cardMapper.toDTO(updatedCard);
         } catch (Exception e) {
             log.error("Error adding todo to card: ", e);
@@ -375,7 +890,10 @@ public class CardService {
             if (!removed) {
                 throw new ResourceNotFoundException("Todo not found with ID: " + todoId + " in Card ID: " + cardId);
             }
-            Card updatedCard = cardRepository.save(card);
+            countTodos(card);
+            card.setUpdatedAt(LocalDateTime.now());
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            changePublisher.cardUpdated(updatedCard, "todos");
             return cardMapper.toDTO(updatedCard);
         } catch (Exception e) {
             log.error("Error removing todo from card: ", e);
@@ -383,19 +901,17 @@ public class CardService {
         }
     }
 
+    /**
+     * Moves the given cards to their {@code order} within their lists. Positions count against
+     * the current rank order, so the cards not sent keep their places relative to each other.
+     */
     public void reorderCards(List<CardDTO> cards) {
         try {
+            Map<String, Map<String, Integer>> positionsByList = new LinkedHashMap<>();
             for (CardDTO dto : cards) {
-                Card existingCard = getExistingCard(dto.getId());
-                if (!existingCard.getBoardList().getId().equals(dto.getListId())) {
-                    throw new ServiceException(
-                            "Card ID: " + dto.getId() + " does not belong to BoardList ID: " + dto.getListId(),
-                            null
-                    );
-                }
-                existingCard.setOrder(dto.getOrder());
-                cardRepository.save(existingCard);
+                positionsByList.computeIfAbsent(dto.getListId(), id -> new HashMap<>()).put(dto.getId(), dto.getOrder());
             }
+            batchReorderService.moveCards(positionsByList);
         } catch (Exception e) {
             log.error("Error reordering cards: ", e);
             throw new ServiceException("Error reordering cards", e);
@@ -403,58 +919,85 @@ public class CardService {
     }
 
     public List<CardDTO> getCardsByBoardId(String boardId) {
-        List<Card> cards = cardRepository.findByBoardId(boardId);
-        return cards.stream()
-                .map(cardMapper::toDTO)
-                .collect(Collectors.toList());
+        return toDTOsWithDerivedOrder(cardRepository.findByBoardId(boardId));
     }
 
     @Transactional
     public CardDTO addCardMembers(String cardId, List<String> userIds) {
+        return addCardMembers(cardId, userIds, null);
+    }
+
+    @Transactional
+    public CardDTO addCardMembers(String cardId, List<String> userIds, Long expectedVersion) {
         Card card = getExistingCard(cardId);
+        checkVersion(card, expectedVersion);
         if (userIds != null) {
             card.getMembers().addAll(userIds);
         }
-        Card updatedCard = cardRepository.save(card);
+        Card updatedCard = cardRepository.saveAndFlush(card);
+        memberCardIndex.add(updatedCard.getBoard().getId(), cardId, userIds);
+        changePublisher.cardUpdated(updatedCard, "members");
         return cardMapper.toDTO(updatedCard);
     }
 
     @Transactional
     public CardDTO removeCardMembers(String cardId, List<String> userIds) {
+        return removeCardMembers(cardId, userIds, null);
+    }
+
+    @Transactional
+    public CardDTO removeCardMembers(String cardId, List<String> userIds, Long expectedVersion) {
         Card card = getExistingCard(cardId);
+        checkVersion(card, expectedVersion);
         if (userIds != null) {
             card.getMembers().removeAll(userIds);
         }
-        Card updatedCard = cardRepository.save(card);
+        Card updatedCard = cardRepository.saveAndFlush(card);
+        memberCardIndex.remove(cardId, userIds);
+        changePublisher.cardUpdated(updatedCard, "members");
         return cardMapper.toDTO(updatedCard);
     }
 
-    private void reorderCardsInList(String newBoardListId, int newOrder, String currentCardId) {
-        List<Card> cardsInList = cardRepository.findByBoardListIdOrderByOrder(newBoardListId);
-        for (Card existingCard : cardsInList) {
-            if (!existingCard.getId().equals(currentCardId) &&
-                    existingCard.getOrder() >= newOrder) {
-                existingCard.setOrder(existingCard.getOrder() + 1);
-                cardRepository.save(existingCard);
-            }
-        }
+    /**
+     * Moves a card to a position within a list. Only the moved card is written: it gets a
+     * rank between its new neighbours instead of shifting the order of every card below it.
+     */
+    @Transactional
+    public CardDTO updateCardPosition(String cardId, UpdateCardDTO updateCardDTO) {
+        return updateCardPosition(cardId, updateCardDTO, null);
     }
 
     @Transactional
-    public CardDTO updateCardPosition(String cardId, UpdateCardDTO updateCardDTO) {
+    public CardDTO updateCardPosition(String cardId, UpdateCardDTO updateCardDTO, Long expectedVersion) {
         Card card = getExistingCard(cardId);
+        checkVersion(card, expectedVersion);
 
         try {
             BoardList newList = getBoardListById(updateCardDTO.getListId());
+            int position = updateCardDTO.getOrder() != null ? updateCardDTO.getOrder() : Integer.MAX_VALUE;
+            String rank = rankForPosition(newList.getId(), cardId, position);
+            String previousBoardId = card.getBoard().getId();
+            String previousListId = card.getBoardList().getId();
 
+            // A list on another board takes the card with it
+            card.setBoard(newList.getBoard());
             card.setBoardList(newList);
             card.setOrder(updateCardDTO.getOrder());
-
-            reorderCardsInList(newList.getId(), updateCardDTO.getOrder(), cardId);
-
-            Card updatedCard = cardRepository.save(card);
+            card.setRank(rank);
+
+            Card updatedCard = cardRepository.saveAndFlush(card);
+            boardCounters.cardChanged(previousBoardId, previousListId,
+                    Boolean.TRUE.equals(updatedCard.getIsCompleted()), updatedCard);
+            rankRebalancer.checkCardRank(newList.getId(), rank);
+            if (!previousBoardId.equals(updatedCard.getBoard().getId())) {
+                memberCardIndex.syncCards(List.of(updatedCard.getId()));
+                changePublisher.cardDeleted(previousBoardId, previousListId, updatedCard.getId());
+                changePublisher.cardCreated(updatedCard);
+            } else {
+                changePublisher.cardMoved(updatedCard);
+            }
             return cardMapper.toDTO(updatedCard);
-        } catch (ResourceNotFoundException e) {
+        } catch (ResourceNotFoundException | ObjectOptimisticLockingFailureException e) {
             throw e;
         } catch (Exception e) {
             log.error("Error updating card position: ", e);
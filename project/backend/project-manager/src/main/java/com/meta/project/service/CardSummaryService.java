@@ -0,0 +1,255 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardCardsDTO;
+import com.meta.project.dto.CardSummaryDTO;
+import com.meta.project.dto.PageDTO;
+import com.meta.project.entity.BoardList;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CardRow;
+import com.meta.project.repository.CardValue;
+import com.meta.project.repository.MemberCardRepository;
+import com.meta.project.repository.MemberCardRow;
+import com.meta.project.util.Cursors;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * Card summaries for list, board and member views. Built from a projection of the card columns
+ * (including the todo and comment counters) plus aggregate queries for labels and members,
+ * so comment and todo rows are never loaded or serialized.
+ * <p>
+ * Long lists and boards can be read a page at a time. Pages are keyed on the cards' (rank, ID)
+ * within a list, so each page is one seek along the list's rank index however deep it is,
+ * and cards inserted or moved elsewhere in the meantime neither repeat nor shift later pages.
+ */
+@Service
+@Transactional(readOnly = true)
+public class CardSummaryService {
+
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+
+    private final CardRepository cardRepository;
+    private final BoardListRepository boardListRepository;
+    private final MemberCardRepository memberCardRepository;
+
+    public CardSummaryService(CardRepository cardRepository,
+                              BoardListRepository boardListRepository,
+                              MemberCardRepository memberCardRepository) {
+        this.cardRepository = cardRepository;
+        this.boardListRepository = boardListRepository;
+        this.memberCardRepository = memberCardRepository;
+    }
+
+    public List<CardSummaryDTO> getSummariesByListId(String listId) {
+        return assemble(cardRepository.findRowsByListId(listId),
+                cardRepository.findLabelsByListId(listId),
+                cardRepository.findMembersByListId(listId), null, 0);
+    }
+
+    public List<CardSummaryDTO> getSummariesByBoardId(String boardId) {
+        return assemble(cardRepository.findRowsByBoardId(boardId),
+                cardRepository.findLabelsByBoardId(boardId),
+                cardRepository.findMembersByBoardId(boardId), null, 0);
+    }
+
+    /**
+     * A page of a list's card summaries in rank order.
+     *
+     * @param listId The list.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit  The page size; defaults to 50, at most 200.
+     * @throws ServiceException If the cursor is invalid or belongs to another list.
+     */
+    public PageDTO<CardSummaryDTO> getSummaryPageByListId(String listId, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        String[] after = Cursors.decode(cursor, 4);
+        if (after != null && !after[0].equals(listId)) {
+            throw new ServiceException("Page cursor belongs to another list", null);
+        }
+        List<CardRow> rows = after == null
+                ? cardRepository.findRowPageByListId(listId, PageRequest.ofSize(size))
+                : cardRepository.findRowPageByListIdAfter(listId, after[1], after[2], PageRequest.ofSize(size));
+        return page(rows, after, size);
+    }
+
+    /**
+     * A page of a board's card summaries, list by list in rank order. A page that reaches the
+     * end of a list continues with the next one, so a page costs one query per list it touches.
+     * Lists are read whatever their card counter says, so a drifted counter cannot hide cards.
+     *
+     * @param boardId The board.
+     * @param cursor  The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit   The page size; defaults to 50, at most 200.
+     * @throws ServiceException If the cursor is invalid or its list is no longer on the board.
+     */
+    public PageDTO<CardSummaryDTO> getSummaryPageByBoardId(String boardId, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        String[] after = Cursors.decode(cursor, 4);
+        List<BoardList> lists = boardListRepository.findByBoardIdOrderByRankAsc(boardId);
+        int start = 0;
+        if (after != null) {
+            while (start < lists.size() && !lists.get(start).getId().equals(after[0])) {
+                start++;
+            }
+            if (start == lists.size()) {
+                throw new ServiceException("Page cursor belongs to a list that is no longer on the board", null);
+            }
+        }
+
+        List<CardRow> rows = new ArrayList<>(size);
+        for (int i = start; i < lists.size() && rows.size() < size; i++) {
+            BoardList list = lists.get(i);
+            PageRequest remaining = PageRequest.ofSize(size - rows.size());
+            if (after != null && i == start) {
+                rows.addAll(cardRepository.findRowPageByListIdAfter(list.getId(), after[1], after[2], remaining));
+            } else {
+                rows.addAll(cardRepository.findRowPageByListId(list.getId(), remaining));
+            }
+        }
+        return page(rows, after, size);
+    }
+
+    /**
+     * A page of the cards a member is assigned to on any board, grouped by board. Each page
+     * is one range read of the member's {@code member_cards} rows joined to the cards, however
+     * many boards there are. A board's cards may continue on the next page, in another group
+     * for the same board. Summaries carry no order, as a member's cards come from many lists.
+     *
+     * @param userId The member.
+     * @param cursor The {@code nextCursor} of the previous page, or null for the first page.
+     * @param limit  The number of cards per page; defaults to 50, at most 200.
+     * @throws ServiceException If the cursor is invalid.
+     */
+    public PageDTO<BoardCardsDTO> getSummaryPageByMemberId(String userId, String cursor, Integer limit) {
+        int size = pageSize(limit);
+        String[] after = Cursors.decode(cursor, 2);
+        List<MemberCardRow> rows = after == null
+                ? memberCardRepository.findRowPageByUserId(userId, PageRequest.ofSize(size))
+                : memberCardRepository.findRowPageByUserIdAfter(userId, after[0], after[1], PageRequest.ofSize(size));
+        if (rows.isEmpty()) {
+            return new PageDTO<>(new ArrayList<>(), null);
+        }
+        List<String> ids = rows.stream().map(CardRow::getId).toList();
+        Map<String, CardSummaryDTO> summaries = new HashMap<>();
+        for (CardSummaryDTO summary : assemble(rows, cardRepository.findLabelsByIds(ids),
+                cardRepository.findMembersByIds(ids), null, 0)) {
+            summary.setOrder(null);
+            summaries.put(summary.getId(), summary);
+        }
+
+        List<BoardCardsDTO> groups = new ArrayList<>();
+        BoardCardsDTO group = null;
+        for (MemberCardRow row : rows) {
+            if (group == null || !group.getBoardId().equals(row.getBoardId())) {
+                group = new BoardCardsDTO();
+                group.setBoardId(row.getBoardId());
+                group.setBoardTitle(row.getBoardTitle());
+                group.setCards(new ArrayList<>());
+                groups.add(group);
+            }
+            group.getCards().add(summaries.get(row.getId()));
+        }
+        MemberCardRow last = rows.get(rows.size() - 1);
+        String next = rows.size() == size ? Cursors.encode(last.getBoardId(), last.getId()) : null;
+        return new PageDTO<>(groups, next);
+    }
+
+    /**
+     * Summaries of the given cards, grouped by list in rank order. The order of each summary
+     * is its position among the given cards of its list.
+     */
+    public List<CardSummaryDTO> getSummariesByIds(Collection<String> cardIds) {
+        if (cardIds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        return assemble(cardRepository.findRowsByIds(cardIds),
+                cardRepository.findLabelsByIds(cardIds),
+                cardRepository.findMembersByIds(cardIds), null, 0);
+    }
+
+    private PageDTO<CardSummaryDTO> page(List<CardRow> rows, String[] after, int size) {
+        if (rows.isEmpty()) {
+            return new PageDTO<>(new ArrayList<>(), null);
+        }
+        List<String> ids = rows.stream().map(CardRow::getId).toList();
+        List<CardSummaryDTO> summaries = assemble(rows, cardRepository.findLabelsByIds(ids),
+                cardRepository.findMembersByIds(ids),
+                after != null ? after[0] : null, after != null ? position(after[3]) : 0);
+        String next = null;
+        if (rows.size() == size) {
+            CardRow last = rows.get(rows.size() - 1);
+            CardSummaryDTO lastSummary = summaries.get(summaries.size() - 1);
+            next = Cursors.encode(last.getListId(), Objects.toString(last.getRank(), ""), last.getId(),
+                    String.valueOf(lastSummary.getOrder()));
+        }
+        return new PageDTO<>(summaries, next);
+    }
+
+    /**
+     * @param afterListId   The list of the last card of the previous page, or null.
+     * @param afterPosition That card's position in its list.
+     */
+    private List<CardSummaryDTO> assemble(List<? extends CardRow> rows, List<CardValue> labels, List<CardValue> members,
+                                          String afterListId, int afterPosition) {
+        Map<String, CardSummaryDTO> summaries = new LinkedHashMap<>();
+        String currentListId = afterListId;
+        int position = afterPosition;
+        // Rows arrive grouped by list in rank order, so the order is the position within the list
+        for (CardRow row : rows) {
+            position = Objects.equals(row.getListId(), currentListId) ? position + 1 : 1;
+            currentListId = row.getListId();
+            CardSummaryDTO summary = new CardSummaryDTO();
+            summary.setId(row.getId());
+            summary.setTitle(row.getTitle());
+            summary.setOrder(position);
+            summary.setListId(row.getListId());
+            summary.setIsCompleted(row.getIsCompleted());
+            summary.setDateTo(row.getDateTo());
+            summary.setTodoDone(row.getTodoDone());
+            summary.setTodoTotal(row.getTodoTotal());
+            summary.setCommentCount(row.getCommentCount());
+            summary.setLabels(new ArrayList<>());
+            summary.setMemberIds(new ArrayList<>());
+            summaries.put(row.getId(), summary);
+        }
+
+        addValues(summaries, labels, CardSummaryDTO::getLabels);
+        addValues(summaries, members, CardSummaryDTO::getMemberIds);
+        return new ArrayList<>(summaries.values());
+    }
+
+    private static int pageSize(Integer limit) {
+        return limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+    }
+
+    private static int position(String value) {
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid page cursor", e);
+        }
+    }
+
+    private void addValues(Map<String, CardSummaryDTO> summaries, List<CardValue> values,
+                           Function<CardSummaryDTO, List<String>> collection) {
+        for (CardValue value : values) {
+            CardSummaryDTO summary = summaries.get(value.getCardId());
+            if (summary != null) {
+                collection.apply(summary).add(value.getValue());
+            }
+        }
+    }
+}
@@ -0,0 +1,290 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardEventDTO;
+import com.meta.project.dto.DueReminderDTO;
+import com.meta.project.entity.Card;
+import com.meta.project.repository.CardDeadline;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CardRow;
+import com.meta.project.util.TimerIndex;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Due-date notifications: an {@code upcoming} reminder a lead time before an open card is
+ * due, and an {@code overdue} notice when it is due, delivered through the {@link ReminderSink}.
+ * <p>
+ * Only deadlines within the next {@code app.reminders.horizon-hours} are held, as timers in a
+ * {@link TimerIndex}. The window is loaded with one range read on the cards' due-date index at
+ * startup and extended by the next range once half of it has passed; within the window the
+ * timers follow the committed card changes. Firing a timer peeks at the head of the index, so
+ * the cards table is never scanned on a schedule. Due cards are re-read when their timers fire,
+ * and cards deleted, completed or rescheduled since are skipped.
+ * <p>
+ * Timers live in memory only. After a restart the window is reloaded from the current time:
+ * reminders whose lead time has started fire at once, and deadlines that passed while the
+ * service was down are not reported. The index and the window are confined to one thread,
+ * which applies changes, extends the window and fires timers in order.
+ */
+@Service
+@Slf4j
+public class DueDateReminders {
+
+    private static final Set<String> SCHEDULED_FIELDS = Set.of("dateTo", "isCompleted");
+
+    record Timer(String cardId, String kind) {
+    }
+
+    private final CardRepository cardRepository;
+    private final ReminderSink sink;
+    private final TransactionTemplate readTransaction;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final Duration horizon;
+    private final Duration lead;
+    private final long tickMs;
+
+    private final TimerIndex<Timer> timers = new TimerIndex<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    // The end of the loaded window; deadlines after it are left to the next load
+    private LocalDateTime loadedUntil;
+    private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "due-date-reminders");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public DueDateReminders(CardRepository cardRepository,
+                            ReminderSink sink,
+                            PlatformTransactionManager transactionManager,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.reminders.enabled:true}") boolean enabled,
+                            @Value("${app.reminders.horizon-hours:24}") long horizonHours,
+                            @Value("${app.reminders.lead-minutes:60}") long leadMinutes,
+                            @Value("${app.reminders.tick-ms:1000}") long tickMs) {
+        this.cardRepository = cardRepository;
+        this.sink = sink;
+        this.readTransaction = new TransactionTemplate(transactionManager);
+        this.readTransaction.setReadOnly(true);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.horizon = Duration.ofHours(Math.max(1, horizonHours));
+        this.lead = Duration.ofMinutes(Math.max(0, leadMinutes));
+        this.tickMs = tickMs;
+
+        Gauge.builder("pm.reminders.pending", pending, AtomicInteger::get)
+                .description("Due-date timers within the loaded window")
+                .register(meterRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduler.execute(() -> {
+            try {
+                loadWindow(LocalDateTime.now());
+            } catch (Exception e) {
+                // The next tick tries again
+                log.error("Error loading due dates: ", e);
+            }
+        });
+        scheduler.scheduleWithFixedDelay(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChange(BoardEventDTO event) {
+        if (!enabled) {
+            return;
+        }
+        scheduler.execute(() -> {
+            try {
+                apply(event);
+            } catch (Exception e) {
+                log.error("Error updating due-date timers for board {}: ", event.getBoardId(), e);
+            }
+        });
+    }
+
+    /**
+     * @return the number of timers within the loaded window.
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        scheduler.shutdownNow();
+    }
+
+    private void apply(BoardEventDTO event) {
+        if (loadedUntil == null) {
+            // The initial load is still queued and will see this change
+            return;
+        }
+        if (BoardChangePublisher.BOARD.equals(event.getEntity())) {
+            if (!"created".equals(event.getAction())) {
+                // The timers of a deleted board's cards are skipped when they fire
+                return;
+            }
+            // A board copied with its cards
+            LocalDateTime now = LocalDateTime.now();
+            readTransaction.execute(status ->
+                            cardRepository.findDeadlinesByBoardIdBetween(event.getBoardId(), now, loadedUntil))
+                    .forEach(deadline -> schedule(deadline.getId(), deadline.getDateTo(), now));
+            pending.set(timers.size());
+            return;
+        }
+        if (!BoardChangePublisher.CARD.equals(event.getEntity())) {
+            // Lists carry no due dates; the cards of a deleted list are skipped when they fire
+            return;
+        }
+        switch (event.getAction()) {
+            case "deleted" -> cancel(event.getEntityId());
+            case "created" -> reschedule(event.getEntityId());
+            case "updated" -> {
+                if (event.getFields() == null || event.getFields().stream().anyMatch(SCHEDULED_FIELDS::contains)) {
+                    reschedule(event.getEntityId());
+                }
+            }
+            default -> {
+                // Moves and reorders leave the due date as it is
+            }
+        }
+        pending.set(timers.size());
+    }
+
+    private void reschedule(String cardId) {
+        List<CardRow> rows = readTransaction.execute(status -> cardRepository.findRowsByIds(List.of(cardId)));
+        if (rows.isEmpty() || Boolean.TRUE.equals(rows.get(0).getIsCompleted())) {
+            cancel(cardId);
+        } else {
+            schedule(cardId, rows.get(0).getDateTo(), LocalDateTime.now());
+        }
+    }
+
+    private void schedule(String cardId, LocalDateTime dateTo, LocalDateTime now) {
+        cancel(cardId);
+        if (dateTo == null || !dateTo.isAfter(now) || dateTo.isAfter(loadedUntil)) {
+            return;
+        }
+        if (!lead.isZero()) {
+            timers.schedule(new Timer(cardId, DueReminderDTO.UPCOMING), dateTo.minus(lead));
+        }
+        timers.schedule(new Timer(cardId, DueReminderDTO.OVERDUE), dateTo);
+    }
+
+    private void cancel(String cardId) {
+        timers.cancel(new Timer(cardId, DueReminderDTO.UPCOMING));
+        timers.cancel(new Timer(cardId, DueReminderDTO.OVERDUE));
+    }
+
+    private void tick() {
+        tick(LocalDateTime.now());
+    }
+
+    /**
+     * Extends the window if half of it has passed and fires the timers due by {@code now};
+     * package-private so tests can drive the clock.
+     */
+    void tick(LocalDateTime now) {
+        try {
+            if (loadedUntil == null || loadedUntil.isBefore(now.plus(horizon.dividedBy(2)))) {
+                loadWindow(now);
+            }
+            fire(timers.pollDue(now), now);
+            pending.set(timers.size());
+        } catch (Exception e) {
+            log.error("Error firing due-date reminders: ", e);
+        }
+    }
+
+    /**
+     * Loads the deadlines from the end of the loaded window, or from now at startup, up to the
+     * horizon.
+     */
+    private void loadWindow(LocalDateTime now) {
+        LocalDateTime from = loadedUntil != null ? loadedUntil : now;
+        LocalDateTime to = now.plus(horizon);
+        List<CardDeadline> deadlines = readTransaction.execute(status -> cardRepository.findDeadlinesBetween(from, to));
+        loadedUntil = to;
+        deadlines.forEach(deadline -> schedule(deadline.getId(), deadline.getDateTo(), now));
+        pending.set(timers.size());
+        log.debug("Loaded {} due dates up to {}", deadlines.size(), to);
+    }
+
+    private void fire(List<Timer> due, LocalDateTime now) {
+        if (due.isEmpty()) {
+            return;
+        }
+        Set<String> cardIds = due.stream().map(Timer::cardId).collect(Collectors.toCollection(HashSet::new));
+        Map<String, DueReminderDTO> cards = readTransaction.execute(status -> cardRepository.findAllById(cardIds).stream()
+                .filter(card -> card.getDateTo() != null && !Boolean.TRUE.equals(card.getIsCompleted()))
+                .map(this::toReminder)
+                .collect(Collectors.toMap(DueReminderDTO::getCardId, Function.identity())));
+
+        // A card is either overdue or not, so at most one of its timers still holds
+        List<DueReminderDTO> reminders = new ArrayList<>(due.size());
+        for (Timer timer : due) {
+            DueReminderDTO reminder = cards.get(timer.cardId());
+            if (reminder == null) {
+                continue;
+            }
+            boolean overdue = !reminder.getDateTo().isAfter(now);
+            boolean current = DueReminderDTO.OVERDUE.equals(timer.kind())
+                    ? overdue
+                    : !overdue && !reminder.getDateTo().minus(lead).isAfter(now);
+            if (current) {
+                reminder.setKind(timer.kind());
+                reminder.setFiredAt(now);
+                reminders.add(reminder);
+            }
+        }
+        for (DueReminderDTO reminder : reminders) {
+            try {
+                sink.send(reminder);
+                meterRegistry.counter("pm.reminders.sent", "kind", reminder.getKind()).increment();
+            } catch (Exception e) {
+                meterRegistry.counter("pm.reminders.failed", "kind", reminder.getKind()).increment();
+                log.error("Error sending {} reminder for card {}: ", reminder.getKind(), reminder.getCardId(), e);
+            }
+        }
+    }
+
+    private DueReminderDTO toReminder(Card card) {
+        DueReminderDTO dto = new DueReminderDTO();
+        dto.setCardId(card.getId());
+        dto.setBoardId(card.getBoard() != null ? card.getBoard().getId() : null);
+        dto.setListId(card.getBoardList() != null ? card.getBoardList().getId() : null);
+        dto.setTitle(card.getTitle());
+        dto.setUserId(card.getUserId());
+        dto.setMemberIds(new HashSet<>(card.getMembers()));
+        dto.setDateTo(card.getDateTo());
+        return dto;
+    }
+}
@@ -0,0 +1,41 @@
+package com.meta.project.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meta.project.dto.DueReminderDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Appends each reminder to a file as one line of JSON; for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.sink", havingValue = "file")
+public class FileReminderSink implements ReminderSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileReminderSink(ObjectMapper objectMapper,
+                            @Value("${app.reminders.file:reminders.jsonl}") String file) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(file);
+    }
+
+    @Override
+    public synchronized void send(DueReminderDTO reminder) {
+        try {
+            Files.writeString(file, objectMapper.writeValueAsString(reminder) + System.lineSeparator(),
+                    StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error writing reminder to " + file, e);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.DueReminderDTO;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Keeps the most recent reminders in memory; for local runs and tests.
+ */
+@Component
+@ConditionalOnProperty(name = "app.reminders.sink", havingValue = "memory", matchIfMissing = true)
+public class InMemoryReminderSink implements ReminderSink {
+
+    private final int capacity;
+    private final Deque<DueReminderDTO> reminders = new ArrayDeque<>();
+
+    public InMemoryReminderSink(@Value("${app.reminders.memory-capacity:1000}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+    }
+
+    @Override
+    public synchronized void send(DueReminderDTO reminder) {
+        if (reminders.size() == capacity) {
+            reminders.removeFirst();
+        }
+        reminders.addLast(reminder);
+    }
+
+    /**
+     * @return the kept reminders, oldest first.
+     */
+    public synchronized List<DueReminderDTO> getReminders() {
+        return new ArrayList<>(reminders);
+    }
+
+    public synchronized void clear() {
+        reminders.clear();
+    }
+}
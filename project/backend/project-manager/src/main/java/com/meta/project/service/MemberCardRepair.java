@@ -0,0 +1,35 @@
+package com.meta.project.service;
+
+import com.meta.project.repository.MemberCardIndex;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Repairs the member card index from the card members, at startup and then on its own
+ * schedule. The startup run also fills the index rows of cards created before it existed.
+ */
+@Component
+@Slf4j
+public class MemberCardRepair {
+
+    private final MemberCardIndex memberCardIndex;
+
+    public MemberCardRepair(MemberCardIndex memberCardIndex) {
+        this.memberCardIndex = memberCardIndex;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(cron = "${app.members.repair-cron:0 0 4 * * *}")
+    public void repair() {
+        try {
+            long start = System.currentTimeMillis();
+            int rows = memberCardIndex.repair();
+            log.info("Repaired {} member card rows in {} ms", rows, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            log.error("Error repairing the member card index: ", e);
+        }
+    }
+}
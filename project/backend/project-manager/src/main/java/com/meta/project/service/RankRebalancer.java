@@ -0,0 +1,186 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.RankBulkUpdater;
+import com.meta.project.util.LexoRank;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps card and list rank keys short.
+ * Moves only ever write the moved row, so repeatedly splitting the same gap makes keys grow;
+ * once a key passes the configured length its list (or board) is queued and rewritten with
+ * evenly spaced keys in the background. Rows created before ranks existed are backfilled
+ * from their integer order on startup.
+ * <p>
+ * Respacing keeps every row's position, so it is not an edit: versions are left alone and
+ * clients' If-Match tags stay valid. A row edited while its list is respaced fails the
+ * rewrite, which is retried on the next run.
+ */
+@Service
+@Slf4j
+public class RankRebalancer {
+
+    private static final Comparator<Card> CARDS_BY_RANK = Comparator
+            .comparing(Card::getRank, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(Card::getOrder, Comparator.nullsLast(Comparator.<Integer>naturalOrder()));
+    private static final Comparator<BoardList> LISTS_BY_RANK = Comparator
+            .comparing(BoardList::getRank, Comparator.nullsLast(Comparator.<String>naturalOrder()))
+            .thenComparing(BoardList::getOrder, Comparator.nullsLast(Comparator.<Integer>naturalOrder()));
+
+    private final CardRepository cardRepository;
+    private final BoardListRepository boardListRepository;
+    private final RankBulkUpdater rankBulkUpdater;
+    private final TransactionTemplate transactionTemplate;
+    private final BoardChangePublisher changePublisher;
+    private final int maxRankLength;
+
+    private final Set<String> pendingLists = ConcurrentHashMap.newKeySet();
+    private final Set<String> pendingBoards = ConcurrentHashMap.newKeySet();
+
+    public RankRebalancer(CardRepository cardRepository,
+                          BoardListRepository boardListRepository,
+                          RankBulkUpdater rankBulkUpdater,
+                          PlatformTransactionManager transactionManager,
+                          BoardChangePublisher changePublisher,
+                          @Value("${app.ranking.max-length:12}") int maxRankLength) {
+        this.cardRepository = cardRepository;
+        this.boardListRepository = boardListRepository;
+        this.rankBulkUpdater = rankBulkUpdater;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.changePublisher = changePublisher;
+        this.maxRankLength = maxRankLength;
+    }
+
+    /**
+     * Queues the cards of a list for rebalancing if the given key has grown too long.
+     */
+    public void checkCardRank(String listId, String rank) {
+        if (rank != null && rank.length() > maxRankLength) {
+            requestCardRebalance(listId);
+        }
+    }
+
+    /**
+     * Queues the lists of a board for rebalancing if the given key has grown too long.
+     */
+    public void checkListRank(String boardId, String rank) {
+        if (rank != null && rank.length() > maxRankLength) {
+            requestListRebalance(boardId);
+        }
+    }
+
+    public void requestCardRebalance(String listId) {
+        pendingLists.add(listId);
+    }
+
+    public void requestListRebalance(String boardId) {
+        pendingBoards.add(boardId);
+    }
+
+    @Scheduled(fixedDelayString = "${app.ranking.rebalance-interval-ms:30000}")
+    public void rebalancePending() {
+        // Taken off the queue first so a request arriving meanwhile is kept; put back if the rewrite fails
+        for (String listId : List.copyOf(pendingLists)) {
+            pendingLists.remove(listId);
+            try {
+                rebalanceCards(listId);
+            } catch (Exception e) {
+                pendingLists.add(listId);
+                log.error("Error rebalancing card ranks of list {}, retrying on the next run: ", listId, e);
+            }
+        }
+        for (String boardId : List.copyOf(pendingBoards)) {
+            pendingBoards.remove(boardId);
+            try {
+                rebalanceLists(boardId);
+            } catch (Exception e) {
+                pendingBoards.add(boardId);
+                log.error("Error rebalancing list ranks of board {}, retrying on the next run: ", boardId, e);
+            }
+        }
+    }
+
+    /**
+     * Gives ranks to lists and cards that were created before ranks existed, keeping their order.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillMissingRanks() {
+        try {
+            boardListRepository.findBoardIdsWithUnrankedLists().forEach(this::rebalanceLists);
+            cardRepository.findListIdsWithUnrankedCards().forEach(this::rebalanceCards);
+        } catch (Exception e) {
+            log.error("Error backfilling ranks: ", e);
+        }
+    }
+
+    /**
+     * Rewrites the ranks of all cards in a list with evenly spaced keys, keeping their order.
+     */
+    public void rebalanceCards(String listId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Card> cards = new ArrayList<>(cardRepository.findByBoardListId(listId));
+            cards.sort(CARDS_BY_RANK);
+            assignCardRanks(listId, cards);
+        });
+    }
+
+    /**
+     * Rewrites the ranks of all lists on a board with evenly spaced keys, keeping their order.
+     */
+    public void rebalanceLists(String boardId) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<BoardList> lists = new ArrayList<>(boardListRepository.findByBoardIdOrderByRankAsc(boardId));
+            lists.sort(LISTS_BY_RANK);
+            assignListRanks(boardId, lists);
+        });
+    }
+
+    private void assignCardRanks(String listId, List<Card> cards) {
+        String[] ranks = LexoRank.spread(cards.size());
+        List<RankChangeDTO> changes = new ArrayList<>(cards.size());
+        Map<String, Long> versions = new HashMap<>();
+        for (int i = 0; i < cards.size(); i++) {
+            Card card = cards.get(i);
+            changes.add(new RankChangeDTO(card.getId(), i + 1, ranks[i]));
+            versions.put(card.getId(), card.getVersion());
+        }
+        rankBulkUpdater.respaceCardRanks(changes, versions);
+        if (!cards.isEmpty() && cards.get(0).getBoard() != null) {
+            changePublisher.rebalanced(cards.get(0).getBoard().getId(), BoardChangePublisher.CARD, listId);
+        }
+    }
+
+    private void assignListRanks(String boardId, List<BoardList> lists) {
+        String[] ranks = LexoRank.spread(lists.size());
+        List<RankChangeDTO> changes = new ArrayList<>(lists.size());
+        Map<String, Long> versions = new HashMap<>();
+        for (int i = 0; i < lists.size(); i++) {
+            BoardList list = lists.get(i);
+            changes.add(new RankChangeDTO(list.getId(), i + 1, ranks[i]));
+            versions.put(list.getId(), list.getVersion());
+        }
+        rankBulkUpdater.respaceListRanks(changes, versions);
+        if (!lists.isEmpty()) {
+            changePublisher.rebalanced(boardId, BoardChangePublisher.LIST, boardId);
+        }
+    }
+}
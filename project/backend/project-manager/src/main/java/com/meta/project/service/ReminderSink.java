@@ -0,0 +1,15 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.DueReminderDTO;
+
+/**
+ * Where {@link DueDateReminders} delivers its notifications. The sink in use is chosen by
+ * {@code app.reminders.sink}; another delivery channel (mail, chat, push) is a bean
+ * implementing this interface with its own sink name.
+ * <p>
+ * Called on the reminder thread, so a slow sink delays later reminders.
+ */
+public interface ReminderSink {
+
+    void send(DueReminderDTO reminder);
+}
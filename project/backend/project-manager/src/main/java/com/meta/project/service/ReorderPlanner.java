@@ -0,0 +1,116 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.util.LexoRank;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Works out the smallest set of rank changes that turns the current order of a list or board
+ * into a requested order. The items already in the right relative order (the longest
+ * increasing run of current ranks) keep their keys; only the others get new keys between
+ * their kept neighbours.
+ */
+final class ReorderPlanner {
+
+    private ReorderPlanner() {
+    }
+
+    /**
+     * @param orderedIds   The requested order.
+     * @param currentRanks The current rank of every id; null ranks are always rewritten.
+     * @return The ids that need a new rank, with their 1-based position and new key.
+     */
+    static List<RankChangeDTO> plan(List<String> orderedIds, Map<String, String> currentRanks) {
+        int n = orderedIds.size();
+        boolean[] kept = longestIncreasingRun(orderedIds, currentRanks);
+
+        List<RankChangeDTO> changes = new ArrayList<>();
+        String previousKept = null;
+        int runStart = 0;
+        for (int i = 0; i <= n; i++) {
+            if (i < n && !kept[i]) {
+                continue;
+            }
+            String nextKept = i < n ? currentRanks.get(orderedIds.get(i)) : null;
+            if (i > runStart) {
+                String[] keys = LexoRank.between(previousKept, nextKept, i - runStart);
+                for (int j = runStart; j < i; j++) {
+                    changes.add(new RankChangeDTO(orderedIds.get(j), j + 1, keys[j - runStart]));
+                }
+            }
+            previousKept = nextKept;
+            runStart = i + 1;
+        }
+        return changes;
+    }
+
+    /**
+     * Derives a complete order from positions requested for some of the items, as the legacy
+     * reorder endpoints send them. The moved items are taken out and put back at their requested
+     * 1-based positions, lowest first, clamped to the list; the others keep their relative order.
+     *
+     * @param currentOrder       The ids in their current rank order.
+     * @param requestedPositions The requested position of each moved id; null positions are ignored.
+     */
+    static List<String> place(List<String> currentOrder, Map<String, Integer> requestedPositions) {
+        record Moved(String id, int position, int current) {
+        }
+        List<String> result = new ArrayList<>(currentOrder.size());
+        List<Moved> moved = new ArrayList<>();
+        for (int i = 0; i < currentOrder.size(); i++) {
+            String id = currentOrder.get(i);
+            Integer requested = requestedPositions.get(id);
+            if (requested != null) {
+                moved.add(new Moved(id, requested, i));
+            } else {
+                result.add(id);
+            }
+        }
+        moved.sort(Comparator.comparingInt(Moved::position).thenComparingInt(Moved::current));
+        for (Moved item : moved) {
+            int index = Math.max(0, Math.min(item.position() - 1, result.size()));
+            result.add(index, item.id());
+        }
+        return result;
+    }
+
+    // Patience sorting over the current ranks, O(n log n)
+    private static boolean[] longestIncreasingRun(List<String> orderedIds, Map<String, String> currentRanks) {
+        int n = orderedIds.size();
+        int[] tails = new int[n];
+        int[] previous = new int[n];
+        int length = 0;
+        for (int i = 0; i < n; i++) {
+            String rank = currentRanks.get(orderedIds.get(i));
+            previous[i] = -1;
+            if (rank == null) {
+                continue;
+            }
+            int lo = 0;
+            int hi = length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (currentRanks.get(orderedIds.get(tails[mid])).compareTo(rank) < 0) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            previous[i] = lo > 0 ? tails[lo - 1] : -1;
+            tails[lo] = i;
+            if (lo == length) {
+                length++;
+            }
+        }
+
+        boolean[] kept = new boolean[n];
+        for (int i = length > 0 ? tails[length - 1] : -1; i >= 0; i = previous[i]) {
+            kept[i] = true;
+        }
+        return kept;
+    }
+}
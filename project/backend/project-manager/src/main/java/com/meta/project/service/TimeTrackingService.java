@@ -0,0 +1,278 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.CardTimeDTO;
+import com.meta.project.dto.TimeBucketDTO;
+import com.meta.project.dto.TimeEntryDTO;
+import com.meta.project.dto.TimeMigrationResultDTO;
+import com.meta.project.entity.BoardWeekTimeRollup;
+import com.meta.project.entity.Card;
+import com.meta.project.entity.TimeEntry;
+import com.meta.project.exception.ResourceNotFoundException;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.BoardWeekTimeRollupRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.CardTimeRollupRepository;
+import com.meta.project.repository.LegacyTrackedTime;
+import com.meta.project.repository.MemberDayTimeRollupRepository;
+import com.meta.project.repository.TimeEntryRepository;
+import com.meta.project.repository.TimeRollupWriter;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Time tracking on cards as an append-only ledger of {@link TimeEntry} rows.
+ * <p>
+ * Every append also adds the entry to three rollup tables in the same transaction: per card,
+ * per member and day, and per board and week. Card totals, timesheets and board reports are
+ * then single indexed reads of a handful of rollup rows instead of scans over the entries.
+ * <p>
+ * The legacy {@code trackedTimes} strings ("HH:MM:SS" durations) are imported as entries by
+ * {@link #migrateLegacyTrackedTimes()}, in batches and idempotently: each imported entry
+ * remembers its string, and strings that already have an entry are not read again. Strings
+ * still written through the old card endpoints are imported with the write, by
+ * {@link #importLegacyTrackedTimes(String)}.
+ */
+@Service
+@Slf4j
+public class TimeTrackingService {
+
+    private final TimeEntryRepository timeEntryRepository;
+    private final CardTimeRollupRepository cardTimeRollupRepository;
+    private final MemberDayTimeRollupRepository memberDayTimeRollupRepository;
+    private final BoardWeekTimeRollupRepository boardWeekTimeRollupRepository;
+    private final TimeRollupWriter timeRollupWriter;
+    private final CardRepository cardRepository;
+    private final TransactionTemplate batchTransaction;
+    private final int migrationBatchSize;
+    private final boolean migrateOnStartup;
+
+    public TimeTrackingService(TimeEntryRepository timeEntryRepository,
+                               CardTimeRollupRepository cardTimeRollupRepository,
+                               MemberDayTimeRollupRepository memberDayTimeRollupRepository,
+                               BoardWeekTimeRollupRepository boardWeekTimeRollupRepository,
+                               TimeRollupWriter timeRollupWriter,
+                               CardRepository cardRepository,
+                               PlatformTransactionManager transactionManager,
+                               @Value("${app.time.migration-batch-size:500}") int migrationBatchSize,
+                               @Value("${app.time.migrate-legacy-on-startup:true}") boolean migrateOnStartup) {
+        this.timeEntryRepository = timeEntryRepository;
+        this.cardTimeRollupRepository = cardTimeRollupRepository;
+        this.memberDayTimeRollupRepository = memberDayTimeRollupRepository;
+        this.boardWeekTimeRollupRepository = boardWeekTimeRollupRepository;
+        this.timeRollupWriter = timeRollupWriter;
+        this.cardRepository = cardRepository;
+        this.batchTransaction = new TransactionTemplate(transactionManager);
+        this.migrationBatchSize = migrationBatchSize;
+        this.migrateOnStartup = migrateOnStartup;
+    }
+
+    /**
+     * Appends a time entry to a card.
+     *
+     * @param cardId The ID of the card.
+     * @param entry  The member, start and duration; a negative duration corrects earlier entries.
+     * @return The stored entry.
+     * @throws ResourceNotFoundException If the card does not exist.
+     * @throws ServiceException          If the duration is missing or zero.
+     */
+    @Transactional
+    public TimeEntryDTO addEntry(String cardId, TimeEntryDTO entry) {
+        if (entry.getDurationSeconds() == null || entry.getDurationSeconds() == 0) {
+            throw new ServiceException("A time entry needs a non-zero duration", null);
+        }
+        Card card = cardRepository.findById(cardId)
+                .orElseThrow(() -> new ResourceNotFoundException("Card not found with ID: " + cardId));
+        try {
+            TimeEntry timeEntry = new TimeEntry();
+            timeEntry.setCardId(cardId);
+            timeEntry.setBoardId(card.getBoard() != null ? card.getBoard().getId() : null);
+            timeEntry.setUserId(entry.getUserId());
+            timeEntry.setDurationSeconds(entry.getDurationSeconds());
+            timeEntry.setStartedAt(entry.getStartedAt() != null ? entry.getStartedAt()
+                    : LocalDateTime.now().minusSeconds(Math.abs(entry.getDurationSeconds())));
+            timeEntry = timeEntryRepository.save(timeEntry);
+            timeRollupWriter.add(List.of(timeEntry));
+            return toDTO(timeEntry);
+        } catch (Exception e) {
+            log.error("Error adding time entry to card {}: ", cardId, e);
+            throw new ServiceException("Error adding time entry to card " + cardId, e);
+        }
+    }
+
+    public List<TimeEntryDTO> getEntries(String cardId) {
+        return timeEntryRepository.findByCardIdOrderByStartedAt(cardId).stream()
+                .map(this::toDTO)
+                .toList();
+    }
+
+    public CardTimeDTO getCardTime(String cardId) {
+        return cardTimeRollupRepository.findById(cardId)
+                .map(rollup -> new CardTimeDTO(cardId, rollup.getTotalSeconds(), rollup.getEntryCount()))
+                .orElse(new CardTimeDTO(cardId, 0, 0));
+    }
+
+    /**
+     * A member's timesheet: the time booked on each day of a range, across all boards. Days
+     * without entries are left out.
+     */
+    public List<TimeBucketDTO> getMemberDays(String userId, LocalDate from, LocalDate to) {
+        return memberDayTimeRollupRepository.findByUserIdAndDayBetweenOrderByDay(userId, from, to).stream()
+                .map(rollup -> new TimeBucketDTO(rollup.getDay(), rollup.getTotalSeconds(), rollup.getEntryCount()))
+                .toList();
+    }
+
+    /**
+     * The time booked on a board's cards per ISO week, for the weeks that overlap a range,
+     * or for all weeks when no range is given.
+     */
+    public List<TimeBucketDTO> getBoardWeeks(String boardId, LocalDate from, LocalDate to) {
+        List<BoardWeekTimeRollup> weeks = from == null && to == null
+                ? boardWeekTimeRollupRepository.findByBoardIdOrderByWeekStart(boardId)
+                : boardWeekTimeRollupRepository.findByBoardIdAndWeekStartBetweenOrderByWeekStart(boardId,
+                        from != null ? TimeRollupWriter.weekStart(from) : LocalDate.of(1970, 1, 1),
+                        to != null ? to : LocalDate.now());
+        return weeks.stream()
+                .map(rollup -> new TimeBucketDTO(rollup.getWeekStart(), rollup.getTotalSeconds(), rollup.getEntryCount()))
+                .toList();
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void migrateOnStartup() {
+        if (!migrateOnStartup) {
+            return;
+        }
+        try {
+            migrateLegacyTrackedTimes();
+        } catch (Exception e) {
+            // Batches already imported are committed; the next run continues after them
+            log.error("Error importing legacy tracked times: ", e);
+        }
+    }
+
+    /**
+     * Imports the legacy tracked-time strings that have no time entry yet, one transaction per
+     * batch. Strings that are not durations are skipped and stay as they are.
+     *
+     * @return How many strings were imported and how many were skipped.
+     */
+    public TimeMigrationResultDTO migrateLegacyTrackedTimes() {
+        long start = System.currentTimeMillis();
+        TimeMigrationResultDTO result = new TimeMigrationResultDTO();
+        String lastCardId = "";
+        String lastValue = "";
+        while (true) {
+            String afterCardId = lastCardId;
+            String afterValue = lastValue;
+            List<LegacyTrackedTime> batch = batchTransaction.execute(status -> {
+                List<LegacyTrackedTime> rows =
+                        timeEntryRepository.findLegacyTrackedTimesAfter(afterCardId, afterValue, migrationBatchSize);
+                int imported = importLegacy(rows);
+                result.setImported(result.getImported() + imported);
+                result.setSkipped(result.getSkipped() + rows.size() - imported);
+                return rows;
+            });
+            if (batch == null || batch.isEmpty()) {
+                break;
+            }
+            LegacyTrackedTime last = batch.get(batch.size() - 1);
+            lastCardId = last.getCardId();
+            lastValue = last.getTrackedTime();
+            if (batch.size() < migrationBatchSize) {
+                break;
+            }
+        }
+        if (result.getImported() > 0 || result.getSkipped() > 0) {
+            log.info("Imported {} legacy tracked times ({} skipped) in {} ms",
+                    result.getImported(), result.getSkipped(), System.currentTimeMillis() - start);
+        }
+        return result;
+    }
+
+    /**
+     * Imports the tracked-time strings of one card that have no time entry yet, in the caller's
+     * transaction, so time booked through the old card endpoints reaches the rollups with the
+     * write instead of at the next startup. Call after the card's strings have been flushed.
+     * Removing a string leaves its entry; entries are corrected by appending.
+     *
+     * @return The number of strings imported.
+     */
+    @Transactional
+    public int importLegacyTrackedTimes(String cardId) {
+        return importLegacy(timeEntryRepository.findLegacyTrackedTimesByCardId(cardId));
+    }
+
+    /**
+     * Books an entry for every string that is a non-zero duration; the others are skipped. The
+     * strings carry no member or start, so an entry is booked to the card's creator and starts
+     * at the card's last update.
+     */
+    private int importLegacy(List<LegacyTrackedTime> rows) {
+        List<TimeEntry> entries = new ArrayList<>(rows.size());
+        for (LegacyTrackedTime row : rows) {
+            Long seconds = parseDuration(row.getTrackedTime());
+            if (seconds == null || seconds == 0) {
+                continue;
+            }
+            TimeEntry entry = new TimeEntry();
+            entry.setCardId(row.getCardId());
+            entry.setBoardId(row.getBoardId());
+            entry.setUserId(row.getUserId());
+            entry.setStartedAt(row.getUpdatedAt() != null ? row.getUpdatedAt() : LocalDateTime.now());
+            entry.setDurationSeconds(seconds);
+            entry.setLegacyValue(row.getTrackedTime());
+            entries.add(entry);
+        }
+        timeEntryRepository.saveAll(entries);
+        timeRollupWriter.add(entries);
+        return entries.size();
+    }
+
+    /**
+     * Parses an "H:MM:SS" or "MM:SS" duration into seconds.
+     *
+     * @return The seconds, or null if the string is not such a duration.
+     */
+    static Long parseDuration(String value) {
+        if (value == null) {
+            return null;
+        }
+        String[] parts = value.trim().split(":");
+        if (parts.length < 2 || parts.length > 3) {
+            return null;
+        }
+        long seconds = 0;
+        for (int i = 0; i < parts.length; i++) {
+            if (!parts[i].matches("\\d{1,6}")) {
+                return null;
+            }
+            long part = Long.parseLong(parts[i]);
+            if (i > 0 && part >= 60) {
+                return null;
+            }
+            seconds = seconds * 60 + part;
+        }
+        return seconds;
+    }
+
+    private TimeEntryDTO toDTO(TimeEntry entry) {
+        TimeEntryDTO dto = new TimeEntryDTO();
+        dto.setId(entry.getId());
+        dto.setCardId(entry.getCardId());
+        dto.setBoardId(entry.getBoardId());
+        dto.setUserId(entry.getUserId());
+        dto.setStartedAt(entry.getStartedAt());
+        dto.setDurationSeconds(entry.getDurationSeconds());
+        return dto;
+    }
+}
@@ -0,0 +1,323 @@
+package com.meta.project.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+/**
+ * Bitmap indexes over the cards of one board, for evaluating filter combinations with bit
+ * operations instead of scanning cards.
+ * <p>
+ * Each card gets a small ordinal, reused after the card is removed, so the bitmaps stay dense:
+ * a board of n cards needs about n/8 bytes per bitmap. There is one bitmap per label, member,
+ * list and due day, plus one for completed cards. Labels are free-form strings, so they are
+ * interned in a per-board dictionary and their bitmaps are kept by dictionary code.
+ * <p>
+ * Reads run concurrently, writes are exclusive.
+ */
+public class BoardBitmapIndex {
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, Integer> ordinals = new HashMap<>();
+    private final List<Entry> entries = new ArrayList<>();
+    private final BitSet live = new BitSet();
+    private final BitSet completed = new BitSet();
+    private final BitSet noDueDate = new BitSet();
+    private final Map<String, Integer> labelCodes = new HashMap<>();
+    private final List<String> labelNames = new ArrayList<>();
+    private final List<BitSet> labels = new ArrayList<>();
+    private final Map<String, BitSet> members = new HashMap<>();
+    private final Map<String, BitSet> lists = new HashMap<>();
+    private final TreeMap<LocalDate, BitSet> dueDays = new TreeMap<>();
+
+    /**
+     * Read access to the bitmaps while a query is evaluated. Every method returns a fresh
+     * copy, so callers can combine the results in place.
+     */
+    public interface Bitmaps {
+        BitSet all();
+
+        BitSet completed();
+
+        BitSet label(String label);
+
+        BitSet member(String memberId);
+
+        BitSet list(String listId);
+
+        /**
+         * Cards due on a day in {@code [from, to)}; either bound may be null for an open range.
+         */
+        BitSet dueBetween(LocalDate from, LocalDate to);
+
+        BitSet noDueDate();
+    }
+
+    /**
+     * Adds a card, replacing any earlier state of the same card.
+     */
+    public void put(String cardId, String listId, boolean isCompleted, LocalDate dueDay,
+                    Collection<String> cardLabels, Collection<String> cardMembers) {
+        lock.writeLock().lock();
+        try {
+            Integer existing = ordinals.get(cardId);
+            int ordinal = existing != null ? existing : live.nextClearBit(0);
+            if (existing != null) {
+                clear(ordinal);
+            }
+            int[] codes = cardLabels.stream().distinct().mapToInt(this::labelCode).toArray();
+            String[] memberIds = cardMembers.stream().distinct().toArray(String[]::new);
+            Entry entry = new Entry(cardId, listId, dueDay, codes, memberIds);
+            while (entries.size() <= ordinal) {
+                entries.add(null);
+            }
+            entries.set(ordinal, entry);
+            ordinals.put(cardId, ordinal);
+            live.set(ordinal);
+            completed.set(ordinal, isCompleted);
+            for (int code : codes) {
+                labels.get(code).set(ordinal);
+            }
+            for (String memberId : memberIds) {
+                members.computeIfAbsent(memberId, id -> new BitSet()).set(ordinal);
+            }
+            if (listId != null) {
+                lists.computeIfAbsent(listId, id -> new BitSet()).set(ordinal);
+            }
+            if (dueDay != null) {
+                dueDays.computeIfAbsent(dueDay, day -> new BitSet()).set(ordinal);
+            } else {
+                noDueDate.set(ordinal);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String cardId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.remove(cardId);
+            if (ordinal == null) {
+                return false;
+            }
+            clear(ordinal);
+            entries.set(ordinal, null);
+            live.clear(ordinal);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Moves a card to another list without touching its other bitmaps.
+     *
+     * @return false if the card is not indexed.
+     */
+    public boolean moveToList(String cardId, String listId) {
+        lock.writeLock().lock();
+        try {
+            Integer ordinal = ordinals.get(cardId);
+            if (ordinal == null) {
+                return false;
+            }
+            Entry entry = entries.get(ordinal);
+            clearBit(lists, entry.listId, ordinal);
+            entry.listId = listId;
+            if (listId != null) {
+                lists.computeIfAbsent(listId, id -> new BitSet()).set(ordinal);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every card of a list, e.g. after the list was deleted.
+     */
+    public int removeList(String listId) {
+        lock.writeLock().lock();
+        try {
+            BitSet cards = lists.get(listId);
+            if (cards == null) {
+                return 0;
+            }
+            List<String> cardIds = cardIds(cards);
+            cardIds.forEach(this::remove);
+            return cardIds.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return ordinals.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Evaluates a query against a consistent view of the bitmaps and returns the matching
+     * card IDs in ordinal order.
+     */
+    public List<String> select(Function<Bitmaps, BitSet> query) {
+        lock.readLock().lock();
+        try {
+            BitSet result = query.apply(new View());
+            result.and(live);
+            return cardIds(result);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * The label dictionary of the board with the number of cards carrying each label; labels
+     * no card carries any more are left out.
+     */
+    public Map<String, Integer> labelCounts() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> counts = new LinkedHashMap<>();
+            for (int code = 0; code < labels.size(); code++) {
+                int count = labels.get(code).cardinality();
+                if (count > 0) {
+                    counts.put(labelNames.get(code), count);
+                }
+            }
+            return counts;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private int labelCode(String label) {
+        return labelCodes.computeIfAbsent(label, name -> {
+            labelNames.add(name);
+            labels.add(new BitSet());
+            return labelNames.size() - 1;
+        });
+    }
+
+    private List<String> cardIds(BitSet bits) {
+        List<String> cardIds = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            cardIds.add(entries.get(i).cardId);
+        }
+        return cardIds;
+    }
+
+    /**
+     * Clears a card's bits everywhere but in {@link #live}. Called under the write lock.
+     */
+    private void clear(int ordinal) {
+        Entry entry = entries.get(ordinal);
+        completed.clear(ordinal);
+        noDueDate.clear(ordinal);
+        for (int code : entry.labelCodes) {
+            labels.get(code).clear(ordinal);
+        }
+        for (String memberId : entry.memberIds) {
+            clearBit(members, memberId, ordinal);
+        }
+        clearBit(lists, entry.listId, ordinal);
+        clearBit(dueDays, entry.dueDay, ordinal);
+    }
+
+    private static <K> void clearBit(Map<K, BitSet> bitmaps, K key, int ordinal) {
+        if (key == null) {
+            return;
+        }
+        BitSet bits = bitmaps.get(key);
+        if (bits != null) {
+            bits.clear(ordinal);
+            if (bits.isEmpty()) {
+                bitmaps.remove(key);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String cardId;
+        private final LocalDate dueDay;
+        private final int[] labelCodes;
+        private final String[] memberIds;
+        private String listId;
+
+        private Entry(String cardId, String listId, LocalDate dueDay, int[] labelCodes, String[] memberIds) {
+            this.cardId = cardId;
+            this.listId = listId;
+            this.dueDay = dueDay;
+            this.labelCodes = labelCodes;
+            this.memberIds = memberIds;
+        }
+    }
+
+    private final class View implements Bitmaps {
+
+        @Override
+        public BitSet all() {
+            return (BitSet) live.clone();
+        }
+
+        @Override
+        public BitSet completed() {
+            return (BitSet) completed.clone();
+        }
+
+        @Override
+        public BitSet label(String label) {
+            Integer code = labelCodes.get(label);
+            return code != null ? (BitSet) labels.get(code).clone() : new BitSet();
+        }
+
+        @Override
+        public BitSet member(String memberId) {
+            return copy(members.get(memberId));
+        }
+
+        @Override
+        public BitSet list(String listId) {
+            return copy(lists.get(listId));
+        }
+
+        @Override
+        public BitSet dueBetween(LocalDate from, LocalDate to) {
+            Map<LocalDate, BitSet> days;
+            if (from != null && to != null) {
+                days = dueDays.subMap(from, true, to, false);
+            } else if (from != null) {
+                days = dueDays.tailMap(from, true);
+            } else if (to != null) {
+                days = dueDays.headMap(to, false);
+            } else {
+                days = dueDays;
+            }
+            BitSet result = new BitSet();
+            days.values().forEach(result::or);
+            return result;
+        }
+
+        @Override
+        public BitSet noDueDate() {
+            return (BitSet) noDueDate.clone();
+        }
+
+        private BitSet copy(BitSet bits) {
+            return bits != null ? (BitSet) bits.clone() : new BitSet();
+        }
+    }
+}
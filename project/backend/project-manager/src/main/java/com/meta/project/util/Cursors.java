@@ -0,0 +1,45 @@
+package com.meta.project.util;
+
+import com.meta.project.exception.ServiceException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque page cursors for keyset pagination. A cursor holds the sort key of the last item of
+ * a page, e.g. its time and ID, so the next page starts right after that item no matter what
+ * was inserted or deleted in between.
+ */
+public final class Cursors {
+
+    private static final char SEPARATOR = '\n';
+
+    private Cursors() {
+    }
+
+    public static String encode(String... parts) {
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(String.join(String.valueOf(SEPARATOR), parts).getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * @return the parts of a cursor, or null if the cursor is absent.
+     * @throws ServiceException if the cursor was not made by {@link #encode} with that many parts.
+     */
+    public static String[] decode(String cursor, int parts) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] decoded;
+        try {
+            decoded = new String(Base64.getUrlDecoder().decode(cursor.trim()), StandardCharsets.UTF_8)
+                    .split(String.valueOf(SEPARATOR), -1);
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Invalid page cursor: " + cursor, e);
+        }
+        if (decoded.length != parts) {
+            throw new ServiceException("Invalid page cursor: " + cursor, null);
+        }
+        return decoded;
+    }
+}
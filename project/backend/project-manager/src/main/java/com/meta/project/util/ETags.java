@@ -0,0 +1,66 @@
+package com.meta.project.util;
+
+import com.meta.project.exception.PreconditionFailedException;
+
+/**
+ * Builds entity tags from version columns and reads the version a client expects from an
+ * {@code If-Match} header.
+ * <p>
+ * Cards and lists are tagged with their {@code @Version}; boards with their own version plus
+ * the aggregate version of everything on them, e.g. {@code "3.41"}.
+ */
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(long version) {
+        return "\"" + version + "\"";
+    }
+
+    public static String of(long version, long contentVersion) {
+        return "\"" + version + "." + contentVersion + "\"";
+    }
+
+    /**
+     * @return the version named by an {@code If-Match} header, or null if the header is absent or {@code *}.
+     * @throws PreconditionFailedException if the header does not hold a single version tag.
+     */
+    public static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        try {
+            return Long.parseLong(strip(ifMatch));
+        } catch (NumberFormatException e) {
+            throw new PreconditionFailedException("If-Match does not name a version: " + ifMatch);
+        }
+    }
+
+    /**
+     * @return whether an {@code If-Match} header is absent, {@code *}, or lists the given tag.
+     */
+    public static boolean matches(String ifMatch, String etag) {
+        if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+            return true;
+        }
+        String expected = strip(etag);
+        for (String candidate : ifMatch.split(",")) {
+            if (strip(candidate).equals(expected)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static String strip(String tag) {
+        String value = tag.trim();
+        if (value.startsWith("W/")) {
+            value = value.substring(2);
+        }
+        if (value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"")) {
+            value = value.substring(1, value.length() - 1);
+        }
+        return value;
+    }
+}
@@ -0,0 +1,374 @@
+package com.meta.project.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.PriorityQueue;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory inverted index with BM25 ranking.
+ * <p>
+ * Each document is a title plus any number of body texts, identified by a key and carrying
+ * caller-defined metadata used for filtering. Title terms count {@value #TITLE_WEIGHT} times.
+ * Queries match documents containing every query term; the last term also matches as a
+ * prefix, so results follow the user while typing.
+ * <p>
+ * Postings are append-only arrays of (document, term frequency) in document order. Replacing
+ * or removing a document only marks its slot dead; dead slots are dropped by a compaction
+ * once they make up a quarter of the index. Reads run concurrently, writes are exclusive.
+ *
+ * @param <T> The metadata kept with each document.
+ */
+public class InvertedIndex<T> {
+
+    private static final float K1 = 1.2f;
+    private static final float B = 0.75f;
+    private static final int TITLE_WEIGHT = 3;
+    private static final int MAX_PREFIX_EXPANSIONS = 64;
+    private static final int MIN_COMPACTION = 1024;
+
+    private static final ThreadLocal<Accumulator> ACCUMULATORS = ThreadLocal.withInitial(Accumulator::new);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final TreeMap<String, Postings> terms = new TreeMap<>();
+    private final Map<String, Integer> docIds = new HashMap<>();
+    private final List<Doc<T>> docs = new ArrayList<>();
+    private long totalLength;
+    private int deleted;
+
+    /**
+     * A matching document and its score.
+     */
+    public record Hit<T>(String key, T meta, float score) {
+    }
+
+    /**
+     * Adds a document, replacing any document with the same key.
+     */
+    public void put(String key, T meta, String title, Collection<String> texts) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        int length = count(frequencies, title, TITLE_WEIGHT);
+        for (String text : texts) {
+            length += count(frequencies, text, 1);
+        }
+
+        lock.writeLock().lock();
+        try {
+            removeLocked(key);
+            int docId = docs.size();
+            docs.add(new Doc<>(key, meta, length));
+            docIds.put(key, docId);
+            totalLength += length;
+            frequencies.forEach((term, frequency) ->
+                    terms.computeIfAbsent(term, t -> new Postings()).add(docId, frequency));
+            // Every edit re-indexes its card, so replacements leave dead slots too
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public boolean remove(String key) {
+        lock.writeLock().lock();
+        try {
+            boolean removed = removeLocked(key);
+            compactIfNeeded();
+            return removed;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Removes every document whose metadata matches, e.g. all cards of a deleted list.
+     */
+    public int removeIf(Predicate<T> predicate) {
+        lock.writeLock().lock();
+        try {
+            List<String> keys = new ArrayList<>();
+            for (Doc<T> doc : docs) {
+                if (doc != null && predicate.test(doc.meta)) {
+                    keys.add(doc.key);
+                }
+            }
+            keys.forEach(this::removeLocked);
+            compactIfNeeded();
+            return keys.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Replaces the metadata of a document without re-indexing its text.
+     *
+     * @return false if there is no document with that key.
+     */
+    public boolean updateMeta(String key, UnaryOperator<T> update) {
+        lock.writeLock().lock();
+        try {
+            Integer docId = docIds.get(key);
+            if (docId == null) {
+                return false;
+            }
+            Doc<T> doc = docs.get(docId);
+            doc.meta = update.apply(doc.meta);
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return docIds.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Finds the best-scoring documents that contain every term of the query and pass the filter.
+     */
+    public List<Hit<T>> search(String query, Predicate<T> filter, int limit) {
+        List<String> queryTerms = new ArrayList<>(new LinkedHashSet<>(TextTokenizer.tokenize(query)));
+        if (queryTerms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+
+        lock.readLock().lock();
+        try {
+            int liveDocs = docIds.size();
+            if (liveDocs == 0) {
+                return List.of();
+            }
+            List<Postings[]> expanded = new ArrayList<>(queryTerms.size());
+            for (int i = 0; i < queryTerms.size(); i++) {
+                Postings[] postings = expand(queryTerms.get(i), i == queryTerms.size() - 1);
+                if (postings.length == 0) {
+                    return List.of();
+                }
+                expanded.add(postings);
+            }
+            // Rarest term first: it bounds the candidates the other terms have to look at
+            expanded.sort(Comparator.comparingLong(InvertedIndex::documentFrequency));
+
+            float averageLength = (float) totalLength / liveDocs;
+            Accumulator acc = ACCUMULATORS.get();
+            acc.ensure(docs.size());
+            try {
+                for (int t = 0; t < expanded.size(); t++) {
+                    for (Postings postings : expanded.get(t)) {
+                        score(postings, t, liveDocs, averageLength, acc);
+                    }
+                }
+                return topHits(acc, expanded.size(), filter, limit);
+            } finally {
+                acc.reset();
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private Postings[] expand(String term, boolean prefix) {
+        if (!prefix) {
+            Postings postings = terms.get(term);
+            return postings != null ? new Postings[]{postings} : new Postings[0];
+        }
+        NavigableMap<String, Postings> matches = terms.subMap(term, true, term + Character.MAX_VALUE, false);
+        return matches.values().stream().limit(MAX_PREFIX_EXPANSIONS).toArray(Postings[]::new);
+    }
+
+    private static long documentFrequency(Postings[] postings) {
+        long total = 0;
+        for (Postings p : postings) {
+            total += p.size;
+        }
+        return total;
+    }
+
+    /**
+     * Adds one term's BM25 contribution to the documents that matched every earlier query term.
+     */
+    private void score(Postings postings, int termIndex, int liveDocs, float averageLength, Accumulator acc) {
+        int df = Math.min(postings.size, liveDocs);
+        float idf = (float) Math.log(1 + (liveDocs - df + 0.5) / (df + 0.5));
+        for (int i = 0; i < postings.size; i++) {
+            int docId = postings.docs[i];
+            int matched = acc.matched[docId];
+            if (matched < termIndex) {
+                continue;
+            }
+            Doc<T> doc = docs.get(docId);
+            if (doc == null) {
+                continue;
+            }
+            if (matched == termIndex) {
+                acc.matched[docId] = termIndex + 1;
+                if (termIndex == 0) {
+                    acc.touch(docId);
+                }
+            }
+            float tf = postings.frequencies[i] & 0xff;
+            acc.scores[docId] += idf * tf * (K1 + 1) / (tf + K1 * (1 - B + B * doc.length / averageLength));
+        }
+    }
+
+    private List<Hit<T>> topHits(Accumulator acc, int termCount, Predicate<T> filter, int limit) {
+        PriorityQueue<Hit<T>> best = new PriorityQueue<>(limit + 1, Comparator.comparingDouble(Hit::score));
+        for (int i = 0; i < acc.touchedCount; i++) {
+            int docId = acc.touched[i];
+            if (acc.matched[docId] != termCount) {
+                continue;
+            }
+            Doc<T> doc = docs.get(docId);
+            float score = acc.scores[docId];
+            if (best.size() == limit && score <= best.peek().score()) {
+                continue;
+            }
+            if (filter != null && !filter.test(doc.meta)) {
+                continue;
+            }
+            best.add(new Hit<>(doc.key, doc.meta, score));
+            if (best.size() > limit) {
+                best.poll();
+            }
+        }
+        List<Hit<T>> hits = new ArrayList<>(best);
+        hits.sort(Comparator.comparingDouble(Hit<T>::score).reversed());
+        return hits;
+    }
+
+    private static int count(Map<String, Integer> frequencies, String text, int weight) {
+        List<String> tokens = TextTokenizer.tokenize(text);
+        for (String token : tokens) {
+            frequencies.merge(token, weight, Integer::sum);
+        }
+        return tokens.size() * weight;
+    }
+
+    private boolean removeLocked(String key) {
+        Integer docId = docIds.remove(key);
+        if (docId == null) {
+            return false;
+        }
+        totalLength -= docs.get(docId).length;
+        docs.set(docId, null);
+        deleted++;
+        return true;
+    }
+
+    /**
+     * Drops dead slots once they are a quarter of the index, renumbering the live documents.
+     * Called under the write lock.
+     */
+    private void compactIfNeeded() {
+        if (deleted < MIN_COMPACTION || deleted * 4 < docs.size()) {
+            return;
+        }
+        int[] remap = new int[docs.size()];
+        List<Doc<T>> live = new ArrayList<>(docIds.size());
+        for (int i = 0; i < docs.size(); i++) {
+            Doc<T> doc = docs.get(i);
+            remap[i] = doc != null ? live.size() : -1;
+            if (doc != null) {
+                live.add(doc);
+            }
+        }
+        terms.values().removeIf(postings -> postings.remap(remap) == 0);
+        docs.clear();
+        docs.addAll(live);
+        docIds.clear();
+        for (int i = 0; i < live.size(); i++) {
+            docIds.put(live.get(i).key, i);
+        }
+        deleted = 0;
+    }
+
+    private static final class Doc<T> {
+        private final String key;
+        private final int length;
+        private T meta;
+
+        private Doc(String key, T meta, int length) {
+            this.key = key;
+            this.meta = meta;
+            this.length = length;
+        }
+    }
+
+    private static final class Postings {
+        private int[] docs = new int[2];
+        private byte[] frequencies = new byte[2];
+        private int size;
+
+        private void add(int docId, int frequency) {
+            if (size == docs.length) {
+                docs = Arrays.copyOf(docs, size * 2);
+                frequencies = Arrays.copyOf(frequencies, size * 2);
+            }
+            docs[size] = docId;
+            frequencies[size] = (byte) Math.min(frequency, 255);
+            size++;
+        }
+
+        private int remap(int[] remap) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                int docId = remap[docs[i]];
+                if (docId >= 0) {
+                    docs[kept] = docId;
+                    frequencies[kept] = frequencies[i];
+                    kept++;
+                }
+            }
+            size = kept;
+            return kept;
+        }
+    }
+
+    /**
+     * Per-thread score and match-count arrays, reused across queries and cleared only where touched.
+     */
+    private static final class Accumulator {
+        private float[] scores = new float[0];
+        private int[] matched = new int[0];
+        private int[] touched = new int[16];
+        private int touchedCount;
+
+        private void ensure(int size) {
+            if (scores.length < size) {
+                int capacity = Math.max(size, scores.length * 2);
+                scores = new float[capacity];
+                matched = new int[capacity];
+            }
+        }
+
+        private void touch(int docId) {
+            if (touchedCount == touched.length) {
+                touched = Arrays.copyOf(touched, touchedCount * 2);
+            }
+            touched[touchedCount++] = docId;
+        }
+
+        private void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                scores[touched[i]] = 0;
+                matched[touched[i]] = 0;
+            }
+            touchedCount = 0;
+        }
+    }
+}
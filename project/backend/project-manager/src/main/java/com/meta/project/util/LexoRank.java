@@ -0,0 +1,147 @@
+package com.meta.project.util;
+
+/**
+ * Helpers for fractional, lexicographically ordered rank keys.
+ * <p>
+ * A rank is a base-36 string over {@code 0-9a-z}; items are ordered by comparing their
+ * ranks as plain strings, so moving an item only means giving it a new key between its
+ * new neighbours and a move writes a single row. Generated keys never end in {@code 0},
+ * which guarantees there is always room for another key between two neighbours.
+ * Keys grow when the same gap is split repeatedly; {@link #spread(int)} hands out fresh,
+ * evenly spaced keys for rebalancing.
+ */
+public final class LexoRank {
+
+    private static final int RADIX = 36;
+    /** Width of the keys handed out by {@link #after(String)} and {@link #spread(int)}. */
+    private static final int WIDTH = 6;
+    private static final long SPACE = pow(RADIX, WIDTH);
+    /** Gap left between consecutive keys when appending. */
+    private static final long STEP = pow(RADIX, 3);
+
+    private LexoRank() {
+    }
+
+    /**
+     * Returns a key that sorts strictly between {@code before} and {@code after}.
+     *
+     * @param before The key of the preceding item, or null for the start of the sequence.
+     * @param after  The key of the following item, or null for the end of the sequence.
+     * @return The new key. If the bounds are equal or inverted (e.g. duplicate keys left by
+     * concurrent inserts) the key sorts directly after {@code before}.
+     */
+    public static String between(String before, String after) {
+        String lo = before != null ? before : "";
+        String hi = after;
+        if (hi != null && lo.compareTo(hi) >= 0) {
+            hi = lo + Character.forDigit(RADIX - 1, RADIX);
+        }
+
+        StringBuilder key = new StringBuilder();
+        for (int i = 0; ; i++) {
+            if (hi != null && i >= hi.length() && i >= lo.length()) {
+                throw new IllegalArgumentException("Rank keys must not end in 0: " + after);
+            }
+            int low = i < lo.length() ? digit(lo.charAt(i)) : 0;
+            int high = hi != null ? (i < hi.length() ? digit(hi.charAt(i)) : 0) : RADIX;
+            if (low == high) {
+                key.append(Character.forDigit(low, RADIX));
+                continue;
+            }
+            int mid = (low + high) / 2;
+            if (mid > low) {
+                return key.append(Character.forDigit(mid, RADIX)).toString();
+            }
+            // Adjacent digits: keep the lower one, everything after it is below the upper bound.
+            key.append(Character.forDigit(low, RADIX));
+            hi = null;
+        }
+    }
+
+    /**
+     * Returns {@code count} ascending keys strictly between {@code before} and {@code after}.
+     * Keys are produced by bisection, so they grow with the logarithm of {@code count}
+     * rather than linearly.
+     */
+    public static String[] between(String before, String after, int count) {
+        String[] keys = new String[count];
+        fill(keys, 0, count, before, after);
+        return keys;
+    }
+
+    private static void fill(String[] keys, int from, int to, String before, String after) {
+        if (from >= to) {
+            return;
+        }
+        int mid = (from + to) >>> 1;
+        keys[mid] = between(before, after);
+        fill(keys, from, mid, before, keys[mid]);
+        fill(keys, mid + 1, to, keys[mid], after);
+    }
+
+    /**
+     * Returns a key for appending after {@code last}. Steps by a fixed gap while there is
+     * room at the current width, so appends do not grow the keys.
+     *
+     * @param last The key of the current last item, or null if the sequence is empty.
+     */
+    public static String after(String last) {
+        if (last == null) {
+            return format(SPACE / 2);
+        }
+        long next = prefixValue(last) + STEP;
+        if (next < SPACE) {
+            return format(next);
+        }
+        return between(last, null);
+    }
+
+    /**
+     * Returns {@code count} evenly spaced keys in ascending order. Only the lower half of
+     * the key space is used, which leaves room for appends after a rebalance.
+     */
+    public static String[] spread(int count) {
+        String[] keys = new String[count];
+        long gap = Math.max(1, SPACE / 2 / (count + 1L));
+        for (int i = 0; i < count; i++) {
+            keys[i] = format(gap * (i + 1));
+        }
+        return keys;
+    }
+
+    private static long prefixValue(String key) {
+        long value = 0;
+        for (int i = 0; i < WIDTH; i++) {
+            value = value * RADIX + (i < key.length() ? digit(key.charAt(i)) : 0);
+        }
+        return value;
+    }
+
+    private static String format(long value) {
+        StringBuilder key = new StringBuilder(Long.toString(value, RADIX));
+        while (key.length() < WIDTH) {
+            key.insert(0, '0');
+        }
+        int end = key.length();
+        while (end > 1 && key.charAt(end - 1) == '0') {
+            end--;
+        }
+        return key.substring(0, end);
+    }
+
+    private static int digit(char c) {
+        int digit = Character.digit(c, RADIX);
+        if (digit < 0 || Character.isUpperCase(c)) {
+            throw new IllegalArgumentException("Invalid rank character: " + c);
+        }
+        return digit;
+    }
+
+    private static long pow(int base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+}
@@ -0,0 +1,82 @@
+package com.meta.project.util;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+
+/**
+ * Keys ordered by the time they are due, for firing timers without scanning: the next due
+ * key is the head of a sorted set, and a key is rescheduled or cancelled through a map from
+ * key to its slot. Scheduling, cancelling and polling a key are O(log n).
+ * <p>
+ * Not thread-safe; callers confine an index to one thread.
+ */
+public class TimerIndex<K> {
+
+    private record Slot<K>(LocalDateTime at, long seq, K key) {
+    }
+
+    private final TreeSet<Slot<K>> slots = new TreeSet<>(
+            Comparator.<Slot<K>, LocalDateTime>comparing(Slot::at).thenComparingLong(Slot::seq));
+    private final Map<K, Slot<K>> byKey = new HashMap<>();
+    private long nextSeq;
+
+    /**
+     * Schedules a key, replacing its earlier time if it had one.
+     */
+    public void schedule(K key, LocalDateTime at) {
+        cancel(key);
+        Slot<K> slot = new Slot<>(at, nextSeq++, key);
+        slots.add(slot);
+        byKey.put(key, slot);
+    }
+
+    /**
+     * @return whether the key was scheduled.
+     */
+    public boolean cancel(K key) {
+        Slot<K> slot = byKey.remove(key);
+        return slot != null && slots.remove(slot);
+    }
+
+    /**
+     * @return the time a key is due, or null if it is not scheduled.
+     */
+    public LocalDateTime timeOf(K key) {
+        Slot<K> slot = byKey.get(key);
+        return slot != null ? slot.at() : null;
+    }
+
+    /**
+     * Removes and returns the keys due at or before a time, earliest first.
+     */
+    public List<K> pollDue(LocalDateTime now) {
+        List<K> due = new ArrayList<>();
+        while (!slots.isEmpty() && !slots.first().at().isAfter(now)) {
+            Slot<K> slot = slots.pollFirst();
+            byKey.remove(slot.key());
+            due.add(slot.key());
+        }
+        return due;
+    }
+
+    /**
+     * @return the earliest scheduled time, or null if the index is empty.
+     */
+    public LocalDateTime nextTime() {
+        return slots.isEmpty() ? null : slots.first().at();
+    }
+
+    public int size() {
+        return byKey.size();
+    }
+
+    public void clear() {
+        slots.clear();
+        byKey.clear();
+    }
+}
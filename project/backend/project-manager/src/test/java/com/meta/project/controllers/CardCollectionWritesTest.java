@@ -0,0 +1,190 @@
+package com.meta.project.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardCollectionsPatchDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.ChildDeltaDTO;
+import com.meta.project.dto.SetDeltaDTO;
+import com.meta.project.dto.TodoDTO;
+import com.meta.project.entity.Todo;
+import com.meta.project.service.BoardListService;
+import com.meta.project.service.BoardService;
+import com.meta.project.service.CardService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Changing one element of a card collection through {@code PUT /todos}, {@code PUT /labels} or
+ * {@code PATCH /collections} writes only the rows that changed, plus the card's own row for its
+ * version and counters. Entity writes are read from the Hibernate statistics; element collection
+ * rows, which the statistics do not count one by one, from the statements Hibernate prepares.
+ */
+@AutoConfigureMockMvc
+@TestPropertySource(properties = {
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.meta.project.controllers.CardCollectionWritesTest$RecordingInspector"})
+class CardCollectionWritesTest extends BaseIntegrationTest {
+
+    private static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+    /**
+     * Records every statement Hibernate prepares.
+     */
+    public static class RecordingInspector implements StatementInspector {
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql.toLowerCase());
+            return sql;
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private String cardId;
+
+    @BeforeEach
+    void setup() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        BoardDTO board = new BoardDTO();
+        board.setTitle("writes");
+        String boardId = boardService.createBoard(board).getId();
+        CardDTO card = new CardDTO();
+        card.setTitle("card");
+        card.setBoardId(boardId);
+        card.setListId(boardListService.createList("todo", boardId).getId());
+        card.setLabels(List.of("red", "green", "blue"));
+        cardId = cardService.createCard(card).getId();
+        for (String content : List.of("one", "two", "three")) {
+            Todo todo = new Todo();
+            todo.setContent(content);
+            cardService.addCardTodo(cardId, todo);
+        }
+    }
+
+    @Test
+    void swappingOneLabelWritesOneDeleteAndOneInsert() throws Exception {
+        perform(put("/pm/v1/cards/{cardId}/labels", cardId), List.of("red", "green", "yellow"));
+
+        assertThat(writes("card_labels")).containsExactlyInAnyOrder("delete", "insert");
+        assertThat(writes("cards")).containsExactly("update");
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+        assertThat(cardService.getCardById(cardId).getLabels()).containsExactlyInAnyOrder("red", "green", "yellow");
+    }
+
+    @Test
+    void putTodosWritesOnlyTheChangedTodos() throws Exception {
+        List<TodoDTO> todos = new ArrayList<>(cardService.getCardById(cardId).getTodos());
+        todos.get(0).setCompleted(true);
+        todos.remove(1);
+        TodoDTO added = new TodoDTO();
+        added.setContent("four");
+        added.setCompleted(false);
+        todos.add(added);
+
+        perform(put("/pm/v1/cards/{cardId}/todos", cardId), todos);
+
+        assertTodoWrites();
+        assertThat(cardService.getCardById(cardId).getTodos()).extracting(TodoDTO::getContent)
+                .containsExactlyInAnyOrder("one", "three", "four");
+    }
+
+    @Test
+    void patchWritesOnlyTheChangedRows() throws Exception {
+        List<TodoDTO> todos = cardService.getCardById(cardId).getTodos();
+        TodoDTO toggled = todos.get(0);
+        toggled.setCompleted(true);
+        TodoDTO added = new TodoDTO();
+        added.setContent("four");
+        ChildDeltaDTO<TodoDTO> todoDelta = new ChildDeltaDTO<>();
+        todoDelta.setUpdate(List.of(toggled));
+        todoDelta.setRemove(Set.of(todos.get(1).getId()));
+        todoDelta.setAdd(List.of(added));
+        CardCollectionsPatchDTO patch = new CardCollectionsPatchDTO();
+        patch.setTodos(todoDelta);
+
+        perform(patch("/pm/v1/cards/{cardId}/collections", cardId), patch);
+
+        assertTodoWrites();
+        assertThat(writes("card_labels")).isEmpty();
+
+        SetDeltaDTO labelDelta = new SetDeltaDTO();
+        labelDelta.setRemove(Set.of("blue"));
+        labelDelta.setAdd(Set.of("yellow"));
+        CardCollectionsPatchDTO labels = new CardCollectionsPatchDTO();
+        labels.setLabels(labelDelta);
+
+        perform(patch("/pm/v1/cards/{cardId}/collections", cardId), labels);
+
+        assertThat(writes("card_labels")).containsExactlyInAnyOrder("delete", "insert");
+        assertThat(writes("cards")).containsExactly("update");
+        assertThat(writes("todos")).isEmpty();
+        assertThat(statistics.getCollectionRecreateCount()).isZero();
+    }
+
+    private void assertTodoWrites() {
+        // The toggled todo and the card's counters and version
+        assertThat(statistics.getEntityUpdateCount()).isEqualTo(2);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1);
+        assertThat(statistics.getEntityDeleteCount()).isEqualTo(1);
+        assertThat(writes("todos")).containsExactlyInAnyOrder("update", "insert", "delete");
+        assertThat(writes("cards")).containsExactly("update");
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        statistics.clear();
+        STATEMENTS.clear();
+        mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+    }
+
+    // The kinds of write statements issued against a table
+    private static List<String> writes(String table) {
+        List<String> kinds = new ArrayList<>();
+        for (String sql : STATEMENTS) {
+            if (sql.startsWith("insert into " + table + " ")) {
+                kinds.add("insert");
+            } else if (sql.startsWith("delete from " + table + " ")) {
+                kinds.add("delete");
+            } else if (sql.startsWith("update " + table + " ")) {
+                kinds.add("update");
+            }
+        }
+        return kinds;
+    }
+}
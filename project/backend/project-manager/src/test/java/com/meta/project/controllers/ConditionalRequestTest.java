@@ -0,0 +1,191 @@
+package com.meta.project.controllers;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.service.BoardListService;
+import com.meta.project.service.BoardService;
+import com.meta.project.service.CardService;
+import com.meta.project.service.RankRebalancer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Conditional reads and writes over HTTP: If-None-Match answers 304 while nothing changed, and
+ * If-Match with a stale tag answers 412 without applying the write.
+ */
+@AutoConfigureMockMvc
+class ConditionalRequestTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private RankRebalancer rankRebalancer;
+
+    private String boardId;
+    private String listId;
+    private String cardId;
+
+    @BeforeEach
+    void setup() {
+        BoardDTO board = new BoardDTO();
+        board.setTitle("conditional");
+        boardId = boardService.createBoard(board).getId();
+        listId = boardListService.createList("todo", boardId).getId();
+        cardId = createCard("card");
+    }
+
+    @Test
+    void unchangedReadsAreNotModified() throws Exception {
+        for (String path : List.of("/pm/v1/cards/" + cardId, "/pm/v1/lists/" + listId,
+                "/pm/v1/lists/board/" + boardId, "/pm/v1/boards/" + boardId,
+                "/pm/v1/boards/" + boardId + "/snapshot")) {
+            String etag = etag(path);
+
+            mockMvc.perform(get(path).header(HttpHeaders.IF_NONE_MATCH, etag))
+                    .andExpect(status().isNotModified());
+        }
+    }
+
+    @Test
+    void cardEditChangesTheCardAndBoardTags() throws Exception {
+        String cardTag = etag("/pm/v1/cards/" + cardId);
+        String boardTag = etag("/pm/v1/boards/" + boardId);
+        String snapshotTag = etag("/pm/v1/boards/" + boardId + "/snapshot");
+
+        mockMvc.perform(json(put("/pm/v1/cards/{cardId}/labels", cardId), List.of("red")))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/pm/v1/cards/{id}", cardId).header(HttpHeaders.IF_NONE_MATCH, cardTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/pm/v1/boards/{id}", boardId).header(HttpHeaders.IF_NONE_MATCH, boardTag))
+                .andExpect(status().isOk());
+        mockMvc.perform(get("/pm/v1/boards/{id}/snapshot", boardId).header(HttpHeaders.IF_NONE_MATCH, snapshotTag))
+                .andExpect(status().isOk());
+        assertThat(etag("/pm/v1/boards/" + boardId)).isNotEqualTo(boardTag);
+    }
+
+    @Test
+    void staleCardWritesAreRejected() throws Exception {
+        String stale = etag("/pm/v1/cards/" + cardId);
+        mockMvc.perform(json(put("/pm/v1/cards/{cardId}/labels", cardId), List.of("red")))
+                .andExpect(status().isOk());
+        CardDTO card = cardService.getCardById(cardId);
+        card.setTitle("overwritten");
+
+        List<MockHttpServletRequestBuilder> writes = List.of(
+                json(put("/pm/v1/cards/{id}", cardId), card),
+                json(put("/pm/v1/cards/{cardId}/labels", cardId), List.of("blue")),
+                json(put("/pm/v1/cards/{cardId}/is-completed", cardId), true),
+                json(put("/pm/v1/cards/{cardId}/comments", cardId), List.of()),
+                json(put("/pm/v1/cards/{cardId}/todos", cardId), List.of()),
+                json(put("/pm/v1/cards/{cardId}/links", cardId), List.of("https://example.com")),
+                put("/pm/v1/cards/{cardId}/date", cardId).contentType(MediaType.TEXT_PLAIN).content("2026-05-01T10:00:00"),
+                json(put("/pm/v1/cards/{cardId}/members/add", cardId), List.of("ann")),
+                json(patch("/pm/v1/cards/{cardId}/members/remove", cardId), List.of("ann")),
+                json(patch("/pm/v1/cards/{cardId}/tracked-times", cardId), List.of("1h")),
+                json(post("/pm/v1/cards/{cardId}/comments", cardId), Map.of("text", "hi")),
+                json(delete("/pm/v1/cards/{cardId}/links", cardId), List.of("https://example.com")),
+                json(put("/pm/v1/cards/{cardId}/position", cardId), Map.of("listId", listId, "order", 1)),
+                delete("/pm/v1/cards/{cardId}", cardId));
+        for (MockHttpServletRequestBuilder write : writes) {
+            mockMvc.perform(write.header(HttpHeaders.IF_MATCH, stale))
+                    .andExpect(status().isPreconditionFailed());
+        }
+
+        CardDTO unchanged = cardService.getCardById(cardId);
+        assertThat(unchanged.getTitle()).isEqualTo("card");
+        assertThat(unchanged.getLabels()).containsExactly("red");
+        assertThat(unchanged.getMemberIds()).isEmpty();
+
+        String current = etag("/pm/v1/cards/" + cardId);
+        mockMvc.perform(json(put("/pm/v1/cards/{cardId}/labels", cardId), List.of("blue"))
+                        .header(HttpHeaders.IF_MATCH, current))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void staleListAndBoardDeletesAreRejected() throws Exception {
+        String listTag = etag("/pm/v1/lists/" + listId);
+        String boardTag = etag("/pm/v1/boards/" + boardId);
+        mockMvc.perform(json(put("/pm/v1/lists/{id}", listId), Map.of("title", "renamed", "boardId", boardId)))
+                .andExpect(status().isOk());
+        createCard("another");
+
+        mockMvc.perform(delete("/pm/v1/lists/{id}", listId).header(HttpHeaders.IF_MATCH, listTag))
+                .andExpect(status().isPreconditionFailed());
+        mockMvc.perform(delete("/pm/v1/boards/{id}", boardId).header(HttpHeaders.IF_MATCH, boardTag))
+                .andExpect(status().isPreconditionFailed());
+        assertThat(boardListService.getLists(boardId)).hasSize(1);
+
+        mockMvc.perform(delete("/pm/v1/lists/{id}", listId)
+                        .header(HttpHeaders.IF_MATCH, etag("/pm/v1/lists/" + listId)))
+                .andExpect(status().isOk());
+        mockMvc.perform(delete("/pm/v1/boards/{id}", boardId)
+                        .header(HttpHeaders.IF_MATCH, etag("/pm/v1/boards/" + boardId)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void rebalancingKeepsCardAndListTags() throws Exception {
+        createCard("second");
+        String cardTag = etag("/pm/v1/cards/" + cardId);
+        String listTag = etag("/pm/v1/lists/" + listId);
+
+        rankRebalancer.rebalanceCards(listId);
+        rankRebalancer.rebalanceLists(boardId);
+
+        mockMvc.perform(get("/pm/v1/cards/{id}", cardId).header(HttpHeaders.IF_NONE_MATCH, cardTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(get("/pm/v1/lists/{id}", listId).header(HttpHeaders.IF_NONE_MATCH, listTag))
+                .andExpect(status().isNotModified());
+        mockMvc.perform(json(put("/pm/v1/cards/{cardId}/labels", cardId), List.of("red"))
+                        .header(HttpHeaders.IF_MATCH, cardTag))
+                .andExpect(status().isOk());
+    }
+
+    private String etag(String path) throws Exception {
+        String etag = mockMvc.perform(get(path)).andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        assertThat(etag).as("ETag of " + path).isNotBlank();
+        return etag;
+    }
+
+    private MockHttpServletRequestBuilder json(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        return request.contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(body));
+    }
+
+    private String createCard(String title) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setBoardId(boardId);
+        card.setListId(listId);
+        return cardService.createCard(card).getId();
+    }
+}
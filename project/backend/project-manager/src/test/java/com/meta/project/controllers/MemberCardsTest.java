@@ -0,0 +1,293 @@
+package com.meta.project.controllers;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardCloneDTO;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardCollectionsPatchDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.SetDeltaDTO;
+import com.meta.project.dto.UpdateCardDTO;
+import com.meta.project.service.BoardListService;
+import com.meta.project.service.BoardService;
+import com.meta.project.service.CardService;
+import com.meta.project.service.MemberCardRepair;
+import org.assertj.core.groups.Tuple;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /pm/v1/cards/member/{userId}} and the {@code member_cards} index behind it: every
+ * membership, card, list and board change keeps the index rows in step with the card members,
+ * and pages walk a member's cards board by board.
+ */
+@AutoConfigureMockMvc
+class MemberCardsTest extends BaseIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private ObjectMapper objectMapper;
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private MemberCardRepair memberCardRepair;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Fresh members per test, so cards of other tests never show up
+    private String ann;
+    private String bob;
+    private String board;
+    private String otherBoard;
+    private String todo;
+    private String elsewhere;
+
+    @BeforeEach
+    void setup() {
+        ann = "ann-" + UUID.randomUUID();
+        bob = "bob-" + UUID.randomUUID();
+        board = createBoard("members");
+        otherBoard = createBoard("other");
+        todo = boardListService.createList("todo", board).getId();
+        elsewhere = boardListService.createList("elsewhere", otherBoard).getId();
+    }
+
+    @Test
+    void membersAddedAndRemovedAreIndexed() throws Exception {
+        String a = createCard(board, todo, "a");
+        String b = createCard(board, todo, "b");
+        String c = createCard(board, todo, "c");
+
+        perform(put("/pm/v1/cards/{cardId}/members/add", a), List.of(ann));
+        perform(put("/pm/v1/cards/{cardId}/members/add", b), List.of(ann, bob));
+        CardCollectionsPatchDTO members = new CardCollectionsPatchDTO();
+        SetDeltaDTO delta = new SetDeltaDTO();
+        delta.setAdd(Set.of(bob));
+        members.setMembers(delta);
+        perform(patch("/pm/v1/cards/{cardId}/collections", c), members);
+        assertThat(cards(ann)).containsExactlyInAnyOrder(tuple(board, a), tuple(board, b));
+        assertThat(cards(bob)).containsExactlyInAnyOrder(tuple(board, b), tuple(board, c));
+
+        perform(patch("/pm/v1/cards/{cardId}/members/remove", a), List.of(ann));
+        cardService.deleteCard(c);
+        assertThat(cards(ann)).containsExactly(tuple(board, b));
+        assertThat(cards(bob)).containsExactly(tuple(board, b));
+        assertIndexMatchesMembers();
+
+        // Rows lost or left behind outside the services are restored and dropped by the repair
+        jdbcTemplate.update("DELETE FROM member_cards WHERE user_id = ?", ann);
+        jdbcTemplate.update("INSERT INTO member_cards (user_id, board_id, card_id) VALUES (?, ?, ?)", bob, board, a);
+        assertThat(cards(ann)).isEmpty();
+
+        memberCardRepair.repair();
+
+        assertThat(cards(ann)).containsExactly(tuple(board, b));
+        assertThat(cards(bob)).containsExactly(tuple(board, b));
+        assertIndexMatchesMembers();
+    }
+
+    @Test
+    void cardsMovedAcrossBoardsAreListedUnderTheirNewBoard() throws Exception {
+        String a = createCard(board, todo, "a", ann);
+        String b = createCard(board, todo, "b", ann);
+
+        CardDTO moved = cardService.getCardById(a);
+        moved.setBoardId(otherBoard);
+        moved.setListId(elsewhere);
+        cardService.updateCard(moved);
+        UpdateCardDTO position = new UpdateCardDTO();
+        position.setListId(elsewhere);
+        position.setOrder(1);
+        cardService.updateCardPosition(b, position);
+
+        assertThat(cards(ann)).containsExactlyInAnyOrder(tuple(otherBoard, a), tuple(otherBoard, b));
+        JsonNode group = page(ann, null, null).get("items").get(0);
+        assertThat(group.get("boardTitle").asText()).isEqualTo("other");
+        assertIndexMatchesMembers();
+    }
+
+    @Test
+    void listAndBoardChangesMoveAndDropTheRows() throws Exception {
+        String a = createCard(board, todo, "a", ann);
+        String done = boardListService.createList("done", board).getId();
+        String b = createCard(board, done, "b", ann);
+        String c = createCard(otherBoard, elsewhere, "c", ann);
+
+        boardListService.updateList(todo, "todo", otherBoard);
+        assertThat(cards(ann)).containsExactlyInAnyOrder(tuple(otherBoard, a), tuple(board, b), tuple(otherBoard, c));
+
+        boardListService.deleteList(done);
+        boardListService.deleteList(elsewhere);
+        assertThat(cards(ann)).containsExactly(tuple(otherBoard, a));
+
+        boardService.deleteBoard(otherBoard);
+        assertThat(cards(ann)).isEmpty();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM member_cards WHERE user_id = ?",
+                Integer.class, ann)).isZero();
+    }
+
+    @Test
+    void clonedBoardsAreIndexed() throws Exception {
+        String a = createCard(board, todo, "a", ann, bob);
+        createCard(board, todo, "b");
+        BoardCloneDTO options = new BoardCloneDTO();
+        options.setTitle("copy");
+
+        String copy = boardService.cloneBoard(board, options).getId();
+
+        List<String> copied = cardService.getCardsByBoardId(copy).stream()
+                .filter(card -> card.getTitle().equals("a")).map(CardDTO::getId).toList();
+        assertThat(copied).hasSize(1);
+        assertThat(cards(ann)).containsExactlyInAnyOrder(tuple(board, a), tuple(copy, copied.get(0)));
+        assertThat(cards(bob)).containsExactlyInAnyOrder(tuple(board, a), tuple(copy, copied.get(0)));
+        assertIndexMatchesMembers();
+    }
+
+    @Test
+    void pagesWalkTheMembersCardsBoardByBoard() throws Exception {
+        List<String> boards = new ArrayList<>();
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            String boardId = createBoard("board " + i);
+            String listId = boardListService.createList("todo", boardId).getId();
+            boards.add(boardId);
+            for (int j = 0; j < 3; j++) {
+                expected.add(createCard(boardId, listId, "card " + i + "-" + j, ann));
+            }
+            createCard(boardId, listId, "not assigned", bob);
+        }
+
+        List<JsonNode> groups = new ArrayList<>();
+        List<Integer> pageSizes = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page(ann, cursor, 4);
+            int cardsOnPage = 0;
+            for (JsonNode group : page.get("items")) {
+                groups.add(group);
+                cardsOnPage += group.get("cards").size();
+            }
+            pageSizes.add(cardsOnPage);
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+
+        assertThat(pageSizes).containsExactly(4, 4, 1);
+        List<String> seen = new ArrayList<>();
+        List<String> groupBoards = new ArrayList<>();
+        for (JsonNode group : groups) {
+            groupBoards.add(group.get("boardId").asText());
+            int index = boards.indexOf(group.get("boardId").asText());
+            assertThat(group.get("boardTitle").asText()).isEqualTo("board " + index);
+            for (JsonNode card : group.get("cards")) {
+                seen.add(card.get("id").asText());
+                assertThat(card.get("title").asText()).startsWith("card " + index + "-");
+                assertThat(card.get("memberIds")).extracting(JsonNode::asText).contains(ann);
+                assertThat(card.hasNonNull("order")).isFalse();
+            }
+        }
+        assertThat(seen).doesNotHaveDuplicates().containsExactlyInAnyOrderElementsOf(expected);
+        // Groups come in board order; a board cut by a page boundary continues in a second group
+        List<String> sortedBoards = boards.stream().sorted().toList();
+        assertThat(groupBoards.stream().distinct().toList()).containsExactlyElementsOf(sortedBoards);
+        assertThat(groupBoards).containsExactly(sortedBoards.get(0), sortedBoards.get(1), sortedBoards.get(1),
+                sortedBoards.get(2), sortedBoards.get(2));
+    }
+
+    @Test
+    void memberWithoutCardsGetsAnEmptyPage() throws Exception {
+        JsonNode page = page(ann, null, null);
+
+        assertThat(page.get("items")).isEmpty();
+        assertThat(page.get("nextCursor").isNull()).isTrue();
+    }
+
+    // Every index row of this test's members is a card member on the card's board, and back
+    private void assertIndexMatchesMembers() {
+        String members = "SELECT m.user_id, c.board_id, c.id FROM card_members m JOIN cards c ON c.id = m.card_id "
+                + "WHERE m.user_id IN (?, ?)";
+        String index = "SELECT user_id, board_id, card_id FROM member_cards WHERE user_id IN (?, ?)";
+        assertThat(rows(index)).containsExactlyInAnyOrderElementsOf(rows(members));
+    }
+
+    private List<List<String>> rows(String sql) {
+        return jdbcTemplate.query(sql, (rs, i) -> List.of(rs.getString(1), rs.getString(2), rs.getString(3)),
+                ann, bob);
+    }
+
+    // The (board, card) pairs of all pages, in page order
+    private List<Tuple> cards(String userId) throws Exception {
+        List<Tuple> cards = new ArrayList<>();
+        String cursor = null;
+        do {
+            JsonNode page = page(userId, cursor, 2);
+            for (JsonNode group : page.get("items")) {
+                for (JsonNode card : group.get("cards")) {
+                    cards.add(tuple(group.get("boardId").asText(), card.get("id").asText()));
+                }
+            }
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+        } while (cursor != null);
+        return cards;
+    }
+
+    private JsonNode page(String userId, String cursor, Integer limit) throws Exception {
+        MockHttpServletRequestBuilder request = get("/pm/v1/cards/member/{userId}", userId);
+        if (cursor != null) {
+            request.param("cursor", cursor);
+        }
+        if (limit != null) {
+            request.param("limit", String.valueOf(limit));
+        }
+        String body = mockMvc.perform(request).andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readTree(body);
+    }
+
+    private void perform(MockHttpServletRequestBuilder request, Object body) throws Exception {
+        mockMvc.perform(request.contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(body)))
+                .andExpect(status().isOk());
+    }
+
+    private String createBoard(String title) {
+        BoardDTO dto = new BoardDTO();
+        dto.setTitle(title);
+        return boardService.createBoard(dto).getId();
+    }
+
+    private String createCard(String boardId, String listId, String title, String... members) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setBoardId(boardId);
+        card.setListId(listId);
+        String id = cardService.createCard(card).getId();
+        if (members.length > 0) {
+            cardService.addCardMembers(id, List.of(members));
+        }
+        return id;
+    }
+}
@@ -0,0 +1,209 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.BoardEventDTO;
+import com.meta.project.entity.ActivityEntry;
+import com.meta.project.repository.ActivityEntryRepository;
+import com.meta.project.repository.ActivityLogWriter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.AbstractPlatformTransactionManager;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+
+/**
+ * The three {@code app.activity.durability} modes, against a recording writer and a
+ * transaction manager that only drives the synchronization callbacks.
+ */
+class ActivityLogTest {
+
+    private final ActivityLogWriter writer = mock(ActivityLogWriter.class);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final TransactionTemplate transaction = new TransactionTemplate(new CallbackTransactionManager());
+    private final List<List<ActivityEntry>> batches = new CopyOnWriteArrayList<>();
+    private final List<Boolean> insertedInTransaction = new CopyOnWriteArrayList<>();
+    private ActivityLog activityLog;
+
+    @AfterEach
+    void tearDown() {
+        if (activityLog != null) {
+            activityLog.shutdown();
+        }
+    }
+
+    @Test
+    void syncInsertsWithTheTransaction() {
+        recordInserts(null, null);
+        activityLog = activityLog("sync", 100, 200);
+
+        transaction.executeWithoutResult(status -> {
+            activityLog.onChange(event("card-1"));
+            activityLog.onChange(event("card-2"));
+            assertThat(batches).isEmpty();
+        });
+
+        assertThat(batches).singleElement().satisfies(batch ->
+                assertThat(batch).extracting(ActivityEntry::getCardId).containsExactly("card-1", "card-2"));
+        assertThat(insertedInTransaction).containsExactly(true);
+    }
+
+    @Test
+    void syncWritesNothingForARolledBackTransaction() {
+        recordInserts(null, null);
+        activityLog = activityLog("sync", 100, 200);
+
+        transaction.executeWithoutResult(status -> {
+            activityLog.onChange(event("card-1"));
+            status.setRollbackOnly();
+        });
+
+        assertThat(batches).isEmpty();
+    }
+
+    @Test
+    void changesOutsideATransactionAreStoredRightAway() {
+        recordInserts(null, null);
+        activityLog = activityLog("sync", 100, 200);
+
+        activityLog.onChange(event("card-1"));
+
+        assertThat(batches).singleElement().satisfies(batch -> assertThat(batch).hasSize(1));
+    }
+
+    @Test
+    void groupCommitReturnsOnceTheWriterStoredTheEntries() {
+        recordInserts(null, null);
+        activityLog = activityLog("group-commit", 100, 200);
+
+        transaction.executeWithoutResult(status -> {
+            activityLog.onChange(event("card-1"));
+            activityLog.onChange(event("card-2"));
+        });
+
+        // No waiting here: the request itself waited for the writer
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(2);
+        assertThat(insertedInTransaction).containsOnly(true);
+        assertThat(written()).isEqualTo(2);
+    }
+
+    @Test
+    void groupCommitQueuesNothingForARolledBackTransaction() {
+        recordInserts(null, null);
+        activityLog = activityLog("group-commit", 100, 200);
+
+        transaction.executeWithoutResult(status -> {
+            activityLog.onChange(event("card-1"));
+            status.setRollbackOnly();
+        });
+        transaction.executeWithoutResult(status -> activityLog.onChange(event("card-2")));
+
+        assertThat(batches).flatExtracting(batch -> batch).extracting(ActivityEntry::getCardId)
+                .containsExactly("card-2");
+    }
+
+    @Test
+    void bestEffortDoesNotWaitAndDropsWhenTheQueueIsFull() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        recordInserts(writing, release);
+        activityLog = activityLog("best-effort", 2, 1);
+
+        activityLog.onChange(event("card-1"));
+        assertThat(writing.await(5, TimeUnit.SECONDS)).isTrue();
+
+        // The writer is stuck on card-1: two entries fit in the queue, the third is dropped
+        transaction.executeWithoutResult(status -> {
+            activityLog.onChange(event("card-2"));
+            activityLog.onChange(event("card-3"));
+            activityLog.onChange(event("card-4"));
+        });
+        assertThat(dropped()).isEqualTo(1);
+
+        release.countDown();
+        awaitWritten(3);
+        assertThat(batches).flatExtracting(batch -> batch).extracting(ActivityEntry::getCardId)
+                .containsExactly("card-1", "card-2", "card-3");
+    }
+
+    private ActivityLog activityLog(String durability, int queueCapacity, int batchSize) {
+        return new ActivityLog(mock(ActivityEntryRepository.class), writer, transaction.getTransactionManager(),
+                meterRegistry, durability, queueCapacity, batchSize, 10, 2000);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void recordInserts(CountDownLatch writing, CountDownLatch release) {
+        doAnswer(invocation -> {
+            insertedInTransaction.add(TransactionSynchronizationManager.isActualTransactionActive());
+            batches.add(new ArrayList<>((Collection<ActivityEntry>) invocation.getArgument(0)));
+            if (writing != null && writing.getCount() > 0) {
+                writing.countDown();
+                release.await(5, TimeUnit.SECONDS);
+            }
+            return null;
+        }).when(writer).insert(any());
+    }
+
+    private double written() {
+        return meterRegistry.counter("pm.activity.entries", "outcome", "written").count();
+    }
+
+    private double dropped() {
+        return meterRegistry.counter("pm.activity.entries", "outcome", "dropped").count();
+    }
+
+    private void awaitWritten(int count) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (written() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(written()).isEqualTo(count);
+    }
+
+    private static BoardEventDTO event(String cardId) {
+        BoardEventDTO event = new BoardEventDTO();
+        event.setBoardId("board-1");
+        event.setEntity(BoardChangePublisher.CARD);
+        event.setEntityId(cardId);
+        event.setAction("updated");
+        event.setTimestamp(System.currentTimeMillis());
+        return event;
+    }
+
+    /**
+     * Begins, commits and rolls back nothing, but runs the synchronization callbacks the way a
+     * real transaction manager does.
+     */
+    private static class CallbackTransactionManager extends AbstractPlatformTransactionManager {
+
+        @Override
+        protected Object doGetTransaction() {
+            return new Object();
+        }
+
+        @Override
+        protected void doBegin(Object transaction, TransactionDefinition definition) {
+        }
+
+        @Override
+        protected void doCommit(DefaultTransactionStatus status) {
+        }
+
+        @Override
+        protected void doRollback(DefaultTransactionStatus status) {
+        }
+    }
+}
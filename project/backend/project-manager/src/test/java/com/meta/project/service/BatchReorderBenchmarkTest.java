@@ -0,0 +1,119 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.CardReorderDTO;
+import com.meta.project.dto.RankChangeDTO;
+import com.meta.project.entity.Board;
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.util.LexoRank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares the per-card reorder with the set-based batch reorder for a 1k-card list.
+ * Run with {@code -Dbenchmarks=true}; needs Docker for the MySQL container.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BatchReorderBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BatchReorderBenchmarkTest.class);
+    private static final int CARD_COUNT = 1000;
+
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BatchReorderService batchReorderService;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+
+    private BoardList list;
+
+    @BeforeEach
+    void setup() {
+        Board board = new Board();
+        board.setTitle("benchmark");
+        board = boardRepository.save(board);
+        list = new BoardList();
+        list.setTitle("benchmark");
+        list.setBoard(board);
+        list.setRank(LexoRank.after(null));
+        list = boardListRepository.save(list);
+
+        String[] ranks = LexoRank.spread(CARD_COUNT);
+        List<Card> cards = new ArrayList<>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            Card card = new Card();
+            card.setTitle("card " + i);
+            card.setBoard(board);
+            card.setBoardList(list);
+            card.setOrder(i + 1);
+            card.setRank(ranks[i]);
+            cards.add(card);
+        }
+        cardRepository.saveAll(cards);
+    }
+
+    @Test
+    void benchmarkReorders() {
+        List<String> ids = new ArrayList<>(cardService.getCardsByBoardListId(list.getId()).stream()
+                .map(CardDTO::getId).toList());
+
+        // Per-card reorder: reverse the list
+        List<CardDTO> legacy = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            CardDTO dto = new CardDTO();
+            dto.setId(ids.get(ids.size() - 1 - i));
+            dto.setListId(list.getId());
+            dto.setOrder(i + 1);
+            legacy.add(dto);
+        }
+        long start = System.nanoTime();
+        cardService.reorderCards(legacy);
+        long legacyMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Batch reorder: full shuffle
+        ids = new ArrayList<>(cardService.getCardsByBoardListId(list.getId()).stream().map(CardDTO::getId).toList());
+        Collections.shuffle(ids, new Random(42));
+        start = System.nanoTime();
+        List<RankChangeDTO> shuffled = batchReorderService.reorderCards(List.of(reorder(ids)));
+        long shuffleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // Batch reorder: drag the last card to the top
+        ids.add(0, ids.remove(ids.size() - 1));
+        start = System.nanoTime();
+        List<RankChangeDTO> moved = batchReorderService.reorderCards(List.of(reorder(ids)));
+        long moveMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("BENCH reorder cards={} per-card ms={} batch-shuffle ms={} (changed={}) batch-move ms={} (changed={})",
+                CARD_COUNT, legacyMillis, shuffleMillis, shuffled.size(), moveMillis, moved.size());
+        assertThat(moved).hasSize(1);
+        assertThat(cardService.getCardsByBoardListId(list.getId())).extracting(CardDTO::getId).containsExactlyElementsOf(ids);
+    }
+
+    private CardReorderDTO reorder(List<String> ids) {
+        CardReorderDTO reorder = new CardReorderDTO();
+        reorder.setListId(list.getId());
+        reorder.setCardIds(ids);
+        return reorder;
+    }
+}
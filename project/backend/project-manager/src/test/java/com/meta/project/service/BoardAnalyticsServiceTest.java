@@ -0,0 +1,259 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.BoardFlowDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.UpdateCardDTO;
+import com.meta.project.entity.CardTransition;
+import com.meta.project.exception.ResourceNotFoundException;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.repository.CardFlowWriter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.entry;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Card transitions and the daily flow counts written with every card and list change, the
+ * backfill and repair that keep them in step with the cards, and the charts read from them.
+ */
+class BoardAnalyticsServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BoardAnalyticsService boardAnalyticsService;
+    @Autowired
+    private CardFlowWriter cardFlowWriter;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String board;
+    private String otherBoard;
+    private String todo;
+    private String done;
+    private String elsewhere;
+
+    @BeforeEach
+    void setup() {
+        board = createBoard("flow");
+        otherBoard = createBoard("other");
+        todo = boardListService.createList("todo", board).getId();
+        done = boardListService.createList("done", board).getId();
+        elsewhere = boardListService.createList("elsewhere", otherBoard).getId();
+    }
+
+    @Test
+    void cardChangesAreRecordedAsTransitions() {
+        String card = createCard(board, todo, "card", false);
+        move(card, done);
+        cardService.updateCardIsCompleted(card, true);
+        // Neither a move nor a status change
+        cardService.updateCardLabels(card, Set.of("red"));
+        assertThat(today(board)).satisfies(day -> {
+            assertThat(day.getLists()).containsExactly(entry(todo, 0L), entry(done, 1L));
+            assertThat(day.getOpen()).isZero();
+            assertThat(day.getCompleted()).isEqualTo(1);
+            assertThat(day.getCompletedToday()).isEqualTo(1);
+        });
+
+        CardDTO moved = cardService.getCardById(card);
+        moved.setBoardId(otherBoard);
+        moved.setListId(elsewhere);
+        cardService.updateCard(moved);
+        assertThat(today(board).getLists()).containsExactly(entry(todo, 0L), entry(done, 0L));
+        assertThat(today(board).getCompleted()).isZero();
+        assertThat(today(otherBoard).getLists()).containsExactly(entry(elsewhere, 1L));
+        assertThat(today(otherBoard).getCompleted()).isEqualTo(1);
+
+        cardService.deleteCard(card);
+        assertThat(today(otherBoard).getLists()).containsExactly(entry(elsewhere, 0L));
+        assertThat(today(otherBoard).getCompleted()).isZero();
+
+        assertThat(jdbcTemplate.query("SELECT from_board_id, from_list_id, was_completed, "
+                        + "to_board_id, to_list_id, is_completed FROM card_transitions WHERE card_id = ?",
+                (rs, i) -> tuple(rs.getString(1), rs.getString(2), (Boolean) rs.getObject(3),
+                        rs.getString(4), rs.getString(5), (Boolean) rs.getObject(6)), card))
+                .containsExactlyInAnyOrder(
+                        tuple(null, null, null, board, todo, false),
+                        tuple(board, todo, false, board, done, false),
+                        tuple(board, done, false, board, done, true),
+                        tuple(board, done, true, otherBoard, elsewhere, true),
+                        tuple(otherBoard, elsewhere, true, null, null, null));
+    }
+
+    @Test
+    void listMoveCarriesItsBucketsToTheOtherBoard() {
+        createCard(board, todo, "a", false);
+        createCard(board, todo, "b", true);
+        createCard(board, done, "c", false);
+        long transitions = countTransitions();
+
+        boardListService.updateList(todo, "todo", otherBoard);
+
+        BoardFlowDTO.DayDTO left = today(board);
+        assertThat(left.getLists()).containsExactly(entry(done, 1L));
+        assertThat(left.getOpen()).isEqualTo(1);
+        assertThat(left.getCompleted()).isZero();
+        BoardFlowDTO.DayDTO joined = today(otherBoard);
+        assertThat(joined.getLists()).contains(entry(todo, 2L), entry(elsewhere, 0L));
+        assertThat(joined.getOpen()).isEqualTo(1);
+        assertThat(joined.getCompleted()).isEqualTo(1);
+        // The cards keep their list and status, so no card transitions are written
+        assertThat(countTransitions()).isEqualTo(transitions);
+
+        boardListService.deleteList(todo);
+        assertThat(today(otherBoard).getLists()).containsExactly(entry(elsewhere, 0L));
+        assertThat(today(otherBoard).getOpen()).isZero();
+        assertThat(today(otherBoard).getCompleted()).isZero();
+    }
+
+    @Test
+    void backfillFillsBoardsWithoutFlowFromTheirCards() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < 3; i++) {
+            String card = createCard(board, todo, "card " + i, i == 2);
+            jdbcTemplate.update("UPDATE cards SET updated_at = ? WHERE id = ?",
+                    Timestamp.valueOf(now.minusDays(10 - i)), card);
+        }
+        // As if the cards predated the flow
+        jdbcTemplate.update("DELETE FROM board_flow_daily WHERE board_id = ?", board);
+
+        boardAnalyticsService.backfill();
+
+        List<BoardFlowDTO.DayDTO> days = boardAnalyticsService.getFlow(board, LocalDate.now().minusDays(11),
+                LocalDate.now()).getDays();
+        assertThat(days).hasSize(12);
+        assertThat(days).extracting(day -> day.getLists().get(todo)).startsWith(0L, 1L, 2L, 3L);
+        assertThat(days).extracting(BoardFlowDTO.DayDTO::getCompletedToday).startsWith(0L, 0L, 0L, 1L);
+        assertThat(days.get(11).getOpen()).isEqualTo(2);
+        assertThat(days.get(11).getCompleted()).isEqualTo(1);
+        // A board with a flow is left alone
+        assertThat(cardFlowWriter.backfillBoard(board)).isZero();
+    }
+
+    @Test
+    void repairBooksTheDriftFromTheCardsOnToday() {
+        String a = createCard(board, todo, "a", false);
+        createCard(board, todo, "b", false);
+        // Changed outside the services
+        jdbcTemplate.update("UPDATE cards SET list_id = ?, is_completed = TRUE WHERE id = ?", done, a);
+        BoardFlowDTO.DayDTO before = today(board);
+        assertThat(before.getLists()).containsExactly(entry(todo, 2L), entry(done, 0L));
+
+        boardAnalyticsService.repair();
+
+        BoardFlowDTO.DayDTO after = today(board);
+        assertThat(after.getLists()).containsExactly(entry(todo, 1L), entry(done, 1L));
+        assertThat(after.getOpen()).isEqualTo(1);
+        assertThat(after.getCompleted()).isEqualTo(1);
+
+        boardAnalyticsService.repair();
+        assertThat(today(board)).isEqualTo(after);
+    }
+
+    @Test
+    void flowRollsTheDaysUpFromTheTotalsBeforeTheRange() {
+        LocalDate today = LocalDate.now();
+        String x = UUID.randomUUID().toString();
+        String y = UUID.randomUUID().toString();
+        String z = UUID.randomUUID().toString();
+        String removedList = UUID.randomUUID().toString();
+        cardFlowWriter.record(List.of(
+                transition(x, null, null, null, todo, false, today.minusDays(5)),
+                transition(y, null, null, null, todo, false, today.minusDays(5)),
+                transition(x, board, todo, false, done, false, today.minusDays(3)),
+                transition(y, board, todo, false, todo, true, today.minusDays(3)),
+                transition(x, board, done, false, done, true, today.minusDays(1)),
+                transition(z, null, null, null, removedList, false, today.minusDays(1))));
+
+        BoardFlowDTO flow = boardAnalyticsService.getFlow(board, today.minusDays(4), today);
+
+        assertThat(flow.getLists()).extracting(BoardFlowDTO.ListDTO::getId).containsExactly(todo, done);
+        assertThat(flow.getDays()).extracting(BoardFlowDTO.DayDTO::getDay, BoardFlowDTO.DayDTO::getOpen,
+                        BoardFlowDTO.DayDTO::getCompleted, BoardFlowDTO.DayDTO::getCompletedToday)
+                .containsExactly(
+                        tuple(today.minusDays(4), 2L, 0L, 0L),
+                        tuple(today.minusDays(3), 1L, 1L, 1L),
+                        tuple(today.minusDays(2), 1L, 1L, 0L),
+                        tuple(today.minusDays(1), 1L, 2L, 1L),
+                        tuple(today, 1L, 2L, 0L));
+        assertThat(flow.getDays().get(0).getLists()).containsExactly(entry(todo, 2L), entry(done, 0L));
+        assertThat(flow.getDays().get(1).getLists()).containsExactly(entry(todo, 1L), entry(done, 1L));
+        // Cards of a list that is no longer on the board are still counted
+        assertThat(flow.getDays().get(3).getLists())
+                .containsExactly(entry(todo, 1L), entry(done, 1L), entry(removedList, 1L));
+
+        assertThat(boardAnalyticsService.getFlow(board, null, null).getDays()).hasSize(30)
+                .last().extracting(BoardFlowDTO.DayDTO::getDay).isEqualTo(today);
+        assertThatThrownBy(() -> boardAnalyticsService.getFlow(board, today, today.minusDays(1)))
+                .isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> boardAnalyticsService.getFlow(board, today.minusDays(366), today))
+                .isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> boardAnalyticsService.getFlow("missing", null, null))
+                .isInstanceOf(ResourceNotFoundException.class);
+    }
+
+    private BoardFlowDTO.DayDTO today(String boardId) {
+        return boardAnalyticsService.getFlow(boardId, LocalDate.now(), LocalDate.now()).getDays().get(0);
+    }
+
+    private long countTransitions() {
+        return jdbcTemplate.queryForObject("SELECT COUNT(*) FROM card_transitions WHERE from_board_id = ? "
+                + "OR to_board_id = ?", Long.class, board, board);
+    }
+
+    private CardTransition transition(String cardId, String fromBoardId, String fromListId, Boolean wasCompleted,
+                                      String toListId, Boolean completed, LocalDate day) {
+        CardTransition transition = new CardTransition();
+        transition.setId(UUID.randomUUID().toString());
+        transition.setCardId(cardId);
+        transition.setFromBoardId(fromBoardId);
+        transition.setFromListId(fromListId);
+        transition.setWasCompleted(wasCompleted);
+        transition.setToBoardId(board);
+        transition.setToListId(toListId);
+        transition.setCompleted(completed);
+        transition.setOccurredAt(day.atTime(12, 0));
+        return transition;
+    }
+
+    private void move(String cardId, String listId) {
+        UpdateCardDTO position = new UpdateCardDTO();
+        position.setListId(listId);
+        position.setOrder(1);
+        cardService.updateCardPosition(cardId, position);
+    }
+
+    private String createBoard(String title) {
+        BoardDTO dto = new BoardDTO();
+        dto.setTitle(title);
+        return boardService.createBoard(dto).getId();
+    }
+
+    private String createCard(String boardId, String listId, String title, boolean completed) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setBoardId(boardId);
+        card.setListId(listId);
+        card.setIsCompleted(completed);
+        return cardService.createCard(card).getId();
+    }
+}
@@ -0,0 +1,287 @@
+package com.meta.project.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.meta.project.dto.BoardEventDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.function.BooleanSupplier;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Resume tokens, the backlog cut-off and per-subscriber queues, with emitters that record what
+ * they are sent instead of writing to a response.
+ */
+class BoardChangeFeedTest {
+
+    private static final Pattern EVENT_NAME = Pattern.compile("event:(\\S+)");
+
+    private final BoardChangeFeed feed = new BoardChangeFeed(3, 4, 60_000, 60_000);
+
+    @AfterEach
+    void tearDown() {
+        feed.shutdown();
+    }
+
+    @Test
+    void sinceReturnsTheEventsAfterTheToken() {
+        BoardChangeFeed.BoardFeed board = new BoardChangeFeed.BoardFeed(10);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            tokens.add(board.append(event("card-" + i)).token());
+        }
+
+        assertThat(board.since(null)).isEmpty();
+        assertThat(board.since(tokens.get(2))).extracting(event -> event.change().getEntityId())
+                .containsExactly("card-4", "card-5");
+        assertThat(board.since(tokens.get(4))).isEmpty();
+        assertThat(board.since(board.currentToken())).isEmpty();
+    }
+
+    @Test
+    void sinceCutsOffAtTheOldestKeptEvent() {
+        BoardChangeFeed.BoardFeed board = new BoardChangeFeed.BoardFeed(3);
+        List<String> tokens = new ArrayList<>();
+        for (int i = 1; i <= 5; i++) {
+            tokens.add(board.append(event("card-" + i)).token());
+        }
+        String epoch = tokens.get(0).substring(0, tokens.get(0).lastIndexOf(':'));
+
+        // Events 3 to 5 are kept: a client that saw 2 misses nothing that was dropped
+        assertThat(board.since(tokens.get(1))).extracting(event -> event.change().getEntityId())
+                .containsExactly("card-3", "card-4", "card-5");
+        assertThat(board.since(tokens.get(0))).isNull();
+        assertThat(board.since(epoch + ":0")).isNull();
+        assertThat(board.since(epoch + ":6")).isNull();
+        assertThat(board.since(epoch + ":-1")).isNull();
+        assertThat(board.since(epoch + ":x")).isNull();
+        assertThat(board.since("other:4")).isNull();
+    }
+
+    @Test
+    void sinceOnAnEmptyFeed() {
+        BoardChangeFeed.BoardFeed board = new BoardChangeFeed.BoardFeed(3);
+
+        assertThat(board.since(board.currentToken())).isEmpty();
+    }
+
+    @Test
+    void appendLeavesTheSharedEventUntouched() {
+        BoardEventDTO event = event("card-1");
+        BoardChangeFeed.BoardFeed first = new BoardChangeFeed.BoardFeed(3);
+        BoardChangeFeed.BoardFeed second = new BoardChangeFeed.BoardFeed(3);
+        second.append(event("card-0"));
+
+        BoardChangeFeed.FeedEvent a = first.append(event);
+        BoardChangeFeed.FeedEvent b = second.append(event);
+
+        assertThat(a.change()).isSameAs(event);
+        assertThat(b.change()).isSameAs(event);
+        assertThat(a.token()).endsWith(":1");
+        assertThat(b.token()).endsWith(":2");
+    }
+
+    @Test
+    void feedEventIsSentAsTheEventWithItsToken() {
+        BoardChangeFeed.FeedEvent sent = new BoardChangeFeed.BoardFeed(3).append(event("card-1"));
+
+        JsonNode json = new ObjectMapper().valueToTree(sent);
+
+        assertThat(json.get("token").asText()).isEqualTo(sent.token());
+        assertThat(json.get("entityId").asText()).isEqualTo("card-1");
+        assertThat(json.has("change")).isFalse();
+    }
+
+    @Test
+    void resumingClientGetsOnlyTheMissedEventsThenLiveOnes() {
+        List<String> tokens = new ArrayList<>();
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe("board-1", null, first);
+        feed.onChange(event("card-1"));
+        feed.onChange(event("card-2"));
+        feed.onChange(event("card-3"));
+        awaitUntil(() -> first.changes().size() == 3);
+        first.changes().forEach(change -> tokens.add(change.token()));
+
+        RecordingEmitter resumed = new RecordingEmitter();
+        feed.subscribe("board-1", tokens.get(0), resumed);
+        feed.onChange(event("card-4"));
+
+        awaitUntil(() -> resumed.changes().size() == 3);
+        assertThat(resumed.changes()).extracting(change -> change.change().getEntityId())
+                .containsExactly("card-2", "card-3", "card-4");
+        assertThat(resumed.names()).containsOnly("change");
+    }
+
+    @Test
+    void tokenOlderThanTheBacklogGetsAReset() {
+        RecordingEmitter first = new RecordingEmitter();
+        feed.subscribe("board-1", null, first);
+        // One at a time, so the five events never overflow the subscriber's queue of four
+        for (int i = 1; i <= 5; i++) {
+            feed.onChange(event("card-" + i));
+            int sent = i;
+            awaitUntil(() -> first.changes().size() == sent);
+        }
+        String oldToken = first.changes().get(0).token();
+        String lastToken = first.changes().get(4).token();
+
+        RecordingEmitter stale = new RecordingEmitter();
+        feed.subscribe("board-1", oldToken, stale);
+        RecordingEmitter restarted = new RecordingEmitter();
+        feed.subscribe("board-1", "gone:3", restarted);
+
+        awaitUntil(() -> stale.names().size() == 1 && restarted.names().size() == 1);
+        assertThat(stale.names()).containsExactly("reset");
+        assertThat(stale.data()).containsExactly(lastToken);
+        assertThat(restarted.names()).containsExactly("reset");
+    }
+
+    @Test
+    void eachBoardIsDeliveredInSequenceOrder() {
+        BoardChangeFeed wide = new BoardChangeFeed(1000, 1000, 60_000, 60_000);
+        try {
+            RecordingEmitter one = new RecordingEmitter();
+            RecordingEmitter two = new RecordingEmitter();
+            wide.subscribe("board-1", null, one);
+            wide.subscribe("board-2", null, two);
+            for (int i = 1; i <= 500; i++) {
+                BoardEventDTO event = event("card-" + i);
+                event.setBoardId(i % 2 == 0 ? "board-2" : "board-1");
+                wide.onChange(event);
+            }
+
+            awaitUntil(() -> one.changes().size() == 250 && two.changes().size() == 250);
+            for (RecordingEmitter emitter : List.of(one, two)) {
+                List<Long> seqs = emitter.changes().stream()
+                        .map(change -> Long.parseLong(change.token().substring(change.token().lastIndexOf(':') + 1)))
+                        .toList();
+                for (int i = 0; i < seqs.size(); i++) {
+                    assertThat(seqs.get(i)).isEqualTo(i + 1);
+                }
+            }
+        } finally {
+            wide.shutdown();
+        }
+    }
+
+    @Test
+    void slowSubscriberIsDisconnectedWithoutHoldingBackTheOthers() {
+        CountDownLatch release = new CountDownLatch(1);
+        RecordingEmitter slow = new RecordingEmitter(release);
+        RecordingEmitter fast = new RecordingEmitter();
+        feed.subscribe("board-1", null, slow);
+        feed.subscribe("board-1", null, fast);
+
+        // The slow client blocks on the first event; the next four fill its queue and one more overflows it
+        for (int i = 1; i <= 6; i++) {
+            feed.onChange(event("card-" + i));
+            int sent = i;
+            awaitUntil(() -> fast.changes().size() == sent);
+        }
+
+        awaitUntil(() -> feed.getSubscriberCount("board-1") == 1);
+        release.countDown();
+        awaitUntil(() -> slow.completed);
+        assertThat(slow.changes()).hasSizeLessThanOrEqualTo(1);
+        assertThat(fast.completed).isFalse();
+    }
+
+    private static BoardEventDTO event(String cardId) {
+        BoardEventDTO event = new BoardEventDTO();
+        event.setBoardId("board-1");
+        event.setEntity("CARD");
+        event.setEntityId(cardId);
+        event.setAction("UPDATED");
+        return event;
+    }
+
+    private static void awaitUntil(BooleanSupplier condition) {
+        long deadline = System.currentTimeMillis() + 5_000;
+        while (!condition.getAsBoolean()) {
+            assertThat(System.currentTimeMillis()).as("condition not met in time").isLessThan(deadline);
+            try {
+                Thread.sleep(5);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private static final class RecordingEmitter extends SseEmitter {
+        private final List<String> names = new CopyOnWriteArrayList<>();
+        private final List<Object> data = new CopyOnWriteArrayList<>();
+        private final CountDownLatch release;
+        private volatile boolean completed;
+
+        private RecordingEmitter() {
+            this(new CountDownLatch(0));
+        }
+
+        private RecordingEmitter(CountDownLatch release) {
+            this.release = release;
+        }
+
+        @Override
+        public void send(SseEventBuilder builder) throws IOException {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException(e);
+            }
+            Set<DataWithMediaType> parts = builder.build();
+            StringBuilder text = new StringBuilder();
+            Object payload = null;
+            for (DataWithMediaType part : parts) {
+                if (part.getData() instanceof String s && part.getMediaType() != null
+                        && MediaType.TEXT_PLAIN.isCompatibleWith(part.getMediaType())) {
+                    text.append(s);
+                } else {
+                    payload = part.getData();
+                }
+            }
+            Matcher name = EVENT_NAME.matcher(text);
+            if (name.find()) {
+                names.add(name.group(1));
+                data.add(payload);
+            }
+        }
+
+        @Override
+        public void complete() {
+            completed = true;
+        }
+
+        private List<String> names() {
+            return names;
+        }
+
+        private List<Object> data() {
+            return data;
+        }
+
+        private List<BoardChangeFeed.FeedEvent> changes() {
+            List<BoardChangeFeed.FeedEvent> changes = new ArrayList<>();
+            for (Object item : data) {
+                if (item instanceof BoardChangeFeed.FeedEvent change) {
+                    changes.add(change);
+                }
+            }
+            return changes;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardCloneDTO;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.entity.Board;
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.entity.Todo;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.TodoRepository;
+import com.meta.project.util.LexoRank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Times a deep copy of a board of 2k cards with labels, members and todos.
+ * Run with {@code -Dbenchmarks=true}; needs Docker for the MySQL container.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class BoardCloneBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(BoardCloneBenchmarkTest.class);
+    private static final int LIST_COUNT = 10;
+    private static final int CARDS_PER_LIST = 200;
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private TodoRepository todoRepository;
+
+    private Board board;
+
+    @BeforeEach
+    void setup() {
+        board = new Board();
+        board.setTitle("benchmark");
+        board.setCardCount(LIST_COUNT * CARDS_PER_LIST);
+        board = boardRepository.save(board);
+
+        String[] listRanks = LexoRank.spread(LIST_COUNT);
+        String[] cardRanks = LexoRank.spread(CARDS_PER_LIST);
+        List<Card> cards = new ArrayList<>();
+        for (int l = 0; l < LIST_COUNT; l++) {
+            BoardList list = new BoardList();
+            list.setTitle("list " + l);
+            list.setBoard(board);
+            list.setRank(listRanks[l]);
+            list.setCardCount(CARDS_PER_LIST);
+            list = boardListRepository.save(list);
+            for (int i = 0; i < CARDS_PER_LIST; i++) {
+                Card card = new Card();
+                card.setTitle("card " + l + "-" + i);
+                card.setBoard(board);
+                card.setBoardList(list);
+                card.setOrder(i + 1);
+                card.setRank(cardRanks[i]);
+                card.setLabels(new HashSet<>(Set.of("label" + i % 7, "size" + i % 3)));
+                card.setMembers(new HashSet<>(Set.of("user" + i % 5)));
+                card.setTodoTotal(2);
+                cards.add(card);
+            }
+        }
+        cards = cardRepository.saveAll(cards);
+
+        List<Todo> todos = new ArrayList<>();
+        for (Card card : cards) {
+            for (int t = 0; t < 2; t++) {
+                Todo todo = new Todo();
+                todo.setContent("todo " + t);
+                todo.setCard(card);
+                todos.add(todo);
+            }
+        }
+        todoRepository.saveAll(todos);
+    }
+
+    @Test
+    void benchmarkClone() {
+        BoardCloneDTO options = new BoardCloneDTO();
+        options.setResetProgress(true);
+
+        long start = System.nanoTime();
+        BoardDTO copy = boardService.cloneBoard(board.getId(), options);
+        long cloneMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("BENCH clone lists={} cards={} ms={}", LIST_COUNT, LIST_COUNT * CARDS_PER_LIST, cloneMillis);
+        assertThat(copy.getId()).isNotEqualTo(board.getId());
+        assertThat(cardRepository.findRowsByBoardId(copy.getId())).hasSize(LIST_COUNT * CARDS_PER_LIST);
+        assertThat(cardRepository.findLabelsByBoardId(copy.getId()))
+                .hasSameSizeAs(cardRepository.findLabelsByBoardId(board.getId()));
+    }
+}
@@ -0,0 +1,189 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardCloneDTO;
+import com.meta.project.entity.Board;
+import com.meta.project.entity.BoardList;
+import com.meta.project.entity.Card;
+import com.meta.project.entity.Todo;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.BoardRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.TodoRepository;
+import com.meta.project.util.LexoRank;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the rows written by the set-based board copy: fresh IDs translated through
+ * {@code clone_id_map}, copied collections and todos, and the progress reset.
+ */
+class BoardCloneTest extends BaseIntegrationTest {
+
+    private static final LocalDateTime DUE = LocalDateTime.of(2030, 1, 15, 12, 0);
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardRepository boardRepository;
+    @Autowired
+    private BoardListRepository boardListRepository;
+    @Autowired
+    private CardRepository cardRepository;
+    @Autowired
+    private TodoRepository todoRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private Board board;
+    private Set<String> sourceIds;
+
+    @BeforeEach
+    void setup() {
+        board = new Board();
+        board.setTitle("source");
+        board.setTeamId("team-clone");
+        board.setCardCount(2);
+        board.setCompletedCount(1);
+        board = boardRepository.save(board);
+
+        String[] listRanks = LexoRank.spread(2);
+        BoardList doing = list("doing", listRanks[0], 2, 1);
+        BoardList done = list("done", listRanks[1], 0, 0);
+
+        Card finished = new Card();
+        finished.setTitle("finished");
+        finished.setBoard(board);
+        finished.setBoardList(doing);
+        finished.setOrder(1);
+        finished.setRank(LexoRank.after(null));
+        finished.setLabels(new HashSet<>(Set.of("bug", "ui")));
+        finished.setLinks(new HashSet<>(Set.of("https://example.com/spec")));
+        finished.setMembers(new HashSet<>(Set.of("ann")));
+        finished.setDateTo(DUE);
+        finished.setIsCompleted(true);
+        finished.setTodoDone(1);
+        finished.setTodoTotal(2);
+        finished = cardRepository.save(finished);
+
+        Card open = new Card();
+        open.setTitle("open");
+        open.setBoard(board);
+        open.setBoardList(doing);
+        open.setOrder(2);
+        open.setRank(LexoRank.after(finished.getRank()));
+        open = cardRepository.save(open);
+
+        todoRepository.save(todo("write", true, finished));
+        todoRepository.save(todo("review", false, finished));
+
+        sourceIds = Set.of(doing.getId(), done.getId(), finished.getId(), open.getId());
+    }
+
+    @Test
+    void copiesRowsUnderNewIds() {
+        String copyId = boardService.cloneBoard(board.getId(), options(false)).getId();
+
+        List<Map<String, Object>> lists = jdbcTemplate.queryForList(
+                "SELECT id, title, list_rank, card_count, completed_count FROM board_list WHERE board_id = ? "
+                        + "ORDER BY list_rank", copyId);
+        assertThat(lists).extracting(row -> row.get("title")).containsExactly("doing", "done");
+        assertThat(lists).extracting(row -> row.get("id")).doesNotContainAnyElementsOf(sourceIds);
+        assertThat(((Number) lists.get(0).get("completed_count")).longValue()).isEqualTo(1);
+
+        // Every copied card points at the copied list with the same title
+        List<Map<String, Object>> cards = jdbcTemplate.queryForList(
+                "SELECT c.id, c.title, l.title AS list_title, l.board_id AS list_board_id, c.is_completed, "
+                        + "c.todo_done, c.todo_total, c.date_to FROM cards c JOIN board_list l ON l.id = c.list_id "
+                        + "WHERE c.board_id = ? ORDER BY c.card_rank", copyId);
+        assertThat(cards).extracting(row -> row.get("title")).containsExactly("finished", "open");
+        assertThat(cards).extracting(row -> row.get("id")).doesNotContainAnyElementsOf(sourceIds);
+        assertThat(cards).allSatisfy(row -> {
+            assertThat(row.get("list_title")).isEqualTo("doing");
+            assertThat(row.get("list_board_id")).isEqualTo(copyId);
+        });
+        Map<String, Object> finished = cards.get(0);
+        assertThat(finished.get("is_completed")).isEqualTo(true);
+        assertThat(((Number) finished.get("todo_done")).intValue()).isEqualTo(1);
+        assertThat(finished.get("date_to")).isNotNull();
+
+        String finishedId = (String) finished.get("id");
+        assertThat(values("card_labels", "label", finishedId)).containsExactlyInAnyOrder("bug", "ui");
+        assertThat(values("card_links", "link", finishedId)).containsExactly("https://example.com/spec");
+        assertThat(values("card_members", "user_id", finishedId)).containsExactly("ann");
+        assertThat(jdbcTemplate.queryForList("SELECT completed FROM todos WHERE card_id = ? ORDER BY content",
+                Boolean.class, finishedId)).containsExactly(false, true);
+
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_count FROM board WHERE id = ?", Long.class, copyId))
+                .isEqualTo(1);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clone_id_map", Long.class)).isZero();
+        // The source is untouched
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM cards WHERE board_id = ?", Long.class,
+                board.getId())).isEqualTo(2);
+    }
+
+    @Test
+    void resetProgressClearsCompletionTodosAndDueDates() {
+        String copyId = boardService.cloneBoard(board.getId(), options(true)).getId();
+
+        List<Map<String, Object>> cards = jdbcTemplate.queryForList(
+                "SELECT id, is_completed, todo_done, todo_total, date_to FROM cards WHERE board_id = ? "
+                        + "ORDER BY card_rank", copyId);
+        assertThat(cards).hasSize(2).allSatisfy(row -> {
+            assertThat(row.get("is_completed")).isEqualTo(false);
+            assertThat(((Number) row.get("todo_done")).intValue()).isZero();
+            assertThat(row.get("date_to")).isNull();
+        });
+        assertThat(((Number) cards.get(0).get("todo_total")).intValue()).isEqualTo(2);
+        assertThat(jdbcTemplate.queryForList("SELECT completed FROM todos WHERE card_id = ?",
+                Boolean.class, cards.get(0).get("id"))).containsExactly(false, false);
+
+        assertThat(jdbcTemplate.queryForList("SELECT completed_count FROM board_list WHERE board_id = ?",
+                Long.class, copyId)).containsOnly(0L);
+        assertThat(jdbcTemplate.queryForList("SELECT card_count FROM board_list WHERE board_id = ? ORDER BY list_rank",
+                Long.class, copyId)).containsExactly(2L, 0L);
+        assertThat(jdbcTemplate.queryForObject("SELECT completed_count FROM board WHERE id = ?", Long.class, copyId))
+                .isZero();
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM clone_id_map", Long.class)).isZero();
+    }
+
+    private BoardList list(String title, String rank, long cardCount, long completedCount) {
+        BoardList list = new BoardList();
+        list.setTitle(title);
+        list.setBoard(board);
+        list.setRank(rank);
+        list.setCardCount(cardCount);
+        list.setCompletedCount(completedCount);
+        return boardListRepository.save(list);
+    }
+
+    private static Todo todo(String content, boolean completed, Card card) {
+        Todo todo = new Todo();
+        todo.setContent(content);
+        todo.setCompleted(completed);
+        todo.setCard(card);
+        return todo;
+    }
+
+    private static BoardCloneDTO options(boolean resetProgress) {
+        BoardCloneDTO options = new BoardCloneDTO();
+        options.setTitle("copy");
+        options.setResetProgress(resetProgress);
+        return options;
+    }
+
+    private List<String> values(String table, String column, String cardId) {
+        return jdbcTemplate.queryForList("SELECT " + column + " FROM " + table + " WHERE card_id = ?",
+                String.class, cardId);
+    }
+}
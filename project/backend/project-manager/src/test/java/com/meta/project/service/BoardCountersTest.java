@@ -0,0 +1,220 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.TodoDTO;
+import com.meta.project.dto.UpdateCardDTO;
+import com.meta.project.entity.Comment;
+import com.meta.project.entity.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The counters kept on lists, boards and cards must equal a {@code COUNT(*)} of the rows they
+ * stand for after every kind of card and list change.
+ */
+class BoardCountersTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BoardCounters boardCounters;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String board;
+    private String otherBoard;
+    private String todo;
+    private String done;
+    private String elsewhere;
+
+    @BeforeEach
+    void setup() {
+        board = createBoard("counted");
+        otherBoard = createBoard("other");
+        todo = boardListService.createList("todo", board).getId();
+        done = boardListService.createList("done", board).getId();
+        elsewhere = boardListService.createList("elsewhere", otherBoard).getId();
+    }
+
+    @Test
+    void countersFollowCardChanges() {
+        String a = createCard(board, todo, "a");
+        String b = createCard(board, todo, "b");
+        String c = createCard(board, done, "c");
+        assertCountersMatchRows();
+        assertThat(listCounters(todo)).containsExactly(2L, 0L);
+
+        move(a, done, 1);
+        assertCountersMatchRows();
+
+        cardService.updateCardIsCompleted(a, true);
+        cardService.updateCardIsCompleted(c, true);
+        assertCountersMatchRows();
+        assertThat(listCounters(done)).containsExactly(2L, 2L);
+        assertThat(boardCounters(board)).containsExactly(3L, 2L);
+
+        // Across boards, still completed
+        CardDTO moved = cardService.getCardById(c);
+        moved.setBoardId(otherBoard);
+        moved.setListId(elsewhere);
+        cardService.updateCard(moved);
+        assertCountersMatchRows();
+        assertThat(boardCounters(otherBoard)).containsExactly(1L, 1L);
+
+        cardService.deleteCard(b);
+        cardService.deleteCard(a);
+        assertCountersMatchRows();
+        assertThat(boardCounters(board)).containsExactly(0L, 0L);
+    }
+
+    @Test
+    void cardCountersFollowTodosAndComments() {
+        String a = createCard(board, todo, "a");
+        for (String content : List.of("one", "two", "three")) {
+            Todo item = new Todo();
+            item.setContent(content);
+            cardService.addCardTodo(a, item);
+        }
+        List<Todo> todos = new ArrayList<>();
+        for (TodoDTO dto : cardService.getCardById(a).getTodos()) {
+            Todo item = new Todo();
+            item.setId(dto.getId());
+            item.setContent(dto.getContent());
+            item.setCompleted(dto.getContent().equals("one"));
+            todos.add(item);
+        }
+        cardService.updateCardTodos(a, todos);
+        cardService.removeCardTodo(a, todos.stream()
+                .filter(item -> item.getContent().equals("three")).findFirst().orElseThrow().getId());
+
+        Comment comment = new Comment();
+        comment.setText("hi");
+        comment.setUserId("ann");
+        String commentId = cardService.addCardComment(a, comment).getComments().get(0).getId();
+        Comment another = new Comment();
+        another.setText("again");
+        another.setUserId("ann");
+        cardService.addCardComment(a, another);
+        cardService.removeCardComment(a, commentId);
+
+        assertCountersMatchRows();
+        assertThat(jdbcTemplate.queryForMap(
+                "SELECT todo_total, todo_done, comment_count FROM cards WHERE id = ?", a).values())
+                .extracting(value -> ((Number) value).longValue())
+                .containsExactly(2L, 1L, 1L);
+    }
+
+    @Test
+    void listMoveCarriesItsCardsAndTotals() {
+        String a = createCard(board, todo, "a");
+        String b = createCard(board, todo, "b");
+        createCard(board, done, "c");
+        cardService.updateCardIsCompleted(b, true);
+
+        boardListService.updateList(todo, "todo", otherBoard);
+
+        assertCountersMatchRows();
+        assertThat(boardCounters(board)).containsExactly(1L, 0L);
+        assertThat(boardCounters(otherBoard)).containsExactly(2L, 1L);
+        assertThat(jdbcTemplate.queryForList("SELECT board_id FROM cards WHERE list_id = ?", String.class, todo))
+                .containsOnly(otherBoard);
+        assertThat(cardService.getCardById(a).getBoardId()).isEqualTo(otherBoard);
+        assertThat(cardService.getCardsByBoardId(otherBoard)).extracting(CardDTO::getId)
+                .containsExactlyInAnyOrder(a, b);
+
+        // Moving a card afterwards leaves both boards consistent
+        move(a, done, 1);
+        assertCountersMatchRows();
+
+        boardListService.deleteList(done);
+        assertCountersMatchRows();
+        assertThat(boardCounters(board)).containsExactly(0L, 0L);
+    }
+
+    @Test
+    void repairLeavesMaintainedCountersUnchanged() {
+        String a = createCard(board, todo, "a");
+        createCard(board, done, "b");
+        cardService.updateCardIsCompleted(a, true);
+        List<Map<String, Object>> before = counters();
+
+        boardCounters.repair();
+
+        assertThat(counters()).isEqualTo(before);
+    }
+
+    // Only the rows of this test's boards, so other tests' data cannot interfere
+    private void assertCountersMatchRows() {
+        List<String> boards = List.of(board, otherBoard);
+        assertThat(ids("SELECT l.id FROM board_list l WHERE l.board_id IN (?, ?) AND ("
+                + "l.card_count <> (SELECT COUNT(*) FROM cards c WHERE c.list_id = l.id) OR "
+                + "l.completed_count <> (SELECT COUNT(*) FROM cards c WHERE c.list_id = l.id AND c.is_completed = TRUE))",
+                boards)).as("lists with drifted counters").isEmpty();
+        assertThat(ids("SELECT b.id FROM board b WHERE b.id IN (?, ?) AND ("
+                + "b.card_count <> (SELECT COUNT(*) FROM cards c WHERE c.board_id = b.id) OR "
+                + "b.completed_count <> (SELECT COUNT(*) FROM cards c WHERE c.board_id = b.id AND c.is_completed = TRUE))",
+                boards)).as("boards with drifted counters").isEmpty();
+        assertThat(ids("SELECT c.id FROM cards c WHERE c.board_id IN (?, ?) AND ("
+                + "c.todo_total <> (SELECT COUNT(*) FROM todos t WHERE t.card_id = c.id) OR "
+                + "c.todo_done <> (SELECT COUNT(*) FROM todos t WHERE t.card_id = c.id AND t.completed = TRUE) OR "
+                + "c.comment_count <> (SELECT COUNT(*) FROM comments cm WHERE cm.card_id = c.id))",
+                boards)).as("cards with drifted counters").isEmpty();
+        assertThat(ids("SELECT c.id FROM cards c JOIN board_list l ON l.id = c.list_id "
+                + "WHERE l.board_id IN (?, ?) AND c.board_id <> l.board_id",
+                boards)).as("cards on another board than their list").isEmpty();
+    }
+
+    private List<String> ids(String sql, List<String> boards) {
+        return jdbcTemplate.queryForList(sql, String.class, boards.toArray());
+    }
+
+    private List<Map<String, Object>> counters() {
+        return jdbcTemplate.queryForList("SELECT id, card_count, completed_count FROM board_list "
+                + "WHERE board_id IN (?, ?) ORDER BY id", board, otherBoard);
+    }
+
+    private List<Long> listCounters(String listId) {
+        return jdbcTemplate.query("SELECT card_count, completed_count FROM board_list WHERE id = ?",
+                (rs, i) -> List.of(rs.getLong(1), rs.getLong(2)), listId).get(0);
+    }
+
+    private List<Long> boardCounters(String boardId) {
+        return jdbcTemplate.query("SELECT card_count, completed_count FROM board WHERE id = ?",
+                (rs, i) -> List.of(rs.getLong(1), rs.getLong(2)), boardId).get(0);
+    }
+
+    private void move(String cardId, String listId, int order) {
+        UpdateCardDTO position = new UpdateCardDTO();
+        position.setListId(listId);
+        position.setOrder(order);
+        cardService.updateCardPosition(cardId, position);
+    }
+
+    private String createBoard(String title) {
+        BoardDTO dto = new BoardDTO();
+        dto.setTitle(title);
+        return boardService.createBoard(dto).getId();
+    }
+
+    private String createCard(String boardId, String listId, String title) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setBoardId(boardId);
+        card.setListId(listId);
+        return cardService.createCard(card).getId();
+    }
+}
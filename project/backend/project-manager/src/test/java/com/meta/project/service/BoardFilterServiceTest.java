@@ -0,0 +1,133 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.CardFilterDTO;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.util.BoardBitmapIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class BoardFilterServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 4);
+
+    private final BoardBitmapIndex index = new BoardBitmapIndex();
+
+    @BeforeEach
+    void setUp() {
+        index.put("overdue-bug", "todo", false, TODAY.minusDays(2), List.of("bug"), List.of("ann"));
+        index.put("today-ui", "todo", false, TODAY, List.of("ui"), List.of("bob"));
+        index.put("week-bug-done", "done", true, TODAY.plusDays(6), List.of("bug"), List.of("bob"));
+        index.put("later-ui", "todo", false, TODAY.plusDays(7), List.of("ui", "bug"), List.of());
+        index.put("undated", "done", true, null, List.of(), List.of("ann"));
+    }
+
+    @Test
+    void emptyOrMissingFilterMatchesEveryCard() {
+        assertThat(select(null)).hasSize(5);
+        assertThat(select(new CardFilterDTO())).hasSize(5);
+    }
+
+    @Test
+    void conditionsOnOneNodeMustAllHold() {
+        CardFilterDTO filter = new CardFilterDTO();
+        filter.setLabel("bug");
+        filter.setCompleted(false);
+
+        assertThat(select(filter)).containsExactly("overdue-bug", "later-ui");
+
+        filter.setMember("ann");
+        assertThat(select(filter)).containsExactly("overdue-bug");
+    }
+
+    @Test
+    void dueBuckets() {
+        assertThat(select(due("overdue"))).containsExactly("overdue-bug");
+        assertThat(select(due("today"))).containsExactly("today-ui");
+        assertThat(select(due("week"))).containsExactly("today-ui", "week-bug-done");
+        assertThat(select(due("none"))).containsExactly("undated");
+        assertThat(select(due("any"))).containsExactly("overdue-bug", "today-ui", "week-bug-done", "later-ui");
+        assertThatThrownBy(() -> select(due("someday"))).isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void orMatchesAnyChildAndAndMatchesEvery() {
+        CardFilterDTO either = new CardFilterDTO();
+        either.setOr(List.of(label("ui"), member("ann")));
+        assertThat(select(either)).containsExactly("overdue-bug", "today-ui", "later-ui", "undated");
+
+        CardFilterDTO both = new CardFilterDTO();
+        both.setAnd(List.of(label("ui"), label("bug")));
+        assertThat(select(both)).containsExactly("later-ui");
+
+        // An empty or matches everything rather than nothing
+        CardFilterDTO emptyOr = new CardFilterDTO();
+        emptyOr.setOr(List.of());
+        assertThat(select(emptyOr)).hasSize(5);
+    }
+
+    @Test
+    void notExcludesItsMatches() {
+        CardFilterDTO completed = new CardFilterDTO();
+        completed.setCompleted(true);
+        CardFilterDTO open = new CardFilterDTO();
+        open.setNot(completed);
+        assertThat(select(open)).containsExactly("overdue-bug", "today-ui", "later-ui");
+    }
+
+    @Test
+    void nestedComposition() {
+        // (bug or ui) and not (completed) and not (due today)
+        CardFilterDTO completed = new CardFilterDTO();
+        completed.setCompleted(true);
+        CardFilterDTO excluded = new CardFilterDTO();
+        excluded.setOr(List.of(completed, due("today")));
+        CardFilterDTO filter = new CardFilterDTO();
+        filter.setOr(List.of(label("bug"), label("ui")));
+        filter.setNot(excluded);
+
+        assertThat(select(filter)).containsExactly("overdue-bug", "later-ui");
+    }
+
+    @Test
+    void listFilterFollowsMoves() {
+        CardFilterDTO done = new CardFilterDTO();
+        done.setListId("done");
+        assertThat(select(done)).containsExactly("week-bug-done", "undated");
+
+        index.moveToList("overdue-bug", "done");
+
+        assertThat(select(done)).containsExactly("overdue-bug", "week-bug-done", "undated");
+        CardFilterDTO bugsInTodo = new CardFilterDTO();
+        bugsInTodo.setListId("todo");
+        bugsInTodo.setLabel("bug");
+        assertThat(select(bugsInTodo)).containsExactly("later-ui");
+    }
+
+    private List<String> select(CardFilterDTO filter) {
+        return index.select(bitmaps -> BoardFilterService.evaluate(filter, bitmaps, TODAY));
+    }
+
+    private static CardFilterDTO label(String label) {
+        CardFilterDTO filter = new CardFilterDTO();
+        filter.setLabel(label);
+        return filter;
+    }
+
+    private static CardFilterDTO member(String member) {
+        CardFilterDTO filter = new CardFilterDTO();
+        filter.setMember(member);
+        return filter;
+    }
+
+    private static CardFilterDTO due(String due) {
+        CardFilterDTO filter = new CardFilterDTO();
+        filter.setDue(due);
+        return filter;
+    }
+}
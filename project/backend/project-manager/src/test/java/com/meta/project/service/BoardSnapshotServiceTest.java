@@ -0,0 +1,110 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.BoardSnapshotDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.entity.Comment;
+import com.meta.project.entity.Todo;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * The snapshot reads a board with the same number of statements whatever its size, counted with
+ * the Hibernate statistics.
+ */
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class BoardSnapshotServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private BoardSnapshotService boardSnapshotService;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void statementCountDoesNotGrowWithTheBoard() {
+        String small = createBoard(10);
+        String large = createBoard(200);
+
+        long smallCount = countStatements(small);
+        long largeCount = countStatements(large);
+
+        assertThat(largeCount).isEqualTo(smallCount);
+    }
+
+    @Test
+    void snapshotCarriesEveryCollectionOfTheCards() {
+        String boardId = createBoard(4);
+
+        BoardSnapshotDTO snapshot = boardSnapshotService.getSnapshot(boardId);
+
+        assertThat(snapshot.getLists()).extracting(BoardSnapshotDTO.ListSnapshotDTO::getTitle)
+                .containsExactly("todo", "done");
+        List<CardDTO> todo = snapshot.getLists().get(0).getCards();
+        assertThat(todo).extracting(CardDTO::getTitle, CardDTO::getOrder)
+                .containsExactly(tuple("card 0", 1), tuple("card 2", 2));
+        CardDTO card = todo.get(0);
+        assertThat(card.getBoardId()).isEqualTo(boardId);
+        assertThat(card.getListId()).isEqualTo(snapshot.getLists().get(0).getId());
+        assertThat(card.getLabels()).containsExactlyInAnyOrder("red", "blue");
+        assertThat(card.getLinks()).containsExactly("https://example.com");
+        assertThat(card.getMemberIds()).containsExactlyInAnyOrder("ann", "bob");
+        assertThat(card.getComments()).hasSize(1);
+        assertThat(card.getTodos()).hasSize(1);
+    }
+
+    // The statistics are global, so background writes can land in a run; the fewest of a few
+    // runs is the snapshot's own count
+    private long countStatements(String boardId) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long fewest = Long.MAX_VALUE;
+        for (int run = 0; run < 3; run++) {
+            statistics.clear();
+            boardSnapshotService.getSnapshot(boardId);
+            fewest = Math.min(fewest, statistics.getPrepareStatementCount());
+        }
+        return fewest;
+    }
+
+    private String createBoard(int cards) {
+        BoardDTO board = new BoardDTO();
+        board.setTitle("snapshot");
+        String boardId = boardService.createBoard(board).getId();
+        String todo = boardListService.createList("todo", boardId).getId();
+        String done = boardListService.createList("done", boardId).getId();
+        for (int i = 0; i < cards; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle("card " + i);
+            card.setBoardId(boardId);
+            card.setListId(i % 2 == 0 ? todo : done);
+            card.setLabels(List.of("red", "blue"));
+            card.setLinks(List.of("https://example.com"));
+            card.setMemberIds(List.of("ann", "bob"));
+            String cardId = cardService.createCard(card).getId();
+
+            Comment comment = new Comment();
+            comment.setText("comment");
+            comment.setUserId("ann");
+            cardService.addCardComment(cardId, comment);
+            Todo item = new Todo();
+            item.setContent("todo");
+            cardService.addCardTodo(cardId, item);
+        }
+        return boardId;
+    }
+}
@@ -0,0 +1,105 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardBulkCommandDTO;
+import com.meta.project.dto.CardBulkResultDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.UpdateCardDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Compares moving, labeling and completing 40 cards with single service calls against one
+ * bulk request doing the same. Run with {@code -Dbenchmarks=true}; needs Docker for the
+ * MySQL container.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class CardBulkBenchmarkTest extends BaseIntegrationTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(CardBulkBenchmarkTest.class);
+    private static final int CARD_COUNT = 40;
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardBulkService cardBulkService;
+
+    private String boardId;
+    private String doneListId;
+
+    @BeforeEach
+    void setup() {
+        BoardDTO board = new BoardDTO();
+        board.setTitle("benchmark");
+        boardId = boardService.createBoard(board).getId();
+        doneListId = boardListService.createList("Done", boardId).getId();
+    }
+
+    @Test
+    void benchmarkBulkCommands() {
+        List<String> single = createCards("single");
+        List<String> bulk = createCards("bulk");
+
+        long start = System.nanoTime();
+        for (String cardId : single) {
+            UpdateCardDTO move = new UpdateCardDTO();
+            move.setListId(doneListId);
+            cardService.updateCardPosition(cardId, move);
+            cardService.updateCardLabel(cardId, List.of("shipped"));
+            cardService.updateCardIsCompleted(cardId, true);
+        }
+        long singleMillis = (System.nanoTime() - start) / 1_000_000;
+
+        List<CardBulkCommandDTO> commands = new ArrayList<>();
+        for (String cardId : bulk) {
+            commands.add(command("move", cardId));
+            commands.add(command("addLabels", cardId));
+            commands.add(command("complete", cardId));
+        }
+        start = System.nanoTime();
+        List<CardBulkResultDTO> results = cardBulkService.applyCommands(commands);
+        long bulkMillis = (System.nanoTime() - start) / 1_000_000;
+
+        logger.info("BENCH bulk cards={} single-calls={} ms={} bulk-commands={} ms={}",
+                CARD_COUNT, CARD_COUNT * 3, singleMillis, commands.size(), bulkMillis);
+        assertThat(results).extracting(CardBulkResultDTO::getStatus).containsOnly(CardBulkResultDTO.APPLIED);
+        assertThat(cardService.getCardsByBoardListId(doneListId)).hasSize(CARD_COUNT * 2)
+                .allMatch(card -> Boolean.TRUE.equals(card.getIsCompleted()) && card.getLabels().contains("shipped"));
+    }
+
+    private List<String> createCards(String listTitle) {
+        String listId = boardListService.createList(listTitle, boardId).getId();
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            CardDTO card = new CardDTO();
+            card.setTitle(listTitle + " " + i);
+            card.setBoardId(boardId);
+            card.setListId(listId);
+            ids.add(cardService.createCard(card).getId());
+        }
+        return ids;
+    }
+
+    private CardBulkCommandDTO command(String op, String cardId) {
+        CardBulkCommandDTO command = new CardBulkCommandDTO();
+        command.setOp(op);
+        command.setCardId(cardId);
+        command.setListId(doneListId);
+        command.setValues(List.of("shipped"));
+        return command;
+    }
+}
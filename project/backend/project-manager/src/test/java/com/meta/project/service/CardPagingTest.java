@@ -0,0 +1,168 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.CardSummaryDTO;
+import com.meta.project.dto.CommentDTO;
+import com.meta.project.dto.PageDTO;
+import com.meta.project.dto.UpdateCardDTO;
+import com.meta.project.entity.Comment;
+import com.meta.project.exception.ServiceException;
+import com.meta.project.util.Cursors;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Keyset pagination of card summaries and comments: pages follow each other without gaps or
+ * repeats while cards and comments are added in between.
+ */
+class CardPagingTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardSummaryService cardSummaryService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String boardId;
+    private String todo;
+    private String doing;
+    private String done;
+
+    @BeforeEach
+    void setup() {
+        BoardDTO board = new BoardDTO();
+        board.setTitle("paging");
+        boardId = boardService.createBoard(board).getId();
+        todo = boardListService.createList("todo", boardId).getId();
+        doing = boardListService.createList("doing", boardId).getId();
+        done = boardListService.createList("done", boardId).getId();
+    }
+
+    @Test
+    void boardPagesCrossListBoundariesWithPerListOrder() {
+        createCards(todo, "t1", "t2", "t3");
+        createCards(done, "d1", "d2");
+
+        PageDTO<CardSummaryDTO> first = cardSummaryService.getSummaryPageByBoardId(boardId, null, 2);
+        PageDTO<CardSummaryDTO> second = cardSummaryService.getSummaryPageByBoardId(boardId, first.getNextCursor(), 2);
+        PageDTO<CardSummaryDTO> third = cardSummaryService.getSummaryPageByBoardId(boardId, second.getNextCursor(), 2);
+
+        assertThat(first.getItems()).extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getListId, CardSummaryDTO::getOrder)
+                .containsExactly(tuple("t1", todo, 1), tuple("t2", todo, 2));
+        // The empty list in between is skipped and the order restarts in the next list
+        assertThat(second.getItems()).extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getListId, CardSummaryDTO::getOrder)
+                .containsExactly(tuple("t3", todo, 3), tuple("d1", done, 1));
+        assertThat(third.getItems()).extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getOrder)
+                .containsExactly(tuple("d2", 2));
+        assertThat(third.getNextCursor()).isNull();
+    }
+
+    @Test
+    void boardPagesReadListsWhoseCounterDrifted() {
+        createCards(doing, "c1", "c2");
+        jdbcTemplate.update("UPDATE board_list SET card_count = 0 WHERE id = ?", doing);
+
+        PageDTO<CardSummaryDTO> page = cardSummaryService.getSummaryPageByBoardId(boardId, null, 10);
+
+        assertThat(page.getItems()).extracting(CardSummaryDTO::getTitle).containsExactly("c1", "c2");
+    }
+
+    @Test
+    void listCursorIsStableAcrossInserts() {
+        createCards(todo, "a", "b", "c", "d");
+
+        PageDTO<CardSummaryDTO> first = cardSummaryService.getSummaryPageByListId(todo, null, 2);
+        assertThat(first.getItems()).extracting(CardSummaryDTO::getTitle).containsExactly("a", "b");
+
+        // A card moved to the top and one appended after the first page was read
+        String top = createCards(todo, "top").get(0);
+        UpdateCardDTO move = new UpdateCardDTO();
+        move.setListId(todo);
+        move.setOrder(1);
+        cardService.updateCardPosition(top, move);
+        createCards(todo, "e");
+
+        List<String> rest = new ArrayList<>();
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            PageDTO<CardSummaryDTO> page = cardSummaryService.getSummaryPageByListId(todo, cursor, 2);
+            page.getItems().forEach(summary -> rest.add(summary.getTitle()));
+            cursor = page.getNextCursor();
+        }
+        // Continues right after "b": nothing repeated, nothing skipped, the new top card not shown
+        assertThat(rest).containsExactly("c", "d", "e");
+    }
+
+    @Test
+    void cursorOfAnotherListIsRejected() {
+        createCards(todo, "a", "b");
+        String cursor = cardSummaryService.getSummaryPageByListId(todo, null, 1).getNextCursor();
+
+        assertThatThrownBy(() -> cardSummaryService.getSummaryPageByListId(done, cursor, 1))
+                .isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> cardSummaryService.getSummaryPageByListId(todo, "not-a-cursor", 1))
+                .isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> cardSummaryService.getSummaryPageByListId(todo, Cursors.encode("x"), 1))
+                .isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void commentPagesAreStableAcrossNewComments() {
+        String cardId = createCards(todo, "discussed").get(0);
+        LocalDateTime start = LocalDateTime.of(2026, 1, 5, 9, 0);
+        for (int i = 0; i < 5; i++) {
+            addComment(cardId, "comment " + i, start.plusMinutes(i));
+        }
+
+        PageDTO<CommentDTO> first = cardService.getCardComments(cardId, null, 2);
+        assertThat(first.getItems()).extracting(CommentDTO::getText).containsExactly("comment 0", "comment 1");
+
+        addComment(cardId, "late", start.plusMinutes(10));
+
+        List<String> rest = new ArrayList<>();
+        String cursor = first.getNextCursor();
+        while (cursor != null) {
+            PageDTO<CommentDTO> page = cardService.getCardComments(cardId, cursor, 2);
+            page.getItems().forEach(comment -> rest.add(comment.getText()));
+            cursor = page.getNextCursor();
+        }
+        assertThat(rest).containsExactly("comment 2", "comment 3", "comment 4", "late");
+    }
+
+    private List<String> createCards(String listId, String... titles) {
+        List<String> ids = new ArrayList<>();
+        for (String title : titles) {
+            CardDTO card = new CardDTO();
+            card.setTitle(title);
+            card.setBoardId(boardId);
+            card.setListId(listId);
+            ids.add(cardService.createCard(card).getId());
+        }
+        return ids;
+    }
+
+    private void addComment(String cardId, String text, LocalDateTime createdAt) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setUserId("ann");
+        comment.setCreatedAt(createdAt);
+        cardService.addCardComment(cardId, comment);
+    }
+}
@@ -0,0 +1,151 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.dto.CardSummaryDTO;
+import com.meta.project.dto.TodoDTO;
+import com.meta.project.dto.UpdateCardDTO;
+import com.meta.project.entity.Comment;
+import com.meta.project.entity.Todo;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Summaries are read from the card columns and the counters kept on them; they must agree with
+ * the full cards after every kind of edit.
+ */
+class CardSummaryServiceTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private CardSummaryService cardSummaryService;
+
+    private String boardId;
+    private String todo;
+    private String done;
+
+    @BeforeEach
+    void setup() {
+        BoardDTO board = new BoardDTO();
+        board.setTitle("summaries");
+        boardId = boardService.createBoard(board).getId();
+        todo = boardListService.createList("todo", boardId).getId();
+        done = boardListService.createList("done", boardId).getId();
+    }
+
+    @Test
+    void summariesMatchTheCards() {
+        String a = createCard(todo, "a", List.of("red"), List.of("ann"));
+        String b = createCard(todo, "b", List.of("blue", "green"), List.of("ann", "bob"));
+        String c = createCard(done, "c", List.of(), List.of());
+
+        for (String content : List.of("one", "two", "three")) {
+            Todo item = new Todo();
+            item.setContent(content);
+            cardService.addCardTodo(b, item);
+        }
+        List<Todo> todos = new ArrayList<>();
+        for (TodoDTO dto : cardService.getCardById(b).getTodos()) {
+            todos.add(todo(dto.getId(), dto.getContent(), !dto.getContent().equals("three")));
+        }
+        cardService.updateCardTodos(b, todos);
+        String removed = cardService.getCardById(b).getTodos().stream()
+                .filter(dto -> dto.getContent().equals("one")).findFirst().orElseThrow().getId();
+        cardService.removeCardTodo(b, removed);
+
+        addComment(b, "first");
+        addComment(b, "second");
+        String dropped = addComment(a, "dropped").getComments().get(0).getId();
+        cardService.removeCardComment(a, dropped);
+
+        cardService.updateCardLabels(a, Set.of("red", "yellow"));
+        cardService.removeCardMembers(b, List.of("bob"));
+        cardService.updateCardIsCompleted(c, true);
+
+        List<CardSummaryDTO> summaries = cardSummaryService.getSummariesByBoardId(boardId);
+
+        assertThat(summaries).hasSize(3);
+        for (CardSummaryDTO summary : summaries) {
+            CardDTO card = cardService.getCardById(summary.getId());
+            assertThat(summary.getTitle()).isEqualTo(card.getTitle());
+            assertThat(summary.getListId()).isEqualTo(card.getListId());
+            assertThat(summary.getIsCompleted()).isEqualTo(card.getIsCompleted());
+            assertThat(summary.getLabels()).containsExactlyInAnyOrderElementsOf(card.getLabels());
+            assertThat(summary.getMemberIds()).containsExactlyInAnyOrderElementsOf(card.getMemberIds());
+            assertThat(summary.getTodoTotal()).isEqualTo(card.getTodos().size());
+            assertThat(summary.getTodoDone())
+                    .isEqualTo(card.getTodos().stream().filter(TodoDTO::getCompleted).count());
+            assertThat(summary.getCommentCount()).isEqualTo(card.getComments().size());
+        }
+        assertThat(summaries).extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getTodoDone,
+                        CardSummaryDTO::getTodoTotal, CardSummaryDTO::getCommentCount)
+                .containsExactlyInAnyOrder(tuple("a", 0L, 0L, 0L), tuple("b", 1L, 2L, 2L), tuple("c", 0L, 0L, 0L));
+    }
+
+    @Test
+    void orderIsThePositionWithinTheList() {
+        String a = createCard(todo, "a", List.of(), List.of());
+        String b = createCard(todo, "b", List.of(), List.of());
+        String c = createCard(todo, "c", List.of(), List.of());
+        createCard(done, "d", List.of(), List.of());
+        UpdateCardDTO move = new UpdateCardDTO();
+        move.setListId(todo);
+        move.setOrder(1);
+        cardService.updateCardPosition(c, move);
+
+        assertThat(cardSummaryService.getSummariesByListId(todo))
+                .extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getOrder)
+                .containsExactly(tuple("c", 1), tuple("a", 2), tuple("b", 3));
+        assertThat(cardSummaryService.getSummariesByBoardId(boardId))
+                .extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getOrder)
+                .containsExactlyInAnyOrder(tuple("c", 1), tuple("a", 2), tuple("b", 3), tuple("d", 1));
+        // Positions among the requested cards only
+        assertThat(cardSummaryService.getSummariesByIds(List.of(b, c)))
+                .extracting(CardSummaryDTO::getTitle, CardSummaryDTO::getOrder)
+                .containsExactly(tuple("c", 1), tuple("b", 2));
+        assertThat(cardService.getCardsByBoardListId(todo)).extracting(CardDTO::getId)
+                .containsExactly(c, a, b);
+    }
+
+    private String createCard(String listId, String title, List<String> labels, List<String> members) {
+        CardDTO card = new CardDTO();
+        card.setTitle(title);
+        card.setBoardId(boardId);
+        card.setListId(listId);
+        card.setLabels(new ArrayList<>(labels));
+        String id = cardService.createCard(card).getId();
+        if (!members.isEmpty()) {
+            cardService.addCardMembers(id, members);
+        }
+        return id;
+    }
+
+    private CardDTO addComment(String cardId, String text) {
+        Comment comment = new Comment();
+        comment.setText(text);
+        comment.setUserId("ann");
+        return cardService.addCardComment(cardId, comment);
+    }
+
+    private static Todo todo(String id, String content, boolean completed) {
+        Todo item = new Todo();
+        item.setId(id);
+        item.setContent(content);
+        item.setCompleted(completed);
+        return item;
+    }
+}
@@ -0,0 +1,163 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.DueReminderDTO;
+import com.meta.project.entity.Card;
+import com.meta.project.repository.CardDeadline;
+import com.meta.project.repository.CardRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Window loading and firing, driven through {@code tick} with a fixed clock: a 24 hour horizon,
+ * a one hour lead time, and cards served from a map standing in for the cards table.
+ */
+class DueDateRemindersTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private record Deadline(String getId, LocalDateTime getDateTo) implements CardDeadline {
+    }
+
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final InMemoryReminderSink sink = new InMemoryReminderSink(100);
+    private final Map<String, Card> cards = new HashMap<>();
+    private DueDateReminders reminders;
+
+    @BeforeEach
+    void setUp() {
+        when(cardRepository.findAllById(any())).thenAnswer(invocation -> {
+            List<Card> found = new ArrayList<>();
+            for (Object id : (Iterable<?>) invocation.getArgument(0)) {
+                if (cards.containsKey(id)) {
+                    found.add(cards.get(id));
+                }
+            }
+            return found;
+        });
+        reminders = new DueDateReminders(cardRepository, sink, mock(PlatformTransactionManager.class),
+                new SimpleMeterRegistry(), true, 24, 60, 1000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reminders.shutdown();
+    }
+
+    @Test
+    void windowIsExtendedOnceHalfOfItHasPassed() {
+        when(cardRepository.findDeadlinesBetween(T0, T0.plusHours(24)))
+                .thenReturn(List.of(deadline("card-1", T0.plusHours(20))));
+        when(cardRepository.findDeadlinesBetween(T0.plusHours(24), T0.plusHours(37)))
+                .thenReturn(List.of(deadline("card-2", T0.plusHours(30))));
+
+        reminders.tick(T0);
+        assertThat(reminders.getPendingCount()).isEqualTo(2);
+
+        reminders.tick(T0.plusHours(12));
+        verify(cardRepository, times(1)).findDeadlinesBetween(any(), any());
+
+        // Half of the window has passed: the next range starts where the loaded one ended
+        reminders.tick(T0.plusHours(13));
+        verify(cardRepository).findDeadlinesBetween(T0.plusHours(24), T0.plusHours(37));
+        assertThat(reminders.getPendingCount()).isEqualTo(4);
+        assertThat(sink.getReminders()).isEmpty();
+    }
+
+    @Test
+    void deadlinesBeyondTheHorizonAreLeftToTheNextLoad() {
+        when(cardRepository.findDeadlinesBetween(any(), any()))
+                .thenReturn(List.of(deadline("card-1", T0.plusHours(25)), deadline("card-2", T0.minusMinutes(1))));
+
+        reminders.tick(T0);
+
+        assertThat(reminders.getPendingCount()).isZero();
+    }
+
+    @Test
+    void upcomingFiresWithinTheLeadTimeAndOverdueWhenDue() {
+        loadCard("card-1", T0.plusHours(2));
+
+        reminders.tick(T0.plusMinutes(59));
+        assertThat(sink.getReminders()).isEmpty();
+
+        reminders.tick(T0.plusHours(1));
+        reminders.tick(T0.plusHours(2));
+
+        assertThat(sink.getReminders())
+                .extracting(DueReminderDTO::getCardId, DueReminderDTO::getKind, DueReminderDTO::getFiredAt)
+                .containsExactly(tuple("card-1", DueReminderDTO.UPCOMING, T0.plusHours(1)),
+                        tuple("card-1", DueReminderDTO.OVERDUE, T0.plusHours(2)));
+        assertThat(reminders.getPendingCount()).isZero();
+    }
+
+    @Test
+    void onlyOverdueFiresWhenBothTimersAreDueTogether() {
+        loadCard("card-1", T0.plusHours(2));
+
+        reminders.tick(T0.plusHours(3));
+
+        assertThat(sink.getReminders())
+                .extracting(DueReminderDTO::getKind)
+                .containsExactly(DueReminderDTO.OVERDUE);
+    }
+
+    @Test
+    void nothingFiresForACardRescheduledLater() {
+        loadCard("card-1", T0.plusHours(2));
+        cards.get("card-1").setDateTo(T0.plusHours(5));
+
+        reminders.tick(T0.plusHours(2));
+
+        assertThat(sink.getReminders()).isEmpty();
+    }
+
+    @Test
+    void completedAndDeletedCardsAreSkipped() {
+        when(cardRepository.findDeadlinesBetween(any(), any()))
+                .thenReturn(List.of(deadline("card-1", T0.plusHours(2)), deadline("card-2", T0.plusHours(2))));
+        cards.put("card-1", card("card-1", T0.plusHours(2)));
+        cards.get("card-1").setIsCompleted(true);
+        reminders.tick(T0);
+
+        reminders.tick(T0.plusHours(2));
+
+        assertThat(sink.getReminders()).isEmpty();
+        assertThat(reminders.getPendingCount()).isZero();
+    }
+
+    private void loadCard(String id, LocalDateTime dateTo) {
+        when(cardRepository.findDeadlinesBetween(any(), any())).thenReturn(List.of(deadline(id, dateTo)));
+        cards.put(id, card(id, dateTo));
+        reminders.tick(T0);
+        assertThat(reminders.getPendingCount()).isEqualTo(2);
+    }
+
+    private static CardDeadline deadline(String id, LocalDateTime dateTo) {
+        return new Deadline(id, dateTo);
+    }
+
+    private static Card card(String id, LocalDateTime dateTo) {
+        Card card = new Card();
+        card.setId(id);
+        card.setTitle(id);
+        card.setDateTo(dateTo);
+        return card;
+    }
+}
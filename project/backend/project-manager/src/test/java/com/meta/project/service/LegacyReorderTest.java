@@ -0,0 +1,116 @@
+package com.meta.project.service;
+
+import com.meta.project.BaseIntegrationTest;
+import com.meta.project.dto.BoardDTO;
+import com.meta.project.dto.BoardListDTO;
+import com.meta.project.dto.CardDTO;
+import com.meta.project.exception.ServiceException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The legacy {@code PUT /reorder} endpoints send positions for some items only; the other
+ * items keep their places and ranks.
+ */
+class LegacyReorderTest extends BaseIntegrationTest {
+
+    @Autowired
+    private BoardService boardService;
+    @Autowired
+    private BoardListService boardListService;
+    @Autowired
+    private CardService cardService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String boardId;
+    private String listId;
+
+    @BeforeEach
+    void setup() {
+        BoardDTO board = new BoardDTO();
+        board.setTitle("reorder");
+        boardId = boardService.createBoard(board).getId();
+        listId = boardListService.createList("todo", boardId).getId();
+    }
+
+    @Test
+    void partialCardReorderMovesOnlyTheSentCards() {
+        List<String> ids = createCards("a", "b", "c", "d", "e");
+        // A move no longer shifts the stored orders of the other cards
+        cardService.reorderCards(List.of(position(ids.get(4), 1)));
+        Map<String, String> ranksBefore = cardRanks();
+
+        cardService.reorderCards(List.of(position(ids.get(0), 4)));
+
+        assertThat(cardService.getCardsByBoardListId(listId)).extracting(CardDTO::getTitle)
+                .containsExactly("e", "b", "c", "a", "d");
+        Map<String, String> ranksAfter = cardRanks();
+        for (String id : List.of(ids.get(1), ids.get(2), ids.get(3), ids.get(4))) {
+            assertThat(ranksAfter.get(id)).isEqualTo(ranksBefore.get(id));
+        }
+    }
+
+    @Test
+    void cardOfAnotherListIsRejected() {
+        String other = boardListService.createList("done", boardId).getId();
+        String cardId = createCards("a").get(0);
+        CardDTO dto = position(cardId, 1);
+        dto.setListId(other);
+
+        assertThatThrownBy(() -> cardService.reorderCards(List.of(dto))).isInstanceOf(ServiceException.class);
+    }
+
+    @Test
+    void partialListReorderMovesOnlyTheSentLists() {
+        String second = boardListService.createList("doing", boardId).getId();
+        boardListService.createList("done", boardId);
+        BoardListDTO dto = new BoardListDTO();
+        dto.setId(second);
+        dto.setOrder(1);
+
+        boardListService.reorderLists(List.of(dto));
+
+        assertThat(boardListService.getLists(boardId)).extracting(BoardListDTO::getTitle)
+                .containsExactly("doing", "todo", "done");
+    }
+
+    private CardDTO position(String cardId, int order) {
+        CardDTO dto = new CardDTO();
+        dto.setId(cardId);
+        dto.setListId(listId);
+        dto.setOrder(order);
+        return dto;
+    }
+
+    private Map<String, String> cardRanks() {
+        Map<String, String> ranks = new HashMap<>();
+        jdbcTemplate.query("SELECT id, card_rank FROM cards WHERE list_id = ?",
+                rs -> {
+                    ranks.put(rs.getString(1), rs.getString(2));
+                }, listId);
+        return ranks;
+    }
+
+    private List<String> createCards(String... titles) {
+        List<String> ids = new ArrayList<>();
+        for (String title : titles) {
+            CardDTO card = new CardDTO();
+            card.setTitle(title);
+            card.setBoardId(boardId);
+            card.setListId(listId);
+            ids.add(cardService.createCard(card).getId());
+        }
+        return ids;
+    }
+}
@@ -0,0 +1,53 @@
+package com.meta.project.service;
+
+import com.meta.project.entity.Card;
+import com.meta.project.repository.BoardListRepository;
+import com.meta.project.repository.CardRepository;
+import com.meta.project.repository.RankBulkUpdater;
+import org.junit.jupiter.api.Test;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RankRebalancerTest {
+
+    private final CardRepository cardRepository = mock(CardRepository.class);
+    private final BoardListRepository boardListRepository = mock(BoardListRepository.class);
+    private final RankRebalancer rankRebalancer = new RankRebalancer(cardRepository, boardListRepository, mock(RankBulkUpdater.class),
+            mock(PlatformTransactionManager.class), mock(BoardChangePublisher.class), 12);
+
+    @Test
+    void failedRebalanceIsRetriedOnTheNextRun() {
+        when(cardRepository.findByBoardListId("list-1"))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Card.class, "card-1"))
+                .thenReturn(List.of());
+        rankRebalancer.requestCardRebalance("list-1");
+
+        rankRebalancer.rebalancePending();
+        rankRebalancer.rebalancePending();
+        rankRebalancer.rebalancePending();
+
+        // Failed once, succeeded on the retry, and was not queued again after that
+        verify(cardRepository, times(2)).findByBoardListId("list-1");
+    }
+
+    @Test
+    void failedListRebalanceIsRetriedOnTheNextRun() {
+        when(boardListRepository.findByBoardIdOrderByRankAsc("board-1"))
+                .thenThrow(new IllegalStateException("connection reset"))
+                .thenReturn(List.of());
+        rankRebalancer.requestListRebalance("board-1");
+
+        rankRebalancer.rebalancePending();
+        rankRebalancer.rebalancePending();
+        rankRebalancer.rebalancePending();
+
+        verify(boardListRepository, times(2)).findByBoardIdOrderByRankAsc("board-1");
+    }
+}
@@ -0,0 +1,124 @@
+package com.meta.project.service;
+
+import com.meta.project.dto.RankChangeDTO;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReorderPlannerTest {
+
+    @Test
+    void unchangedOrderNeedsNoChanges() {
+        Map<String, String> ranks = Map.of("a", "1", "b", "2", "c", "3");
+        assertThat(ReorderPlanner.plan(List.of("a", "b", "c"), ranks)).isEmpty();
+    }
+
+    @Test
+    void movingOneItemRewritesOnlyThatItem() {
+        Map<String, String> ranks = Map.of("a", "1", "b", "2", "c", "3", "d", "4");
+
+        List<RankChangeDTO> changes = ReorderPlanner.plan(List.of("a", "d", "b", "c"), ranks);
+
+        assertThat(changes).hasSize(1);
+        RankChangeDTO change = changes.get(0);
+        assertThat(change.getId()).isEqualTo("d");
+        assertThat(change.getOrder()).isEqualTo(2);
+        assertThat(change.getRank()).isGreaterThan("1").isLessThan("2");
+    }
+
+    @Test
+    void keepsTheLongestRunOfItemsAlreadyInOrder() {
+        Map<String, String> ranks = Map.of("a", "1", "b", "2", "c", "3", "d", "4", "e", "5");
+
+        // b, c, d, e are still in order; only a moves
+        List<String> requested = List.of("b", "c", "a", "d", "e");
+        List<RankChangeDTO> changes = ReorderPlanner.plan(requested, ranks);
+
+        assertThat(changes).extracting(RankChangeDTO::getId).containsExactly("a");
+        assertOrdered(requested, ranks, changes);
+    }
+
+    @Test
+    void itemsWithoutRankAreAlwaysWritten() {
+        Map<String, String> ranks = new HashMap<>(Map.of("a", "1", "c", "3"));
+        ranks.put("b", null);
+
+        List<RankChangeDTO> changes = ReorderPlanner.plan(List.of("a", "b", "c"), ranks);
+
+        assertThat(changes).extracting(RankChangeDTO::getId).containsExactly("b");
+        assertOrdered(List.of("a", "b", "c"), ranks, changes);
+    }
+
+    @Test
+    void reverseOrderKeepsOneItem() {
+        Map<String, String> ranks = Map.of("a", "1", "b", "2", "c", "3", "d", "4");
+        List<String> requested = List.of("d", "c", "b", "a");
+
+        List<RankChangeDTO> changes = ReorderPlanner.plan(requested, ranks);
+
+        assertThat(changes).hasSize(3);
+        assertOrdered(requested, ranks, changes);
+    }
+
+    @Test
+    void randomShufflesEndUpInTheRequestedOrder() {
+        Random random = new Random(7);
+        for (int round = 0; round < 50; round++) {
+            Map<String, String> ranks = new HashMap<>();
+            List<String> ids = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                String id = "card-" + i;
+                ids.add(id);
+                ranks.put(id, String.format("%03d", i + 1));
+            }
+            Collections.shuffle(ids, random);
+
+            List<RankChangeDTO> changes = ReorderPlanner.plan(ids, ranks);
+
+            assertOrdered(ids, ranks, changes);
+        }
+    }
+
+    @Test
+    void placeMovesRequestedItemsAndKeepsTheOthersInOrder() {
+        List<String> current = List.of("a", "b", "c", "d", "e");
+
+        assertThat(ReorderPlanner.place(current, Map.of("e", 1))).containsExactly("e", "a", "b", "c", "d");
+        assertThat(ReorderPlanner.place(current, Map.of("a", 4))).containsExactly("b", "c", "d", "a", "e");
+        assertThat(ReorderPlanner.place(current, Map.of("a", 5, "e", 1))).containsExactly("e", "b", "c", "d", "a");
+    }
+
+    @Test
+    void placeClampsPositionsOutsideTheList() {
+        List<String> current = List.of("a", "b", "c");
+
+        assertThat(ReorderPlanner.place(current, Map.of("c", 0))).containsExactly("c", "a", "b");
+        assertThat(ReorderPlanner.place(current, Map.of("a", 99))).containsExactly("b", "c", "a");
+    }
+
+    @Test
+    void placeIgnoresMissingPositions() {
+        Map<String, Integer> positions = new HashMap<>();
+        positions.put("b", null);
+
+        assertThat(ReorderPlanner.place(List.of("a", "b", "c"), positions)).containsExactly("a", "b", "c");
+    }
+
+    private static void assertOrdered(List<String> requested, Map<String, String> ranks, List<RankChangeDTO> changes) {
+        Map<String, String> result = new HashMap<>(ranks);
+        for (RankChangeDTO change : changes) {
+            assertThat(change.getOrder()).isEqualTo(requested.indexOf(change.getId()) + 1);
+            result.put(change.getId(), change.getRank());
+        }
+        for (int i = 1; i < requested.size(); i++) {
+            assertThat(result.get(requested.get(i))).isGreaterThan(result.get(requested.get(i - 1)));
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.meta.project.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeTrackingServiceTest {
+
+    @Test
+    void parsesHoursMinutesAndSeconds() {
+        assertThat(TimeTrackingService.parseDuration("1:02:03")).isEqualTo(3723L);
+        assertThat(TimeTrackingService.parseDuration("00:00:59")).isEqualTo(59L);
+        assertThat(TimeTrackingService.parseDuration("125:00:00")).isEqualTo(450_000L);
+        assertThat(TimeTrackingService.parseDuration(" 2:30:00 ")).isEqualTo(9000L);
+    }
+
+    @Test
+    void parsesMinutesAndSeconds() {
+        assertThat(TimeTrackingService.parseDuration("45:30")).isEqualTo(2730L);
+        assertThat(TimeTrackingService.parseDuration("0:05")).isEqualTo(5L);
+        // The leading part is not capped
+        assertThat(TimeTrackingService.parseDuration("90:00")).isEqualTo(5400L);
+    }
+
+    @Test
+    void zeroIsADurationTheImportSkips() {
+        assertThat(TimeTrackingService.parseDuration("0:00:00")).isZero();
+    }
+
+    @Test
+    void rejectsOutOfRangeParts() {
+        assertThat(TimeTrackingService.parseDuration("1:60:00")).isNull();
+        assertThat(TimeTrackingService.parseDuration("1:00:60")).isNull();
+        assertThat(TimeTrackingService.parseDuration("10:75")).isNull();
+        assertThat(TimeTrackingService.parseDuration("1234567:00:00")).isNull();
+    }
+
+    @Test
+    void rejectsGarbage() {
+        assertThat(TimeTrackingService.parseDuration(null)).isNull();
+        assertThat(TimeTrackingService.parseDuration("")).isNull();
+        assertThat(TimeTrackingService.parseDuration("90")).isNull();
+        assertThat(TimeTrackingService.parseDuration("1:2:3:4")).isNull();
+        assertThat(TimeTrackingService.parseDuration("1h30m")).isNull();
+        assertThat(TimeTrackingService.parseDuration("-1:00")).isNull();
+        assertThat(TimeTrackingService.parseDuration("1::00")).isNull();
+        assertThat(TimeTrackingService.parseDuration("a:bc")).isNull();
+        assertThat(TimeTrackingService.parseDuration("1.5:00")).isNull();
+    }
+}
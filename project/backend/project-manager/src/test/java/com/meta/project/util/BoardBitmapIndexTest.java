@@ -0,0 +1,122 @@
+package com.meta.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoardBitmapIndexTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2026, 3, 2);
+
+    private final BoardBitmapIndex index = new BoardBitmapIndex();
+
+    @Test
+    void selectsByLabelMemberListAndCompletion() {
+        index.put("a", "todo", false, null, List.of("bug"), List.of("ann"));
+        index.put("b", "todo", true, null, List.of("bug", "ui"), List.of("bob"));
+        index.put("c", "done", true, null, List.of(), List.of("ann", "bob"));
+
+        assertThat(index.select(bitmaps -> bitmaps.label("bug"))).containsExactly("a", "b");
+        assertThat(index.select(bitmaps -> bitmaps.member("bob"))).containsExactly("b", "c");
+        assertThat(index.select(bitmaps -> bitmaps.list("done"))).containsExactly("c");
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::completed)).containsExactly("b", "c");
+        assertThat(index.select(bitmaps -> bitmaps.label("missing"))).isEmpty();
+        assertThat(index.select(bitmaps -> bitmaps.member("missing"))).isEmpty();
+    }
+
+    @Test
+    void resultsCombineInPlace() {
+        index.put("a", "todo", false, null, List.of("bug"), List.of("ann"));
+        index.put("b", "todo", false, null, List.of("bug"), List.of("bob"));
+
+        assertThat(index.select(bitmaps -> {
+            BitSet bugs = bitmaps.label("bug");
+            bugs.andNot(bitmaps.member("ann"));
+            return bugs;
+        })).containsExactly("b");
+        // The combination above did not change the stored bitmaps
+        assertThat(index.select(bitmaps -> bitmaps.label("bug"))).containsExactly("a", "b");
+    }
+
+    @Test
+    void dueRangesAreHalfOpen() {
+        index.put("mon", "todo", false, MONDAY, List.of(), List.of());
+        index.put("tue", "todo", false, MONDAY.plusDays(1), List.of(), List.of());
+        index.put("sun", "todo", false, MONDAY.plusDays(6), List.of(), List.of());
+        index.put("none", "todo", false, null, List.of(), List.of());
+
+        assertThat(index.select(bitmaps -> bitmaps.dueBetween(MONDAY, MONDAY.plusDays(1)))).containsExactly("mon");
+        assertThat(index.select(bitmaps -> bitmaps.dueBetween(null, MONDAY.plusDays(1)))).containsExactly("mon");
+        assertThat(index.select(bitmaps -> bitmaps.dueBetween(MONDAY.plusDays(1), null))).containsExactly("tue", "sun");
+        assertThat(index.select(bitmaps -> bitmaps.dueBetween(null, null))).containsExactly("mon", "tue", "sun");
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::noDueDate)).containsExactly("none");
+    }
+
+    @Test
+    void putReplacesEveryBitOfTheCard() {
+        index.put("a", "todo", true, MONDAY, List.of("bug"), List.of("ann"));
+        index.put("a", "done", false, null, List.of("ui"), List.of("bob"));
+
+        assertThat(index.size()).isEqualTo(1);
+        assertThat(index.select(bitmaps -> bitmaps.label("bug"))).isEmpty();
+        assertThat(index.select(bitmaps -> bitmaps.member("ann"))).isEmpty();
+        assertThat(index.select(bitmaps -> bitmaps.list("todo"))).isEmpty();
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::completed)).isEmpty();
+        assertThat(index.select(bitmaps -> bitmaps.dueBetween(null, null))).isEmpty();
+        assertThat(index.select(bitmaps -> bitmaps.label("ui"))).containsExactly("a");
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::noDueDate)).containsExactly("a");
+    }
+
+    @Test
+    void moveToListOnlyChangesTheListBitmap() {
+        index.put("a", "todo", true, MONDAY, List.of("bug"), List.of("ann"));
+
+        assertThat(index.moveToList("a", "done")).isTrue();
+        assertThat(index.moveToList("missing", "done")).isFalse();
+
+        assertThat(index.select(bitmaps -> bitmaps.list("todo"))).isEmpty();
+        assertThat(index.select(bitmaps -> bitmaps.list("done"))).containsExactly("a");
+        assertThat(index.select(bitmaps -> bitmaps.label("bug"))).containsExactly("a");
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::completed)).containsExactly("a");
+        assertThat(index.select(bitmaps -> bitmaps.dueBetween(MONDAY, MONDAY.plusDays(1)))).containsExactly("a");
+
+        // A later removal clears the new list, not the old one
+        index.remove("a");
+        assertThat(index.select(bitmaps -> bitmaps.list("done"))).isEmpty();
+    }
+
+    @Test
+    void removeAndRemoveListDropCardsAndReuseOrdinals() {
+        index.put("a", "todo", false, null, List.of("bug"), List.of());
+        index.put("b", "todo", false, null, List.of(), List.of());
+        index.put("c", "done", false, null, List.of(), List.of());
+
+        assertThat(index.remove("a")).isTrue();
+        assertThat(index.remove("a")).isFalse();
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::all)).containsExactly("b", "c");
+
+        // The freed ordinal goes to the next card and carries none of the removed card's bits
+        index.put("d", "done", false, null, List.of(), List.of());
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::all)).containsExactly("d", "b", "c");
+        assertThat(index.select(bitmaps -> bitmaps.label("bug"))).isEmpty();
+
+        assertThat(index.removeList("done")).isEqualTo(2);
+        assertThat(index.removeList("missing")).isZero();
+        assertThat(index.select(BoardBitmapIndex.Bitmaps::all)).containsExactly("b");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void labelCountsLeaveOutUnusedLabels() {
+        index.put("a", "todo", false, null, List.of("bug", "ui"), List.of());
+        index.put("b", "todo", false, null, List.of("bug"), List.of());
+        index.remove("a");
+
+        assertThat(index.labelCounts()).containsOnlyKeys(Set.of("bug")).containsEntry("bug", 1);
+    }
+}
@@ -0,0 +1,78 @@
+package com.meta.project.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Query latency of the card search index over 1M synthetic cards with a skewed vocabulary.
+ * Run with {@code -Dbenchmarks=true}; needs a couple of GB of heap.
+ */
+@EnabledIfSystemProperty(named = "benchmarks", matches = "true")
+class InvertedIndexBenchmarkTest {
+
+    private static final Logger logger = LoggerFactory.getLogger(InvertedIndexBenchmarkTest.class);
+    private static final int CARD_COUNT = 1_000_000;
+    private static final int VOCABULARY = 50_000;
+    private static final int QUERIES = 500;
+
+    private final Random random = new Random(42);
+    private final String[] words = new String[VOCABULARY];
+
+    @Test
+    void benchmarkQueries() {
+        for (int i = 0; i < VOCABULARY; i++) {
+            words[i] = "w" + Integer.toString(i, 36) + "x";
+        }
+        InvertedIndex<Boolean> index = new InvertedIndex<>();
+        long start = System.nanoTime();
+        for (int i = 0; i < CARD_COUNT; i++) {
+            index.put("card-" + i, i % 3 == 0, text(4), List.of(text(20), text(8)));
+        }
+        long buildMillis = (System.nanoTime() - start) / 1_000_000;
+        assertThat(index.size()).isEqualTo(CARD_COUNT);
+
+        logger.info("BENCH search cards={} build ms={}", CARD_COUNT, buildMillis);
+        measure(index, "one-term", i -> word());
+        measure(index, "two-terms", i -> word() + " " + word());
+        measure(index, "prefix", i -> word() + " " + word().substring(0, 2));
+        measure(index, "filtered", i -> word());
+    }
+
+    private void measure(InvertedIndex<Boolean> index, String name, IntFunction<String> queries) {
+        long[] nanos = new long[QUERIES];
+        int hits = 0;
+        for (int i = 0; i < QUERIES; i++) {
+            String query = queries.apply(i);
+            long start = System.nanoTime();
+            hits += index.search(query, "filtered".equals(name) ? Boolean::booleanValue : null, 20).size();
+            nanos[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(nanos);
+        logger.info("BENCH search {} p50 us={} p99 us={} max us={} avg hits={}", name,
+                nanos[QUERIES / 2] / 1000, nanos[QUERIES * 99 / 100] / 1000, nanos[QUERIES - 1] / 1000, hits / QUERIES);
+    }
+
+    private String text(int wordCount) {
+        List<String> text = new ArrayList<>(wordCount);
+        for (int i = 0; i < wordCount; i++) {
+            text.add(word());
+        }
+        return String.join(" ", text);
+    }
+
+    // Roughly Zipfian: low word numbers are far more frequent than high ones
+    private String word() {
+        double u = random.nextDouble();
+        return words[(int) (Math.pow(VOCABULARY, u) - 1)];
+    }
+}
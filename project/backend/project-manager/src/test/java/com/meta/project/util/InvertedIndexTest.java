@@ -0,0 +1,137 @@
+package com.meta.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class InvertedIndexTest {
+
+    private final InvertedIndex<String> index = new InvertedIndex<>();
+
+    @Test
+    void matchesOnlyDocumentsContainingEveryTerm() {
+        index.put("1", "todo", "Fix login bug", List.of());
+        index.put("2", "todo", "Login page redesign", List.of());
+        index.put("3", "todo", "Bug bash", List.of("login flow"));
+
+        assertThat(keys("login bug")).containsExactlyInAnyOrder("1", "3");
+        assertThat(keys("login redesign")).containsExactly("2");
+        assertThat(keys("login missing")).isEmpty();
+    }
+
+    @Test
+    void ranksTitleMatchesAboveBodyMatches() {
+        index.put("title", "todo", "Invoice export", List.of());
+        index.put("body", "todo", "Quarterly report", List.of("needs the invoice numbers"));
+
+        assertThat(keys("invoice")).containsExactly("title", "body");
+    }
+
+    @Test
+    void lastTermAlsoMatchesAsPrefix() {
+        index.put("1", "todo", "Deploy release", List.of());
+        index.put("2", "todo", "Release notes", List.of());
+        index.put("3", "todo", "Deploy hotfix", List.of());
+
+        assertThat(keys("deploy rel")).containsExactly("1");
+        assertThat(keys("rel")).containsExactlyInAnyOrder("1", "2");
+        // Only the last term is a prefix
+        assertThat(keys("rel deploy")).isEmpty();
+    }
+
+    @Test
+    void foldsCaseAndAccents() {
+        index.put("1", "todo", "Café Menü", List.of());
+
+        assertThat(keys("CAFE menu")).containsExactly("1");
+    }
+
+    @Test
+    void appliesTheFilterAndLimit() {
+        for (int i = 0; i < 10; i++) {
+            index.put("card-" + i, i % 2 == 0 ? "todo" : "done", "Review " + i, List.of());
+        }
+
+        List<InvertedIndex.Hit<String>> hits = index.search("review", "todo"::equals, 3);
+
+        assertThat(hits).hasSize(3).allMatch(hit -> hit.meta().equals("todo"));
+    }
+
+    @Test
+    void putReplacesTheEarlierText() {
+        index.put("1", "todo", "Old title", List.of());
+        index.put("1", "todo", "New title", List.of());
+
+        assertThat(keys("old")).isEmpty();
+        assertThat(keys("new")).containsExactly("1");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void removeAndRemoveIfDropDocuments() {
+        index.put("1", "list-a", "Alpha task", List.of());
+        index.put("2", "list-a", "Beta task", List.of());
+        index.put("3", "list-b", "Gamma task", List.of());
+
+        assertThat(index.remove("1")).isTrue();
+        assertThat(index.remove("1")).isFalse();
+        assertThat(keys("task")).containsExactlyInAnyOrder("2", "3");
+
+        assertThat(index.removeIf("list-b"::equals)).isEqualTo(1);
+        assertThat(keys("task")).containsExactly("2");
+        assertThat(index.size()).isEqualTo(1);
+    }
+
+    @Test
+    void updateMetaKeepsTheText() {
+        index.put("1", "list-a", "Move me", List.of());
+
+        assertThat(index.updateMeta("1", meta -> "list-b")).isTrue();
+        assertThat(index.updateMeta("missing", meta -> "list-b")).isFalse();
+
+        assertThat(index.search("move", null, 10)).singleElement()
+                .satisfies(hit -> assertThat(hit.meta()).isEqualTo("list-b"));
+        assertThat(index.search("move", "list-a"::equals, 10)).isEmpty();
+    }
+
+    @Test
+    void compactionAfterRemovesKeepsTheLiveDocuments() {
+        for (int i = 0; i < 3000; i++) {
+            index.put("card-" + i, i % 3 == 0 ? "keep" : "drop", "Shared word" + i, List.of());
+        }
+
+        assertThat(index.removeIf("drop"::equals)).isEqualTo(2000);
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(keys("shared", 5000)).hasSize(1000).allMatch(key -> Integer.parseInt(key.substring(5)) % 3 == 0);
+        assertThat(keys("shared word2997")).containsExactly("card-2997");
+        // Documents added after the renumbering do not collide with the kept ones
+        index.put("new", "keep", "Shared fresh", List.of());
+        assertThat(keys("shared fresh")).containsExactly("new");
+        assertThat(keys("shared word0")).containsExactly("card-0");
+    }
+
+    @Test
+    void repeatedReplacementsStayCorrectAcrossCompactions() {
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 1000; i++) {
+                index.put("card-" + i, "todo", "Edited round" + round + " card" + i, List.of());
+            }
+        }
+
+        assertThat(index.size()).isEqualTo(1000);
+        assertThat(keys("edited", 5000)).hasSize(1000);
+        assertThat(keys("round0")).isEmpty();
+        assertThat(keys("card17 round4")).containsExactly("card-17");
+    }
+
+    private List<String> keys(String query) {
+        return keys(query, 100);
+    }
+
+    private List<String> keys(String query, int limit) {
+        return index.search(query, null, limit).stream().map(InvertedIndex.Hit::key).toList();
+    }
+}
@@ -0,0 +1,105 @@
+package com.meta.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class LexoRankTest {
+
+    @Test
+    void betweenSortsStrictlyBetweenItsBounds() {
+        String first = LexoRank.after(null);
+        String second = LexoRank.after(first);
+
+        String middle = LexoRank.between(first, second);
+        assertThat(middle).isGreaterThan(first).isLessThan(second);
+        assertThat(LexoRank.between(null, first)).isLessThan(first);
+        assertThat(LexoRank.between(second, null)).isGreaterThan(second);
+    }
+
+    @Test
+    void betweenKeepsSplittingTheSameGap() {
+        String lo = "a";
+        String hi = "b";
+        for (int i = 0; i < 200; i++) {
+            String key = LexoRank.between(lo, hi);
+            assertThat(key).isGreaterThan(lo).isLessThan(hi).doesNotEndWith("0");
+            hi = key;
+        }
+    }
+
+    @Test
+    void betweenPlacesDuplicateBoundsAfterTheLowerOne() {
+        String key = LexoRank.between("m", "m");
+        assertThat(key).isGreaterThan("m");
+    }
+
+    @Test
+    void betweenRejectsInvalidCharacters() {
+        assertThatThrownBy(() -> LexoRank.between("A", null)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void betweenManyReturnsAscendingKeysWithinBounds() {
+        String[] keys = LexoRank.between("a", "b", 1000);
+        assertAscending(List.of(keys));
+        assertThat(keys[0]).isGreaterThan("a");
+        assertThat(keys[keys.length - 1]).isLessThan("b");
+        // Bisection: the keys grow with log(count), not with count
+        for (String key : keys) {
+            assertThat(key.length()).isLessThanOrEqualTo(8);
+        }
+    }
+
+    @Test
+    void spreadReturnsAscendingFixedWidthKeysInTheLowerHalf() {
+        String[] keys = LexoRank.spread(500);
+        assertAscending(List.of(keys));
+        for (String key : keys) {
+            assertThat(key.length()).isLessThanOrEqualTo(6);
+            assertThat(key).isLessThan("i");
+        }
+        // Appends after a rebalance start from the fixed-width space again
+        assertThat(LexoRank.after(keys[keys.length - 1])).hasSizeLessThanOrEqualTo(6);
+    }
+
+    @Test
+    void appendsKeepTheirWidthUntilTheSpaceRunsOut() {
+        List<String> keys = new ArrayList<>();
+        String last = null;
+        for (int i = 0; i < 30_000; i++) {
+            last = LexoRank.after(last);
+            keys.add(last);
+        }
+        assertAscending(keys);
+        // 36^6 / 2 / 36^3 appends fit at the initial width
+        assertThat(keys.get(0)).hasSizeLessThanOrEqualTo(6);
+        assertThat(keys.get(23_000)).hasSizeLessThanOrEqualTo(6);
+        assertThat(keys.get(keys.size() - 1).length()).isGreaterThan(12);
+    }
+
+    @Test
+    void appendsGrowTheKeysOnceTheSpaceRunsOut() {
+        String last = "zzzzzz";
+        int previousLength = last.length();
+        for (int i = 0; i < 100; i++) {
+            String next = LexoRank.after(last);
+            assertThat(next).isGreaterThan(last);
+            assertThat(next.length()).isGreaterThanOrEqualTo(previousLength);
+            previousLength = next.length();
+            last = next;
+        }
+        // Past the point where the rebalancer has to step in
+        assertThat(last.length()).isGreaterThan(12);
+    }
+
+    private static void assertAscending(List<String> keys) {
+        for (int i = 1; i < keys.size(); i++) {
+            assertThat(keys.get(i)).isGreaterThan(keys.get(i - 1));
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.meta.project.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimerIndexTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2026, 3, 2, 9, 0);
+
+    private final TimerIndex<String> timers = new TimerIndex<>();
+
+    @Test
+    void pollsDueKeysEarliestFirst() {
+        timers.schedule("c", T0.plusMinutes(30));
+        timers.schedule("a", T0.plusMinutes(10));
+        timers.schedule("b", T0.plusMinutes(20));
+        timers.schedule("d", T0.plusHours(2));
+
+        assertThat(timers.pollDue(T0)).isEmpty();
+        assertThat(timers.pollDue(T0.plusMinutes(30))).containsExactly("a", "b", "c");
+        assertThat(timers.size()).isEqualTo(1);
+        assertThat(timers.nextTime()).isEqualTo(T0.plusHours(2));
+        assertThat(timers.timeOf("a")).isNull();
+    }
+
+    @Test
+    void keysDueAtTheSameTimeFollowTheOrderTheyWereScheduled() {
+        timers.schedule("b", T0);
+        timers.schedule("a", T0);
+        timers.schedule("c", T0);
+
+        assertThat(timers.pollDue(T0)).containsExactly("b", "a", "c");
+    }
+
+    @Test
+    void schedulingAgainReplacesTheEarlierTime() {
+        timers.schedule("a", T0);
+        timers.schedule("b", T0.plusMinutes(5));
+        timers.schedule("a", T0.plusMinutes(10));
+
+        assertThat(timers.size()).isEqualTo(2);
+        assertThat(timers.timeOf("a")).isEqualTo(T0.plusMinutes(10));
+        assertThat(timers.pollDue(T0)).isEmpty();
+        assertThat(timers.pollDue(T0.plusMinutes(10))).containsExactly("b", "a");
+    }
+
+    @Test
+    void cancelledKeysNeverFire() {
+        timers.schedule("a", T0);
+        timers.schedule("b", T0.plusMinutes(1));
+
+        assertThat(timers.cancel("a")).isTrue();
+        assertThat(timers.cancel("a")).isFalse();
+        assertThat(timers.cancel("unknown")).isFalse();
+        assertThat(timers.nextTime()).isEqualTo(T0.plusMinutes(1));
+        assertThat(timers.pollDue(T0.plusHours(1))).containsExactly("b");
+        assertThat(timers.nextTime()).isNull();
+    }
+
+    @Test
+    void clearEmptiesTheIndex() {
+        timers.schedule("a", T0);
+        timers.schedule("b", T0);
+
+        timers.clear();
+
+        assertThat(timers.size()).isZero();
+        assertThat(timers.timeOf("a")).isNull();
+        assertThat(timers.pollDue(T0)).isEmpty();
+    }
+}